@@ -1,4 +1,5 @@
 module software.sava.core {
+  requires jdk.jfr;
   requires org.bouncycastle.provider;
 
   exports software.sava.core.accounts;
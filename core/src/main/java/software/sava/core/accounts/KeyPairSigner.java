@@ -70,9 +70,12 @@ final class KeyPairSigner implements Signer {
 
   @Override
   public int sign(final byte[] message, final int msgOffset, final int msgLen, final int outPos) {
+    final var event = new SignEvent();
+    event.begin();
     try {
       signature.update(message, msgOffset, msgLen);
       signature.sign(message, outPos, Transaction.SIGNATURE_LENGTH);
+      event.commit(msgLen);
       return outPos + Transaction.SIGNATURE_LENGTH;
     } catch (final SignatureException ex) {
       throw new RuntimeException(ex);
@@ -81,9 +84,13 @@ final class KeyPairSigner implements Signer {
 
   @Override
   public byte[] sign(final byte[] message, final int msgOffset, final int msgLen) {
+    final var event = new SignEvent();
+    event.begin();
     try {
       signature.update(message, msgOffset, msgLen);
-      return signature.sign();
+      final byte[] sig = signature.sign();
+      event.commit(msgLen);
+      return sig;
     } catch (final SignatureException ex) {
       throw new RuntimeException(ex);
     }
@@ -0,0 +1,22 @@
+package software.sava.core.accounts;
+
+import jdk.jfr.*;
+
+@Name("software.sava.Sign")
+@Label("Sign")
+@Category({"Sava", "Transaction"})
+@StackTrace(false)
+final class SignEvent extends Event {
+
+  @Label("Message Length")
+  @DataAmount
+  int messageLength;
+
+  void commit(final int messageLength) {
+    end();
+    if (shouldCommit()) {
+      this.messageLength = messageLength;
+      commit();
+    }
+  }
+}
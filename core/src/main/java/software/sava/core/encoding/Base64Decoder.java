@@ -0,0 +1,93 @@
+package software.sava.core.encoding;
+
+import java.util.Arrays;
+
+/// Decodes standard, optionally padded, base64 chars directly into a caller provided byte array, avoiding the
+/// intermediate [String] and result array allocated by [java.util.Base64.Decoder].
+public final class Base64Decoder {
+
+  private static final int INVALID = -1;
+  private static final int[] DIGITS = new int[128];
+
+  static {
+    Arrays.fill(DIGITS, INVALID);
+    final char[] alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    for (int i = 0; i < alphabet.length; ++i) {
+      DIGITS[alphabet[i]] = i;
+    }
+  }
+
+  private static RuntimeException createIllegalCharException(final char chr, final int pos) {
+    return new IllegalArgumentException(String
+        .format("Invalid character '%c' for base64 encoding at position %d.", chr, pos));
+  }
+
+  private static int digit(final char[] chars, final int pos) {
+    final char c = chars[pos];
+    final int digit;
+    if (c >= DIGITS.length || (digit = DIGITS[c]) == INVALID) {
+      throw createIllegalCharException(c, pos);
+    }
+    return digit;
+  }
+
+  private static int unpaddedLength(final char[] chars, final int offset, final int len) {
+    int end = offset + len;
+    if (len > 0 && chars[end - 1] == '=') {
+      --end;
+      if (len > 1 && chars[end - 1] == '=') {
+        --end;
+      }
+    }
+    return end - offset;
+  }
+
+  /// @return the number of bytes encoded by the base64 chars.
+  public static int decodedLength(final char[] chars, final int offset, final int len) {
+    final int unpadded = unpaddedLength(chars, offset, len);
+    return (unpadded * 3) >>> 2;
+  }
+
+  /// Decodes `len` base64 chars starting at `offset` into `out` starting at `outOffset`. `out` must have at least
+  /// [#decodedLength(char[], int, int)] bytes remaining.
+  ///
+  /// @return the number of bytes written.
+  public static int decode(final char[] chars, final int offset, final int len, final byte[] out, final int outOffset) {
+    final int unpadded = unpaddedLength(chars, offset, len);
+    if ((unpadded & 3) == 1) {
+      throw new IllegalArgumentException(String.format("Invalid base64 encoding length of %d.", len));
+    }
+    final int end = offset + unpadded;
+    final int fullEnd = end - (unpadded & 3);
+    int i = offset;
+    int o = outOffset;
+    while (i < fullEnd) {
+      final int bits = digit(chars, i++) << 18
+          | digit(chars, i++) << 12
+          | digit(chars, i++) << 6
+          | digit(chars, i++);
+      out[o++] = (byte) (bits >> 16);
+      out[o++] = (byte) (bits >> 8);
+      out[o++] = (byte) bits;
+    }
+    final int remaining = end - i;
+    if (remaining == 2) {
+      final int bits = digit(chars, i) << 18 | digit(chars, i + 1) << 12;
+      out[o++] = (byte) (bits >> 16);
+    } else if (remaining == 3) {
+      final int bits = digit(chars, i) << 18 | digit(chars, i + 1) << 12 | digit(chars, i + 2) << 6;
+      out[o++] = (byte) (bits >> 16);
+      out[o++] = (byte) (bits >> 8);
+    }
+    return o - outOffset;
+  }
+
+  public static byte[] decode(final char[] chars, final int offset, final int len) {
+    final byte[] out = new byte[decodedLength(chars, offset, len)];
+    decode(chars, offset, len, out, 0);
+    return out;
+  }
+
+  private Base64Decoder() {
+  }
+}
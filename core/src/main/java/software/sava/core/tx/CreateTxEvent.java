@@ -0,0 +1,42 @@
+package software.sava.core.tx;
+
+import jdk.jfr.*;
+
+@Name("software.sava.CreateTransaction")
+@Label("Create Transaction")
+@Category({"Sava", "Transaction"})
+@StackTrace(false)
+final class CreateTxEvent extends Event {
+
+  @Label("Instructions")
+  int numInstructions;
+
+  @Label("Accounts")
+  int numAccounts;
+
+  @Label("Signatures")
+  int numSignatures;
+
+  @Label("Lookup Tables")
+  int numLookupTables;
+
+  @Label("Serialized Length")
+  @DataAmount
+  int serializedLength;
+
+  void commit(final int numInstructions,
+              final int numAccounts,
+              final int numSignatures,
+              final int numLookupTables,
+              final int serializedLength) {
+    end();
+    if (shouldCommit()) {
+      this.numInstructions = numInstructions;
+      this.numAccounts = numAccounts;
+      this.numSignatures = numSignatures;
+      this.numLookupTables = numLookupTables;
+      this.serializedLength = serializedLength;
+      commit();
+    }
+  }
+}
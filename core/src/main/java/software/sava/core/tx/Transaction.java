@@ -200,6 +200,8 @@ public interface Transaction {
   static Transaction createTx(final List<Instruction> instructions,
                               final int serializedInstructionLength,
                               final AccountMeta[] sortedAccounts) {
+    final var event = new CreateTxEvent();
+    event.begin();
     final int numAccounts = sortedAccounts.length;
     // final var accountIndexLookupTable = new AccountIndexLookupTableEntry[numAccounts];
     final var accountIndexLookupTable = HashMap.<PublicKey, Integer>newHashMap(numAccounts);
@@ -260,6 +262,7 @@ public interface Transaction {
       i = instruction.serialize(out, i, accountIndexLookupTable);
     }
 
+    event.commit(numInstructions, numAccounts, numRequiredSignatures, 0, bufferSize);
     return new TransactionRecord(feePayer, instructions, null, NO_TABLES, out, numRequiredSignatures, sigLen, recentBlockHashIndex);
   }
 
@@ -287,6 +290,8 @@ public interface Transaction {
     if (lookupTable == null) {
       return createTx(instructions, serializedInstructionLength, sortedAccounts);
     }
+    final var event = new CreateTxEvent();
+    event.begin();
     final int numAccounts = sortedAccounts.length;
     // final AccountIndexLookupTableEntry[] accountIndexLookupTable = new AccountIndexLookupTableEntry[numAccounts];
     final var accountIndexLookupTable = HashMap.<PublicKey, Integer>newHashMap(numAccounts);
@@ -388,6 +393,7 @@ public interface Transaction {
       out[i] = lookupTable.indexOfOrThrow(sortedAccounts[a].publicKey());
     }
 
+    event.commit(instructions.size(), numAccounts, numRequiredSignatures, 1, bufferSize);
     return new TransactionRecord(feePayer, instructions, lookupTable, NO_TABLES, out, numRequiredSignatures, sigLen, recentBlockHashIndex);
   }
 
@@ -426,6 +432,8 @@ public interface Transaction {
     } else if (numLookupTables == 1) {
       return createTx(instructions, serializedInstructionLength, sortedAccounts, tableAccountMetas[0].lookupTable());
     }
+    final var event = new CreateTxEvent();
+    event.begin();
 
     final int numAccounts = sortedAccounts.length;
     // final AccountIndexLookupTableEntry[] accountIndexLookupTable = new AccountIndexLookupTableEntry[numAccounts];
@@ -526,6 +534,7 @@ public interface Transaction {
       i = tableAccountMeta.serialize(out, i);
     }
 
+    event.commit(instructions.size(), numAccounts, numRequiredSignatures, numLookupTables, bufferSize);
     return new TransactionRecord(feePayer, instructions, null, tableAccountMetas, out, numRequiredSignatures, sigLen, recentBlockHashIndex);
   }
 
@@ -0,0 +1,39 @@
+package software.sava.core.ecnoding;
+
+import org.junit.jupiter.api.Test;
+import software.sava.core.encoding.Base64Decoder;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class Base64DecoderTests {
+
+  @Test
+  void testRandom() {
+    final var random = ThreadLocalRandom.current();
+    final byte[] out = new byte[512];
+    for (int len = 0; len < 256; ++len) {
+      final byte[] bytes = new byte[len];
+      random.nextBytes(bytes);
+
+      final var padded = ("xx" + Base64.getEncoder().encodeToString(bytes) + "yy").toCharArray();
+      assertEquals(len, Base64Decoder.decodedLength(padded, 2, padded.length - 4));
+      assertEquals(len, Base64Decoder.decode(padded, 2, padded.length - 4, out, 7));
+      assertArrayEquals(bytes, Arrays.copyOfRange(out, 7, 7 + len));
+
+      final var unpadded = Base64.getEncoder().withoutPadding().encodeToString(bytes).toCharArray();
+      assertArrayEquals(bytes, Base64Decoder.decode(unpadded, 0, unpadded.length));
+    }
+  }
+
+  @Test
+  void testInvalid() {
+    final var chars = "AAA*".toCharArray();
+    assertThrows(IllegalArgumentException.class, () -> Base64Decoder.decode(chars, 0, chars.length));
+    final var length = "AAAAA".toCharArray();
+    assertThrows(IllegalArgumentException.class, () -> Base64Decoder.decode(length, 0, length.length));
+  }
+}
@@ -1,5 +1,6 @@
 module software.sava.rpc {
   requires java.net.http;
+  requires jdk.jfr;
 
   requires systems.comodal.json_iterator;
 
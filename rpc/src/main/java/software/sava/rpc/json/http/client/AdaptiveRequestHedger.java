@@ -0,0 +1,173 @@
+package software.sava.rpc.json.http.client;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/// Each request records a single latency sample, measured from when the primary was sent until the first success,
+/// regardless of which request won. A hedge win therefore records a lower bound of the primary latency rather than the
+/// shorter hedge latency, so that hedging does not drag the percentile, and with it the hedge delay, down.
+final class AdaptiveRequestHedger implements RequestHedger {
+
+  private final double percentile;
+  private final long minDelayNanos;
+  private final long maxDelayNanos;
+  private final AtomicLongArray latencySamples;
+  private final int minSamples;
+  private final int recomputeInterval;
+  private final AtomicLong sampleCount;
+  private final AtomicLong numRequests;
+  private final AtomicLong numHedged;
+  private final AtomicLong numHedgeWins;
+  private volatile long hedgeDelayNanos;
+
+  AdaptiveRequestHedger(final double percentile,
+                        final long minDelayNanos,
+                        final long maxDelayNanos,
+                        final int numLatencySamples) {
+    this.percentile = percentile;
+    this.minDelayNanos = minDelayNanos;
+    this.maxDelayNanos = maxDelayNanos;
+    this.latencySamples = new AtomicLongArray(numLatencySamples);
+    this.minSamples = Math.max(8, numLatencySamples >> 2);
+    this.recomputeInterval = Math.max(8, numLatencySamples >> 4);
+    this.sampleCount = new AtomicLong();
+    this.numRequests = new AtomicLong();
+    this.numHedged = new AtomicLong();
+    this.numHedgeWins = new AtomicLong();
+    this.hedgeDelayNanos = maxDelayNanos;
+  }
+
+  private void recordLatency(final long latencyNanos) {
+    final long count = sampleCount.getAndIncrement();
+    final int numSamples = latencySamples.length();
+    latencySamples.lazySet((int) (count % numSamples), latencyNanos);
+    final long numRecorded = count + 1;
+    if (numRecorded >= minSamples && numRecorded % recomputeInterval == 0) {
+      final int n = (int) Math.min(numRecorded, numSamples);
+      final long[] sorted = new long[n];
+      for (int i = 0; i < n; ++i) {
+        sorted[i] = latencySamples.get(i);
+      }
+      Arrays.sort(sorted);
+      final long delay = sorted[Math.min(n - 1, (int) (n * percentile))];
+      this.hedgeDelayNanos = Math.min(maxDelayNanos, Math.max(minDelayNanos, delay));
+    }
+  }
+
+  @Override
+  public <R> CompletableFuture<R> hedge(final Supplier<CompletableFuture<R>> primary,
+                                        final Supplier<CompletableFuture<R>> hedge) {
+    numRequests.incrementAndGet();
+    final var request = new HedgedRequest<>(hedge);
+    request.primary(primary.get());
+    if (!request.result.isDone()) {
+      CompletableFuture.delayedExecutor(hedgeDelayNanos, NANOSECONDS).execute(request);
+    }
+    return request.result;
+  }
+
+  @Override
+  public long hedgeDelayMillis() {
+    return NANOSECONDS.toMillis(hedgeDelayNanos);
+  }
+
+  @Override
+  public HedgeStats stats() {
+    return new HedgeStats(numRequests.get(), numHedged.get(), numHedgeWins.get(), hedgeDelayMillis());
+  }
+
+  private final class HedgedRequest<R> implements Runnable {
+
+    private final CompletableFuture<R> result;
+    private final Supplier<CompletableFuture<R>> hedge;
+    private final long start;
+    private volatile CompletableFuture<R> primaryFuture;
+    private volatile CompletableFuture<R> hedgeFuture;
+    private int numOutstanding;
+    private boolean settled;
+
+    private HedgedRequest(final Supplier<CompletableFuture<R>> hedge) {
+      this.result = new CompletableFuture<>();
+      this.hedge = hedge;
+      this.start = System.nanoTime();
+      this.numOutstanding = 1;
+      this.result.whenComplete((_, _) -> {
+        if (result.isCancelled()) {
+          cancel(primaryFuture);
+          cancel(hedgeFuture);
+        }
+      });
+    }
+
+    private static void cancel(final CompletableFuture<?> future) {
+      if (future != null) {
+        future.cancel(true);
+      }
+    }
+
+    private void primary(final CompletableFuture<R> primaryFuture) {
+      this.primaryFuture = primaryFuture;
+      primaryFuture.whenComplete((response, throwable) -> complete(false, response, throwable));
+    }
+
+    @Override
+    public void run() {
+      synchronized (this) {
+        if (settled) {
+          return;
+        }
+        ++numOutstanding;
+      }
+      numHedged.incrementAndGet();
+      final CompletableFuture<R> hedgeFuture;
+      try {
+        hedgeFuture = hedge.get();
+      } catch (final RuntimeException ex) {
+        complete(true, null, ex);
+        return;
+      }
+      this.hedgeFuture = hedgeFuture;
+      final boolean settled;
+      synchronized (this) {
+        settled = this.settled;
+      }
+      if (settled) {
+        cancel(hedgeFuture);
+      } else {
+        hedgeFuture.whenComplete((response, throwable) -> complete(true, response, throwable));
+      }
+    }
+
+    private void complete(final boolean isHedge, final R response, final Throwable throwable) {
+      if (throwable == null) {
+        synchronized (this) {
+          if (settled) {
+            return;
+          }
+          settled = true;
+        }
+        recordLatency(System.nanoTime() - start);
+        // Cancel the loser before completing so that callers never observe it still in flight.
+        if (isHedge) {
+          numHedgeWins.incrementAndGet();
+          cancel(primaryFuture);
+        } else {
+          cancel(hedgeFuture);
+        }
+        result.complete(response);
+      } else {
+        synchronized (this) {
+          if (--numOutstanding == 0 && !settled) {
+            settled = true;
+            result.completeExceptionally(throwable);
+          }
+        }
+      }
+    }
+  }
+}
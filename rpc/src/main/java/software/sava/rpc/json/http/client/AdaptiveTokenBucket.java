@@ -0,0 +1,108 @@
+package software.sava.rpc.json.http.client;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/// Generic cell rate algorithm token bucket, the only shared state is the theoretical arrival time of the next permit.
+final class AdaptiveTokenBucket implements RateLimiter {
+
+  private static final CompletableFuture<Void> NO_DELAY = CompletableFuture.completedFuture(null);
+
+  private final double maxPermitsPerSecond;
+  private final double burst;
+  private final Map<String, Double> methodWeights;
+  private final double minPermitsPerSecond;
+  private final double additiveIncrease;
+  private final AtomicLong theoreticalArrivalTime;
+  private volatile double permitsPerSecond;
+  private volatile double nanosPerPermit;
+
+  AdaptiveTokenBucket(final double maxPermitsPerSecond,
+                      final double burst,
+                      final Map<String, Double> methodWeights,
+                      final double minPermitsPerSecond,
+                      final double additiveIncrease) {
+    this.maxPermitsPerSecond = maxPermitsPerSecond;
+    this.burst = burst;
+    this.methodWeights = methodWeights;
+    this.minPermitsPerSecond = Math.min(minPermitsPerSecond, maxPermitsPerSecond);
+    this.additiveIncrease = additiveIncrease;
+    this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+    setRate(maxPermitsPerSecond);
+  }
+
+  private void setRate(final double permitsPerSecond) {
+    this.permitsPerSecond = permitsPerSecond;
+    this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+  }
+
+  private double weight(final String method) {
+    return method == null ? 1 : methodWeights.getOrDefault(method, 1.0);
+  }
+
+  long reserve(final double weight) {
+    final double nanosPerPermit = this.nanosPerPermit;
+    final long cost = (long) (weight * nanosPerPermit);
+    final long tolerance = (long) (burst * nanosPerPermit);
+    for (long now, tat, next; ; ) {
+      tat = theoreticalArrivalTime.get();
+      now = System.nanoTime();
+      next = Math.max(tat, now - tolerance) + cost;
+      if (theoreticalArrivalTime.compareAndSet(tat, next)) {
+        return Math.max(0, next - tolerance - now);
+      }
+    }
+  }
+
+  @Override
+  public CompletableFuture<Void> acquire(final String method) {
+    final long delayNanos = reserve(weight(method));
+    if (delayNanos <= 0) {
+      return NO_DELAY;
+    } else {
+      final var future = new CompletableFuture<Void>();
+      CompletableFuture.delayedExecutor(delayNanos, NANOSECONDS).execute(() -> future.complete(null));
+      return future;
+    }
+  }
+
+  @Override
+  public void onRateLimited(final String method, final OptionalLong retryAfterSeconds) {
+    synchronized (this) {
+      setRate(Math.max(minPermitsPerSecond, permitsPerSecond / 2));
+    }
+    if (retryAfterSeconds.isPresent()) {
+      final long resumeAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(retryAfterSeconds.getAsLong());
+      theoreticalArrivalTime.accumulateAndGet(resumeAt + (long) (burst * nanosPerPermit), Math::max);
+    }
+  }
+
+  @Override
+  public void onSuccess(final String method) {
+    if (permitsPerSecond < maxPermitsPerSecond) {
+      synchronized (this) {
+        setRate(Math.min(maxPermitsPerSecond, permitsPerSecond + additiveIncrease));
+      }
+    }
+  }
+
+  @Override
+  public double permitsPerSecond() {
+    return permitsPerSecond;
+  }
+
+  @Override
+  public String toString() {
+    return "AdaptiveTokenBucket{" +
+        "maxPermitsPerSecond=" + maxPermitsPerSecond +
+        ", permitsPerSecond=" + permitsPerSecond +
+        ", burst=" + burst +
+        ", methodWeights=" + methodWeights +
+        '}';
+  }
+}
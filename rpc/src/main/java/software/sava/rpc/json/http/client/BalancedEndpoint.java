@@ -0,0 +1,33 @@
+package software.sava.rpc.json.http.client;
+
+/// Health and performance view of a single endpoint behind a [LoadBalancedRpcClient].
+public interface BalancedEndpoint {
+
+  SolanaRpcClient rpcClient();
+
+  /// Relative preference for routing the given JSON RPC method to this endpoint, zero or less will only be used as a
+  /// last resort.
+  double weight(final String method);
+
+  double latencyEwmaMillis();
+
+  double errorRateEwma();
+
+  long numRequests();
+
+  long numErrors();
+
+  int numInFlight();
+
+  /// Epoch millis until which this endpoint is avoided due to a `retry-after` or rate limit response.
+  long backOffUntil();
+
+  long slot();
+
+  long slotLag();
+
+  boolean healthy();
+
+  /// Lower is better, [Double#POSITIVE_INFINITY] if this endpoint should not serve the given method.
+  double score(final String method, final long now);
+}
@@ -0,0 +1,248 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.BlockHeight;
+import software.sava.rpc.json.http.response.TxStatus;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.lang.System.Logger.Level.WARNING;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static software.sava.rpc.json.http.client.JsonResponseController.log;
+import static software.sava.rpc.json.http.client.SignatureStatusTracker.NO_EXPIRY;
+import static software.sava.rpc.json.http.client.SolanaRpcClient.MAX_SIGNATURE_STATUSES;
+
+/// Tracked signatures are held in parallel arrays which are only mutated at the start of each poll cycle, while no
+/// requests are in flight. Each batch response only touches its own index range.
+final class BatchingSignatureStatusTracker implements SignatureStatusTracker {
+
+  private static final byte NOT_SEEN = -1;
+  private static final CompletableFuture<Long> NO_BLOCK_HEIGHT = CompletableFuture.completedFuture(-1L);
+
+  private record Registration(String txSig,
+                              Commitment commitment,
+                              long lastValidBlockHeight,
+                              CompletableFuture<TxStatus> future) {
+  }
+
+  private final SolanaRpcClient rpcClient;
+  private final ScheduledExecutorService executor;
+  private final boolean shutdownExecutor;
+  private final long minIntervalNanos;
+  private final long maxIntervalNanos;
+  private final ConcurrentLinkedQueue<Registration> registrations;
+  private final AtomicBoolean scheduled;
+
+  private String[] txSigs;
+  private byte[] commitments;
+  private byte[] observed;
+  private long[] lastValidBlockHeights;
+  private CompletableFuture<TxStatus>[] futures;
+  private volatile int numTracked;
+  private long intervalNanos;
+  private volatile boolean closed;
+
+  @SuppressWarnings("unchecked")
+  BatchingSignatureStatusTracker(final SolanaRpcClient rpcClient,
+                                 final ScheduledExecutorService executor,
+                                 final boolean shutdownExecutor,
+                                 final long minIntervalNanos,
+                                 final long maxIntervalNanos) {
+    this.rpcClient = rpcClient;
+    this.executor = executor;
+    this.shutdownExecutor = shutdownExecutor;
+    this.minIntervalNanos = minIntervalNanos;
+    this.maxIntervalNanos = Math.max(minIntervalNanos, maxIntervalNanos);
+    this.registrations = new ConcurrentLinkedQueue<>();
+    this.scheduled = new AtomicBoolean();
+    this.txSigs = new String[MAX_SIGNATURE_STATUSES];
+    this.commitments = new byte[MAX_SIGNATURE_STATUSES];
+    this.observed = new byte[MAX_SIGNATURE_STATUSES];
+    this.lastValidBlockHeights = new long[MAX_SIGNATURE_STATUSES];
+    this.futures = (CompletableFuture<TxStatus>[]) new CompletableFuture<?>[MAX_SIGNATURE_STATUSES];
+    this.intervalNanos = minIntervalNanos;
+  }
+
+  @Override
+  public CompletableFuture<TxStatus> await(final String txSig,
+                                           final Commitment commitment,
+                                           final long lastValidBlockHeight) {
+    final var future = new CompletableFuture<TxStatus>();
+    if (closed) {
+      future.cancel(false);
+      return future;
+    }
+    registrations.add(new Registration(txSig, commitment, lastValidBlockHeight, future));
+    if (scheduled.compareAndSet(false, true)) {
+      executor.schedule(this::poll, minIntervalNanos, NANOSECONDS);
+    }
+    return future;
+  }
+
+  @Override
+  public int numPending() {
+    return numTracked + registrations.size();
+  }
+
+  private void drainRegistrations() {
+    int size = this.numTracked;
+    for (Registration registration; (registration = registrations.poll()) != null; ) {
+      if (size == txSigs.length) {
+        final int newLength = size << 1;
+        txSigs = Arrays.copyOf(txSigs, newLength);
+        commitments = Arrays.copyOf(commitments, newLength);
+        observed = Arrays.copyOf(observed, newLength);
+        lastValidBlockHeights = Arrays.copyOf(lastValidBlockHeights, newLength);
+        futures = Arrays.copyOf(futures, newLength);
+      }
+      txSigs[size] = registration.txSig;
+      commitments[size] = (byte) registration.commitment.ordinal();
+      observed[size] = NOT_SEEN;
+      lastValidBlockHeights[size] = registration.lastValidBlockHeight;
+      futures[size] = registration.future;
+      ++size;
+    }
+    this.numTracked = size;
+  }
+
+  private void removeCompleted() {
+    int size = this.numTracked;
+    for (int i = 0; i < size; ) {
+      if (futures[i].isDone()) {
+        final int last = --size;
+        txSigs[i] = txSigs[last];
+        commitments[i] = commitments[last];
+        observed[i] = observed[last];
+        lastValidBlockHeights[i] = lastValidBlockHeights[last];
+        futures[i] = futures[last];
+        txSigs[last] = null;
+        futures[last] = null;
+      } else {
+        ++i;
+      }
+    }
+    this.numTracked = size;
+  }
+
+  private boolean applyStatuses(final int from, final List<TxStatus> statuses) {
+    boolean changed = false;
+    final int numStatuses = statuses.size();
+    for (int i = 0, index = from; i < numStatuses; ++i, ++index) {
+      final var txStatus = statuses.get(i);
+      final var confirmationStatus = txStatus == null ? null : txStatus.confirmationStatus();
+      final byte ordinal = confirmationStatus == null ? NOT_SEEN : (byte) confirmationStatus.ordinal();
+      if (ordinal != observed[index]) {
+        observed[index] = ordinal;
+        changed = true;
+      }
+      if (ordinal != NOT_SEEN && ordinal <= commitments[index]) {
+        futures[index].complete(txStatus);
+      }
+    }
+    return changed;
+  }
+
+  /// Only fetched once statuses have been applied, so that a transaction which landed before its block hash expired is
+  /// never reported as expired.
+  private CompletableFuture<Long> blockHeight(final int size) {
+    for (int i = 0; i < size; ++i) {
+      if (lastValidBlockHeights[i] != NO_EXPIRY && observed[i] == NOT_SEEN && !futures[i].isDone()) {
+        return rpcClient.getBlockHeight(Commitment.CONFIRMED).thenApply(BlockHeight::height);
+      }
+    }
+    return NO_BLOCK_HEIGHT;
+  }
+
+  private void expire(final int size, final long blockHeight) {
+    for (int i = 0; i < size; ++i) {
+      final long lastValidBlockHeight = lastValidBlockHeights[i];
+      if (blockHeight > lastValidBlockHeight && observed[i] == NOT_SEEN) {
+        futures[i].completeExceptionally(new TimeoutException(String.format(
+            "Block hash for transaction %s expired at block height %d, current block height %d.",
+            txSigs[i], lastValidBlockHeight, blockHeight
+        )));
+      }
+    }
+  }
+
+  private void poll() {
+    if (closed) {
+      return;
+    }
+    drainRegistrations();
+    removeCompleted();
+    final int size = this.numTracked;
+    if (size == 0) {
+      intervalNanos = minIntervalNanos;
+      scheduled.set(false);
+      if (!registrations.isEmpty() && scheduled.compareAndSet(false, true)) {
+        executor.execute(this::poll);
+      }
+      return;
+    }
+
+    final var txSigList = Arrays.asList(txSigs);
+    final int numBatches = (size + MAX_SIGNATURE_STATUSES - 1) / MAX_SIGNATURE_STATUSES;
+    final var batches = new CompletableFuture<?>[numBatches];
+    final var changed = new AtomicBoolean();
+    for (int from = 0, b = 0; from < size; from += MAX_SIGNATURE_STATUSES, ++b) {
+      final int batchFrom = from;
+      final var batch = txSigList.subList(from, Math.min(size, from + MAX_SIGNATURE_STATUSES));
+      batches[b] = rpcClient.getSignatureStatusList(batch, false)
+          .thenAccept(statuses -> {
+            if (applyStatuses(batchFrom, statuses)) {
+              changed.set(true);
+            }
+          })
+          .exceptionally(ex -> {
+            log.log(WARNING, "Failed to fetch signature statuses from " + rpcClient.endpoint(), ex);
+            return null;
+          });
+    }
+    CompletableFuture.allOf(batches)
+        .thenCompose(_ -> blockHeight(size))
+        .whenComplete((blockHeight, throwable) -> {
+          if (throwable != null) {
+            log.log(WARNING, "Failed to fetch block height from " + rpcClient.endpoint(), throwable);
+          } else if (blockHeight >= 0) {
+            expire(size, blockHeight);
+          }
+          intervalNanos = changed.get() ? minIntervalNanos : Math.min(maxIntervalNanos, intervalNanos + (intervalNanos >> 1));
+          if (!closed) {
+            executor.schedule(this::poll, intervalNanos, NANOSECONDS);
+          }
+        });
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    if (shutdownExecutor) {
+      executor.shutdown();
+    }
+    for (Registration registration; (registration = registrations.poll()) != null; ) {
+      registration.future.cancel(false);
+    }
+    final var futures = this.futures;
+    for (int i = 0, size = Math.min(numTracked, futures.length); i < size; ++i) {
+      final var future = futures[i];
+      if (future != null) {
+        future.cancel(false);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SignatureStatusTracker{" +
+        "endpoint=" + rpcClient.endpoint() +
+        ", numPending=" + numPending() +
+        '}';
+  }
+}
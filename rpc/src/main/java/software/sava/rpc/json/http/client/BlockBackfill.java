@@ -0,0 +1,100 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.Block;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongConsumer;
+
+/// Fetches every block in a slot range with bounded concurrency and delivers them to a single consumer in slot order.
+///
+/// Produced slots are listed with `getBlocksWithLimit`, so skipped slots are never requested. Blocks are fetched
+/// with [SolanaRpcClient#getBlockWithTransactions(Commitment, long, boolean)] and buffered until every preceding
+/// block has been delivered.
+///
+/// The [#checkpoint()] is the highest slot for which every block at or below it has been delivered, a backfill can be
+/// resumed from `checkpoint() + 1`.
+public interface BlockBackfill {
+
+  static Builder build() {
+    return new BlockBackfillBuilder();
+  }
+
+  @FunctionalInterface
+  interface BlockConsumer {
+
+    void accept(final long slot, final Block block);
+  }
+
+  /// Starts the backfill.
+  ///
+  /// @return completes with the final checkpoint once the range has been delivered or the backfill was cancelled, or
+  /// exceptionally if a block could not be fetched within the retry limit or the consumer threw.
+  CompletableFuture<Long> run();
+
+  long checkpoint();
+
+  long numDelivered();
+
+  int numInFlight();
+
+  /// Stops issuing new requests, the run future completes once in flight requests settle.
+  void cancel();
+
+  interface Builder {
+
+    BlockBackfill create();
+
+    Builder rpcClient(final SolanaRpcClient rpcClient);
+
+    /// Must be at least [Commitment#CONFIRMED], defaults to [Commitment#FINALIZED].
+    Builder commitment(final Commitment commitment);
+
+    Builder fromSlot(final long fromSlot);
+
+    /// Inclusive, defaults to the latest produced slot at the time slots are listed.
+    Builder toSlot(final long toSlot);
+
+    Builder maxConcurrency(final int maxConcurrency);
+
+    /// Maximum number of completed blocks held while waiting on a preceding block, defaults to 4x max concurrency.
+    Builder maxBuffered(final int maxBuffered);
+
+    /// Number of slots listed per `getBlocksWithLimit` request.
+    Builder listLimit(final int listLimit);
+
+    Builder maxRetries(final int maxRetries);
+
+    Builder rewards(final boolean rewards);
+
+    /// Invoked in slot order from a single dedicated delivery thread, as is the checkpoint listener.
+    Builder consumer(final BlockConsumer consumer);
+
+    /// Invoked with the current checkpoint every `checkpointInterval` delivered blocks and upon completion.
+    Builder checkpointListener(final LongConsumer checkpointListener, final int checkpointInterval);
+
+    SolanaRpcClient rpcClient();
+
+    Commitment commitment();
+
+    long fromSlot();
+
+    long toSlot();
+
+    int maxConcurrency();
+
+    int maxBuffered();
+
+    int listLimit();
+
+    int maxRetries();
+
+    boolean rewards();
+
+    BlockConsumer consumer();
+
+    LongConsumer checkpointListener();
+
+    int checkpointInterval();
+  }
+}
@@ -0,0 +1,182 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.rpc.json.http.request.Commitment;
+
+import java.util.function.LongConsumer;
+
+public final class BlockBackfillBuilder implements BlockBackfill.Builder {
+
+  private SolanaRpcClient rpcClient;
+  private Commitment commitment = Commitment.FINALIZED;
+  private long fromSlot;
+  private long toSlot = Long.MAX_VALUE;
+  private int maxConcurrency = 8;
+  private int maxBuffered;
+  private int listLimit = 1_000;
+  private int maxRetries = 3;
+  private boolean rewards = true;
+  private BlockBackfill.BlockConsumer consumer;
+  private LongConsumer checkpointListener;
+  private int checkpointInterval;
+
+  BlockBackfillBuilder() {
+  }
+
+  @Override
+  public BlockBackfill create() {
+    if (rpcClient == null) {
+      throw new IllegalStateException("An rpc client is required.");
+    }
+    if (consumer == null) {
+      throw new IllegalStateException("A block consumer is required.");
+    }
+    if (commitment == Commitment.PROCESSED) {
+      throw new IllegalStateException("Blocks can only be listed at confirmed or finalized commitment.");
+    }
+    if (toSlot < fromSlot) {
+      throw new IllegalStateException(String.format("toSlot %d is before fromSlot %d.", toSlot, fromSlot));
+    }
+    final int maxConcurrency = Math.max(1, this.maxConcurrency);
+    return new OrderedBlockBackfill(
+        rpcClient,
+        commitment,
+        fromSlot,
+        toSlot,
+        maxConcurrency,
+        Math.max(maxConcurrency, maxBuffered <= 0 ? maxConcurrency << 2 : maxBuffered),
+        Math.max(1, listLimit),
+        maxRetries,
+        rewards,
+        consumer,
+        checkpointListener,
+        checkpointInterval
+    );
+  }
+
+  @Override
+  public BlockBackfill.Builder rpcClient(final SolanaRpcClient rpcClient) {
+    this.rpcClient = rpcClient;
+    return this;
+  }
+
+  @Override
+  public BlockBackfill.Builder commitment(final Commitment commitment) {
+    this.commitment = commitment;
+    return this;
+  }
+
+  @Override
+  public BlockBackfill.Builder fromSlot(final long fromSlot) {
+    this.fromSlot = fromSlot;
+    return this;
+  }
+
+  @Override
+  public BlockBackfill.Builder toSlot(final long toSlot) {
+    this.toSlot = toSlot;
+    return this;
+  }
+
+  @Override
+  public BlockBackfill.Builder maxConcurrency(final int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+    return this;
+  }
+
+  @Override
+  public BlockBackfill.Builder maxBuffered(final int maxBuffered) {
+    this.maxBuffered = maxBuffered;
+    return this;
+  }
+
+  @Override
+  public BlockBackfill.Builder listLimit(final int listLimit) {
+    this.listLimit = listLimit;
+    return this;
+  }
+
+  @Override
+  public BlockBackfill.Builder maxRetries(final int maxRetries) {
+    this.maxRetries = maxRetries;
+    return this;
+  }
+
+  @Override
+  public BlockBackfill.Builder rewards(final boolean rewards) {
+    this.rewards = rewards;
+    return this;
+  }
+
+  @Override
+  public BlockBackfill.Builder consumer(final BlockBackfill.BlockConsumer consumer) {
+    this.consumer = consumer;
+    return this;
+  }
+
+  @Override
+  public BlockBackfill.Builder checkpointListener(final LongConsumer checkpointListener, final int checkpointInterval) {
+    this.checkpointListener = checkpointListener;
+    this.checkpointInterval = checkpointInterval;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcClient rpcClient() {
+    return rpcClient;
+  }
+
+  @Override
+  public Commitment commitment() {
+    return commitment;
+  }
+
+  @Override
+  public long fromSlot() {
+    return fromSlot;
+  }
+
+  @Override
+  public long toSlot() {
+    return toSlot;
+  }
+
+  @Override
+  public int maxConcurrency() {
+    return maxConcurrency;
+  }
+
+  @Override
+  public int maxBuffered() {
+    return maxBuffered;
+  }
+
+  @Override
+  public int listLimit() {
+    return listLimit;
+  }
+
+  @Override
+  public int maxRetries() {
+    return maxRetries;
+  }
+
+  @Override
+  public boolean rewards() {
+    return rewards;
+  }
+
+  @Override
+  public BlockBackfill.BlockConsumer consumer() {
+    return consumer;
+  }
+
+  @Override
+  public LongConsumer checkpointListener() {
+    return checkpointListener;
+  }
+
+  @Override
+  public int checkpointInterval() {
+    return checkpointInterval;
+  }
+}
@@ -0,0 +1,83 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.core.tx.Transaction;
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.LatestBlockHash;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+/// Keeps a recent [LatestBlockHash] on hand so that transactions can be signed without waiting on an RPC round trip.
+///
+/// The block hash is refreshed on a fixed schedule, every `refreshSlots` slots passed to [#onSlot(long)], or both.
+/// The current block height is fetched alongside each block hash and advanced by observed slots in between, which
+/// over estimates the height when slots are skipped, erring on the side of treating block hashes as expired early.
+/// Each observed height replaces the estimate, so the over estimate does not accumulate across refreshes.
+public interface BlockHashProvider extends AutoCloseable {
+
+  /// Solana rejects transactions referencing a block hash older than this many blocks.
+  int MAX_PROCESSING_AGE = 150;
+
+  static BlockHashProvider createProvider(final SolanaRpcClient rpcClient,
+                                          final Commitment commitment,
+                                          final ScheduledExecutorService executor,
+                                          final Duration refreshInterval,
+                                          final int refreshSlots) {
+    final var provider = new PrefetchingBlockHashProvider(rpcClient, commitment, refreshSlots);
+    if (executor != null) {
+      provider.schedule(executor, refreshInterval);
+    } else {
+      provider.refresh();
+    }
+    return provider;
+  }
+
+  static BlockHashProvider createProvider(final SolanaRpcClient rpcClient,
+                                          final Commitment commitment,
+                                          final ScheduledExecutorService executor,
+                                          final Duration refreshInterval) {
+    return createProvider(rpcClient, commitment, executor, refreshInterval, 0);
+  }
+
+  /// Refreshes only from [#onSlot(long)] notifications.
+  static BlockHashProvider createProvider(final SolanaRpcClient rpcClient,
+                                          final Commitment commitment,
+                                          final int refreshSlots) {
+    return createProvider(rpcClient, commitment, null, null, refreshSlots);
+  }
+
+  /// @return the most recent block hash, or null if the first refresh has not yet completed.
+  LatestBlockHash latest();
+
+  /// @return the most recent block hash if it is not expired, otherwise a refreshed block hash.
+  CompletableFuture<LatestBlockHash> latestValid();
+
+  /// Sets the most recent, decoded, block hash on the transaction.
+  ///
+  /// @return the block hash used, or null if none is available yet.
+  LatestBlockHash setRecentBlockHash(final Transaction transaction);
+
+  /// Single flight, concurrent callers share the same request.
+  CompletableFuture<LatestBlockHash> refresh();
+
+  void onSlot(final long slot);
+
+  /// Replaces the current block height estimate with an observed block height.
+  void onBlockHeight(final long blockHeight);
+
+  /// Best known current block height, possibly an over estimate.
+  long blockHeight();
+
+  /// @return number of blocks remaining before the block hash expires, zero or less if it has expired.
+  default long blocksRemaining(final LatestBlockHash blockHash) {
+    return blockHash.lastValidBlockHeight() - blockHeight();
+  }
+
+  default boolean isExpired(final LatestBlockHash blockHash) {
+    return blocksRemaining(blockHash) <= 0;
+  }
+
+  @Override
+  void close();
+}
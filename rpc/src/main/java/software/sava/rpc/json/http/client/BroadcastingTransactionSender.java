@@ -0,0 +1,242 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.core.tx.Transaction;
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.TxStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.WARNING;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static software.sava.rpc.json.http.client.JsonResponseController.log;
+import static software.sava.rpc.json.http.client.SolanaRpcClient.MAX_SIGNATURE_STATUSES;
+
+final class BroadcastingTransactionSender implements TransactionSender {
+
+  private static final class PendingTx {
+
+    private final String txSig;
+    private final String base64SignedTx;
+    private final long lastValidBlockHeight;
+    private final long start;
+    private final CompletableFuture<TxStatus> future;
+    private final AtomicBoolean resolved;
+    private volatile boolean observed;
+
+    private PendingTx(final String txSig, final String base64SignedTx, final long lastValidBlockHeight) {
+      this.txSig = txSig;
+      this.base64SignedTx = base64SignedTx;
+      this.lastValidBlockHeight = lastValidBlockHeight;
+      this.start = System.nanoTime();
+      this.future = new CompletableFuture<>();
+      this.resolved = new AtomicBoolean();
+    }
+
+    /// Stats are recorded before completing the future, so that they include this transaction once it completes.
+    private boolean resolve() {
+      return !future.isDone() && resolved.compareAndSet(false, true);
+    }
+  }
+
+  private final SolanaRpcClient[] sendClients;
+  private final SolanaRpcClient statusClient;
+  private final BlockHashProvider blockHashProvider;
+  private final Commitment commitment;
+  private final ScheduledExecutorService executor;
+  private final boolean shutdownExecutor;
+  private final ConcurrentHashMap<String, PendingTx> pending;
+  private final AtomicBoolean checking;
+  private final ScheduledFuture<?> rebroadcastTask;
+  private final AtomicLong numSent;
+  private final AtomicLong numLanded;
+  private final AtomicLong numFailed;
+  private final AtomicLong numExpired;
+  private final AtomicLong numBroadcasts;
+  private final AtomicLong sumTimeToConfirmNanos;
+  private final AtomicLong maxTimeToConfirmNanos;
+
+  BroadcastingTransactionSender(final SolanaRpcClient[] sendClients,
+                                final SolanaRpcClient statusClient,
+                                final BlockHashProvider blockHashProvider,
+                                final Commitment commitment,
+                                final Duration rebroadcastInterval,
+                                final ScheduledExecutorService executor,
+                                final boolean shutdownExecutor) {
+    this.sendClients = sendClients;
+    this.statusClient = statusClient;
+    this.blockHashProvider = blockHashProvider;
+    this.commitment = commitment;
+    this.executor = executor;
+    this.shutdownExecutor = shutdownExecutor;
+    this.pending = new ConcurrentHashMap<>();
+    this.checking = new AtomicBoolean();
+    this.numSent = new AtomicLong();
+    this.numLanded = new AtomicLong();
+    this.numFailed = new AtomicLong();
+    this.numExpired = new AtomicLong();
+    this.numBroadcasts = new AtomicLong();
+    this.sumTimeToConfirmNanos = new AtomicLong();
+    this.maxTimeToConfirmNanos = new AtomicLong();
+    final long interval = rebroadcastInterval.toMillis();
+    this.rebroadcastTask = executor.scheduleWithFixedDelay(this::checkAndRebroadcast, interval, interval, MILLISECONDS);
+  }
+
+  @Override
+  public CompletableFuture<TxStatus> send(final Transaction transaction, final long lastValidBlockHeight) {
+    return send(transaction.getBase58Id(), transaction.base64EncodeToString(), lastValidBlockHeight);
+  }
+
+  @Override
+  public CompletableFuture<TxStatus> send(final String txSig,
+                                          final String base64SignedTx,
+                                          final long lastValidBlockHeight) {
+    final var pendingTx = new PendingTx(txSig, base64SignedTx, lastValidBlockHeight);
+    final var existing = pending.putIfAbsent(txSig, pendingTx);
+    if (existing != null) {
+      return existing.future.copy();
+    }
+    numSent.incrementAndGet();
+    pendingTx.future.whenComplete((_, _) -> pending.remove(txSig, pendingTx));
+    broadcast(pendingTx);
+    return pendingTx.future;
+  }
+
+  private void broadcast(final PendingTx pendingTx) {
+    for (final var sendClient : sendClients) {
+      numBroadcasts.incrementAndGet();
+      sendClient.sendTransactionSkipPreflight(pendingTx.base64SignedTx, 0).exceptionally(ex -> {
+        log.log(DEBUG, "Failed to send " + pendingTx.txSig + " to " + sendClient.endpoint(), ex);
+        return null;
+      });
+    }
+  }
+
+  private void landed(final PendingTx pendingTx, final TxStatus txStatus) {
+    if (pendingTx.resolve()) {
+      numLanded.incrementAndGet();
+      if (txStatus.error() != null || txStatus.deprecatedError() != null) {
+        numFailed.incrementAndGet();
+      }
+      final long timeToConfirm = System.nanoTime() - pendingTx.start;
+      sumTimeToConfirmNanos.addAndGet(timeToConfirm);
+      maxTimeToConfirmNanos.accumulateAndGet(timeToConfirm, Math::max);
+      pendingTx.future.complete(txStatus);
+    }
+  }
+
+  private void applyStatuses(final List<PendingTx> batch, final Map<String, TxStatus> statuses) {
+    for (final var pendingTx : batch) {
+      final var txStatus = statuses.get(pendingTx.txSig);
+      final var confirmationStatus = txStatus == null ? null : txStatus.confirmationStatus();
+      if (confirmationStatus == null) {
+        pendingTx.observed = false;
+      } else if (confirmationStatus.ordinal() <= commitment.ordinal()) {
+        landed(pendingTx, txStatus);
+      } else {
+        pendingTx.observed = true;
+      }
+    }
+  }
+
+  private CompletableFuture<Long> blockHeight(final List<PendingTx> pendingTxs) {
+    if (blockHashProvider != null) {
+      final long estimate = blockHashProvider.blockHeight();
+      if (pendingTxs.stream().noneMatch(pendingTx -> pendingTx.lastValidBlockHeight < estimate)) {
+        return CompletableFuture.completedFuture(estimate);
+      }
+    }
+    // Confirm with an observed block height before expiring any transactions.
+    return statusClient.getBlockHeight(commitment).thenApply(blockHeight -> {
+      if (blockHashProvider != null) {
+        blockHashProvider.onBlockHeight(blockHeight.height());
+      }
+      return blockHeight.height();
+    });
+  }
+
+  private void checkAndRebroadcast() {
+    if (pending.isEmpty() || !checking.compareAndSet(false, true)) {
+      return;
+    }
+    final var pendingTxs = new ArrayList<>(pending.values());
+    final int numPending = pendingTxs.size();
+    final var statusFutures = new CompletableFuture<?>[(numPending + MAX_SIGNATURE_STATUSES - 1) / MAX_SIGNATURE_STATUSES];
+    for (int from = 0, i = 0; from < numPending; from += MAX_SIGNATURE_STATUSES, ++i) {
+      final var batch = pendingTxs.subList(from, Math.min(numPending, from + MAX_SIGNATURE_STATUSES));
+      final var txSigs = batch.stream().map(pendingTx -> pendingTx.txSig).toList();
+      statusFutures[i] = statusClient.getSignatureStatuses(txSigs).thenAccept(statuses -> applyStatuses(batch, statuses));
+    }
+    CompletableFuture.allOf(statusFutures)
+        .thenCompose(_ -> blockHeight(pendingTxs))
+        .whenComplete((blockHeight, throwable) -> {
+          try {
+            if (throwable != null) {
+              log.log(WARNING, "Failed to check transaction statuses from " + statusClient.endpoint(), throwable);
+            }
+            for (final var pendingTx : pendingTxs) {
+              if (pendingTx.future.isDone() || pendingTx.observed) {
+                continue;
+              }
+              if (blockHeight != null && blockHeight > pendingTx.lastValidBlockHeight) {
+                if (pendingTx.resolve()) {
+                  numExpired.incrementAndGet();
+                  pendingTx.future.completeExceptionally(new TimeoutException(String.format(
+                      "Block hash for transaction %s expired at block height %d, current block height %d.",
+                      pendingTx.txSig, pendingTx.lastValidBlockHeight, blockHeight
+                  )));
+                }
+              } else {
+                broadcast(pendingTx);
+              }
+            }
+          } finally {
+            checking.set(false);
+          }
+        });
+  }
+
+  @Override
+  public int numPending() {
+    return pending.size();
+  }
+
+  @Override
+  public TxSenderStats stats() {
+    final long numLanded = this.numLanded.get();
+    return new TxSenderStats(
+        numSent.get(),
+        numLanded,
+        numFailed.get(),
+        numExpired.get(),
+        numBroadcasts.get(),
+        numLanded == 0 ? 0 : (sumTimeToConfirmNanos.get() / 1_000_000.0) / numLanded,
+        TimeUnit.NANOSECONDS.toMillis(maxTimeToConfirmNanos.get())
+    );
+  }
+
+  @Override
+  public void close() {
+    rebroadcastTask.cancel(false);
+    if (shutdownExecutor) {
+      executor.shutdown();
+    }
+    for (final var pendingTx : pending.values()) {
+      pendingTx.future.cancel(false);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "TransactionSender{" +
+        "numPending=" + pending.size() +
+        ", stats=" + stats() +
+        '}';
+  }
+}
@@ -0,0 +1,19 @@
+package software.sava.rpc.json.http.client;
+
+record CachePolicy(long ttlNanos, long maxSlotAge) {
+
+  static final CachePolicy FOREVER = new CachePolicy(Long.MAX_VALUE, -1);
+
+  boolean isValid(final long createdAt, final long now, final long slot, final long latestSlot) {
+    return (ttlNanos == Long.MAX_VALUE || now - createdAt < ttlNanos)
+        && (maxSlotAge < 0 || slot < 0 || latestSlot - slot <= maxSlotAge);
+  }
+
+  CachePolicy ttlNanos(final long ttlNanos) {
+    return new CachePolicy(ttlNanos, maxSlotAge);
+  }
+
+  CachePolicy maxSlotAge(final long maxSlotAge) {
+    return new CachePolicy(ttlNanos, maxSlotAge);
+  }
+}
@@ -0,0 +1,63 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.rpc.json.http.request.Commitment;
+
+import java.time.Duration;
+
+/// A [SolanaRpcClient] decorator which merges concurrent identical requests into a single in-flight request and
+/// caches the responses of the following methods:
+///
+/// - `getLatestBlockhash`, `getEpochInfo` and `getAccountInfo`: time and slot based expiry.
+/// - `getMinimumBalanceForRentExemption`: time based expiry.
+/// - `getGenesisHash` and `getEpochSchedule`: never expire.
+///
+/// A response expires once its TTL has elapsed or once a slot more than `maxSlotAge` slots newer than the response
+/// context slot has been observed, either from another response or [#onSlot(long)].
+///
+/// All other methods pass through to the delegate client.
+public interface CachedRpcClient extends SolanaRpcClient {
+
+  static Builder build() {
+    return new CachedRpcClientBuilder();
+  }
+
+  SolanaRpcClient delegate();
+
+  /// Feed slot notifications, e.g. from a websocket slot subscription, to expire slot sensitive responses.
+  void onSlot(final long slot);
+
+  long latestSlot();
+
+  void invalidate();
+
+  long numHits();
+
+  /// Number of requests served by joining an identical in-flight request.
+  long numCoalesced();
+
+  long numMisses();
+
+  interface Builder {
+
+    CachedRpcClient create();
+
+    Builder rpcClient(final SolanaRpcClient rpcClient);
+
+    /// Commitment used by the overloads without an explicit commitment, should match the delegate's default.
+    Builder commitment(final Commitment commitment);
+
+    Builder ttl(final String method, final Duration ttl);
+
+    /// Zero or greater, or a negative value to disable slot based expiry for the given method.
+    Builder maxSlotAge(final String method, final long maxSlotAge);
+
+    /// Number of cached responses after which expired entries, and then the least recently used, are evicted.
+    Builder maxEntries(final int maxEntries);
+
+    SolanaRpcClient rpcClient();
+
+    Commitment commitment();
+
+    int maxEntries();
+  }
+}
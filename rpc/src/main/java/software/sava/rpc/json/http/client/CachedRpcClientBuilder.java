@@ -0,0 +1,88 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.rpc.json.http.request.Commitment;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class CachedRpcClientBuilder implements CachedRpcClient.Builder {
+
+  private static final long SLOT_NANOS = Duration.ofMillis(400).toNanos();
+
+  private final Map<String, CachePolicy> policies;
+  private SolanaRpcClient rpcClient;
+  private Commitment commitment = Commitment.CONFIRMED;
+  private int maxEntries = 16_384;
+
+  CachedRpcClientBuilder() {
+    this.policies = new HashMap<>();
+    policies.put("getLatestBlockhash", new CachePolicy(SLOT_NANOS, -1));
+    policies.put("getEpochInfo", new CachePolicy(SLOT_NANOS, 0));
+    policies.put("getAccountInfo", new CachePolicy(SLOT_NANOS, 1));
+    policies.put("getMinimumBalanceForRentExemption", new CachePolicy(Duration.ofMinutes(10).toNanos(), -1));
+    policies.put("getGenesisHash", CachePolicy.FOREVER);
+    policies.put("getEpochSchedule", CachePolicy.FOREVER);
+  }
+
+  private CachePolicy policy(final String method) {
+    final var policy = policies.get(method);
+    if (policy == null) {
+      throw new IllegalArgumentException(method + " responses are not cached.");
+    }
+    return policy;
+  }
+
+  @Override
+  public CachedRpcClient create() {
+    if (rpcClient == null) {
+      throw new IllegalStateException("rpcClient is required.");
+    }
+    return new CachingRpcClient(rpcClient, commitment, Map.copyOf(policies), maxEntries);
+  }
+
+  @Override
+  public CachedRpcClient.Builder rpcClient(final SolanaRpcClient rpcClient) {
+    this.rpcClient = rpcClient;
+    return this;
+  }
+
+  @Override
+  public CachedRpcClient.Builder commitment(final Commitment commitment) {
+    this.commitment = commitment;
+    return this;
+  }
+
+  @Override
+  public CachedRpcClient.Builder ttl(final String method, final Duration ttl) {
+    policies.put(method, policy(method).ttlNanos(ttl.toNanos()));
+    return this;
+  }
+
+  @Override
+  public CachedRpcClient.Builder maxSlotAge(final String method, final long maxSlotAge) {
+    policies.put(method, policy(method).maxSlotAge(maxSlotAge));
+    return this;
+  }
+
+  @Override
+  public CachedRpcClient.Builder maxEntries(final int maxEntries) {
+    this.maxEntries = maxEntries;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcClient rpcClient() {
+    return rpcClient;
+  }
+
+  @Override
+  public Commitment commitment() {
+    return commitment;
+  }
+
+  @Override
+  public int maxEntries() {
+    return maxEntries;
+  }
+}
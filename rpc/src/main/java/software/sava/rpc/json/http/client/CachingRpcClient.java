@@ -0,0 +1,288 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.AccountInfo;
+import software.sava.rpc.json.http.response.EpochInfo;
+import software.sava.rpc.json.http.response.EpochSchedule;
+import software.sava.rpc.json.http.response.LatestBlockHash;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import static software.sava.rpc.json.http.response.AccountInfo.BYTES_IDENTITY;
+
+final class CachingRpcClient extends DelegatingRpcClient implements CachedRpcClient {
+
+  private static final ToLongFunction<Object> NO_SLOT = _ -> -1;
+
+  private record CacheKey(String method, Object a, Object b) {
+  }
+
+  private static final class Entry {
+
+    private final CompletableFuture<Object> future;
+    private final long createdAt;
+    private volatile long slot;
+    private volatile long lastAccess;
+
+    private Entry(final long createdAt) {
+      this.future = new CompletableFuture<>();
+      this.createdAt = createdAt;
+      this.slot = -1;
+      this.lastAccess = createdAt;
+    }
+  }
+
+  private final SolanaRpcClient delegate;
+  private final Commitment commitment;
+  private final Map<String, CachePolicy> policies;
+  private final int maxEntries;
+  private final ConcurrentHashMap<CacheKey, Entry> cache;
+  private final AtomicLong latestSlot;
+  private final AtomicLong numHits;
+  private final AtomicLong numCoalesced;
+  private final AtomicLong numMisses;
+  private final AtomicBoolean evicting;
+
+  CachingRpcClient(final SolanaRpcClient delegate,
+                   final Commitment commitment,
+                   final Map<String, CachePolicy> policies,
+                   final int maxEntries) {
+    this.delegate = delegate;
+    this.commitment = commitment;
+    this.policies = policies;
+    this.maxEntries = maxEntries;
+    this.cache = new ConcurrentHashMap<>();
+    this.latestSlot = new AtomicLong(-1);
+    this.numHits = new AtomicLong();
+    this.numCoalesced = new AtomicLong();
+    this.numMisses = new AtomicLong();
+    this.evicting = new AtomicBoolean();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <R> CompletableFuture<R> cached(final CacheKey key,
+                                          final Supplier<CompletableFuture<R>> request,
+                                          final ToLongFunction<? super R> slotOf) {
+    final var policy = policies.get(key.method);
+    for (; ; ) {
+      final long now = System.nanoTime();
+      final var entry = cache.get(key);
+      if (entry != null) {
+        if (!entry.future.isDone()) {
+          numCoalesced.incrementAndGet();
+          return (CompletableFuture<R>) entry.future.copy();
+        } else if (policy.isValid(entry.createdAt, now, entry.slot, latestSlot.get())) {
+          numHits.incrementAndGet();
+          entry.lastAccess = now;
+          return (CompletableFuture<R>) entry.future.copy();
+        }
+      }
+      final var newEntry = new Entry(now);
+      if (entry == null ? cache.putIfAbsent(key, newEntry) == null : cache.replace(key, entry, newEntry)) {
+        numMisses.incrementAndGet();
+        if (cache.size() > maxEntries) {
+          evict(now);
+        }
+        final CompletableFuture<R> future;
+        try {
+          future = request.get();
+        } catch (final RuntimeException ex) {
+          cache.remove(key, newEntry);
+          newEntry.future.completeExceptionally(ex);
+          throw ex;
+        }
+        future.whenComplete((result, throwable) -> {
+          if (throwable == null) {
+            final long slot = result == null ? -1 : slotOf.applyAsLong(result);
+            if (slot >= 0) {
+              newEntry.slot = slot;
+              onSlot(slot);
+            }
+            newEntry.future.complete(result);
+          } else {
+            cache.remove(key, newEntry);
+            newEntry.future.completeExceptionally(throwable);
+          }
+        });
+        return (CompletableFuture<R>) newEntry.future.copy();
+      }
+    }
+  }
+
+  private void evict(final long now) {
+    if (!evicting.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      final long latestSlot = this.latestSlot.get();
+      cache.entrySet().removeIf(e -> {
+        final var entry = e.getValue();
+        return entry.future.isDone()
+            && !policies.get(e.getKey().method).isValid(entry.createdAt, now, entry.slot, latestSlot);
+      });
+      // Evict least recently used down to 15/16ths of the bound so that eviction is amortized over many misses.
+      final int target = maxEntries - (maxEntries >> 4);
+      if (cache.size() > target) {
+        final var candidates = new ArrayList<Map.Entry<CacheKey, Entry>>(cache.size());
+        for (final var mapEntry : cache.entrySet()) {
+          if (mapEntry.getValue().future.isDone()) {
+            candidates.add(mapEntry);
+          }
+        }
+        candidates.sort(Comparator.comparingLong(mapEntry -> mapEntry.getValue().lastAccess));
+        for (final var mapEntry : candidates) {
+          if (cache.size() <= target) {
+            break;
+          }
+          cache.remove(mapEntry.getKey(), mapEntry.getValue());
+        }
+      }
+    } finally {
+      evicting.set(false);
+    }
+  }
+
+  @Override
+  protected <R> CompletableFuture<R> call(final String method,
+                                          final Function<SolanaRpcClient, CompletableFuture<R>> call) {
+    return call.apply(delegate);
+  }
+
+  @Override
+  public SolanaRpcClient delegate() {
+    return delegate;
+  }
+
+  @Override
+  public void onSlot(final long slot) {
+    latestSlot.accumulateAndGet(slot, Math::max);
+  }
+
+  @Override
+  public long latestSlot() {
+    return latestSlot.get();
+  }
+
+  @Override
+  public void invalidate() {
+    cache.clear();
+  }
+
+  @Override
+  public long numHits() {
+    return numHits.get();
+  }
+
+  @Override
+  public long numCoalesced() {
+    return numCoalesced.get();
+  }
+
+  @Override
+  public long numMisses() {
+    return numMisses.get();
+  }
+
+  @Override
+  public URI endpoint() {
+    return delegate.endpoint();
+  }
+
+  @Override
+  public HttpClient httpClient() {
+    return delegate.httpClient();
+  }
+
+  @Override
+  public CompletableFuture<LatestBlockHash> getLatestBlockHash() {
+    return getLatestBlockHash(commitment);
+  }
+
+  @Override
+  public CompletableFuture<LatestBlockHash> getLatestBlockHash(final Commitment commitment) {
+    return cached(
+        new CacheKey("getLatestBlockhash", commitment, null),
+        () -> delegate.getLatestBlockHash(commitment),
+        latestBlockHash -> latestBlockHash.context().slot()
+    );
+  }
+
+  @Override
+  public CompletableFuture<EpochInfo> getEpochInfo() {
+    return getEpochInfo(commitment);
+  }
+
+  @Override
+  public CompletableFuture<EpochInfo> getEpochInfo(final Commitment commitment) {
+    return cached(
+        new CacheKey("getEpochInfo", commitment, null),
+        () -> delegate.getEpochInfo(commitment),
+        EpochInfo::absoluteSlot
+    );
+  }
+
+  @Override
+  public <T> CompletableFuture<AccountInfo<T>> getAccountInfo(final PublicKey account,
+                                                              final BiFunction<PublicKey, byte[], T> factory) {
+    return getAccountInfo(commitment, account, factory);
+  }
+
+  @Override
+  public <T> CompletableFuture<AccountInfo<T>> getAccountInfo(final Commitment commitment,
+                                                              final PublicKey account,
+                                                              final BiFunction<PublicKey, byte[], T> factory) {
+    final var accountInfo = cached(
+        new CacheKey("getAccountInfo", commitment, account),
+        () -> delegate.getAccountInfo(commitment, account, BYTES_IDENTITY),
+        info -> info.context() == null ? -1 : info.context().slot()
+    );
+    // The cached data is shared, each caller is given its own copy so that it may not be mutated for the others.
+    return accountInfo.thenApply(info -> info == null ? null : new AccountInfo<>(
+        info.pubKey(), info.context(), info.executable(), info.lamports(), info.owner(), info.rentEpoch(), info.space(),
+        factory.apply(info.pubKey(), info.data() == null ? null : info.data().clone())
+    ));
+  }
+
+  @Override
+  public CompletableFuture<Long> getMinimumBalanceForRentExemption(final long accountLength) {
+    return cached(
+        new CacheKey("getMinimumBalanceForRentExemption", accountLength, null),
+        () -> delegate.getMinimumBalanceForRentExemption(accountLength),
+        NO_SLOT
+    );
+  }
+
+  @Override
+  public CompletableFuture<String> getGenesisHash() {
+    return cached(new CacheKey("getGenesisHash", null, null), delegate::getGenesisHash, NO_SLOT);
+  }
+
+  @Override
+  public CompletableFuture<EpochSchedule> getEpochSchedule() {
+    return cached(new CacheKey("getEpochSchedule", null, null), delegate::getEpochSchedule, NO_SLOT);
+  }
+
+  @Override
+  public String toString() {
+    return "CachedRpcClient{" +
+        "delegate=" + delegate +
+        ", latestSlot=" + latestSlot +
+        ", numHits=" + numHits +
+        ", numCoalesced=" + numCoalesced +
+        ", numMisses=" + numMisses +
+        '}';
+  }
+}
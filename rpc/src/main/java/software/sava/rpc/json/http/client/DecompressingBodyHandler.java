@@ -0,0 +1,279 @@
+package software.sava.rpc.json.http.client;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/// Inflates `gzip` and `deflate` encoded response bodies as they stream in, passing any other encoding through.
+///
+/// [Inflater]'s are pooled and re-used across responses. The body is inflated into a buffer sized at twice the
+/// compressed `Content-Length`, bounded to [#MAX_INITIAL_BUFFER_SIZE], which then grows geometrically and is trimmed
+/// once complete, so parsers continue to receive a plain `byte[]`.
+public final class DecompressingBodyHandler implements HttpResponse.BodyHandler<byte[]> {
+
+  public static final String ACCEPT_ENCODING = "gzip, deflate";
+
+  private static final int MIN_BUFFER_SIZE = 8_192;
+  private static final int MAX_INITIAL_BUFFER_SIZE = 1 << 20;
+  private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+  private static final int MAX_POOLED = 64;
+
+  private static final ConcurrentLinkedQueue<Inflater> RAW_INFLATERS = new ConcurrentLinkedQueue<>();
+  private static final ConcurrentLinkedQueue<Inflater> ZLIB_INFLATERS = new ConcurrentLinkedQueue<>();
+
+  public static final DecompressingBodyHandler INSTANCE = new DecompressingBodyHandler();
+
+  private DecompressingBodyHandler() {
+  }
+
+  @Override
+  public HttpResponse.BodySubscriber<byte[]> apply(final HttpResponse.ResponseInfo responseInfo) {
+    final var headers = responseInfo.headers();
+    final var encoding = headers.firstValue("Content-Encoding").orElse(null);
+    if (encoding == null) {
+      return HttpResponse.BodySubscribers.ofByteArray();
+    }
+    final long contentLength = headers.firstValueAsLong("Content-Length").orElse(-1);
+    // Under-sizing costs an amortized copy while over-sizing pins memory for the life of the response, so start small.
+    final int sizeHint = contentLength <= 0
+        ? MIN_BUFFER_SIZE
+        : (int) Math.min(MAX_INITIAL_BUFFER_SIZE, Math.max(MIN_BUFFER_SIZE, contentLength << 1));
+    if ("gzip".equalsIgnoreCase(encoding) || "x-gzip".equalsIgnoreCase(encoding)) {
+      return new InflatingSubscriber(true, sizeHint);
+    } else if ("deflate".equalsIgnoreCase(encoding)) {
+      return new InflatingSubscriber(false, sizeHint);
+    } else {
+      return HttpResponse.BodySubscribers.ofByteArray();
+    }
+  }
+
+  private static Inflater borrow(final boolean raw) {
+    final var inflater = (raw ? RAW_INFLATERS : ZLIB_INFLATERS).poll();
+    return inflater == null ? new Inflater(raw) : inflater;
+  }
+
+  private static void release(final boolean raw, final Inflater inflater) {
+    final var pool = raw ? RAW_INFLATERS : ZLIB_INFLATERS;
+    if (pool.size() < MAX_POOLED) {
+      inflater.reset();
+      pool.offer(inflater);
+    } else {
+      inflater.end();
+    }
+  }
+
+  /// @return double the length, bounded to the maximum array length.
+  static int grow(final int length) throws DataFormatException {
+    if (length >= MAX_ARRAY_LENGTH) {
+      throw new DataFormatException("Inflated response body exceeds the maximum array length.");
+    }
+    return (int) Math.min(MAX_ARRAY_LENGTH, Math.max(MIN_BUFFER_SIZE, (long) length << 1));
+  }
+
+  private static final int GZIP_MAGIC = 0x8b1f;
+  private static final int FHCRC = 2;
+  private static final int FEXTRA = 4;
+  private static final int FNAME = 8;
+  private static final int FCOMMENT = 16;
+  private static final int GZIP_TRAILER_LENGTH = 8;
+
+  /// @return the length of the gzip member header, or -1 if more bytes are needed.
+  static int gzipHeaderLength(final byte[] header, final int len) throws ZipException {
+    if (len < 10) {
+      return -1;
+    }
+    if (((header[0] & 0xff) | ((header[1] & 0xff) << 8)) != GZIP_MAGIC) {
+      throw new ZipException("Not in GZIP format");
+    } else if (header[2] != 8) {
+      throw new ZipException("Unsupported compression method");
+    }
+    final int flags = header[3] & 0xff;
+    int i = 10;
+    if ((flags & FEXTRA) == FEXTRA) {
+      if (len < i + 2) {
+        return -1;
+      }
+      i += 2 + ((header[i] & 0xff) | ((header[i + 1] & 0xff) << 8));
+    }
+    if ((flags & FNAME) == FNAME) {
+      do {
+        if (i >= len) {
+          return -1;
+        }
+      } while (header[i++] != 0);
+    }
+    if ((flags & FCOMMENT) == FCOMMENT) {
+      do {
+        if (i >= len) {
+          return -1;
+        }
+      } while (header[i++] != 0);
+    }
+    if ((flags & FHCRC) == FHCRC) {
+      i += 2;
+    }
+    return i <= len ? i : -1;
+  }
+
+  private static final class InflatingSubscriber implements HttpResponse.BodySubscriber<byte[]> {
+
+    private final boolean gzip;
+    private final CompletableFuture<byte[]> result;
+    private final CRC32 crc;
+    private Inflater inflater;
+    private byte[] header;
+    private int headerLength;
+    private final byte[] trailer;
+    private int trailerLength;
+    private byte[] out;
+    private int size;
+
+    private InflatingSubscriber(final boolean gzip, final int sizeHint) {
+      this.gzip = gzip;
+      this.result = new CompletableFuture<>();
+      this.crc = gzip ? new CRC32() : null;
+      this.inflater = borrow(gzip);
+      this.header = gzip ? new byte[16] : null;
+      this.trailer = gzip ? new byte[GZIP_TRAILER_LENGTH] : null;
+      this.out = new byte[sizeHint];
+    }
+
+    @Override
+    public CompletionStage<byte[]> getBody() {
+      return result;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(final List<ByteBuffer> buffers) {
+      if (result.isDone()) {
+        return;
+      }
+      try {
+        for (final var buffer : buffers) {
+          feed(buffer);
+        }
+      } catch (final IOException | DataFormatException ex) {
+        onError(ex);
+      }
+    }
+
+    private void feed(final ByteBuffer buffer) throws IOException, DataFormatException {
+      if (header != null) {
+        final int available = buffer.remaining();
+        if (headerLength + available > header.length) {
+          header = Arrays.copyOf(header, Math.max(header.length << 1, headerLength + available));
+        }
+        buffer.get(header, headerLength, available);
+        headerLength += available;
+        final int length = gzipHeaderLength(header, headerLength);
+        if (length < 0) {
+          return;
+        }
+        final var remaining = ByteBuffer.wrap(header, length, headerLength - length);
+        header = null;
+        inflate(remaining);
+      } else {
+        inflate(buffer);
+      }
+    }
+
+    private void inflate(final ByteBuffer buffer) throws DataFormatException {
+      if (inflater.finished()) {
+        readTrailer(buffer);
+        return;
+      }
+      inflater.setInput(buffer);
+      for (; ; ) {
+        if (size == out.length) {
+          out = Arrays.copyOf(out, grow(out.length));
+        }
+        final int from = size;
+        final int inflated = inflater.inflate(out, from, out.length - from);
+        if (inflated > 0) {
+          if (crc != null) {
+            crc.update(out, from, inflated);
+          }
+          size += inflated;
+        } else if (inflater.finished()) {
+          readTrailer(buffer);
+          return;
+        } else if (inflater.needsInput()) {
+          return;
+        } else if (inflater.needsDictionary()) {
+          throw new DataFormatException("Preset dictionaries are not supported.");
+        }
+      }
+    }
+
+    private void readTrailer(final ByteBuffer buffer) {
+      if (trailer != null) {
+        final int len = Math.min(buffer.remaining(), GZIP_TRAILER_LENGTH - trailerLength);
+        buffer.get(trailer, trailerLength, len);
+        trailerLength += len;
+      }
+      buffer.position(buffer.limit());
+    }
+
+    private void releaseInflater() {
+      final var inflater = this.inflater;
+      if (inflater != null) {
+        this.inflater = null;
+        release(gzip, inflater);
+      }
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      releaseInflater();
+      result.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      if (result.isDone()) {
+        return;
+      }
+      if (!inflater.finished()) {
+        onError(new UncheckedIOException(new ZipException("Unexpected end of compressed response body.")));
+        return;
+      }
+      if (gzip) {
+        if (trailerLength < GZIP_TRAILER_LENGTH) {
+          onError(new UncheckedIOException(new ZipException("Truncated GZIP trailer.")));
+          return;
+        }
+        final long expectedCrc = readUInt(trailer, 0);
+        final long expectedSize = readUInt(trailer, 4);
+        if (expectedCrc != crc.getValue() || expectedSize != (size & 0xffffffffL)) {
+          onError(new UncheckedIOException(new ZipException("Corrupt GZIP trailer.")));
+          return;
+        }
+      }
+      releaseInflater();
+      result.complete(size == out.length ? out : Arrays.copyOf(out, size));
+    }
+
+    private static long readUInt(final byte[] data, final int offset) {
+      return (data[offset] & 0xffL)
+          | ((data[offset + 1] & 0xffL) << 8)
+          | ((data[offset + 2] & 0xffL) << 16)
+          | ((data[offset + 3] & 0xffL) << 24);
+    }
+  }
+}
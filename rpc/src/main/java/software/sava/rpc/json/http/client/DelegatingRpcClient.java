@@ -0,0 +1,860 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.accounts.Signer;
+import software.sava.core.accounts.token.TokenAccount;
+import software.sava.core.rpc.Filter;
+import software.sava.core.tx.Transaction;
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.request.ContextBoolVal;
+import software.sava.rpc.json.http.response.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/// Routes every [SolanaRpcClient] call through [#call(String, Function)] along with the name of the JSON RPC method,
+/// allowing subclasses to choose, wrap or short-circuit the underlying client(s).
+abstract class DelegatingRpcClient implements SolanaRpcClient {
+
+  protected abstract <R> CompletableFuture<R> call(final String method,
+                                                   final Function<SolanaRpcClient, CompletableFuture<R>> call);
+
+  @Override
+  public CompletableFuture<NodeHealth> getHealth() {
+    return call("getHealth", SolanaRpcClient::getHealth);
+  }
+
+  @Override
+  public CompletableFuture<FeeForMessage> getFeeForMessage(final String base64Msg) {
+    return call("getFeeForMessage", rpcClient -> rpcClient.getFeeForMessage(base64Msg));
+  }
+
+  @Override
+  public CompletableFuture<FeeForMessage> getFeeForMessage(final Commitment commitment, final String base64Msg) {
+    return call("getFeeForMessage", rpcClient -> rpcClient.getFeeForMessage(commitment, base64Msg));
+  }
+
+  @Override
+  public CompletableFuture<LatestBlockHash> getLatestBlockHash() {
+    return call("getLatestBlockhash", SolanaRpcClient::getLatestBlockHash);
+  }
+
+  @Override
+  public CompletableFuture<LatestBlockHash> getLatestBlockHash(final Commitment commitment) {
+    return call("getLatestBlockhash", rpcClient -> rpcClient.getLatestBlockHash(commitment));
+  }
+
+  @Override
+  public CompletableFuture<NodeHealth> getHealth(final Duration requestTimeout) {
+    return call("getHealth", rpcClient -> rpcClient.getHealth(requestTimeout));
+  }
+
+  @Override
+  public <T> CompletableFuture<AccountInfo<T>> getAccountInfo(final PublicKey account,
+                                                              final BiFunction<PublicKey, byte[], T> factory) {
+    return call("getAccountInfo", rpcClient -> rpcClient.getAccountInfo(account, factory));
+  }
+
+  @Override
+  public <T> CompletableFuture<AccountInfo<T>> getAccountInfo(final Commitment commitment,
+                                                              final PublicKey account,
+                                                              final BiFunction<PublicKey, byte[], T> factory) {
+    return call("getAccountInfo", rpcClient -> rpcClient.getAccountInfo(commitment, account, factory));
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getMultipleAccounts(final List<PublicKey> keys,
+                                                                         final BiFunction<PublicKey, byte[], T> factory) {
+    return call("getMultipleAccounts", rpcClient -> rpcClient.getMultipleAccounts(keys, factory));
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getMultipleAccounts(final Commitment commitment,
+                                                                         final List<PublicKey> keys,
+                                                                         final BiFunction<PublicKey, byte[], T> factory) {
+    return call("getMultipleAccounts", rpcClient -> rpcClient.getMultipleAccounts(commitment, keys, factory));
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getMultipleAccounts(final List<PublicKey> keys,
+                                                                         final AccountDataFactory<T> factory) {
+    return call("getMultipleAccounts", rpcClient -> rpcClient.getMultipleAccounts(keys, factory));
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getMultipleAccounts(final Commitment commitment,
+                                                                         final List<PublicKey> keys,
+                                                                         final AccountDataFactory<T> factory) {
+    return call("getMultipleAccounts", rpcClient -> rpcClient.getMultipleAccounts(commitment, keys, factory));
+  }
+
+  @Override
+  public CompletableFuture<Lamports> getBalance(final PublicKey account) {
+    return call("getBalance", rpcClient -> rpcClient.getBalance(account));
+  }
+
+  @Override
+  public CompletableFuture<Lamports> getBalance(final Commitment commitment, final PublicKey account) {
+    return call("getBalance", rpcClient -> rpcClient.getBalance(commitment, account));
+  }
+
+  @Override
+  public CompletableFuture<Block> getBlock(final long slot) {
+    return call("getBlock", rpcClient -> rpcClient.getBlock(slot));
+  }
+
+  @Override
+  public CompletableFuture<Block> getBlock(final Commitment commitment, final long slot) {
+    return call("getBlock", rpcClient -> rpcClient.getBlock(commitment, slot));
+  }
+
+  @Override
+  public CompletableFuture<Block> getBlockWithTransactions(final long slot) {
+    return call("getBlock", rpcClient -> rpcClient.getBlockWithTransactions(slot));
+  }
+
+  @Override
+  public CompletableFuture<Block> getBlockWithTransactions(final Commitment commitment, final long slot) {
+    return call("getBlock", rpcClient -> rpcClient.getBlockWithTransactions(commitment, slot));
+  }
+
+  @Override
+  public CompletableFuture<Block> getBlockWithTransactions(final Commitment commitment,
+                                                           final long slot,
+                                                           final boolean rewards) {
+    return call("getBlock", rpcClient -> rpcClient.getBlockWithTransactions(commitment, slot, rewards));
+  }
+
+  @Override
+  public CompletableFuture<BlockHeight> getBlockHeight() {
+    return call("getBlockHeight", SolanaRpcClient::getBlockHeight);
+  }
+
+  @Override
+  public CompletableFuture<BlockHeight> getBlockHeight(final Commitment commitment) {
+    return call("getBlockHeight", rpcClient -> rpcClient.getBlockHeight(commitment));
+  }
+
+  @Override
+  public CompletableFuture<BlockProduction> getBlockProduction() {
+    return call("getBlockProduction", SolanaRpcClient::getBlockProduction);
+  }
+
+  @Override
+  public CompletableFuture<BlockProduction> getBlockProduction(final Commitment commitment) {
+    return call("getBlockProduction", rpcClient -> rpcClient.getBlockProduction(commitment));
+  }
+
+  @Override
+  public CompletableFuture<BlockProduction> getBlockProduction(final PublicKey identity) {
+    return call("getBlockProduction", rpcClient -> rpcClient.getBlockProduction(identity));
+  }
+
+  @Override
+  public CompletableFuture<BlockProduction> getBlockProduction(final Commitment commitment, final PublicKey identity) {
+    return call("getBlockProduction", rpcClient -> rpcClient.getBlockProduction(commitment, identity));
+  }
+
+  @Override
+  public CompletableFuture<BlockProduction> getBlockProduction(final long firstSlot) {
+    return call("getBlockProduction", rpcClient -> rpcClient.getBlockProduction(firstSlot));
+  }
+
+  @Override
+  public CompletableFuture<BlockProduction> getBlockProduction(final Commitment commitment, final long firstSlot) {
+    return call("getBlockProduction", rpcClient -> rpcClient.getBlockProduction(commitment, firstSlot));
+  }
+
+  @Override
+  public CompletableFuture<BlockProduction> getBlockProduction(final PublicKey identity, final long firstSlot) {
+    return call("getBlockProduction", rpcClient -> rpcClient.getBlockProduction(identity, firstSlot));
+  }
+
+  @Override
+  public CompletableFuture<BlockProduction> getBlockProduction(final Commitment commitment,
+                                                               final PublicKey identity,
+                                                               final long firstSlot) {
+    return call("getBlockProduction", rpcClient -> rpcClient.getBlockProduction(commitment, identity, firstSlot));
+  }
+
+  @Override
+  public CompletableFuture<BlockCommitment> getBlockCommitment(final long slot) {
+    return call("getBlockCommitment", rpcClient -> rpcClient.getBlockCommitment(slot));
+  }
+
+  @Override
+  public CompletableFuture<long[]> getBlocks(final long startSlot) {
+    return call("getBlocks", rpcClient -> rpcClient.getBlocks(startSlot));
+  }
+
+  @Override
+  public CompletableFuture<long[]> getBlocks(final Commitment commitment, final long startSlot) {
+    return call("getBlocks", rpcClient -> rpcClient.getBlocks(commitment, startSlot));
+  }
+
+  @Override
+  public CompletableFuture<long[]> getBlocks(final long startSlot, final long endSlot) {
+    return call("getBlocks", rpcClient -> rpcClient.getBlocks(startSlot, endSlot));
+  }
+
+  @Override
+  public CompletableFuture<long[]> getBlocks(final Commitment commitment, final long startSlot, final long endSlot) {
+    return call("getBlocks", rpcClient -> rpcClient.getBlocks(commitment, startSlot, endSlot));
+  }
+
+  @Override
+  public CompletableFuture<long[]> getBlocksWithLimit(final long startSlot, final long limit) {
+    return call("getBlocksWithLimit", rpcClient -> rpcClient.getBlocksWithLimit(startSlot, limit));
+  }
+
+  @Override
+  public CompletableFuture<long[]> getBlocksWithLimit(final Commitment commitment,
+                                                      final long startSlot,
+                                                      final long limit) {
+    return call("getBlocksWithLimit", rpcClient -> rpcClient.getBlocksWithLimit(commitment, startSlot, limit));
+  }
+
+  @Override
+  public CompletableFuture<Instant> getBlockTime(final long slot) {
+    return call("getBlockTime", rpcClient -> rpcClient.getBlockTime(slot));
+  }
+
+  @Override
+  public CompletableFuture<List<ClusterNode>> getClusterNodes() {
+    return call("getClusterNodes", SolanaRpcClient::getClusterNodes);
+  }
+
+  @Override
+  public CompletableFuture<EpochInfo> getEpochInfo() {
+    return call("getEpochInfo", SolanaRpcClient::getEpochInfo);
+  }
+
+  @Override
+  public CompletableFuture<EpochInfo> getEpochInfo(final Commitment commitment) {
+    return call("getEpochInfo", rpcClient -> rpcClient.getEpochInfo(commitment));
+  }
+
+  @Override
+  public CompletableFuture<EpochSchedule> getEpochSchedule() {
+    return call("getEpochSchedule", SolanaRpcClient::getEpochSchedule);
+  }
+
+  @Override
+  public CompletableFuture<String> getGenesisHash() {
+    return call("getGenesisHash", SolanaRpcClient::getGenesisHash);
+  }
+
+  @Override
+  public CompletableFuture<HighestSnapshotSlot> getHighestSnapshotSlot() {
+    return call("getHighestSnapshotSlot", SolanaRpcClient::getHighestSnapshotSlot);
+  }
+
+  @Override
+  public CompletableFuture<Identity> getIdentity() {
+    return call("getIdentity", SolanaRpcClient::getIdentity);
+  }
+
+  @Override
+  public CompletableFuture<Long> getFirstAvailableBlock() {
+    return call("getFirstAvailableBlock", SolanaRpcClient::getFirstAvailableBlock);
+  }
+
+  @Override
+  public CompletableFuture<InflationGovernor> getInflationGovernor() {
+    return call("getInflationGovernor", SolanaRpcClient::getInflationGovernor);
+  }
+
+  @Override
+  public CompletableFuture<InflationGovernor> getInflationGovernor(final Commitment commitment) {
+    return call("getInflationGovernor", rpcClient -> rpcClient.getInflationGovernor(commitment));
+  }
+
+  @Override
+  public CompletableFuture<InflationRate> getInflationRate() {
+    return call("getInflationRate", SolanaRpcClient::getInflationRate);
+  }
+
+  @Override
+  public CompletableFuture<List<InflationReward>> getInflationReward(final List<PublicKey> keys) {
+    return call("getInflationReward", rpcClient -> rpcClient.getInflationReward(keys));
+  }
+
+  @Override
+  public CompletableFuture<List<InflationReward>> getInflationReward(final Commitment commitment,
+                                                                     final List<PublicKey> keys) {
+    return call("getInflationReward", rpcClient -> rpcClient.getInflationReward(commitment, keys));
+  }
+
+  @Override
+  public CompletableFuture<List<InflationReward>> getInflationReward(final List<PublicKey> keys, final long epoch) {
+    return call("getInflationReward", rpcClient -> rpcClient.getInflationReward(keys, epoch));
+  }
+
+  @Override
+  public CompletableFuture<List<InflationReward>> getInflationReward(final Commitment commitment,
+                                                                     final List<PublicKey> keys,
+                                                                     final long epoch) {
+    return call("getInflationReward", rpcClient -> rpcClient.getInflationReward(commitment, keys, epoch));
+  }
+
+  @Override
+  public CompletableFuture<List<AccountLamports>> getLargestAccounts() {
+    return call("getLargestAccounts", SolanaRpcClient::getLargestAccounts);
+  }
+
+  @Override
+  public CompletableFuture<List<AccountLamports>> getLargestAccounts(final Commitment commitment) {
+    return call("getLargestAccounts", rpcClient -> rpcClient.getLargestAccounts(commitment));
+  }
+
+  @Override
+  public CompletableFuture<Map<PublicKey, long[]>> getLeaderSchedule() {
+    return call("getLeaderSchedule", SolanaRpcClient::getLeaderSchedule);
+  }
+
+  @Override
+  public CompletableFuture<Map<PublicKey, long[]>> getLeaderSchedule(final Commitment commitment) {
+    return call("getLeaderSchedule", rpcClient -> rpcClient.getLeaderSchedule(commitment));
+  }
+
+  @Override
+  public CompletableFuture<Map<PublicKey, long[]>> getLeaderSchedule(final long slot) {
+    return call("getLeaderSchedule", rpcClient -> rpcClient.getLeaderSchedule(slot));
+  }
+
+  @Override
+  public CompletableFuture<Map<PublicKey, long[]>> getLeaderSchedule(final Commitment commitment, final long slot) {
+    return call("getLeaderSchedule", rpcClient -> rpcClient.getLeaderSchedule(commitment, slot));
+  }
+
+  @Override
+  public CompletableFuture<Map<PublicKey, long[]>> getLeaderSchedule(final long slot, final PublicKey identity) {
+    return call("getLeaderSchedule", rpcClient -> rpcClient.getLeaderSchedule(slot, identity));
+  }
+
+  @Override
+  public CompletableFuture<Map<PublicKey, long[]>> getLeaderSchedule(final Commitment commitment,
+                                                                     final long slot,
+                                                                     final PublicKey identity) {
+    return call("getLeaderSchedule", rpcClient -> rpcClient.getLeaderSchedule(commitment, slot, identity));
+  }
+
+  @Override
+  public CompletableFuture<Map<PublicKey, long[]>> getLeaderSchedule(final PublicKey identity) {
+    return call("getLeaderSchedule", rpcClient -> rpcClient.getLeaderSchedule(identity));
+  }
+
+  @Override
+  public CompletableFuture<Map<PublicKey, long[]>> getLeaderSchedule(final Commitment commitment,
+                                                                     final PublicKey identity) {
+    return call("getLeaderSchedule", rpcClient -> rpcClient.getLeaderSchedule(commitment, identity));
+  }
+
+  @Override
+  public CompletableFuture<LeaderSchedule> getEpochLeaderSchedule(final EpochSchedule epochSchedule, final long slot) {
+    return call("getLeaderSchedule", rpcClient -> rpcClient.getEpochLeaderSchedule(epochSchedule, slot));
+  }
+
+  @Override
+  public CompletableFuture<LeaderSchedule> getEpochLeaderSchedule(final Commitment commitment,
+                                                                  final EpochSchedule epochSchedule,
+                                                                  final long slot) {
+    return call("getLeaderSchedule", rpcClient -> rpcClient.getEpochLeaderSchedule(commitment, epochSchedule, slot));
+  }
+
+  @Override
+  public CompletableFuture<Long> getMaxRetransmitSlot() {
+    return call("getMaxRetransmitSlot", SolanaRpcClient::getMaxRetransmitSlot);
+  }
+
+  @Override
+  public CompletableFuture<Long> getMaxShredInsertSlot() {
+    return call("getMaxShredInsertSlot", SolanaRpcClient::getMaxShredInsertSlot);
+  }
+
+  @Override
+  public CompletableFuture<Long> getMinimumBalanceForRentExemption(final long accountLength) {
+    return call("getMinimumBalanceForRentExemption", rpcClient -> rpcClient.getMinimumBalanceForRentExemption(accountLength));
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getProgramAccounts(final Duration requestTimeout,
+                                                                        final PublicKey programId,
+                                                                        final BiFunction<PublicKey, byte[], T> factory) {
+    return call("getProgramAccounts", rpcClient -> rpcClient.getProgramAccounts(requestTimeout, programId, factory));
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getProgramAccounts(final Duration requestTimeout,
+                                                                        final PublicKey programId,
+                                                                        final List<Filter> filters,
+                                                                        final BiFunction<PublicKey, byte[], T> factory) {
+    return call("getProgramAccounts", rpcClient -> rpcClient.getProgramAccounts(requestTimeout, programId, filters, factory));
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getProgramAccounts(final Duration requestTimeout,
+                                                                        final PublicKey programId,
+                                                                        final Commitment commitment,
+                                                                        final List<Filter> filters,
+                                                                        final BiFunction<PublicKey, byte[], T> factory) {
+    return call("getProgramAccounts", rpcClient -> rpcClient.getProgramAccounts(requestTimeout, programId, commitment, filters, factory));
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getProgramAccounts(final Duration requestTimeout,
+                                                                        final PublicKey programId,
+                                                                        final Commitment commitment,
+                                                                        final List<Filter> filters,
+                                                                        final long changedSinceSlot,
+                                                                        final BiFunction<PublicKey, byte[], T> factory) {
+    return call("getProgramAccounts", rpcClient -> rpcClient.getProgramAccounts(requestTimeout, programId, commitment, filters, changedSinceSlot, factory));
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getProgramAccounts(final Duration requestTimeout,
+                                                                        final PublicKey programId,
+                                                                        final List<Filter> filters,
+                                                                        final AccountDataFactory<T> factory) {
+    return call("getProgramAccounts", rpcClient -> rpcClient.getProgramAccounts(requestTimeout, programId, filters, factory));
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getProgramAccounts(final Duration requestTimeout,
+                                                                        final PublicKey programId,
+                                                                        final Commitment commitment,
+                                                                        final List<Filter> filters,
+                                                                        final AccountDataFactory<T> factory) {
+    return call("getProgramAccounts", rpcClient -> rpcClient.getProgramAccounts(requestTimeout, programId, commitment, filters, factory));
+  }
+
+  @Override
+  public CompletableFuture<List<PerfSample>> getRecentPerformanceSamples(final int limit) {
+    return call("getRecentPerformanceSamples", rpcClient -> rpcClient.getRecentPerformanceSamples(limit));
+  }
+
+  @Override
+  public CompletableFuture<List<PrioritizationFee>> getRecentPrioritizationFees(final Collection<PublicKey> writablePublicKeys) {
+    return call("getRecentPrioritizationFees", rpcClient -> rpcClient.getRecentPrioritizationFees(writablePublicKeys));
+  }
+
+  @Override
+  public CompletableFuture<List<TxSig>> getSignaturesForAddress(final PublicKey address, final int limit) {
+    return call("getSignaturesForAddress", rpcClient -> rpcClient.getSignaturesForAddress(address, limit));
+  }
+
+  @Override
+  public CompletableFuture<List<TxSig>> getSignaturesForAddress(final Commitment commitment,
+                                                                final PublicKey address,
+                                                                final int limit) {
+    return call("getSignaturesForAddress", rpcClient -> rpcClient.getSignaturesForAddress(commitment, address, limit));
+  }
+
+  @Override
+  public CompletableFuture<List<TxSig>> getSignaturesForAddressBefore(final PublicKey address,
+                                                                      final int limit,
+                                                                      final String beforeTxSig) {
+    return call("getSignaturesForAddress", rpcClient -> rpcClient.getSignaturesForAddressBefore(address, limit, beforeTxSig));
+  }
+
+  @Override
+  public CompletableFuture<List<TxSig>> getSignaturesForAddressBefore(final Commitment commitment,
+                                                                      final PublicKey address,
+                                                                      final int limit,
+                                                                      final String beforeTxSig) {
+    return call("getSignaturesForAddress", rpcClient -> rpcClient.getSignaturesForAddressBefore(commitment, address, limit, beforeTxSig));
+  }
+
+  @Override
+  public CompletableFuture<List<TxSig>> getSignaturesForAddressUntil(final PublicKey address,
+                                                                     final int limit,
+                                                                     final String untilTxSig) {
+    return call("getSignaturesForAddress", rpcClient -> rpcClient.getSignaturesForAddressUntil(address, limit, untilTxSig));
+  }
+
+  @Override
+  public CompletableFuture<List<TxSig>> getSignaturesForAddressUntil(final Commitment commitment,
+                                                                     final PublicKey address,
+                                                                     final int limit,
+                                                                     final String untilTxSig) {
+    return call("getSignaturesForAddress", rpcClient -> rpcClient.getSignaturesForAddressUntil(commitment, address, limit, untilTxSig));
+  }
+
+  @Override
+  public CompletableFuture<Map<String, TxStatus>> getSignatureStatuses(final List<String> txIds,
+                                                                       final boolean searchTransactionHistory) {
+    return call("getSignatureStatuses", rpcClient -> rpcClient.getSignatureStatuses(txIds, searchTransactionHistory));
+  }
+
+  @Override
+  public CompletableFuture<List<TxStatus>> getSignatureStatusList(final List<String> txIds,
+                                                                  final boolean searchTransactionHistory) {
+    return call("getSignatureStatuses", rpcClient -> rpcClient.getSignatureStatusList(txIds, searchTransactionHistory));
+  }
+
+  @Override
+  public CompletableFuture<Long> getSlot() {
+    return call("getSlot", SolanaRpcClient::getSlot);
+  }
+
+  @Override
+  public CompletableFuture<Long> getSlot(final Commitment commitment) {
+    return call("getSlot", rpcClient -> rpcClient.getSlot(commitment));
+  }
+
+  @Override
+  public CompletableFuture<PublicKey> getSlotLeader() {
+    return call("getSlotLeader", SolanaRpcClient::getSlotLeader);
+  }
+
+  @Override
+  public CompletableFuture<PublicKey> getSlotLeader(final Commitment commitment) {
+    return call("getSlotLeader", rpcClient -> rpcClient.getSlotLeader(commitment));
+  }
+
+  @Override
+  public CompletableFuture<List<PublicKey>> getSlotLeaders(final long from, final int limit) {
+    return call("getSlotLeaders", rpcClient -> rpcClient.getSlotLeaders(from, limit));
+  }
+
+  @Override
+  public CompletableFuture<Lamports> getStakeMinimumDelegation() {
+    return call("getStakeMinimumDelegation", SolanaRpcClient::getStakeMinimumDelegation);
+  }
+
+  @Override
+  public CompletableFuture<Lamports> getStakeMinimumDelegation(final Commitment commitment) {
+    return call("getStakeMinimumDelegation", rpcClient -> rpcClient.getStakeMinimumDelegation(commitment));
+  }
+
+  @Override
+  public CompletableFuture<Supply> getSupply() {
+    return call("getSupply", SolanaRpcClient::getSupply);
+  }
+
+  @Override
+  public CompletableFuture<Supply> getSupply(final Commitment commitment,
+                                             final boolean excludeNonCirculatingAccountsList) {
+    return call("getSupply", rpcClient -> rpcClient.getSupply(commitment, excludeNonCirculatingAccountsList));
+  }
+
+  @Override
+  public CompletableFuture<TokenAmount> getTokenAccountBalance(final PublicKey tokenAccount) {
+    return call("getTokenAccountBalance", rpcClient -> rpcClient.getTokenAccountBalance(tokenAccount));
+  }
+
+  @Override
+  public CompletableFuture<TokenAmount> getTokenAccountBalance(final Commitment commitment,
+                                                               final PublicKey tokenAccount) {
+    return call("getTokenAccountBalance", rpcClient -> rpcClient.getTokenAccountBalance(commitment, tokenAccount));
+  }
+
+  @Override
+  public CompletableFuture<List<AccountInfo<TokenAccount>>> getTokenAccountsForTokenMintByDelegate(final PublicKey delegate,
+                                                                                                   final PublicKey tokenMint) {
+    return call("getTokenAccountsByDelegate", rpcClient -> rpcClient.getTokenAccountsForTokenMintByDelegate(delegate, tokenMint));
+  }
+
+  @Override
+  public CompletableFuture<List<AccountInfo<TokenAccount>>> getTokenAccountsForTokenMintByDelegate(final Commitment commitment,
+                                                                                                   final PublicKey delegate,
+                                                                                                   final PublicKey tokenMint) {
+    return call("getTokenAccountsByDelegate", rpcClient -> rpcClient.getTokenAccountsForTokenMintByDelegate(commitment, delegate, tokenMint));
+  }
+
+  @Override
+  public CompletableFuture<List<AccountInfo<TokenAccount>>> getTokenAccountsForProgramByDelegate(final PublicKey delegate,
+                                                                                                 final PublicKey programId) {
+    return call("getTokenAccountsByDelegate", rpcClient -> rpcClient.getTokenAccountsForProgramByDelegate(delegate, programId));
+  }
+
+  @Override
+  public CompletableFuture<List<AccountInfo<TokenAccount>>> getTokenAccountsForProgramByDelegate(final Commitment commitment,
+                                                                                                 final PublicKey delegate,
+                                                                                                 final PublicKey programId) {
+    return call("getTokenAccountsByDelegate", rpcClient -> rpcClient.getTokenAccountsForProgramByDelegate(commitment, delegate, programId));
+  }
+
+  @Override
+  public CompletableFuture<List<AccountInfo<TokenAccount>>> getTokenAccountsForTokenMintByOwner(final PublicKey owner,
+                                                                                                final PublicKey tokenMint) {
+    return call("getTokenAccountsByOwner", rpcClient -> rpcClient.getTokenAccountsForTokenMintByOwner(owner, tokenMint));
+  }
+
+  @Override
+  public CompletableFuture<List<AccountInfo<TokenAccount>>> getTokenAccountsForTokenMintByOwner(final Commitment commitment,
+                                                                                                final PublicKey owner,
+                                                                                                final PublicKey tokenMint) {
+    return call("getTokenAccountsByOwner", rpcClient -> rpcClient.getTokenAccountsForTokenMintByOwner(commitment, owner, tokenMint));
+  }
+
+  @Override
+  public CompletableFuture<List<AccountInfo<TokenAccount>>> getTokenAccountsForProgramByOwner(final PublicKey owner,
+                                                                                              final PublicKey programId) {
+    return call("getTokenAccountsByOwner", rpcClient -> rpcClient.getTokenAccountsForProgramByOwner(owner, programId));
+  }
+
+  @Override
+  public CompletableFuture<List<AccountInfo<TokenAccount>>> getTokenAccountsForProgramByOwner(final Commitment commitment,
+                                                                                              final PublicKey owner,
+                                                                                              final PublicKey programId) {
+    return call("getTokenAccountsByOwner", rpcClient -> rpcClient.getTokenAccountsForProgramByOwner(commitment, owner, programId));
+  }
+
+  @Override
+  public CompletableFuture<List<AccountTokenAmount>> getTokenLargestAccounts(final PublicKey tokenMint) {
+    return call("getTokenLargestAccounts", rpcClient -> rpcClient.getTokenLargestAccounts(tokenMint));
+  }
+
+  @Override
+  public CompletableFuture<List<AccountTokenAmount>> getTokenLargestAccounts(final Commitment commitment,
+                                                                             final PublicKey tokenMint) {
+    return call("getTokenLargestAccounts", rpcClient -> rpcClient.getTokenLargestAccounts(commitment, tokenMint));
+  }
+
+  @Override
+  public CompletableFuture<TokenAmount> getTokenSupply(final PublicKey tokenMintAccount) {
+    return call("getTokenSupply", rpcClient -> rpcClient.getTokenSupply(tokenMintAccount));
+  }
+
+  @Override
+  public CompletableFuture<TokenAmount> getTokenSupply(final Commitment commitment, final PublicKey tokenMintAccount) {
+    return call("getTokenSupply", rpcClient -> rpcClient.getTokenSupply(commitment, tokenMintAccount));
+  }
+
+  @Override
+  public CompletableFuture<Tx> getTransaction(final String txSignature) {
+    return call("getTransaction", rpcClient -> rpcClient.getTransaction(txSignature));
+  }
+
+  @Deprecated
+  @Override
+  public CompletableFuture<Tx> getTransaction(final String txSignature,
+                                              final int maxSupportedTransactionVersion,
+                                              final String encoding) {
+    return call("getTransaction", rpcClient -> rpcClient.getTransaction(txSignature, maxSupportedTransactionVersion, encoding));
+  }
+
+  @Deprecated
+  @Override
+  public CompletableFuture<Tx> getTransaction(final Commitment commitment,
+                                              final String txSignature,
+                                              final int maxSupportedTransactionVersion,
+                                              final String encoding) {
+    return call("getTransaction", rpcClient -> rpcClient.getTransaction(commitment, txSignature, maxSupportedTransactionVersion, encoding));
+  }
+
+  @Override
+  public CompletableFuture<Long> getTransactionCount() {
+    return call("getTransactionCount", SolanaRpcClient::getTransactionCount);
+  }
+
+  @Override
+  public CompletableFuture<Long> getTransactionCount(final Commitment commitment) {
+    return call("getTransactionCount", rpcClient -> rpcClient.getTransactionCount(commitment));
+  }
+
+  @Override
+  public CompletableFuture<Version> getVersion() {
+    return call("getVersion", SolanaRpcClient::getVersion);
+  }
+
+  @Override
+  public CompletableFuture<VoteAccounts> getVoteAccounts() {
+    return call("getVoteAccounts", SolanaRpcClient::getVoteAccounts);
+  }
+
+  @Override
+  public CompletableFuture<VoteAccounts> getVoteAccounts(final Commitment commitment) {
+    return call("getVoteAccounts", rpcClient -> rpcClient.getVoteAccounts(commitment));
+  }
+
+  @Override
+  public CompletableFuture<VoteAccounts> getVoteAccounts(final PublicKey validatorVoteAddress) {
+    return call("getVoteAccounts", rpcClient -> rpcClient.getVoteAccounts(validatorVoteAddress));
+  }
+
+  @Override
+  public CompletableFuture<VoteAccounts> getVoteAccounts(final Commitment commitment,
+                                                         final PublicKey validatorVoteAddress) {
+    return call("getVoteAccounts", rpcClient -> rpcClient.getVoteAccounts(commitment, validatorVoteAddress));
+  }
+
+  @Override
+  public CompletableFuture<ContextBoolVal> isBlockHashValid(final String b58BlockHash) {
+    return call("isBlockhashValid", rpcClient -> rpcClient.isBlockHashValid(b58BlockHash));
+  }
+
+  @Override
+  public CompletableFuture<ContextBoolVal> isBlockHashValid(final Commitment commitment, final String b58BlockHash) {
+    return call("isBlockhashValid", rpcClient -> rpcClient.isBlockHashValid(commitment, b58BlockHash));
+  }
+
+  @Override
+  public CompletableFuture<Long> minimumLedgerSlot() {
+    return call("minimumLedgerSlot", SolanaRpcClient::minimumLedgerSlot);
+  }
+
+  @Override
+  public CompletableFuture<String> requestAirdrop(final PublicKey key, final long lamports) {
+    return call("requestAirdrop", rpcClient -> rpcClient.requestAirdrop(key, lamports));
+  }
+
+  @Override
+  public CompletableFuture<String> requestAirdrop(final Commitment commitment,
+                                                  final PublicKey key,
+                                                  final long lamports) {
+    return call("requestAirdrop", rpcClient -> rpcClient.requestAirdrop(commitment, key, lamports));
+  }
+
+  @Override
+  public CompletableFuture<String> sendTransaction(final Transaction transaction,
+                                                   final Signer signer,
+                                                   final byte[] recentBlockHash) {
+    return call("sendTransaction", rpcClient -> rpcClient.sendTransaction(transaction, signer, recentBlockHash));
+  }
+
+  @Override
+  public CompletableFuture<String> sendTransaction(final Commitment preflightCommitment,
+                                                   final Transaction transaction,
+                                                   final Signer signer,
+                                                   final byte[] recentBlockHash) {
+    return call("sendTransaction", rpcClient -> rpcClient.sendTransaction(preflightCommitment, transaction, signer, recentBlockHash));
+  }
+
+  @Override
+  public CompletableFuture<String> sendTransaction(final Transaction transaction,
+                                                   final List<Signer> signers,
+                                                   final byte[] recentBlockHash) {
+    return call("sendTransaction", rpcClient -> rpcClient.sendTransaction(transaction, signers, recentBlockHash));
+  }
+
+  @Override
+  public CompletableFuture<String> sendTransaction(final Commitment preflightCommitment,
+                                                   final Transaction transaction,
+                                                   final List<Signer> signers,
+                                                   final byte[] recentBlockHash) {
+    return call("sendTransaction", rpcClient -> rpcClient.sendTransaction(preflightCommitment, transaction, signers, recentBlockHash));
+  }
+
+  @Override
+  public CompletableFuture<String> sendTransaction(final String base64SignedTx, final int maxRetries) {
+    return call("sendTransaction", rpcClient -> rpcClient.sendTransaction(base64SignedTx, maxRetries));
+  }
+
+  @Override
+  public CompletableFuture<String> sendTransaction(final Commitment preflightCommitment,
+                                                   final String base64SignedTx,
+                                                   final int maxRetries) {
+    return call("sendTransaction", rpcClient -> rpcClient.sendTransaction(preflightCommitment, base64SignedTx, maxRetries));
+  }
+
+  @Override
+  public CompletableFuture<String> sendTransactionSkipPreflight(final Commitment preflightCommitment,
+                                                                final String base64SignedTx,
+                                                                final int maxRetries) {
+    return call("sendTransaction", rpcClient -> rpcClient.sendTransactionSkipPreflight(preflightCommitment, base64SignedTx, maxRetries));
+  }
+
+  @Override
+  public CompletableFuture<TxSimulation> simulateTransaction(final Transaction transaction,
+                                                             final PublicKey signer,
+                                                             final List<PublicKey> accounts) {
+    return call("simulateTransaction", rpcClient -> rpcClient.simulateTransaction(transaction, signer, accounts));
+  }
+
+  @Override
+  public CompletableFuture<TxSimulation> simulateTransaction(final Commitment commitment,
+                                                             final Transaction transaction,
+                                                             final PublicKey signer,
+                                                             final List<PublicKey> accounts) {
+    return call("simulateTransaction", rpcClient -> rpcClient.simulateTransaction(commitment, transaction, signer, accounts));
+  }
+
+  @Override
+  public CompletableFuture<TxSimulation> simulateTransaction(final Transaction transaction) {
+    return call("simulateTransaction", rpcClient -> rpcClient.simulateTransaction(transaction));
+  }
+
+  @Override
+  public CompletableFuture<TxSimulation> simulateTransaction(final Transaction transaction,
+                                                             final boolean replaceRecentBlockhash) {
+    return call("simulateTransaction", rpcClient -> rpcClient.simulateTransaction(transaction, replaceRecentBlockhash));
+  }
+
+  @Override
+  public CompletableFuture<TxSimulation> simulateTransaction(final Commitment commitment,
+                                                             final Transaction transaction,
+                                                             final boolean replaceRecentBlockhash) {
+    return call("simulateTransaction", rpcClient -> rpcClient.simulateTransaction(commitment, transaction, replaceRecentBlockhash));
+  }
+
+  @Override
+  public CompletableFuture<TxSimulation> simulateTransaction(final String base64EncodedTx) {
+    return call("simulateTransaction", rpcClient -> rpcClient.simulateTransaction(base64EncodedTx));
+  }
+
+  @Override
+  public CompletableFuture<TxSimulation> simulateTransaction(final String base64EncodedTx,
+                                                             final PublicKey signer,
+                                                             final List<PublicKey> accounts) {
+    return call("simulateTransaction", rpcClient -> rpcClient.simulateTransaction(base64EncodedTx, signer, accounts));
+  }
+
+  @Override
+  public CompletableFuture<TxSimulation> simulateTransaction(final Commitment commitment,
+                                                             final String base64EncodedTx,
+                                                             final PublicKey signer,
+                                                             final List<PublicKey> accounts) {
+    return call("simulateTransaction", rpcClient -> rpcClient.simulateTransaction(commitment, base64EncodedTx, signer, accounts));
+  }
+
+  @Override
+  public CompletableFuture<TxSimulation> simulateTransaction(final Transaction transaction,
+                                                             final List<PublicKey> signers,
+                                                             final List<PublicKey> accounts) {
+    return call("simulateTransaction", rpcClient -> rpcClient.simulateTransaction(transaction, signers, accounts));
+  }
+
+  @Override
+  public CompletableFuture<TxSimulation> simulateTransaction(final Commitment commitment,
+                                                             final Transaction transaction,
+                                                             final List<PublicKey> signers,
+                                                             final List<PublicKey> accounts) {
+    return call("simulateTransaction", rpcClient -> rpcClient.simulateTransaction(commitment, transaction, signers, accounts));
+  }
+
+  @Override
+  public CompletableFuture<TxSimulation> simulateTransaction(final String base64EncodedTx,
+                                                             final List<PublicKey> signers,
+                                                             final List<PublicKey> accounts) {
+    return call("simulateTransaction", rpcClient -> rpcClient.simulateTransaction(base64EncodedTx, signers, accounts));
+  }
+
+  @Override
+  public CompletableFuture<TxSimulation> simulateTransaction(final Commitment commitment,
+                                                             final String base64EncodedTx,
+                                                             final List<PublicKey> signers,
+                                                             final List<PublicKey> accounts) {
+    return call("simulateTransaction", rpcClient -> rpcClient.simulateTransaction(commitment, base64EncodedTx, signers, accounts));
+  }
+
+  @Override
+  public CompletableFuture<TxSimulation> simulateTransaction(final String base64EncodedTx,
+                                                             final boolean replaceRecentBlockhash) {
+    return call("simulateTransaction", rpcClient -> rpcClient.simulateTransaction(base64EncodedTx, replaceRecentBlockhash));
+  }
+
+  @Override
+  public CompletableFuture<TxSimulation> simulateTransaction(final Commitment commitment,
+                                                             final String base64EncodedTx,
+                                                             final boolean replaceRecentBlockhash) {
+    return call("simulateTransaction", rpcClient -> rpcClient.simulateTransaction(commitment, base64EncodedTx, replaceRecentBlockhash));
+  }
+}
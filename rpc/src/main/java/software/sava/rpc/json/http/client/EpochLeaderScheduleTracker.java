@@ -0,0 +1,168 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.EpochSchedule;
+import software.sava.rpc.json.http.response.LeaderSchedule;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.lang.System.Logger.Level.WARNING;
+import static software.sava.rpc.json.http.client.JsonResponseController.log;
+
+final class EpochLeaderScheduleTracker implements LeaderScheduleTracker {
+
+  private final SolanaRpcClient rpcClient;
+  private final Commitment commitment;
+  private final AtomicReference<CompletableFuture<EpochSchedule>> epochSchedule;
+  private final ConcurrentHashMap<Long, CompletableFuture<LeaderSchedule>> schedules;
+  private volatile LeaderSchedule current;
+  private volatile LeaderSchedule next;
+
+  EpochLeaderScheduleTracker(final SolanaRpcClient rpcClient, final Commitment commitment) {
+    this.rpcClient = rpcClient;
+    this.commitment = commitment;
+    this.epochSchedule = new AtomicReference<>();
+    this.schedules = new ConcurrentHashMap<>();
+  }
+
+  private CompletableFuture<EpochSchedule> epochSchedule() {
+    final var epochSchedule = this.epochSchedule.get();
+    if (epochSchedule != null && !epochSchedule.isCompletedExceptionally()) {
+      return epochSchedule;
+    }
+    final var fetch = new CompletableFuture<EpochSchedule>();
+    if (this.epochSchedule.compareAndSet(epochSchedule, fetch)) {
+      rpcClient.getEpochSchedule().whenComplete((schedule, ex) -> {
+        if (ex == null) {
+          fetch.complete(schedule);
+        } else {
+          fetch.completeExceptionally(ex);
+        }
+      });
+      return fetch;
+    } else {
+      return this.epochSchedule.get();
+    }
+  }
+
+  private CompletableFuture<LeaderSchedule> fetch(final EpochSchedule epochSchedule, final long epoch) {
+    return schedules.compute(epoch, (_, previous) -> previous == null || previous.isCompletedExceptionally()
+        ? rpcClient.getEpochLeaderSchedule(commitment, epochSchedule, epochSchedule.firstSlotInEpoch(epoch))
+        : previous
+    );
+  }
+
+  private void advance(final EpochSchedule epochSchedule, final long slot) {
+    final long epoch = epochSchedule.epoch(slot);
+    final var current = this.current;
+    if (current == null || current.epoch() < epoch) {
+      fetch(epochSchedule, epoch).whenComplete((schedule, ex) -> {
+        if (ex != null) {
+          log.log(WARNING, "Failed to fetch leader schedule for epoch " + epoch, ex);
+        } else if (schedule != null) {
+          synchronized (this) {
+            final var latest = this.current;
+            if (latest == null || latest.epoch() < schedule.epoch()) {
+              this.current = schedule;
+              schedules.keySet().removeIf(e -> e < epoch);
+            }
+          }
+        }
+      });
+    }
+    final var next = this.next;
+    if (next == null || next.epoch() <= epoch) {
+      final long nextEpoch = epoch + 1;
+      fetch(epochSchedule, nextEpoch).whenComplete((schedule, ex) -> {
+        if (ex != null) {
+          log.log(WARNING, "Failed to fetch leader schedule for epoch " + nextEpoch, ex);
+        } else if (schedule != null) {
+          synchronized (this) {
+            final var latest = this.next;
+            if (latest == null || latest.epoch() < schedule.epoch()) {
+              this.next = schedule;
+            }
+          }
+        }
+      });
+    }
+  }
+
+  @Override
+  public void onSlot(final long slot) {
+    final var current = this.current;
+    final var next = this.next;
+    if (current == null || !current.contains(slot) || next == null || next.epoch() <= current.epoch()) {
+      final var epochSchedule = epochSchedule();
+      final var loaded = epochSchedule.getNow(null);
+      if (loaded != null) {
+        advance(loaded, slot);
+      } else {
+        epochSchedule.thenAccept(schedule -> advance(schedule, slot));
+      }
+    }
+  }
+
+  @Override
+  public CompletableFuture<LeaderSchedule> schedule(final long slot) {
+    final var current = this.current;
+    if (current != null && current.contains(slot)) {
+      return CompletableFuture.completedFuture(current);
+    }
+    final var next = this.next;
+    if (next != null && next.contains(slot)) {
+      return CompletableFuture.completedFuture(next);
+    }
+    return epochSchedule().thenCompose(epochSchedule -> fetch(epochSchedule, epochSchedule.epoch(slot)));
+  }
+
+  @Override
+  public PublicKey leader(final long slot) {
+    final var current = this.current;
+    if (current != null && current.contains(slot)) {
+      return current.leader(slot);
+    }
+    final var next = this.next;
+    return next == null ? null : next.leader(slot);
+  }
+
+  @Override
+  public List<PublicKey> nextLeaders(final long slot, final int numLeaders) {
+    final var leaders = new PublicKey[numLeaders];
+    int n = 0;
+    final var current = this.current;
+    if (current != null) {
+      n = current.nextLeaders(slot, leaders, null, numLeaders);
+    }
+    final var next = this.next;
+    if (n < numLeaders && next != null && (current == null || next.epoch() == current.epoch() + 1)) {
+      final var remaining = new PublicKey[numLeaders - n];
+      final int numNext = next.nextLeaders(Math.max(slot, next.firstSlot()), remaining, null, remaining.length);
+      for (int i = 0; i < numNext; ++i) {
+        if (n == 0 || !remaining[i].equals(leaders[n - 1])) {
+          leaders[n++] = remaining[i];
+        }
+      }
+    }
+    return Arrays.asList(leaders).subList(0, n);
+  }
+
+  @Override
+  public LeaderSchedule current() {
+    return current;
+  }
+
+  @Override
+  public String toString() {
+    return "LeaderScheduleTracker{" +
+        "endpoint=" + rpcClient.endpoint() +
+        ", current=" + current +
+        ", next=" + next +
+        '}';
+  }
+}
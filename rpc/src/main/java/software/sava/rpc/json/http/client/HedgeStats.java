@@ -0,0 +1,16 @@
+package software.sava.rpc.json.http.client;
+
+/// @param numRequests     number of requests passed through the hedger.
+/// @param numHedged       number of requests for which a hedge request was sent.
+/// @param numHedgeWins    number of hedged requests answered first by the hedge request.
+/// @param hedgeDelayMillis current hedge delay.
+public record HedgeStats(long numRequests, long numHedged, long numHedgeWins, long hedgeDelayMillis) {
+
+  public double hedgeRate() {
+    return numRequests == 0 ? 0 : numHedged / (double) numRequests;
+  }
+
+  public double hedgeWinRate() {
+    return numHedged == 0 ? 0 : numHedgeWins / (double) numHedged;
+  }
+}
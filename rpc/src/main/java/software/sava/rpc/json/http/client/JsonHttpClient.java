@@ -1,5 +1,6 @@
 package software.sava.rpc.json.http.client;
 
+import jdk.jfr.EventType;
 import systems.comodal.jsoniter.JsonIterator;
 
 import java.net.URI;
@@ -17,19 +18,43 @@ import static java.net.http.HttpResponse.BodyHandlers.ofByteArray;
 
 public abstract class JsonHttpClient {
 
+  private static final EventType RPC_REQUEST_EVENT = EventType.getEventType(RpcRequestEvent.class);
+
   protected final URI endpoint;
   protected final HttpClient httpClient;
   protected final Duration requestTimeout;
   protected final Predicate<HttpResponse<byte[]>> applyResponse;
+  protected final RequestHedger hedger;
+  protected final HttpClient hedgeHttpClient;
+  protected final RateLimiter rateLimiter;
+  protected final RpcMetrics metrics;
+  protected final boolean acceptCompression;
+  private final HttpResponse.BodyHandler<byte[]> bodyHandler;
 
   protected JsonHttpClient(final URI endpoint,
                            final HttpClient httpClient,
                            final Duration requestTimeout,
-                           final Predicate<HttpResponse<byte[]>> applyResponse) {
+                           final Predicate<HttpResponse<byte[]>> applyResponse,
+                           final JsonHttpClientConfig config) {
     this.endpoint = endpoint;
     this.httpClient = httpClient;
     this.requestTimeout = requestTimeout;
     this.applyResponse = applyResponse;
+    this.hedger = config.hedger();
+    this.hedgeHttpClient = hedger == null || config.hedgeHttpClient() != null
+        ? config.hedgeHttpClient()
+        : newHedgeHttpClient(httpClient);
+    this.rateLimiter = config.rateLimiter();
+    this.metrics = config.metrics();
+    this.acceptCompression = config.acceptCompression();
+    this.bodyHandler = acceptCompression ? DecompressingBodyHandler.INSTANCE : ofByteArray();
+  }
+
+  protected JsonHttpClient(final URI endpoint,
+                           final HttpClient httpClient,
+                           final Duration requestTimeout,
+                           final Predicate<HttpResponse<byte[]>> applyResponse) {
+    this(endpoint, httpClient, requestTimeout, applyResponse, JsonHttpClientConfig.DEFAULT);
   }
 
   protected JsonHttpClient(final URI endpoint,
@@ -38,6 +63,22 @@ public abstract class JsonHttpClient {
     this(endpoint, httpClient, requestTimeout, null);
   }
 
+  /// Hedges are sent on their own connection(s) so that they are not subject to the head-of-line blocking, flow
+  /// control or connection failure which may be delaying the primary request.
+  private static HttpClient newHedgeHttpClient(final HttpClient httpClient) {
+    final var builder = HttpClient.newBuilder()
+        .version(httpClient.version())
+        .followRedirects(httpClient.followRedirects())
+        .sslContext(httpClient.sslContext())
+        .sslParameters(httpClient.sslParameters());
+    httpClient.connectTimeout().ifPresent(builder::connectTimeout);
+    httpClient.proxy().ifPresent(builder::proxy);
+    httpClient.authenticator().ifPresent(builder::authenticator);
+    httpClient.cookieHandler().ifPresent(builder::cookieHandler);
+    httpClient.executor().ifPresent(builder::executor);
+    return builder.build();
+  }
+
   public final URI endpoint() {
     return this.endpoint;
   }
@@ -54,15 +95,121 @@ public abstract class JsonHttpClient {
     return new KeepJsonResponseController<>(adapter);
   }
 
+  private boolean instrumented() {
+    return rateLimiter != null || metrics != null || RPC_REQUEST_EVENT.isEnabled();
+  }
+
+  /// Cancelling the returned future aborts the HTTP exchange, or if still waiting on the rate limiter, prevents it.
+  /// Cancelling a stage derived from [HttpClient#sendAsync] does not abort the underlying exchange.
+  private CompletableFuture<HttpResponse<byte[]>> sendAsync(final HttpClient httpClient,
+                                                            final HttpRequest request,
+                                                            final String key) {
+    final long queued = metrics == null ? 0 : System.nanoTime();
+    if (rateLimiter == null) {
+      return exchange(httpClient, request, key, queued);
+    }
+    final var attempt = new CompletableFuture<HttpResponse<byte[]>>();
+    rateLimiter.acquire(key).whenComplete((_, permitError) -> {
+      if (permitError != null) {
+        attempt.completeExceptionally(permitError);
+      } else if (!attempt.isDone()) {
+        final var exchange = exchange(httpClient, request, key, queued);
+        attempt.whenComplete((_, _) -> {
+          if (attempt.isCancelled()) {
+            exchange.cancel(true);
+          }
+        });
+        exchange.whenComplete((response, throwable) -> {
+          if (throwable == null) {
+            onRateLimitedResponse(key, response);
+            attempt.complete(response);
+          } else {
+            attempt.completeExceptionally(throwable);
+          }
+        });
+      }
+    });
+    return attempt;
+  }
+
+  private void onRateLimitedResponse(final String key, final HttpResponse<byte[]> response) {
+    if (response.statusCode() == 429) {
+      rateLimiter.onRateLimited(key, response.headers().firstValueAsLong("retry-after"));
+    } else {
+      rateLimiter.onSuccess(key);
+    }
+  }
+
+  /// @return the future returned by [HttpClient#sendAsync] itself, so that it may be cancelled.
+  private CompletableFuture<HttpResponse<byte[]>> exchange(final HttpClient httpClient,
+                                                           final HttpRequest request,
+                                                           final String key,
+                                                           final long queued) {
+    final var event = new RpcRequestEvent();
+    if (metrics == null && !event.isEnabled()) {
+      return httpClient.sendAsync(request, bodyHandler);
+    }
+    event.begin();
+    final long sent = System.nanoTime();
+    final var exchange = httpClient.sendAsync(request, bodyHandler);
+    exchange.whenComplete((response, throwable) -> onExchange(request, key, queued, sent, response, throwable, event));
+    return exchange;
+  }
+
+  private void onExchange(final HttpRequest request,
+                          final String key,
+                          final long queued,
+                          final long sent,
+                          final HttpResponse<byte[]> response,
+                          final Throwable throwable,
+                          final RpcRequestEvent event) {
+    if (metrics != null) {
+      final long responseNanos = System.nanoTime() - sent;
+      if (throwable == null) {
+        metrics.onResponse(request.uri(), key, sent - queued, responseNanos, response.statusCode(), response.body().length, null);
+      } else {
+        metrics.onResponse(request.uri(), key, sent - queued, responseNanos, 0, 0, throwable);
+      }
+    }
+    event.commit(request.uri(), key, response, throwable);
+  }
+
+  private <R> Function<HttpResponse<byte[]>, R> measureParser(final String key,
+                                                              final Function<HttpResponse<byte[]>, R> parser) {
+    return response -> {
+      final long start = System.nanoTime();
+      try {
+        final var result = parser.apply(response);
+        metrics.onParsed(response.uri(), key, System.nanoTime() - start, null);
+        return result;
+      } catch (final RuntimeException ex) {
+        metrics.onParsed(response.uri(), key, System.nanoTime() - start, ex);
+        throw ex;
+      }
+    };
+  }
+
+  /// @param key used to weigh and measure requests, e.g. the JSON RPC method name, may be null.
+  private <R> CompletableFuture<R> send(final HttpRequest request,
+                                        final String key,
+                                        final Function<HttpResponse<byte[]>, R> parser) {
+    if (!instrumented()) {
+      return httpClient.sendAsync(request, bodyHandler).thenApply(parser);
+    } else {
+      return sendAsync(httpClient, request, key).thenApply(metrics == null ? parser : measureParser(key, parser));
+    }
+  }
+
   protected <R> Function<HttpResponse<byte[]>, R> wrapParser(final Function<HttpResponse<byte[]>, R> parser) {
     return applyResponse == null ? parser : response -> applyResponse.test(response) ? parser.apply(response) : null;
   }
 
   protected HttpRequest.Builder newRequest(final URI endpoint, final Duration requestTimeout) {
-    return HttpRequest
+    final var builder = HttpRequest
         .newBuilder(endpoint)
         .header("Content-Type", "application/json")
         .timeout(requestTimeout);
+    return acceptCompression ? builder.header("Accept-Encoding", DecompressingBodyHandler.ACCEPT_ENCODING) : builder;
   }
 
   protected final HttpRequest.Builder newRequest(final URI endpoint) {
@@ -113,14 +260,34 @@ public abstract class JsonHttpClient {
     return newRequest(endpoint, requestTimeout).POST(ofString(body)).build();
   }
 
+  /// @param method JSON RPC method name, used to weigh and measure the request.
   protected final <R> CompletableFuture<R> sendPostRequest(final URI endpoint,
+                                                           final String method,
                                                            final Function<HttpResponse<byte[]>, R> parser,
                                                            final Duration requestTimeout,
                                                            final String body) {
 //    System.out.println(body);
-    return httpClient
-        .sendAsync(newPostRequest(endpoint, requestTimeout, body), ofByteArray())
-        .thenApply(wrapParser(parser));
+    return send(newPostRequest(endpoint, requestTimeout, body), method, wrapParser(parser));
+  }
+
+  protected final <R> CompletableFuture<R> sendPostRequest(final String method,
+                                                           final Function<HttpResponse<byte[]>, R> parser,
+                                                           final Duration requestTimeout,
+                                                           final String body) {
+    return sendPostRequest(endpoint, method, parser, requestTimeout, body);
+  }
+
+  protected final <R> CompletableFuture<R> sendPostRequest(final String method,
+                                                           final Function<HttpResponse<byte[]>, R> parser,
+                                                           final String body) {
+    return sendPostRequest(endpoint, method, parser, requestTimeout, body);
+  }
+
+  protected final <R> CompletableFuture<R> sendPostRequest(final URI endpoint,
+                                                           final Function<HttpResponse<byte[]>, R> parser,
+                                                           final Duration requestTimeout,
+                                                           final String body) {
+    return sendPostRequest(endpoint, null, parser, requestTimeout, body);
   }
 
   protected final <R> CompletableFuture<R> sendPostRequest(final Function<HttpResponse<byte[]>, R> parser,
@@ -141,28 +308,82 @@ public abstract class JsonHttpClient {
     return sendPostRequest(endpoint, parser, requestTimeout, body);
   }
 
+  /// Sends the request through the configured [RequestHedger], if any. Only use for idempotent requests.
+  protected final <R> CompletableFuture<R> sendHedgedPostRequest(final String method,
+                                                                 final Function<HttpResponse<byte[]>, R> parser,
+                                                                 final String body) {
+    return sendHedgedPostRequestNoWrap(method, wrapParser(parser), body);
+  }
+
+  protected final <R> CompletableFuture<R> sendHedgedPostRequest(final Function<HttpResponse<byte[]>, R> parser,
+                                                                 final String body) {
+    return sendHedgedPostRequest(null, parser, body);
+  }
+
+  protected final <R> CompletableFuture<R> sendHedgedPostRequestNoWrap(final String method,
+                                                                       final Function<HttpResponse<byte[]>, R> parser,
+                                                                       final String body) {
+    if (hedger == null) {
+      return sendPostRequestNoWrap(method, parser, body);
+    } else {
+      final var request = newPostRequest(body);
+      // The hedger cancels the losing request, so both suppliers return the raw exchange futures.
+      if (!instrumented()) {
+        return hedger.hedge(
+            () -> httpClient.sendAsync(request, bodyHandler),
+            () -> hedgeHttpClient.sendAsync(request, bodyHandler)
+        ).thenApply(parser);
+      } else {
+        return hedger.hedge(
+            () -> sendAsync(httpClient, request, method),
+            () -> sendAsync(hedgeHttpClient, request, method)
+        ).thenApply(metrics == null ? parser : measureParser(method, parser));
+      }
+    }
+  }
+
+  protected final <R> CompletableFuture<R> sendHedgedPostRequestNoWrap(final Function<HttpResponse<byte[]>, R> parser,
+                                                                       final String body) {
+    return sendHedgedPostRequestNoWrap(null, parser, body);
+  }
+
   protected final <R> CompletableFuture<R> sendGetRequest(final Function<HttpResponse<byte[]>, R> parser,
                                                           final String path) {
-    return httpClient
-        .sendAsync(newGetRequest(path).build(), ofByteArray())
-        .thenApply(wrapParser(parser));
+    return send(newGetRequest(path).build(), null, wrapParser(parser));
   }
 
   protected final <R> CompletableFuture<R> sendGetRequest(final URI endpoint,
                                                           final Function<HttpResponse<byte[]>, R> parser) {
-    return httpClient
-        .sendAsync(newGetRequest(endpoint).build(), ofByteArray())
-        .thenApply(wrapParser(parser));
+    return send(newGetRequest(endpoint).build(), null, wrapParser(parser));
   }
 
   protected final <R> CompletableFuture<R> sendPostRequestNoWrap(final URI endpoint,
+                                                                 final String method,
                                                                  final Function<HttpResponse<byte[]>, R> parser,
                                                                  final Duration requestTimeout,
                                                                  final String body) {
 //    System.out.println(body);
-    return httpClient
-        .sendAsync(newPostRequest(endpoint, requestTimeout, body), ofByteArray())
-        .thenApply(parser);
+    return send(newPostRequest(endpoint, requestTimeout, body), method, parser);
+  }
+
+  protected final <R> CompletableFuture<R> sendPostRequestNoWrap(final String method,
+                                                                 final Function<HttpResponse<byte[]>, R> parser,
+                                                                 final Duration requestTimeout,
+                                                                 final String body) {
+    return sendPostRequestNoWrap(endpoint, method, parser, requestTimeout, body);
+  }
+
+  protected final <R> CompletableFuture<R> sendPostRequestNoWrap(final String method,
+                                                                 final Function<HttpResponse<byte[]>, R> parser,
+                                                                 final String body) {
+    return sendPostRequestNoWrap(endpoint, method, parser, requestTimeout, body);
+  }
+
+  protected final <R> CompletableFuture<R> sendPostRequestNoWrap(final URI endpoint,
+                                                                 final Function<HttpResponse<byte[]>, R> parser,
+                                                                 final Duration requestTimeout,
+                                                                 final String body) {
+    return sendPostRequestNoWrap(endpoint, null, parser, requestTimeout, body);
   }
 
   protected final <R> CompletableFuture<R> sendPostRequestNoWrap(final Function<HttpResponse<byte[]>, R> parser,
@@ -185,15 +406,11 @@ public abstract class JsonHttpClient {
 
   protected final <R> CompletableFuture<R> sendGetRequestNoWrap(final Function<HttpResponse<byte[]>, R> parser,
                                                                 final String path) {
-    return httpClient
-        .sendAsync(newGetRequest(path).build(), ofByteArray())
-        .thenApply(parser);
+    return send(newGetRequest(path).build(), null, parser);
   }
 
   protected final <R> CompletableFuture<R> sendGetRequestNoWrap(final URI endpoint,
                                                                 final Function<HttpResponse<byte[]>, R> parser) {
-    return httpClient
-        .sendAsync(newGetRequest(endpoint).build(), ofByteArray())
-        .thenApply(parser);
+    return send(newGetRequest(endpoint).build(), null, parser);
   }
 }
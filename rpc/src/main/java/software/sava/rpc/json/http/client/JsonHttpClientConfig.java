@@ -0,0 +1,18 @@
+package software.sava.rpc.json.http.client;
+
+import java.net.http.HttpClient;
+
+/// Optional request handling shared by [JsonHttpClient]s, any component may be null or false to disable it.
+///
+/// @param hedgeHttpClient   client hedge requests are sent with, so that they do not share a possibly stalled HTTP/2
+///                          connection with the primary request. Defaults to a new client configured like the primary
+///                          client if a hedger is configured.
+/// @param acceptCompression requests `gzip` or `deflate` encoded responses, which are inflated as they are received.
+public record JsonHttpClientConfig(RequestHedger hedger,
+                                   HttpClient hedgeHttpClient,
+                                   RateLimiter rateLimiter,
+                                   RpcMetrics metrics,
+                                   boolean acceptCompression) {
+
+  public static final JsonHttpClientConfig DEFAULT = new JsonHttpClientConfig(null, null, null, null, false);
+}
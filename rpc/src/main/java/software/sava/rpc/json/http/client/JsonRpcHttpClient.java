@@ -17,6 +17,14 @@ import static software.sava.rpc.json.http.client.JsonResponseController.throwUnc
 
 public abstract class JsonRpcHttpClient extends JsonHttpClient {
 
+  public JsonRpcHttpClient(final URI endpoint,
+                           final HttpClient httpClient,
+                           final Duration requestTimeout,
+                           final Predicate<HttpResponse<byte[]>> applyResponse,
+                           final JsonHttpClientConfig config) {
+    super(endpoint, httpClient, requestTimeout, applyResponse, config);
+  }
+
   public JsonRpcHttpClient(final URI endpoint,
                            final HttpClient httpClient,
                            final Duration requestTimeout,
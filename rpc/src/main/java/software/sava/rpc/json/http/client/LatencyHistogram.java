@@ -0,0 +1,99 @@
+package software.sava.rpc.json.http.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Lock-free log-linear histogram of nanosecond latencies in the style of HdrHistogram.
+///
+/// Each power of two range is split into 32 linear sub-buckets, bounding the relative error of reported values to
+/// roughly 3%.
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_MASK = SUB_BUCKETS - 1;
+  static final int NUM_BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  public record Snapshot(long count, double meanNanos, long maxNanos, long p50, long p90, long p99, long p999) {
+
+    static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0, 0);
+  }
+
+  private final AtomicLongArray counts;
+  private final LongAdder count;
+  private final LongAdder sum;
+  private final AtomicLong max;
+
+  public LatencyHistogram() {
+    this.counts = new AtomicLongArray(NUM_BUCKETS);
+    this.count = new LongAdder();
+    this.sum = new LongAdder();
+    this.max = new AtomicLong();
+  }
+
+  static int bucketIndex(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) Math.max(0, value);
+    } else {
+      final int exponent = 63 - Long.numberOfLeadingZeros(value);
+      final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & SUB_BUCKET_MASK;
+      return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+  }
+
+  static long bucketValue(final int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    } else {
+      final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+      final long lowerBound = (long) (SUB_BUCKETS + (index & SUB_BUCKET_MASK)) << shift;
+      return lowerBound + ((1L << shift) >> 1);
+    }
+  }
+
+  public void record(final long nanos) {
+    counts.incrementAndGet(bucketIndex(nanos));
+    count.increment();
+    sum.add(nanos);
+    if (nanos > max.get()) {
+      max.accumulateAndGet(nanos, Math::max);
+    }
+  }
+
+  public long count() {
+    return count.sum();
+  }
+
+  public Snapshot snapshot() {
+    final long[] snapshot = new long[NUM_BUCKETS];
+    long total = 0;
+    for (int i = 0; i < NUM_BUCKETS; ++i) {
+      total += (snapshot[i] = counts.get(i));
+    }
+    if (total == 0) {
+      return Snapshot.EMPTY;
+    }
+    return new Snapshot(
+        total,
+        sum.sum() / (double) count.sum(),
+        max.get(),
+        valueAtPercentile(snapshot, total, 0.5),
+        valueAtPercentile(snapshot, total, 0.9),
+        valueAtPercentile(snapshot, total, 0.99),
+        valueAtPercentile(snapshot, total, 0.999)
+    );
+  }
+
+  private static long valueAtPercentile(final long[] counts, final long total, final double percentile) {
+    final long rank = Math.max(1, (long) Math.ceil(total * percentile));
+    long seen = 0;
+    for (int i = 0; i < counts.length; ++i) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return bucketValue(i);
+      }
+    }
+    return bucketValue(counts.length - 1);
+  }
+}
@@ -0,0 +1,34 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.LeaderSchedule;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/// Keeps the leader schedules of the current and next epoch on hand, driven by [#onSlot(long)] notifications.
+///
+/// The [software.sava.rpc.json.http.response.EpochSchedule] is fetched once and used to locate epoch boundaries, the
+/// next epoch's schedule is fetched as soon as the current epoch is entered.
+public interface LeaderScheduleTracker {
+
+  static LeaderScheduleTracker createTracker(final SolanaRpcClient rpcClient, final Commitment commitment) {
+    return new EpochLeaderScheduleTracker(rpcClient, commitment);
+  }
+
+  /// Advances to the epoch containing `slot`, fetching its schedule and the next epoch's schedule if needed.
+  void onSlot(final long slot);
+
+  /// @return the leader schedule of the epoch containing `slot`, fetching it if it is not already known.
+  CompletableFuture<LeaderSchedule> schedule(final long slot);
+
+  /// @return the leader for the slot, or null if its schedule has not been loaded.
+  PublicKey leader(final long slot);
+
+  /// Upcoming distinct leaders starting at `slot`, spanning into the next epoch if its schedule has been loaded.
+  List<PublicKey> nextLeaders(final long slot, final int numLeaders);
+
+  /// @return the current epoch's schedule, or null if it has not been loaded yet.
+  LeaderSchedule current();
+}
@@ -0,0 +1,64 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.rpc.json.http.request.Commitment;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/// A [SolanaRpcClient] which routes each request to the best scoring healthy endpoint.
+///
+/// Endpoints are scored per JSON RPC method by their latency EWMA, error rate EWMA, number of in-flight requests and
+/// configured weight. Endpoints which have asked to back off, are unhealthy or lag too many slots behind are avoided
+/// until they recover, see [#checkEndpoints()].
+public interface LoadBalancedRpcClient extends SolanaRpcClient {
+
+  static Builder build() {
+    return new LoadBalancedRpcClientBuilder();
+  }
+
+  List<BalancedEndpoint> endpoints();
+
+  /// Refreshes the health and slot of each endpoint, should be called periodically.
+  CompletableFuture<Void> checkEndpoints();
+
+  interface Builder {
+
+    LoadBalancedRpcClient create();
+
+    default Builder endpoint(final SolanaRpcClient rpcClient) {
+      return endpoint(rpcClient, 1.0, Map.of());
+    }
+
+    /// @param methodWeights JSON RPC method name to weight, a weight of zero or less avoids routing that method to this
+    ///                      endpoint unless no other endpoint is available.
+    Builder endpoint(final SolanaRpcClient rpcClient,
+                     final double defaultWeight,
+                     final Map<String, Double> methodWeights);
+
+    Builder ewmaAlpha(final double ewmaAlpha);
+
+    Builder errorPenalty(final double errorPenalty);
+
+    Builder maxSlotLag(final long maxSlotLag);
+
+    Builder defaultBackOffMillis(final long defaultBackOffMillis);
+
+    Builder commitment(final Commitment commitment);
+
+    /// Hedges idempotent account, block hash and signature status reads to the next best endpoint.
+    Builder hedger(final RequestHedger hedger);
+
+    double ewmaAlpha();
+
+    double errorPenalty();
+
+    long maxSlotLag();
+
+    long defaultBackOffMillis();
+
+    Commitment commitment();
+
+    RequestHedger hedger();
+  }
+}
@@ -0,0 +1,115 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.rpc.json.http.request.Commitment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class LoadBalancedRpcClientBuilder implements LoadBalancedRpcClient.Builder {
+
+  private record EndpointConfig(SolanaRpcClient rpcClient, double defaultWeight, Map<String, Double> methodWeights) {
+  }
+
+  private final List<EndpointConfig> endpoints;
+  private double ewmaAlpha = 0.2;
+  private double errorPenalty = 8;
+  private long maxSlotLag = 32;
+  private long defaultBackOffMillis = 1_000;
+  private Commitment commitment = Commitment.CONFIRMED;
+  private RequestHedger hedger;
+
+  LoadBalancedRpcClientBuilder() {
+    this.endpoints = new ArrayList<>();
+  }
+
+  @Override
+  public LoadBalancedRpcClient create() {
+    if (endpoints.isEmpty()) {
+      throw new IllegalStateException("At least one endpoint is required.");
+    }
+    final var scoredEndpoints = endpoints.stream()
+        .map(config -> new ScoredEndpoint(
+            config.rpcClient, config.defaultWeight, config.methodWeights,
+            ewmaAlpha, errorPenalty, maxSlotLag, defaultBackOffMillis
+        )).toArray(ScoredEndpoint[]::new);
+    return new LoadBalancingRpcClient(scoredEndpoints, commitment, hedger);
+  }
+
+  @Override
+  public LoadBalancedRpcClient.Builder endpoint(final SolanaRpcClient rpcClient,
+                                                final double defaultWeight,
+                                                final Map<String, Double> methodWeights) {
+    this.endpoints.add(new EndpointConfig(rpcClient, defaultWeight, Map.copyOf(methodWeights)));
+    return this;
+  }
+
+  @Override
+  public LoadBalancedRpcClient.Builder ewmaAlpha(final double ewmaAlpha) {
+    if (ewmaAlpha <= 0 || ewmaAlpha > 1) {
+      throw new IllegalArgumentException("ewmaAlpha must be in (0, 1].");
+    }
+    this.ewmaAlpha = ewmaAlpha;
+    return this;
+  }
+
+  @Override
+  public LoadBalancedRpcClient.Builder errorPenalty(final double errorPenalty) {
+    this.errorPenalty = errorPenalty;
+    return this;
+  }
+
+  @Override
+  public LoadBalancedRpcClient.Builder maxSlotLag(final long maxSlotLag) {
+    this.maxSlotLag = maxSlotLag;
+    return this;
+  }
+
+  @Override
+  public LoadBalancedRpcClient.Builder defaultBackOffMillis(final long defaultBackOffMillis) {
+    this.defaultBackOffMillis = defaultBackOffMillis;
+    return this;
+  }
+
+  @Override
+  public LoadBalancedRpcClient.Builder commitment(final Commitment commitment) {
+    this.commitment = commitment;
+    return this;
+  }
+
+  @Override
+  public LoadBalancedRpcClient.Builder hedger(final RequestHedger hedger) {
+    this.hedger = hedger;
+    return this;
+  }
+
+  @Override
+  public double ewmaAlpha() {
+    return ewmaAlpha;
+  }
+
+  @Override
+  public double errorPenalty() {
+    return errorPenalty;
+  }
+
+  @Override
+  public long maxSlotLag() {
+    return maxSlotLag;
+  }
+
+  @Override
+  public long defaultBackOffMillis() {
+    return defaultBackOffMillis;
+  }
+
+  @Override
+  public Commitment commitment() {
+    return commitment;
+  }
+
+  @Override
+  public RequestHedger hedger() {
+    return hedger;
+  }
+}
@@ -0,0 +1,139 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.rpc.json.http.request.Commitment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+final class LoadBalancingRpcClient extends DelegatingRpcClient implements LoadBalancedRpcClient {
+
+  private static final Set<String> HEDGED_METHODS = Set.of(
+      "getAccountInfo",
+      "getMultipleAccounts",
+      "getLatestBlockhash",
+      "getSignatureStatuses"
+  );
+
+  private final ScoredEndpoint[] endpoints;
+  private final List<BalancedEndpoint> endpointList;
+  private final Commitment commitment;
+  private final RequestHedger hedger;
+
+  LoadBalancingRpcClient(final ScoredEndpoint[] endpoints,
+                         final Commitment commitment,
+                         final RequestHedger hedger) {
+    this.endpoints = endpoints;
+    this.endpointList = List.of(endpoints);
+    this.commitment = commitment;
+    this.hedger = hedger;
+  }
+
+  ScoredEndpoint select(final String method) {
+    return select(method, null);
+  }
+
+  private ScoredEndpoint select(final String method, final ScoredEndpoint exclude) {
+    final long now = System.currentTimeMillis();
+    ScoredEndpoint best = null;
+    double bestScore = Double.POSITIVE_INFINITY;
+    for (final var endpoint : endpoints) {
+      if (endpoint != exclude) {
+        final double score = endpoint.score(method, now);
+        if (score < bestScore) {
+          bestScore = score;
+          best = endpoint;
+        }
+      }
+    }
+    if (best != null) {
+      return best;
+    }
+    bestScore = Double.POSITIVE_INFINITY;
+    for (final var endpoint : endpoints) {
+      if (endpoint != exclude) {
+        final double score = endpoint.fallbackScore(method);
+        if (best == null || score < bestScore) {
+          bestScore = score;
+          best = endpoint;
+        }
+      }
+    }
+    return best == null ? exclude : best;
+  }
+
+  static <R> CompletableFuture<R> call(final ScoredEndpoint endpoint,
+                                       final Function<SolanaRpcClient, CompletableFuture<R>> call) {
+    endpoint.beginRequest();
+    final long start = System.nanoTime();
+    final CompletableFuture<R> future;
+    try {
+      future = call.apply(endpoint.rpcClient());
+    } catch (final RuntimeException ex) {
+      endpoint.endRequest(start, ex);
+      throw ex;
+    }
+    future.whenComplete((_, throwable) -> endpoint.endRequest(start, throwable));
+    return future;
+  }
+
+  @Override
+  protected <R> CompletableFuture<R> call(final String method,
+                                          final Function<SolanaRpcClient, CompletableFuture<R>> call) {
+    final var primary = select(method);
+    if (hedger != null && endpoints.length > 1 && HEDGED_METHODS.contains(method)) {
+      return hedger.hedge(
+          () -> call(primary, call),
+          () -> call(select(method, primary), call)
+      );
+    } else {
+      return call(primary, call);
+    }
+  }
+
+  @Override
+  public List<BalancedEndpoint> endpoints() {
+    return endpointList;
+  }
+
+  @Override
+  public CompletableFuture<Void> checkEndpoints() {
+    final var checks = new CompletableFuture<?>[endpoints.length << 1];
+    for (int i = 0, c = 0; i < endpoints.length; ++i) {
+      final var endpoint = endpoints[i];
+      final var rpcClient = endpoint.rpcClient();
+      checks[c++] = rpcClient.getHealth().whenComplete(endpoint::health);
+      checks[c++] = rpcClient.getSlot(commitment).thenAccept(endpoint::slot);
+    }
+    return CompletableFuture.allOf(checks).handle((_, _) -> {
+      final long maxSlot = Arrays.stream(endpoints).mapToLong(ScoredEndpoint::slot).max().orElse(0);
+      for (final var endpoint : endpoints) {
+        endpoint.slotLag(maxSlot);
+      }
+      return null;
+    });
+  }
+
+  @Override
+  public URI endpoint() {
+    return select(null).rpcClient().endpoint();
+  }
+
+  @Override
+  public HttpClient httpClient() {
+    return select(null).rpcClient().httpClient();
+  }
+
+  @Override
+  public String toString() {
+    return "LoadBalancedRpcClient{" +
+        "endpoints=" + endpointList +
+        ", commitment=" + commitment +
+        ", hedger=" + hedger +
+        '}';
+  }
+}
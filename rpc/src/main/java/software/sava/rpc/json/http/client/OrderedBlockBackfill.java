@@ -0,0 +1,315 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.Block;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongConsumer;
+
+import static java.lang.System.Logger.Level.WARNING;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static software.sava.rpc.json.http.client.JsonResponseController.log;
+
+/// Each listed slot is assigned a sequence number and fetched blocks are parked in a ring buffer indexed by it.
+/// Requests are only issued while the sequence is within the ring capacity of the next block to deliver.
+final class OrderedBlockBackfill implements BlockBackfill {
+
+  private static final long[] NO_SLOTS = new long[0];
+  private static final long RETRY_DELAY_MILLIS = 250;
+
+  private final SolanaRpcClient rpcClient;
+  private final Commitment commitment;
+  private final long toSlot;
+  private final int maxConcurrency;
+  private final int listLimit;
+  private final int maxRetries;
+  private final boolean rewards;
+  private final BlockConsumer consumer;
+  private final LongConsumer checkpointListener;
+  private final int checkpointInterval;
+  private final CompletableFuture<Long> result;
+
+  private final int mask;
+  private final long[] ringSlots;
+  private final Block[] ringBlocks;
+  private final boolean[] ringReady;
+
+  private long[] listed;
+  private int listedIndex;
+  private long nextListSlot;
+  private long listedThrough;
+  private boolean listing;
+  private boolean listedAll;
+  private long fetchSeq;
+  private long deliverSeq;
+  private int inFlight;
+  private boolean started;
+  private boolean cancelled;
+  private Throwable failure;
+  private volatile long checkpoint;
+  private volatile long numDelivered;
+
+  OrderedBlockBackfill(final SolanaRpcClient rpcClient,
+                       final Commitment commitment,
+                       final long fromSlot,
+                       final long toSlot,
+                       final int maxConcurrency,
+                       final int maxBuffered,
+                       final int listLimit,
+                       final int maxRetries,
+                       final boolean rewards,
+                       final BlockConsumer consumer,
+                       final LongConsumer checkpointListener,
+                       final int checkpointInterval) {
+    this.rpcClient = rpcClient;
+    this.commitment = commitment;
+    this.toSlot = toSlot;
+    this.maxConcurrency = maxConcurrency;
+    this.listLimit = listLimit;
+    this.maxRetries = maxRetries;
+    this.rewards = rewards;
+    this.consumer = consumer;
+    this.checkpointListener = checkpointListener;
+    this.checkpointInterval = checkpointInterval;
+    this.result = new CompletableFuture<>();
+    final int capacity = Integer.highestOneBit(Math.max(1, maxBuffered - 1)) << 1;
+    this.mask = capacity - 1;
+    this.ringSlots = new long[capacity];
+    this.ringBlocks = new Block[capacity];
+    this.ringReady = new boolean[capacity];
+    this.listed = NO_SLOTS;
+    this.nextListSlot = fromSlot;
+    this.listedThrough = fromSlot - 1;
+    this.checkpoint = fromSlot - 1;
+  }
+
+  @Override
+  public CompletableFuture<Long> run() {
+    synchronized (this) {
+      if (started) {
+        return result;
+      }
+      started = true;
+    }
+    Thread.ofVirtual().name("block-backfill-delivery").start(this::deliverInOrder);
+    fill();
+    return result;
+  }
+
+  @Override
+  public long checkpoint() {
+    return checkpoint;
+  }
+
+  @Override
+  public long numDelivered() {
+    return numDelivered;
+  }
+
+  @Override
+  public synchronized int numInFlight() {
+    return inFlight;
+  }
+
+  @Override
+  public synchronized void cancel() {
+    cancelled = true;
+    notifyAll();
+  }
+
+  private void fill() {
+    final long[] seqs;
+    final long[] slots;
+    int numFetches = 0;
+    boolean list = false;
+    synchronized (this) {
+      if (cancelled) {
+        return;
+      }
+      final int capacity = ringSlots.length;
+      final int maxFetches = Math.min(maxConcurrency - inFlight, listed.length - listedIndex);
+      seqs = new long[Math.max(0, maxFetches)];
+      slots = new long[seqs.length];
+      while (numFetches < maxFetches && fetchSeq - deliverSeq < capacity) {
+        seqs[numFetches] = fetchSeq++;
+        slots[numFetches] = listed[listedIndex++];
+        ++numFetches;
+      }
+      inFlight += numFetches;
+      if (listedIndex == listed.length && !listedAll && !listing) {
+        listing = true;
+        list = true;
+      }
+    }
+    for (int i = 0; i < numFetches; ++i) {
+      fetch(seqs[i], slots[i], 0);
+    }
+    if (list) {
+      listBlocks(0);
+    }
+  }
+
+  private void listBlocks(final int attempt) {
+    final long startSlot;
+    synchronized (this) {
+      startSlot = nextListSlot;
+    }
+    final long limit = toSlot == Long.MAX_VALUE ? listLimit : Math.min(listLimit, toSlot - startSlot + 1);
+    rpcClient.getBlocksWithLimit(commitment, startSlot, limit).whenComplete((slots, ex) -> {
+      if (ex != null) {
+        if (attempt < maxRetries && !result.isDone()) {
+          log.log(WARNING, String.format("Failed to list blocks from slot %d, retrying.", startSlot), ex);
+          CompletableFuture.delayedExecutor(retryDelay(attempt), MILLISECONDS).execute(() -> listBlocks(attempt + 1));
+        } else {
+          synchronized (this) {
+            listing = false;
+          }
+          fail(ex);
+        }
+        return;
+      }
+      synchronized (this) {
+        listing = false;
+        int numSlots = 0;
+        while (numSlots < slots.length && slots[numSlots] <= toSlot) {
+          ++numSlots;
+        }
+        if (numSlots > 0) {
+          final long lastSlot = slots[numSlots - 1];
+          listedThrough = lastSlot;
+          nextListSlot = lastSlot + 1;
+        }
+        if (numSlots < slots.length || slots.length < limit || nextListSlot > toSlot) {
+          listedAll = true;
+          if (numSlots < slots.length) {
+            listedThrough = toSlot;
+          }
+        }
+        listed = numSlots == slots.length ? slots : Arrays.copyOf(slots, numSlots);
+        listedIndex = 0;
+        notifyAll();
+      }
+      fill();
+    });
+  }
+
+  private void fetch(final long seq, final long slot, final int attempt) {
+    rpcClient.getBlockWithTransactions(commitment, slot, rewards).whenComplete((block, ex) -> {
+      if (ex != null) {
+        if (attempt < maxRetries && !result.isDone()) {
+          log.log(WARNING, String.format("Failed to fetch block %d, retrying.", slot), ex);
+          CompletableFuture.delayedExecutor(retryDelay(attempt), MILLISECONDS).execute(() -> fetch(seq, slot, attempt + 1));
+        } else {
+          synchronized (this) {
+            --inFlight;
+          }
+          fail(ex);
+        }
+        return;
+      }
+      synchronized (this) {
+        --inFlight;
+        final int i = (int) seq & mask;
+        ringSlots[i] = slot;
+        ringBlocks[i] = block;
+        ringReady[i] = true;
+        notifyAll();
+      }
+      fill();
+    });
+  }
+
+  private static long retryDelay(final int attempt) {
+    return RETRY_DELAY_MILLIS << Math.min(attempt, 5);
+  }
+
+  /// Runs on a dedicated thread so that the consumer and checkpoint listener are never invoked under the monitor or
+  /// concurrently, and never block the HTTP client's completion threads.
+  private void deliverInOrder() {
+    for (; ; ) {
+      long slot = 0;
+      Block block = null;
+      boolean done = false;
+      synchronized (this) {
+        for (; ; ) {
+          if (failure != null) {
+            return;
+          }
+          final int i = (int) deliverSeq & mask;
+          if (ringReady[i]) {
+            slot = ringSlots[i];
+            block = ringBlocks[i];
+            ringBlocks[i] = null;
+            ringReady[i] = false;
+            break;
+          } else if (cancelled) {
+            if (inFlight == 0 && !listing) {
+              done = true;
+              break;
+            }
+          } else if (listedAll && listedIndex == listed.length && inFlight == 0 && deliverSeq == fetchSeq) {
+            checkpoint = Math.max(checkpoint, listedThrough);
+            done = true;
+            break;
+          }
+          try {
+            wait();
+          } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            fail(ex);
+            return;
+          }
+        }
+      }
+      if (done) {
+        complete();
+        return;
+      }
+      try {
+        consumer.accept(slot, block);
+      } catch (final RuntimeException ex) {
+        fail(ex);
+        return;
+      }
+      checkpoint = slot;
+      final long numDelivered = ++this.numDelivered;
+      if (checkpointListener != null && checkpointInterval > 0 && numDelivered % checkpointInterval == 0) {
+        checkpointListener.accept(slot);
+      }
+      synchronized (this) {
+        ++deliverSeq;
+      }
+      fill();
+    }
+  }
+
+  private void complete() {
+    if (checkpointListener != null) {
+      checkpointListener.accept(checkpoint);
+    }
+    result.complete(checkpoint);
+  }
+
+  private void fail(final Throwable ex) {
+    synchronized (this) {
+      if (failure != null) {
+        return;
+      }
+      failure = ex;
+      cancelled = true;
+      notifyAll();
+    }
+    result.completeExceptionally(ex);
+  }
+
+  @Override
+  public String toString() {
+    return "BlockBackfill{" +
+        "endpoint=" + rpcClient.endpoint() +
+        ", checkpoint=" + checkpoint +
+        ", numDelivered=" + numDelivered +
+        ", toSlot=" + toSlot +
+        '}';
+  }
+}
@@ -0,0 +1,171 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.core.encoding.Base58;
+import software.sava.core.tx.Transaction;
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.LatestBlockHash;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.lang.System.Logger.Level.WARNING;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static software.sava.rpc.json.http.client.JsonResponseController.log;
+
+final class PrefetchingBlockHashProvider implements BlockHashProvider {
+
+  private record DecodedBlockHash(LatestBlockHash latestBlockHash, byte[] blockHash) {
+  }
+
+  /// An observed block height and the highest slot seen when it was applied, estimates advance from that slot.
+  ///
+  /// @param sequence the request sequence of the observation, responses to earlier requests are dropped.
+  private record HeightEstimate(long sequence, long blockHeight, long slot) {
+  }
+
+  private final SolanaRpcClient rpcClient;
+  private final Commitment commitment;
+  private final int refreshSlots;
+  private final AtomicReference<CompletableFuture<LatestBlockHash>> pendingRefresh;
+  private final AtomicLong requestSequence;
+  private final AtomicReference<HeightEstimate> heightEstimate;
+  private final AtomicLong slot;
+  private volatile DecodedBlockHash latest;
+  private volatile long refreshedAtSlot;
+  private volatile ScheduledFuture<?> scheduledRefresh;
+
+  PrefetchingBlockHashProvider(final SolanaRpcClient rpcClient, final Commitment commitment, final int refreshSlots) {
+    this.rpcClient = rpcClient;
+    this.commitment = commitment;
+    this.refreshSlots = refreshSlots;
+    this.pendingRefresh = new AtomicReference<>();
+    this.requestSequence = new AtomicLong();
+    this.heightEstimate = new AtomicReference<>(new HeightEstimate(0, 0, 0));
+    this.slot = new AtomicLong();
+  }
+
+  void schedule(final ScheduledExecutorService executor, final Duration refreshInterval) {
+    final long delay = refreshInterval.toMillis();
+    this.scheduledRefresh = executor.scheduleWithFixedDelay(this::refresh, 0, delay, MILLISECONDS);
+  }
+
+  @Override
+  public LatestBlockHash latest() {
+    final var latest = this.latest;
+    return latest == null ? null : latest.latestBlockHash;
+  }
+
+  @Override
+  public CompletableFuture<LatestBlockHash> latestValid() {
+    final var latest = latest();
+    return latest == null || isExpired(latest) ? refresh() : CompletableFuture.completedFuture(latest);
+  }
+
+  @Override
+  public LatestBlockHash setRecentBlockHash(final Transaction transaction) {
+    final var latest = this.latest;
+    if (latest == null) {
+      return null;
+    } else {
+      transaction.setRecentBlockHash(latest.blockHash);
+      return latest.latestBlockHash;
+    }
+  }
+
+  @Override
+  public CompletableFuture<LatestBlockHash> refresh() {
+    for (; ; ) {
+      final var pending = pendingRefresh.get();
+      if (pending != null) {
+        return pending;
+      }
+      final var refresh = new CompletableFuture<LatestBlockHash>();
+      if (pendingRefresh.compareAndSet(null, refresh)) {
+        refreshedAtSlot = slot.get();
+        final long sequence = requestSequence.incrementAndGet();
+        final var blockHeightFuture = rpcClient.getBlockHeight(commitment);
+        rpcClient.getLatestBlockHash(commitment).whenComplete((latestBlockHash, throwable) -> {
+          pendingRefresh.compareAndSet(refresh, null);
+          if (throwable != null) {
+            log.log(WARNING, "Failed to refresh block hash from " + rpcClient.endpoint(), throwable);
+            refresh.completeExceptionally(throwable);
+          } else {
+            final var previous = this.latest;
+            if (previous == null || latestBlockHash.lastValidBlockHeight() >= previous.latestBlockHash.lastValidBlockHeight()) {
+              this.latest = new DecodedBlockHash(latestBlockHash, Base58.decode(latestBlockHash.blockHash()));
+            }
+            onBlockHeight(sequence, latestBlockHash.lastValidBlockHeight() - MAX_PROCESSING_AGE);
+            refresh.complete(latestBlockHash);
+          }
+        });
+        blockHeightFuture.whenComplete((blockHeight, throwable) -> {
+          if (throwable != null) {
+            log.log(WARNING, "Failed to fetch block height from " + rpcClient.endpoint(), throwable);
+          } else {
+            onBlockHeight(sequence, blockHeight.height());
+          }
+        });
+        return refresh;
+      }
+    }
+  }
+
+  @Override
+  public void onSlot(final long slot) {
+    final long previous = this.slot.getAndAccumulate(slot, Math::max);
+    if (slot > previous) {
+      final var estimate = heightEstimate.get();
+      if (estimate.slot == 0 && estimate.blockHeight > 0) {
+        // Observed before any slot, anchor it to the first one.
+        heightEstimate.compareAndSet(estimate, new HeightEstimate(estimate.sequence, estimate.blockHeight, slot));
+      }
+      if (refreshSlots > 0 && slot - refreshedAtSlot >= refreshSlots) {
+        refresh();
+      }
+    }
+  }
+
+  @Override
+  public void onBlockHeight(final long blockHeight) {
+    onBlockHeight(requestSequence.incrementAndGet(), blockHeight);
+  }
+
+  /// Responses may complete out of order, drop those requested before the most recently applied observation.
+  private void onBlockHeight(final long sequence, final long blockHeight) {
+    for (var estimate = heightEstimate.get(); sequence >= estimate.sequence; estimate = heightEstimate.get()) {
+      if (heightEstimate.compareAndSet(estimate, new HeightEstimate(sequence, blockHeight, slot.get()))) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public long blockHeight() {
+    final var estimate = heightEstimate.get();
+    return estimate.slot == 0
+        ? estimate.blockHeight
+        : estimate.blockHeight + Math.max(0, slot.get() - estimate.slot);
+  }
+
+  @Override
+  public void close() {
+    final var scheduledRefresh = this.scheduledRefresh;
+    if (scheduledRefresh != null) {
+      scheduledRefresh.cancel(false);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "BlockHashProvider{" +
+        "endpoint=" + rpcClient.endpoint() +
+        ", commitment=" + commitment +
+        ", latest=" + latest() +
+        ", blockHeight=" + blockHeight() +
+        '}';
+  }
+}
@@ -0,0 +1,36 @@
+package software.sava.rpc.json.http.client;
+
+/// Prioritization fees, in micro-lamports per compute unit, observed over a sliding window of slots.
+///
+/// @param numSlots number of slots in the window with an observed fee.
+public record PriorityFeeEstimate(long p50, long p75, long p90, long max, int numSlots) {
+
+  static final PriorityFeeEstimate EMPTY = new PriorityFeeEstimate(0, 0, 0, 0, 0);
+
+  public long fee(final PriorityFeeEstimator.FeeLevel level) {
+    return switch (level) {
+      case P50 -> p50;
+      case P75 -> p75;
+      case P90 -> p90;
+      case MAX -> max;
+    };
+  }
+
+  /// A transaction must out bid the fees paid for each of its writable accounts, so estimates for a set of accounts
+  /// are combined by taking the maximum of each level.
+  PriorityFeeEstimate max(final PriorityFeeEstimate other) {
+    if (other.numSlots == 0) {
+      return this;
+    } else if (numSlots == 0) {
+      return other;
+    } else {
+      return new PriorityFeeEstimate(
+          Math.max(p50, other.p50),
+          Math.max(p75, other.p75),
+          Math.max(p90, other.p90),
+          Math.max(max, other.max),
+          Math.min(numSlots, other.numSlots)
+      );
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.accounts.SolanaAccounts;
+import software.sava.core.tx.Instruction;
+import software.sava.rpc.json.http.response.PrioritizationFee;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static software.sava.core.encoding.ByteUtil.putInt64LE;
+
+/// Aggregates `getRecentPrioritizationFees` responses for a set of hot writable accounts into sliding window
+/// percentile estimates.
+///
+/// Each account keeps a ring buffer of fees indexed by slot alongside a log-linear histogram of the same fees which is
+/// updated incrementally as slots enter and leave the window. Estimates are re-computed from the histogram after each
+/// update, so reads are constant time and never block on a refresh.
+///
+/// Fees are reported in micro-lamports per compute unit, with percentiles accurate to within roughly 3%.
+public interface PriorityFeeEstimator extends AutoCloseable {
+
+  /// Number of slots retained by the RPC node for `getRecentPrioritizationFees`.
+  int DEFAULT_WINDOW_SLOTS = 150;
+
+  enum FeeLevel {
+    P50,
+    P75,
+    P90,
+    MAX
+  }
+
+  static PriorityFeeEstimator createEstimator(final SolanaRpcClient rpcClient,
+                                              final Collection<PublicKey> accounts,
+                                              final int windowSlots,
+                                              final ScheduledExecutorService executor,
+                                              final Duration refreshInterval) {
+    final var estimator = new SlidingWindowPriorityFeeEstimator(rpcClient, windowSlots);
+    for (final var account : accounts) {
+      estimator.track(account);
+    }
+    if (executor != null) {
+      estimator.schedule(executor, refreshInterval);
+    }
+    return estimator;
+  }
+
+  static PriorityFeeEstimator createEstimator(final SolanaRpcClient rpcClient,
+                                              final Collection<PublicKey> accounts,
+                                              final ScheduledExecutorService executor,
+                                              final Duration refreshInterval) {
+    return createEstimator(rpcClient, accounts, DEFAULT_WINDOW_SLOTS, executor, refreshInterval);
+  }
+
+  /// Refreshes only when [#refresh()] is called or fees are passed to [#onFees(PublicKey, List)].
+  static PriorityFeeEstimator createEstimator(final SolanaRpcClient rpcClient, final Collection<PublicKey> accounts) {
+    return createEstimator(rpcClient, accounts, DEFAULT_WINDOW_SLOTS, null, null);
+  }
+
+  /// ComputeBudget `SetComputeUnitPrice` instruction.
+  static Instruction computeUnitPriceInstruction(final SolanaAccounts solanaAccounts, final long microLamports) {
+    final byte[] data = new byte[1 + Long.BYTES];
+    data[0] = 3;
+    putInt64LE(data, 1, microLamports);
+    return Instruction.createInstruction(solanaAccounts.invokedComputeBudgetProgram(), List.of(), data);
+  }
+
+  void track(final PublicKey account);
+
+  void untrack(final PublicKey account);
+
+  /// Fetches recent fees for every tracked account, as well as the fees for transactions regardless of the accounts
+  /// they write to.
+  CompletableFuture<Void> refresh();
+
+  /// Merges fees fetched elsewhere, fees for slots which have already been observed are replaced.
+  ///
+  /// @param account the single writable account the fees were requested for, or null for the global fees.
+  void onFees(final PublicKey account, final List<PrioritizationFee> fees);
+
+  /// Estimate across all transactions, regardless of the accounts they write to.
+  PriorityFeeEstimate estimate();
+
+  /// @return the estimate for the account, or the global estimate if it is not tracked.
+  PriorityFeeEstimate estimate(final PublicKey account);
+
+  /// @return the maximum estimate of each level across the accounts, falling back to the global estimate for
+  /// accounts which are not tracked.
+  PriorityFeeEstimate estimate(final Collection<PublicKey> writableAccounts);
+
+  /// @return the compute unit price, in micro-lamports, to set for a transaction writing to the given accounts.
+  default long computeUnitPrice(final Collection<PublicKey> writableAccounts, final FeeLevel level) {
+    return estimate(writableAccounts).fee(level);
+  }
+
+  /// @param maxMicroLamports upper bound on the returned price.
+  default long computeUnitPrice(final Collection<PublicKey> writableAccounts,
+                                final FeeLevel level,
+                                final long maxMicroLamports) {
+    return Math.min(maxMicroLamports, computeUnitPrice(writableAccounts, level));
+  }
+
+  @Override
+  void close();
+}
@@ -0,0 +1,50 @@
+package software.sava.rpc.json.http.client;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+
+/// Client side request budget, consulted by [JsonHttpClient] before each request is sent.
+public interface RateLimiter {
+
+  /// Creates a weighted token bucket which halves its rate upon each rate limited response and additively recovers
+  /// back to `permitsPerSecond` with each successful response.
+  ///
+  /// @param permitsPerSecond sustained rate, and the upper bound when recovering from rate limited responses.
+  /// @param burst            number of permits which may be consumed at once by an idle client.
+  /// @param methodWeights    permits consumed per request keyed by JSON RPC method name, defaults to one.
+  static RateLimiter createLimiter(final double permitsPerSecond,
+                                   final double burst,
+                                   final Map<String, Double> methodWeights) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("permitsPerSecond must be positive.");
+    }
+    return new AdaptiveTokenBucket(
+        permitsPerSecond,
+        Math.max(1, burst),
+        Map.copyOf(methodWeights),
+        Math.max(0.1, permitsPerSecond / 100),
+        permitsPerSecond / 100
+    );
+  }
+
+  static RateLimiter createLimiter(final double permitsPerSecond, final Map<String, Double> methodWeights) {
+    return createLimiter(permitsPerSecond, permitsPerSecond, methodWeights);
+  }
+
+  static RateLimiter createLimiter(final double permitsPerSecond) {
+    return createLimiter(permitsPerSecond, Map.of());
+  }
+
+  /// @param method may be null if the request is not a JSON RPC request.
+  /// @return a future which completes once the request may be sent, never blocks the calling thread.
+  CompletableFuture<Void> acquire(final String method);
+
+  /// Invoked upon a rate limited response, e.g. an HTTP 429.
+  void onRateLimited(final String method, final OptionalLong retryAfterSeconds);
+
+  void onSuccess(final String method);
+
+  /// Currently allowed permits per second.
+  double permitsPerSecond();
+}
@@ -0,0 +1,48 @@
+package software.sava.rpc.json.http.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/// Reduces tail latency of idempotent requests by issuing a second, hedge, request if the first has not completed
+/// within an adaptive latency percentile. The first successful response wins and the other request is cancelled.
+public interface RequestHedger {
+
+  /// @param percentile         latency percentile, in (0, 1), after which a hedge request is sent.
+  /// @param minDelayMillis     lower bound for the hedge delay, protects providers from doubled load when latencies are
+  ///                           uniformly low.
+  /// @param maxDelayMillis     upper bound for the hedge delay, also used until enough samples have been observed.
+  /// @param numLatencySamples  number of recent latency samples the percentile is derived from.
+  static RequestHedger createHedger(final double percentile,
+                                    final long minDelayMillis,
+                                    final long maxDelayMillis,
+                                    final int numLatencySamples) {
+    if (percentile <= 0 || percentile >= 1) {
+      throw new IllegalArgumentException("percentile must be in (0, 1).");
+    }
+    return new AdaptiveRequestHedger(
+        percentile,
+        minDelayMillis * 1_000_000,
+        maxDelayMillis * 1_000_000,
+        Math.max(16, numLatencySamples)
+    );
+  }
+
+  static RequestHedger createHedger(final double percentile) {
+    return createHedger(percentile, 20, 2_000, 1_024);
+  }
+
+  static RequestHedger createHedger() {
+    return createHedger(0.95);
+  }
+
+  <R> CompletableFuture<R> hedge(final Supplier<CompletableFuture<R>> primary,
+                                 final Supplier<CompletableFuture<R>> hedge);
+
+  default <R> CompletableFuture<R> hedge(final Supplier<CompletableFuture<R>> request) {
+    return hedge(request, request);
+  }
+
+  long hedgeDelayMillis();
+
+  HedgeStats stats();
+}
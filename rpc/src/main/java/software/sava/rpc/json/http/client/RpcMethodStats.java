@@ -0,0 +1,20 @@
+package software.sava.rpc.json.http.client;
+
+import java.net.URI;
+import java.util.Map;
+
+/// @param numErrors       failed exchanges, JSON RPC errors and unparseable responses.
+/// @param errorsByCode    JSON RPC error code, [RpcMetricsRecorder#EXCHANGE_FAILURE] or
+///                        [RpcMetricsRecorder#PARSE_FAILURE], to count.
+/// @param queueLatency    time spent waiting on the client side rate limiter.
+/// @param responseLatency time from sending a request until its response body was received.
+public record RpcMethodStats(URI endpoint,
+                             String method,
+                             long numRequests,
+                             long numErrors,
+                             Map<Integer, Long> errorsByCode,
+                             long responseBytes,
+                             LatencyHistogram.Snapshot queueLatency,
+                             LatencyHistogram.Snapshot responseLatency,
+                             LatencyHistogram.Snapshot parseLatency) {
+}
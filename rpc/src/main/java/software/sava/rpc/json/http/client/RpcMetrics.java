@@ -0,0 +1,40 @@
+package software.sava.rpc.json.http.client;
+
+import java.net.URI;
+
+/// Instrumentation hook invoked by [JsonHttpClient] for every request when configured. Implementations must be thread
+/// safe and should not block.
+///
+/// @see RpcMetricsRecorder
+public interface RpcMetrics {
+
+  static RpcMetricsRecorder createRecorder() {
+    return new RpcMetricsRecorder(null);
+  }
+
+  /// @param listener also receives every callback, after it has been recorded.
+  static RpcMetricsRecorder createRecorder(final RpcMetrics listener) {
+    return new RpcMetricsRecorder(listener);
+  }
+
+  /// Invoked once the HTTP exchange completes or fails.
+  ///
+  /// @param method        JSON RPC method name, or null if unknown.
+  /// @param queueNanos    time spent waiting on the [RateLimiter] before the request was sent.
+  /// @param responseNanos time from sending the request until the response body was received.
+  /// @param statusCode    HTTP status code, or zero if the exchange failed.
+  /// @param error         exchange failure, otherwise null.
+  void onResponse(final URI endpoint,
+                  final String method,
+                  final long queueNanos,
+                  final long responseNanos,
+                  final int statusCode,
+                  final int responseBytes,
+                  final Throwable error);
+
+  /// Invoked once a response has been parsed.
+  ///
+  /// @param error parse failure or JSON RPC error, e.g. a [software.sava.rpc.json.http.response.JsonRpcException],
+  ///              otherwise null.
+  void onParsed(final URI endpoint, final String method, final long parseNanos, final Throwable error);
+}
@@ -0,0 +1,109 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.rpc.json.http.response.JsonRpcException;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Aggregates [RpcMetrics] callbacks per endpoint and JSON RPC method.
+public final class RpcMetricsRecorder implements RpcMetrics {
+
+  public static final int EXCHANGE_FAILURE = 0;
+  public static final int PARSE_FAILURE = -1;
+
+  private record Key(URI endpoint, String method) {
+  }
+
+  private static final class MethodMetrics {
+
+    private final LongAdder numRequests = new LongAdder();
+    private final LongAdder numErrors = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final ConcurrentHashMap<Integer, LongAdder> errorsByCode = new ConcurrentHashMap<>();
+    private final LatencyHistogram queueLatency = new LatencyHistogram();
+    private final LatencyHistogram responseLatency = new LatencyHistogram();
+    private final LatencyHistogram parseLatency = new LatencyHistogram();
+
+    private void error(final int code) {
+      numErrors.increment();
+      errorsByCode.computeIfAbsent(code, _ -> new LongAdder()).increment();
+    }
+
+    private RpcMethodStats snapshot(final Key key) {
+      final var errorsByCode = new ConcurrentHashMap<Integer, Long>();
+      this.errorsByCode.forEach((code, count) -> errorsByCode.put(code, count.sum()));
+      return new RpcMethodStats(
+          key.endpoint,
+          key.method,
+          numRequests.sum(),
+          numErrors.sum(),
+          Map.copyOf(errorsByCode),
+          responseBytes.sum(),
+          queueLatency.snapshot(),
+          responseLatency.snapshot(),
+          parseLatency.snapshot()
+      );
+    }
+  }
+
+  private final RpcMetrics listener;
+  private final ConcurrentHashMap<Key, MethodMetrics> metrics;
+
+  RpcMetricsRecorder(final RpcMetrics listener) {
+    this.listener = listener;
+    this.metrics = new ConcurrentHashMap<>();
+  }
+
+  private MethodMetrics metrics(final URI endpoint, final String method) {
+    return metrics.computeIfAbsent(new Key(endpoint, method), _ -> new MethodMetrics());
+  }
+
+  @Override
+  public void onResponse(final URI endpoint,
+                         final String method,
+                         final long queueNanos,
+                         final long responseNanos,
+                         final int statusCode,
+                         final int responseBytes,
+                         final Throwable error) {
+    final var metrics = metrics(endpoint, method);
+    metrics.numRequests.increment();
+    metrics.queueLatency.record(queueNanos);
+    metrics.responseLatency.record(responseNanos);
+    metrics.responseBytes.add(responseBytes);
+    if (error != null) {
+      metrics.error(EXCHANGE_FAILURE);
+    }
+    if (listener != null) {
+      listener.onResponse(endpoint, method, queueNanos, responseNanos, statusCode, responseBytes, error);
+    }
+  }
+
+  @Override
+  public void onParsed(final URI endpoint, final String method, final long parseNanos, final Throwable error) {
+    final var metrics = metrics(endpoint, method);
+    metrics.parseLatency.record(parseNanos);
+    if (error != null) {
+      final var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+      metrics.error(cause instanceof JsonRpcException rpcException ? rpcException.code() : PARSE_FAILURE);
+    }
+    if (listener != null) {
+      listener.onParsed(endpoint, method, parseNanos, error);
+    }
+  }
+
+  public List<RpcMethodStats> snapshot() {
+    final var snapshot = new ArrayList<RpcMethodStats>(metrics.size());
+    metrics.forEach((key, methodMetrics) -> snapshot.add(methodMetrics.snapshot(key)));
+    return snapshot;
+  }
+
+  public void reset() {
+    metrics.clear();
+  }
+}
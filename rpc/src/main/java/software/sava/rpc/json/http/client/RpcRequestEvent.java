@@ -0,0 +1,49 @@
+package software.sava.rpc.json.http.client;
+
+import jdk.jfr.*;
+
+import java.net.URI;
+import java.net.http.HttpResponse;
+
+@Name("software.sava.RpcRequest")
+@Label("RPC Request")
+@Description("HTTP exchange of a JSON RPC request, from sending the request until the response body was received.")
+@Category({"Sava", "RPC"})
+@StackTrace(false)
+final class RpcRequestEvent extends Event {
+
+  @Label("Endpoint")
+  String endpoint;
+
+  @Label("Method")
+  String method;
+
+  @Label("Status Code")
+  int statusCode;
+
+  @Label("Response Bytes")
+  @DataAmount
+  int responseBytes;
+
+  @Label("Error")
+  String error;
+
+  void commit(final URI endpoint,
+              final String method,
+              final HttpResponse<byte[]> response,
+              final Throwable error) {
+    end();
+    if (shouldCommit()) {
+      this.endpoint = endpoint.toString();
+      this.method = method;
+      if (response != null) {
+        this.statusCode = response.statusCode();
+        this.responseBytes = response.body().length;
+      }
+      if (error != null) {
+        this.error = error.toString();
+      }
+      commit();
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.rpc.json.http.response.JsonRpcException;
+import software.sava.rpc.json.http.response.NodeHealth;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class ScoredEndpoint implements BalancedEndpoint {
+
+  private static final double MIN_LATENCY_MILLIS = 1.0;
+
+  private final SolanaRpcClient rpcClient;
+  private final double defaultWeight;
+  private final Map<String, Double> methodWeights;
+  private final double ewmaAlpha;
+  private final double errorPenalty;
+  private final long maxSlotLag;
+  private final long defaultBackOffMillis;
+  private final AtomicLong numRequests;
+  private final AtomicLong numErrors;
+  private final AtomicInteger numInFlight;
+
+  private volatile double latencyEwmaMillis;
+  private volatile double errorRateEwma;
+  private volatile long backOffUntil;
+  private volatile long slot;
+  private volatile long slotLag;
+  private volatile boolean healthy;
+
+  ScoredEndpoint(final SolanaRpcClient rpcClient,
+                 final double defaultWeight,
+                 final Map<String, Double> methodWeights,
+                 final double ewmaAlpha,
+                 final double errorPenalty,
+                 final long maxSlotLag,
+                 final long defaultBackOffMillis) {
+    this.rpcClient = rpcClient;
+    this.defaultWeight = defaultWeight;
+    this.methodWeights = methodWeights;
+    this.ewmaAlpha = ewmaAlpha;
+    this.errorPenalty = errorPenalty;
+    this.maxSlotLag = maxSlotLag;
+    this.defaultBackOffMillis = defaultBackOffMillis;
+    this.numRequests = new AtomicLong();
+    this.numErrors = new AtomicLong();
+    this.numInFlight = new AtomicInteger();
+    this.healthy = true;
+  }
+
+  @Override
+  public SolanaRpcClient rpcClient() {
+    return rpcClient;
+  }
+
+  @Override
+  public double weight(final String method) {
+    return method == null ? defaultWeight : methodWeights.getOrDefault(method, defaultWeight);
+  }
+
+  @Override
+  public double latencyEwmaMillis() {
+    return latencyEwmaMillis;
+  }
+
+  @Override
+  public double errorRateEwma() {
+    return errorRateEwma;
+  }
+
+  @Override
+  public long numRequests() {
+    return numRequests.get();
+  }
+
+  @Override
+  public long numErrors() {
+    return numErrors.get();
+  }
+
+  @Override
+  public int numInFlight() {
+    return numInFlight.get();
+  }
+
+  @Override
+  public long backOffUntil() {
+    return backOffUntil;
+  }
+
+  @Override
+  public long slot() {
+    return slot;
+  }
+
+  @Override
+  public long slotLag() {
+    return slotLag;
+  }
+
+  @Override
+  public boolean healthy() {
+    return healthy;
+  }
+
+  private double rawScore(final double weight) {
+    return Math.max(MIN_LATENCY_MILLIS, latencyEwmaMillis)
+        * (1 + numInFlight.get())
+        * (1 + (errorPenalty * errorRateEwma))
+        / weight;
+  }
+
+  @Override
+  public double score(final String method, final long now) {
+    final double weight = weight(method);
+    if (weight <= 0 || now < backOffUntil || !healthy || slotLag > maxSlotLag) {
+      return Double.POSITIVE_INFINITY;
+    } else {
+      return rawScore(weight);
+    }
+  }
+
+  /// Used when no endpoint is currently eligible, still prefers endpoints which are weighted for the method.
+  double fallbackScore(final String method) {
+    final double weight = weight(method);
+    return weight > 0 ? rawScore(weight) : Double.MAX_VALUE / 2 + rawScore(1);
+  }
+
+  void beginRequest() {
+    numRequests.incrementAndGet();
+    numInFlight.incrementAndGet();
+  }
+
+  void endRequest(final long startNanos, final Throwable throwable) {
+    numInFlight.decrementAndGet();
+    final double latencyMillis = (System.nanoTime() - startNanos) / 1_000_000.0;
+    if (throwable == null) {
+      recordSample(latencyMillis, 0);
+    } else if (!(throwable instanceof CancellationException)) {
+      numErrors.incrementAndGet();
+      recordSample(latencyMillis, 1);
+      final var cause = throwable instanceof CompletionException && throwable.getCause() != null
+          ? throwable.getCause()
+          : throwable;
+      if (cause instanceof JsonRpcException rpcException) {
+        final var retryAfter = rpcException.retryAfterSeconds();
+        if (retryAfter.isPresent()) {
+          backOff(retryAfter.getAsLong() * 1_000);
+        } else if (rpcException.code() == 429) {
+          backOff(defaultBackOffMillis);
+        }
+      }
+    }
+  }
+
+  private synchronized void recordSample(final double latencyMillis, final int error) {
+    final double latencyEwmaMillis = this.latencyEwmaMillis;
+    this.latencyEwmaMillis = latencyEwmaMillis == 0
+        ? latencyMillis
+        : latencyEwmaMillis + (ewmaAlpha * (latencyMillis - latencyEwmaMillis));
+    this.errorRateEwma += ewmaAlpha * (error - this.errorRateEwma);
+  }
+
+  void backOff(final long millis) {
+    final long until = System.currentTimeMillis() + millis;
+    if (until > this.backOffUntil) {
+      this.backOffUntil = until;
+    }
+  }
+
+  void slot(final long slot) {
+    this.slot = slot;
+  }
+
+  void slotLag(final long maxSlot) {
+    this.slotLag = Math.max(0, maxSlot - this.slot);
+  }
+
+  void health(final NodeHealth nodeHealth, final Throwable throwable) {
+    this.healthy = throwable == null && nodeHealth != null && nodeHealth.code() == 200;
+  }
+
+  @Override
+  public String toString() {
+    return "BalancedEndpoint{" +
+        "endpoint=" + rpcClient.endpoint() +
+        ", latencyEwmaMillis=" + latencyEwmaMillis +
+        ", errorRateEwma=" + errorRateEwma +
+        ", numRequests=" + numRequests +
+        ", numErrors=" + numErrors +
+        ", numInFlight=" + numInFlight +
+        ", backOffUntil=" + backOffUntil +
+        ", slot=" + slot +
+        ", slotLag=" + slotLag +
+        ", healthy=" + healthy +
+        '}';
+  }
+}
@@ -0,0 +1,59 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.LatestBlockHash;
+import software.sava.rpc.json.http.response.TxStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/// Shared signature status poller which merges all awaited signatures into batches of
+/// [SolanaRpcClient#MAX_SIGNATURE_STATUSES].
+///
+/// Polling backs off from `minInterval` towards `maxInterval` while no statuses change, resets to `minInterval` as
+/// soon as any do, and stops entirely while there is nothing to await.
+public interface SignatureStatusTracker extends AutoCloseable {
+
+  static SignatureStatusTracker createTracker(final SolanaRpcClient rpcClient,
+                                              final ScheduledExecutorService executor,
+                                              final Duration minInterval,
+                                              final Duration maxInterval) {
+    return new BatchingSignatureStatusTracker(rpcClient, executor, false, minInterval.toNanos(), maxInterval.toNanos());
+  }
+
+  static SignatureStatusTracker createTracker(final SolanaRpcClient rpcClient) {
+    return new BatchingSignatureStatusTracker(
+        rpcClient,
+        Executors.newSingleThreadScheduledExecutor(),
+        true,
+        Duration.ofMillis(400).toNanos(),
+        Duration.ofSeconds(4).toNanos()
+    );
+  }
+
+  long NO_EXPIRY = Long.MAX_VALUE;
+
+  /// @return a future completed with the status of the transaction once it has reached the given commitment, the
+  /// status may carry a transaction error. Cancelling the future stops tracking the signature.
+  default CompletableFuture<TxStatus> await(final String txSig, final Commitment commitment) {
+    return await(txSig, commitment, NO_EXPIRY);
+  }
+
+  /// Same as [#await(String, Commitment)], but completes exceptionally with a
+  /// [java.util.concurrent.TimeoutException] once the confirmed block height passes `lastValidBlockHeight` without the
+  /// transaction having been observed.
+  CompletableFuture<TxStatus> await(final String txSig, final Commitment commitment, final long lastValidBlockHeight);
+
+  default CompletableFuture<TxStatus> await(final String txSig,
+                                            final Commitment commitment,
+                                            final LatestBlockHash blockHash) {
+    return await(txSig, commitment, blockHash.lastValidBlockHeight());
+  }
+
+  int numPending();
+
+  @Override
+  void close();
+}
@@ -0,0 +1,225 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.response.PrioritizationFee;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.lang.System.Logger.Level.WARNING;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static software.sava.rpc.json.http.client.JsonResponseController.log;
+
+final class SlidingWindowPriorityFeeEstimator implements PriorityFeeEstimator {
+
+  private static final long NO_SLOT = -1;
+
+  /// Ring buffer of fees indexed by slot, mirrored by bucket counts in the same log-linear scale as
+  /// [LatencyHistogram].
+  private static final class FeeWindow {
+
+    private final long[] slots;
+    private final long[] fees;
+    private final int[] counts;
+    private int numSlots;
+    private long maxSlot;
+    private volatile PriorityFeeEstimate estimate;
+
+    private FeeWindow(final int windowSlots) {
+      this.slots = new long[windowSlots];
+      Arrays.fill(slots, NO_SLOT);
+      this.fees = new long[windowSlots];
+      this.counts = new int[LatencyHistogram.NUM_BUCKETS];
+      this.maxSlot = NO_SLOT;
+      this.estimate = PriorityFeeEstimate.EMPTY;
+    }
+
+    private void evict(final int index) {
+      --counts[LatencyHistogram.bucketIndex(fees[index])];
+      slots[index] = NO_SLOT;
+      --numSlots;
+    }
+
+    private boolean add(final long slot, final long fee) {
+      final int window = slots.length;
+      if (slot <= maxSlot - window) {
+        return false;
+      }
+      final int index = (int) (slot % window);
+      final long current = slots[index];
+      if (current == slot && fees[index] == fee) {
+        return false;
+      } else if (current > slot) {
+        return false;
+      } else if (current != NO_SLOT) {
+        evict(index);
+      }
+      slots[index] = slot;
+      fees[index] = fee;
+      ++counts[LatencyHistogram.bucketIndex(fee)];
+      ++numSlots;
+      if (slot > maxSlot) {
+        maxSlot = slot;
+      }
+      return true;
+    }
+
+    private void evictExpired() {
+      final long minSlot = maxSlot - slots.length;
+      for (int i = 0; i < slots.length; ++i) {
+        final long slot = slots[i];
+        if (slot != NO_SLOT && slot <= minSlot) {
+          evict(i);
+        }
+      }
+    }
+
+    private long valueAtRank(final long rank) {
+      long seen = 0;
+      for (int i = 0; i < counts.length; ++i) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return LatencyHistogram.bucketValue(i);
+        }
+      }
+      return 0;
+    }
+
+    private PriorityFeeEstimate computeEstimate() {
+      if (numSlots == 0) {
+        return PriorityFeeEstimate.EMPTY;
+      }
+      long max = 0;
+      for (int i = 0; i < slots.length; ++i) {
+        if (slots[i] != NO_SLOT && fees[i] > max) {
+          max = fees[i];
+        }
+      }
+      final int numSlots = this.numSlots;
+      return new PriorityFeeEstimate(
+          valueAtRank(Math.max(1, (numSlots + 1) >> 1)),
+          valueAtRank(Math.max(1, (long) Math.ceil(numSlots * 0.75))),
+          valueAtRank(Math.max(1, (long) Math.ceil(numSlots * 0.9))),
+          max,
+          numSlots
+      );
+    }
+
+    private synchronized void update(final List<PrioritizationFee> fees) {
+      boolean changed = false;
+      for (final var fee : fees) {
+        changed |= add(fee.slot(), fee.prioritizationFee());
+      }
+      if (changed) {
+        evictExpired();
+        estimate = computeEstimate();
+      }
+    }
+  }
+
+  private final SolanaRpcClient rpcClient;
+  private final int windowSlots;
+  private final FeeWindow global;
+  private final ConcurrentHashMap<PublicKey, FeeWindow> windows;
+  private volatile ScheduledFuture<?> scheduledRefresh;
+
+  SlidingWindowPriorityFeeEstimator(final SolanaRpcClient rpcClient, final int windowSlots) {
+    this.rpcClient = rpcClient;
+    this.windowSlots = windowSlots;
+    this.global = new FeeWindow(windowSlots);
+    this.windows = new ConcurrentHashMap<>();
+  }
+
+  void schedule(final ScheduledExecutorService executor, final Duration refreshInterval) {
+    final long delay = refreshInterval.toMillis();
+    this.scheduledRefresh = executor.scheduleWithFixedDelay(this::refresh, 0, delay, MILLISECONDS);
+  }
+
+  @Override
+  public void track(final PublicKey account) {
+    windows.computeIfAbsent(account, _ -> new FeeWindow(windowSlots));
+  }
+
+  @Override
+  public void untrack(final PublicKey account) {
+    windows.remove(account);
+  }
+
+  private CompletableFuture<Void> refresh(final PublicKey account) {
+    return rpcClient.getRecentPrioritizationFees(account == null ? null : List.of(account))
+        .thenAccept(fees -> onFees(account, fees))
+        .exceptionally(ex -> {
+          log.log(WARNING, "Failed to fetch prioritization fees for " + account + " from " + rpcClient.endpoint(), ex);
+          return null;
+        });
+  }
+
+  @Override
+  public CompletableFuture<Void> refresh() {
+    final var accounts = windows.keySet().toArray(PublicKey[]::new);
+    final var refreshes = new CompletableFuture<?>[accounts.length + 1];
+    refreshes[0] = refresh(null);
+    for (int i = 0; i < accounts.length; ++i) {
+      refreshes[i + 1] = refresh(accounts[i]);
+    }
+    return CompletableFuture.allOf(refreshes);
+  }
+
+  @Override
+  public void onFees(final PublicKey account, final List<PrioritizationFee> fees) {
+    if (account == null) {
+      global.update(fees);
+    } else {
+      final var window = windows.get(account);
+      if (window != null) {
+        window.update(fees);
+      }
+    }
+  }
+
+  @Override
+  public PriorityFeeEstimate estimate() {
+    return global.estimate;
+  }
+
+  @Override
+  public PriorityFeeEstimate estimate(final PublicKey account) {
+    final var window = windows.get(account);
+    return window == null ? global.estimate : window.estimate;
+  }
+
+  @Override
+  public PriorityFeeEstimate estimate(final Collection<PublicKey> writableAccounts) {
+    if (writableAccounts == null || writableAccounts.isEmpty()) {
+      return global.estimate;
+    }
+    var estimate = PriorityFeeEstimate.EMPTY;
+    for (final var account : writableAccounts) {
+      estimate = estimate.max(estimate(account));
+    }
+    return estimate;
+  }
+
+  @Override
+  public void close() {
+    final var scheduledRefresh = this.scheduledRefresh;
+    if (scheduledRefresh != null) {
+      scheduledRefresh.cancel(false);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "PriorityFeeEstimator{" +
+        "endpoint=" + rpcClient.endpoint() +
+        ", numAccounts=" + windows.size() +
+        ", estimate=" + global.estimate +
+        '}';
+  }
+}
@@ -49,11 +49,15 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
   private static final Function<HttpResponse<byte[]>, InflationGovernor> INFLATION_GOVERNOR = applyResponseResult(InflationGovernor::parse);
   private static final Function<HttpResponse<byte[]>, InflationRate> INFLATION_RATE = applyResponseResult(InflationRate::parse);
   private static final Function<JsonIterator, long[]> PARSE_LONG_ARRAY = ji -> {
-    final var longs = new ArrayList<Long>();
-    while (ji.readArray()) {
-      longs.add(ji.readLong());
+    long[] longs = new long[16];
+    int i = 0;
+    for (; ji.readArray(); ++i) {
+      if (i == longs.length) {
+        longs = Arrays.copyOf(longs, i << 1);
+      }
+      longs[i] = ji.readLong();
     }
-    return longs.stream().mapToLong(Long::longValue).toArray();
+    return i == longs.length ? longs : Arrays.copyOf(longs, i);
   };
   private static final Function<HttpResponse<byte[]>, Map<PublicKey, long[]>> LEADER_SCHEDULE = applyResponseResult(ji -> {
     final var schedule = new HashMap<PublicKey, long[]>();
@@ -83,6 +87,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
   private static final Function<HttpResponse<byte[]>, List<PerfSample>> PERF_SAMPLE = applyResponseResult(PerfSample::parse);
   private static final Function<HttpResponse<byte[]>, List<PrioritizationFee>> PRIORITIZATION_FEE = applyResponseResult(PrioritizationFee::parse);
   private static final Function<HttpResponse<byte[]>, List<TxSig>> TX_SIG = applyResponseResult(TxSig::parse);
+  private static final Function<HttpResponse<byte[]>, List<TxStatus>> TX_STATUS_LIST = applyResponseValue(TxStatus::parseList);
   private static final Function<HttpResponse<byte[]>, Supply> SUPPLY = applyResponseValue(Supply::parse);
   private static final Function<HttpResponse<byte[]>, TokenAmount> TOKEN_AMOUNT = applyResponseValue(TokenAmount::parse);
   private static final Function<HttpResponse<byte[]>, String> SEND_TX_RESPONSE_PARSER = applyResponseResult(JsonIterator::readString);
@@ -99,8 +104,9 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
                       final HttpClient httpClient,
                       final Duration requestTimeout,
                       final Predicate<HttpResponse<byte[]>> applyResponse,
-                      final Commitment defaultCommitment) {
-    super(endpoint, httpClient, requestTimeout, applyResponse);
+                      final Commitment defaultCommitment,
+                      final JsonHttpClientConfig config) {
+    super(endpoint, httpClient, requestTimeout, applyResponse, config);
     this.id = new AtomicLong(System.currentTimeMillis());
     this.defaultCommitment = defaultCommitment;
     this.latestBlockhashResponseParser = wrapParser(LATEST_BLOCK_HASH);
@@ -114,7 +120,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<NodeHealth> getHealth(final Duration requestTimeout) {
-    return sendPostRequest(SolanaJsonRpcClient.NODE_HEALTH, requestTimeout, format("""
+    return sendPostRequest("getHealth", SolanaJsonRpcClient.NODE_HEALTH, requestTimeout, format("""
         {"jsonrpc":"2.0","id":%d,"method":"getHealth"}""", id.incrementAndGet()));
   }
 
@@ -127,7 +133,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
   public <T> CompletableFuture<AccountInfo<T>> getAccountInfo(final Commitment commitment,
                                                               final PublicKey account,
                                                               final BiFunction<PublicKey, byte[], T> factory) {
-    return sendPostRequest(applyResponseValue((ji, context) -> AccountInfo.parse(account, ji, context, factory)), format("""
+    return sendHedgedPostRequest("getAccountInfo", applyResponseValue((ji, context) -> AccountInfo.parse(account, ji, context, factory)), format("""
             {"jsonrpc":"2.0","id":%d,"method":"getAccountInfo","params":["%s",{"commitment":"%s","encoding":"base64"}]}""",
         id.incrementAndGet(), account.toBase58(), commitment.getValue()));
   }
@@ -139,7 +145,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<Lamports> getBalance(final Commitment commitment, final PublicKey account) {
-    return sendPostRequest(CONTEXT_LONG_VAL, format("""
+    return sendPostRequest("getBalance", CONTEXT_LONG_VAL, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getBalance","params":["%s",{"commitment":"%s"}]}""",
         id.incrementAndGet(), account, commitment.getValue()));
   }
@@ -151,11 +157,30 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<Block> getBlock(final Commitment commitment, final long slot) {
-    return sendPostRequest(BLOCK, format("""
+    return sendPostRequest("getBlock", BLOCK, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getBlock","params":[%d,{"commitment":"%s","transactionDetails":"none","rewards":true}]}"""
         , id.incrementAndGet(), slot, commitment.getValue()));
   }
 
+  @Override
+  public CompletableFuture<Block> getBlockWithTransactions(final long slot) {
+    return getBlockWithTransactions(this.defaultCommitment, slot);
+  }
+
+  @Override
+  public CompletableFuture<Block> getBlockWithTransactions(final Commitment commitment, final long slot) {
+    return getBlockWithTransactions(commitment, slot, true);
+  }
+
+  @Override
+  public CompletableFuture<Block> getBlockWithTransactions(final Commitment commitment,
+                                                           final long slot,
+                                                           final boolean rewards) {
+    return sendPostRequest("getBlock", BLOCK, format("""
+            {"jsonrpc":"2.0","id":%d,"method":"getBlock","params":[%d,{"commitment":"%s","encoding":"base64","transactionDetails":"full","maxSupportedTransactionVersion":0,"rewards":%b}]}"""
+        , id.incrementAndGet(), slot, commitment.getValue(), rewards));
+  }
+
   @Override
   public CompletableFuture<BlockHeight> getBlockHeight() {
     return getBlockHeight(defaultCommitment);
@@ -163,7 +188,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<BlockHeight> getBlockHeight(final Commitment commitment) {
-    return sendPostRequest(BLOCK_HEIGHT, format("""
+    return sendPostRequest("getBlockHeight", BLOCK_HEIGHT, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getBlockHeight","params":[{"commitment":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue()));
   }
@@ -175,7 +200,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<BlockProduction> getBlockProduction(final Commitment commitment) {
-    return sendPostRequest(BLOCK_PRODUCTION, format("""
+    return sendPostRequest("getBlockProduction", BLOCK_PRODUCTION, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getBlockProduction","params":[{"commitment":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue()));
   }
@@ -187,7 +212,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<BlockProduction> getBlockProduction(final Commitment commitment, final PublicKey identity) {
-    return sendPostRequest(BLOCK_PRODUCTION, format("""
+    return sendPostRequest("getBlockProduction", BLOCK_PRODUCTION, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getBlockProduction","params":[{"commitment":"%s","identity":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue(), identity));
   }
@@ -199,7 +224,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<BlockProduction> getBlockProduction(final Commitment commitment, final long firstSlot) {
-    return sendPostRequest(BLOCK_PRODUCTION, format("""
+    return sendPostRequest("getBlockProduction", BLOCK_PRODUCTION, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getBlockProduction","params":[{"commitment":"%s","firstSlot":%d}]}""",
         id.incrementAndGet(), commitment.getValue(), firstSlot));
   }
@@ -211,14 +236,14 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<BlockProduction> getBlockProduction(final Commitment commitment, final PublicKey identity, final long firstSlot) {
-    return sendPostRequest(BLOCK_PRODUCTION, format("""
+    return sendPostRequest("getBlockProduction", BLOCK_PRODUCTION, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getBlockProduction","params":[{"commitment":"%s","identity":"%s","firstSlot":%d}]}""",
         id.incrementAndGet(), commitment.getValue(), identity, firstSlot));
   }
 
   @Override
   public CompletableFuture<BlockCommitment> getBlockCommitment(final long slot) {
-    return sendPostRequest(BLOCK_COMMITMENT, format("""
+    return sendPostRequest("getBlockCommitment", BLOCK_COMMITMENT, format("""
         {"jsonrpc":"2.0","id":%d,"method":"getBlockCommitment","params":[%d]}""", id.incrementAndGet(), slot));
   }
 
@@ -229,7 +254,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<long[]> getBlocks(final Commitment commitment, final long startSlot) {
-    return sendPostRequest(LONG_ARRAY, format("""
+    return sendPostRequest("getBlocks", LONG_ARRAY, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getBlocks","params":[%d,{"commitment":"%s"}]}""",
         id.incrementAndGet(), startSlot, commitment.getValue()));
   }
@@ -241,7 +266,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<long[]> getBlocks(final Commitment commitment, final long startSlot, final long endSlot) {
-    return sendPostRequest(LONG_ARRAY, format("""
+    return sendPostRequest("getBlocks", LONG_ARRAY, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getBlocks","params":[%d,%d,{"commitment":"%s"}]}""",
         id.incrementAndGet(), startSlot, Math.min(endSlot, startSlot + 500_000), commitment.getValue()));
   }
@@ -253,20 +278,20 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<long[]> getBlocksWithLimit(final Commitment commitment, final long startSlot, final long limit) {
-    return sendPostRequest(LONG_ARRAY, format("""
+    return sendPostRequest("getBlocksWithLimit", LONG_ARRAY, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getBlocksWithLimit","params":[%d,%d,{"commitment":"%s"}]}""",
         id.incrementAndGet(), startSlot, Math.min(limit, 500_000), commitment.getValue()));
   }
 
   @Override
   public CompletableFuture<Instant> getBlockTime(final long slot) {
-    return sendPostRequest(INSTANT, format("""
+    return sendPostRequest("getBlockTime", INSTANT, format("""
         {"jsonrpc":"2.0","id":%d,"method":"getBlockTime","params":[%d]}""", id.incrementAndGet(), slot));
   }
 
   @Override
   public CompletableFuture<List<ClusterNode>> getClusterNodes() {
-    return sendPostRequest(CLUSTER_NODES, format("""
+    return sendPostRequest("getClusterNodes", CLUSTER_NODES, format("""
         {"jsonrpc":"2.0","id":%d,"method":"getClusterNodes"}""", id.incrementAndGet()));
   }
 
@@ -277,14 +302,14 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<EpochInfo> getEpochInfo(final Commitment commitment) {
-    return sendPostRequest(EPOCH_INFO, format("""
+    return sendPostRequest("getEpochInfo", EPOCH_INFO, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getEpochInfo","params":[{"commitment":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue()));
   }
 
   @Override
   public CompletableFuture<EpochSchedule> getEpochSchedule() {
-    return sendPostRequest(EPOCH_SCHEDULE, format("""
+    return sendPostRequest("getEpochSchedule", EPOCH_SCHEDULE, format("""
         {"jsonrpc":"2.0","id":%d,"method":"getEpochSchedule"}""", id.incrementAndGet()));
   }
 
@@ -295,32 +320,32 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<FeeForMessage> getFeeForMessage(final Commitment commitment, final String base64Msg) {
-    return sendPostRequest(FEE_FOR_MESSAGE, format("""
+    return sendPostRequest("getFeeForMessage", FEE_FOR_MESSAGE, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getFeeForMessage","params":["%s",{"commitment":"%s"}]}""",
         id.incrementAndGet(), base64Msg, commitment.getValue()));
   }
 
   @Override
   public CompletableFuture<Long> getFirstAvailableBlock() {
-    return sendPostRequest(LONG_VAL, format("""
+    return sendPostRequest("getFirstAvailableBlock", LONG_VAL, format("""
         {"jsonrpc":"2.0","id":%d,"method":"getFirstAvailableBlock"}""", id.incrementAndGet()));
   }
 
   @Override
   public CompletableFuture<String> getGenesisHash() {
-    return sendPostRequest(STRING, format("""
+    return sendPostRequest("getGenesisHash", STRING, format("""
         {"jsonrpc":"2.0","id":%d,"method":"getGenesisHash"}""", id.incrementAndGet()));
   }
 
   @Override
   public CompletableFuture<HighestSnapshotSlot> getHighestSnapshotSlot() {
-    return sendPostRequest(HIGHEST_SNAPSHOT_SLOT, format("""
+    return sendPostRequest("getHighestSnapshotSlot", HIGHEST_SNAPSHOT_SLOT, format("""
         {"jsonrpc":"2.0","id":%d,"method":"getHighestSnapshotSlot"}""", id.incrementAndGet()));
   }
 
   @Override
   public CompletableFuture<Identity> getIdentity() {
-    return sendPostRequest(IDENTITY, format("""
+    return sendPostRequest("getIdentity", IDENTITY, format("""
         {"jsonrpc":"2.0","id":%d,"method":"getIdentity"}""", id.incrementAndGet()));
   }
 
@@ -331,14 +356,14 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<InflationGovernor> getInflationGovernor(final Commitment commitment) {
-    return sendPostRequest(INFLATION_GOVERNOR, format("""
+    return sendPostRequest("getInflationGovernor", INFLATION_GOVERNOR, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getInflationGovernor","params":[{"commitment":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue()));
   }
 
   @Override
   public CompletableFuture<InflationRate> getInflationRate() {
-    return sendPostRequest(INFLATION_RATE, format("""
+    return sendPostRequest("getInflationRate", INFLATION_RATE, format("""
         {"jsonrpc":"2.0","id":%d,"method":"getInflationRate"}""", id.incrementAndGet()));
   }
 
@@ -353,7 +378,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
     final var joined = keys.isEmpty() ? "[]" : keys.stream()
         .map(PublicKey::toBase58)
         .collect(Collectors.joining("\",\"", "[\"", "\"]"));
-    return sendPostRequest(INFLATION_REWARDS, format("""
+    return sendPostRequest("getInflationReward", INFLATION_REWARDS, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getInflationReward","params":[%s,{"commitment":"%s"}]}""",
         id.incrementAndGet(), joined, commitment.getValue()));
   }
@@ -370,7 +395,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
     final var joined = keys.isEmpty() ? "[]" : keys.stream()
         .map(PublicKey::toBase58)
         .collect(Collectors.joining("\",\"", "[\"", "\"]"));
-    return sendPostRequest(INFLATION_REWARDS, format("""
+    return sendPostRequest("getInflationReward", INFLATION_REWARDS, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getInflationReward","params":[%s,{"commitment":"%s",{"epoch":%d}}]}""",
         id.incrementAndGet(), joined, commitment.getValue(), epoch));
   }
@@ -382,7 +407,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<List<AccountLamports>> getLargestAccounts(final Commitment commitment) {
-    return sendPostRequest(TOP_LAMPORT_ACCOUNTS, format("""
+    return sendPostRequest("getLargestAccounts", TOP_LAMPORT_ACCOUNTS, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getLargestAccounts","params":[{"commitment":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue()));
   }
@@ -394,7 +419,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<LatestBlockHash> getLatestBlockHash(final Commitment commitment) {
-    return sendPostRequestNoWrap(latestBlockhashResponseParser, format("""
+    return sendHedgedPostRequestNoWrap("getLatestBlockhash", latestBlockhashResponseParser, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getLatestBlockhash","params":[{"commitment":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue()));
   }
@@ -406,7 +431,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<Map<PublicKey, long[]>> getLeaderSchedule(final Commitment commitment) {
-    return sendPostRequest(LEADER_SCHEDULE, format("""
+    return sendPostRequest("getLeaderSchedule", LEADER_SCHEDULE, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getLeaderSchedule","params":[null,{"commitment":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue()));
   }
@@ -418,7 +443,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<Map<PublicKey, long[]>> getLeaderSchedule(final Commitment commitment, final long slot) {
-    return sendPostRequest(LEADER_SCHEDULE, format("""
+    return sendPostRequest("getLeaderSchedule", LEADER_SCHEDULE, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getLeaderSchedule","params":[%d,{"commitment":"%s"}]}""",
         id.incrementAndGet(), slot, commitment.getValue()));
   }
@@ -430,7 +455,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<Map<PublicKey, long[]>> getLeaderSchedule(final Commitment commitment, final long slot, final PublicKey identity) {
-    return sendPostRequest(LEADER_SCHEDULE, format("""
+    return sendPostRequest("getLeaderSchedule", LEADER_SCHEDULE, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getLeaderSchedule","params":[%d,{"commitment":"%s","identity":"%s"}]}""",
         id.incrementAndGet(), slot, commitment.getValue(), identity));
   }
@@ -442,26 +467,42 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<Map<PublicKey, long[]>> getLeaderSchedule(final Commitment commitment, final PublicKey identity) {
-    return sendPostRequest(LEADER_SCHEDULE, format("""
+    return sendPostRequest("getLeaderSchedule", LEADER_SCHEDULE, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getLeaderSchedule","params":[null,{"commitment":"%s","identity":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue(), identity));
   }
 
+  @Override
+  public CompletableFuture<LeaderSchedule> getEpochLeaderSchedule(final EpochSchedule epochSchedule, final long slot) {
+    return getEpochLeaderSchedule(defaultCommitment, epochSchedule, slot);
+  }
+
+  @Override
+  public CompletableFuture<LeaderSchedule> getEpochLeaderSchedule(final Commitment commitment,
+                                                                  final EpochSchedule epochSchedule,
+                                                                  final long slot) {
+    final long epoch = epochSchedule.epoch(slot);
+    final long firstSlot = epochSchedule.firstSlotInEpoch(epoch);
+    return sendPostRequest("getLeaderSchedule", applyResponseResult(ji -> LeaderSchedule.parse(epoch, firstSlot, ji)), format("""
+            {"jsonrpc":"2.0","id":%d,"method":"getLeaderSchedule","params":[%d,{"commitment":"%s"}]}""",
+        id.incrementAndGet(), firstSlot, commitment.getValue()));
+  }
+
   @Override
   public CompletableFuture<Long> getMaxRetransmitSlot() {
-    return sendPostRequest(LONG_VAL, format("""
+    return sendPostRequest("getMaxRetransmitSlot", LONG_VAL, format("""
         {"jsonrpc":"2.0","id":%d,"method":"getMaxRetransmitSlot"}""", id.incrementAndGet()));
   }
 
   @Override
   public CompletableFuture<Long> getMaxShredInsertSlot() {
-    return sendPostRequest(LONG_VAL, format("""
+    return sendPostRequest("getMaxShredInsertSlot", LONG_VAL, format("""
         {"jsonrpc":"2.0","id":%d,"method":"getMaxShredInsertSlot"}""", id.incrementAndGet()));
   }
 
   @Override
   public CompletableFuture<Long> getMinimumBalanceForRentExemption(final long accountLength) {
-    return sendPostRequest(LONG_VAL, format("""
+    return sendPostRequest("getMinimumBalanceForRentExemption", LONG_VAL, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getMinimumBalanceForRentExemption","params":[%d]}""",
         id.incrementAndGet(), accountLength));
   }
@@ -477,7 +518,24 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
                                                                          final List<PublicKey> keys,
                                                                          final BiFunction<PublicKey, byte[], T> factory) {
     final var joinedAccounts = keys.stream().map(PublicKey::toBase58).collect(Collectors.joining("\",\""));
-    return sendPostRequest(applyResponseValue((ji, context) -> AccountInfo.parseAccountsFromKeys(keys, ji, context, factory)),
+    return sendHedgedPostRequest("getMultipleAccounts", applyResponseValue((ji, context) -> AccountInfo.parseAccountsFromKeys(keys, ji, context, factory)),
+        format("""
+                {"jsonrpc":"2.0","id":%d,"method":"getMultipleAccounts","params":[["%s"],{"commitment":"%s","encoding":"base64"}]}""",
+            id.incrementAndGet(), joinedAccounts, commitment.getValue()));
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getMultipleAccounts(final List<PublicKey> keys,
+                                                                         final AccountDataFactory<T> factory) {
+    return getMultipleAccounts(defaultCommitment, keys, factory);
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getMultipleAccounts(final Commitment commitment,
+                                                                         final List<PublicKey> keys,
+                                                                         final AccountDataFactory<T> factory) {
+    final var joinedAccounts = keys.stream().map(PublicKey::toBase58).collect(Collectors.joining("\",\""));
+    return sendHedgedPostRequest("getMultipleAccounts", applyResponseValue((ji, context) -> AccountInfo.parseAccountsFromKeys(keys, ji, context, factory)),
         format("""
                 {"jsonrpc":"2.0","id":%d,"method":"getMultipleAccounts","params":[["%s"],{"commitment":"%s","encoding":"base64"}]}""",
             id.incrementAndGet(), joinedAccounts, commitment.getValue()));
@@ -504,19 +562,54 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
                                                                         final Commitment commitment,
                                                                         final List<Filter> filters,
                                                                         final BiFunction<PublicKey, byte[], T> factory) {
-    final var filtersJson = filters == null || filters.isEmpty() ? "" : filters.stream()
-        .map(Filter::toJson)
-        .collect(Collectors.joining(",", ",\"filters\":[", "]"));
-    return sendPostRequest(applyResponseValue((ji, context) -> AccountInfo.parseAccounts(ji, context, factory)),
+    return getProgramAccounts(requestTimeout, programId, commitment, filters, -1, factory);
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getProgramAccounts(final Duration requestTimeout,
+                                                                        final PublicKey programId,
+                                                                        final Commitment commitment,
+                                                                        final List<Filter> filters,
+                                                                        final long changedSinceSlot,
+                                                                        final BiFunction<PublicKey, byte[], T> factory) {
+    final var changedSince = changedSinceSlot < 0 ? "" : ",\"changedSinceSlot\":" + changedSinceSlot;
+    return sendPostRequest("getProgramAccounts", applyResponseValue((ji, context) -> AccountInfo.parseAccounts(ji, context, factory)),
+        requestTimeout,
+        format("""
+                {"jsonrpc":"2.0","id":%d,"method":"getProgramAccounts","params":["%s",{"commitment":"%s","withContext":true,"encoding":"base64"%s%s}]}""",
+            id.incrementAndGet(), programId.toBase58(), commitment.getValue(), filtersJson(filters), changedSince));
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getProgramAccounts(final Duration requestTimeout,
+                                                                        final PublicKey programId,
+                                                                        final List<Filter> filters,
+                                                                        final AccountDataFactory<T> factory) {
+    return getProgramAccounts(requestTimeout, programId, defaultCommitment, filters, factory);
+  }
+
+  @Override
+  public <T> CompletableFuture<List<AccountInfo<T>>> getProgramAccounts(final Duration requestTimeout,
+                                                                        final PublicKey programId,
+                                                                        final Commitment commitment,
+                                                                        final List<Filter> filters,
+                                                                        final AccountDataFactory<T> factory) {
+    return sendPostRequest("getProgramAccounts", applyResponseValue((ji, context) -> AccountInfo.parseAccounts(ji, context, factory)),
         requestTimeout,
         format("""
                 {"jsonrpc":"2.0","id":%d,"method":"getProgramAccounts","params":["%s",{"commitment":"%s","withContext":true,"encoding":"base64"%s}]}""",
-            id.incrementAndGet(), programId.toBase58(), commitment.getValue(), filtersJson));
+            id.incrementAndGet(), programId.toBase58(), commitment.getValue(), filtersJson(filters)));
+  }
+
+  private static String filtersJson(final List<Filter> filters) {
+    return filters == null || filters.isEmpty() ? "" : filters.stream()
+        .map(Filter::toJson)
+        .collect(Collectors.joining(",", ",\"filters\":[", "]"));
   }
 
   @Override
   public CompletableFuture<List<PerfSample>> getRecentPerformanceSamples(final int limit) {
-    return sendPostRequest(PERF_SAMPLE, format("""
+    return sendPostRequest("getRecentPerformanceSamples", PERF_SAMPLE, format("""
         {"jsonrpc":"2.0","id":%d,"method":"getRecentPerformanceSamples","params":[%d]}""", id.incrementAndGet(), Math.min(limit, 720)));
   }
 
@@ -527,7 +620,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
         .collect(Collectors.joining("\",\"", "[\"", "\"]"));
     final var body = format("""
         {"jsonrpc":"2.0","id":%d,"method":"getRecentPrioritizationFees","params":[%s]}""", id.incrementAndGet(), params);
-    return sendPostRequest(PRIORITIZATION_FEE, body);
+    return sendPostRequest("getRecentPrioritizationFees", PRIORITIZATION_FEE, body);
   }
 
   @Override
@@ -537,7 +630,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<List<TxSig>> getSignaturesForAddress(final Commitment commitment, final PublicKey address, final int limit) {
-    return sendPostRequest(TX_SIG, format("""
+    return sendPostRequest("getSignaturesForAddress", TX_SIG, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getSignaturesForAddress","params":["%s",{"commitment":"%s","limit":%d}]}""",
         id.incrementAndGet(), address, commitment.getValue(), Math.min(limit, 1_000)));
   }
@@ -549,7 +642,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<List<TxSig>> getSignaturesForAddressBefore(final Commitment commitment, final PublicKey address, final int limit, final String beforeTxSig) {
-    return sendPostRequest(TX_SIG, format("""
+    return sendPostRequest("getSignaturesForAddress", TX_SIG, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getSignaturesForAddress","params":["%s",{"commitment":"%s","limit":%d,"before":"%s"}]}""",
         id.incrementAndGet(), address.toBase58(), commitment.getValue(), Math.min(limit, 1_000), beforeTxSig));
   }
@@ -561,7 +654,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<List<TxSig>> getSignaturesForAddressUntil(final Commitment commitment, final PublicKey address, final int limit, final String untilTxSig) {
-    return sendPostRequest(TX_SIG, format("""
+    return sendPostRequest("getSignaturesForAddress", TX_SIG, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getSignaturesForAddress","params":["%s",{"commitment":"%s","limit":%d,"until":"%s"}]}""",
         id.incrementAndGet(), address.toBase58(), commitment.getValue(), Math.min(limit, 1_000), untilTxSig));
   }
@@ -569,12 +662,20 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
   @Override
   public CompletableFuture<Map<String, TxStatus>> getSignatureStatuses(final List<String> txIds, final boolean searchTransactionHistory) {
     final var joinedAccounts = String.join("\",\"", txIds);
-    return sendPostRequest(applyResponseValue((ji, context) -> TxStatus.parse(txIds, ji, context)),
+    return sendHedgedPostRequest("getSignatureStatuses", applyResponseValue((ji, context) -> TxStatus.parse(txIds, ji, context)),
         format("""
                 {"jsonrpc":"2.0","id":%d,"method":"getSignatureStatuses","params":[["%s"],{"searchTransactionHistory":%b}]}""",
             id.incrementAndGet(), joinedAccounts, searchTransactionHistory));
   }
 
+  @Override
+  public CompletableFuture<List<TxStatus>> getSignatureStatusList(final List<String> txIds,
+                                                                  final boolean searchTransactionHistory) {
+    return sendHedgedPostRequest("getSignatureStatuses", TX_STATUS_LIST, format("""
+            {"jsonrpc":"2.0","id":%d,"method":"getSignatureStatuses","params":[["%s"],{"searchTransactionHistory":%b}]}""",
+        id.incrementAndGet(), String.join("\",\"", txIds), searchTransactionHistory));
+  }
+
   @Override
   public CompletableFuture<Long> getSlot() {
     return getSlot(defaultCommitment);
@@ -582,7 +683,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<Long> getSlot(final Commitment commitment) {
-    return sendPostRequest(LONG_VAL, format("""
+    return sendPostRequest("getSlot", LONG_VAL, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getSlot","params":[{"commitment":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue()));
   }
@@ -594,14 +695,14 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<PublicKey> getSlotLeader(final Commitment commitment) {
-    return sendPostRequest(PUBLIC_KEY, format("""
+    return sendPostRequest("getSlotLeader", PUBLIC_KEY, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getSlotLeader","params":[{"commitment":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue()));
   }
 
   @Override
   public CompletableFuture<List<PublicKey>> getSlotLeaders(final long from, final int limit) {
-    return sendPostRequest(PUBLIC_KEY_LIST, format("""
+    return sendPostRequest("getSlotLeaders", PUBLIC_KEY_LIST, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getSlotLeaders","params":[%d,%d]}""",
         id.incrementAndGet(), from, Math.min(limit, 5_000)));
   }
@@ -613,7 +714,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<Lamports> getStakeMinimumDelegation(final Commitment commitment) {
-    return sendPostRequest(CONTEXT_LONG_VAL, format("""
+    return sendPostRequest("getStakeMinimumDelegation", CONTEXT_LONG_VAL, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getStakeMinimumDelegation","params":[{"commitment":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue()));
   }
@@ -625,7 +726,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<Supply> getSupply(final Commitment commitment, final boolean excludeNonCirculatingAccountsList) {
-    return sendPostRequest(SUPPLY, format("""
+    return sendPostRequest("getSupply", SUPPLY, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getSupply","params":[{"commitment":"%s","excludeNonCirculatingAccountsList":%b}]}""",
         id.incrementAndGet(), commitment.getValue(), excludeNonCirculatingAccountsList));
   }
@@ -637,7 +738,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<TokenAmount> getTokenAccountBalance(final Commitment commitment, final PublicKey tokenAccount) {
-    return sendPostRequest(TOKEN_AMOUNT, format("""
+    return sendPostRequest("getTokenAccountBalance", TOKEN_AMOUNT, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getTokenAccountBalance","params":["%s",{"commitment":"%s"}]}""",
         id.incrementAndGet(), tokenAccount.toBase58(), commitment.getValue()));
   }
@@ -649,7 +750,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<List<AccountInfo<TokenAccount>>> getTokenAccountsForTokenMintByDelegate(final Commitment commitment, final PublicKey delegate, final PublicKey tokenMint) {
-    return sendPostRequest(TOKEN_ACCOUNTS_PARSER, format("""
+    return sendPostRequest("getTokenAccountsByDelegate", TOKEN_ACCOUNTS_PARSER, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getTokenAccountsByDelegate","params":["%s",{"mint":"%s"},{"commitment":"%s","encoding":"base64"}]}""",
         id.incrementAndGet(), delegate.toBase58(), tokenMint.toBase58(), commitment.getValue()));
   }
@@ -661,7 +762,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<List<AccountInfo<TokenAccount>>> getTokenAccountsForProgramByDelegate(final Commitment commitment, final PublicKey delegate, final PublicKey programId) {
-    return sendPostRequest(TOKEN_ACCOUNTS_PARSER, format("""
+    return sendPostRequest("getTokenAccountsByDelegate", TOKEN_ACCOUNTS_PARSER, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getTokenAccountsByDelegate","params":["%s",{"programId":"%s"},{"commitment":"%s","encoding":"base64"}]}""",
         id.incrementAndGet(), delegate.toBase58(), programId.toBase58(), commitment.getValue()));
   }
@@ -673,7 +774,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<List<AccountInfo<TokenAccount>>> getTokenAccountsForTokenMintByOwner(final Commitment commitment, final PublicKey owner, final PublicKey tokenMint) {
-    return sendPostRequest(TOKEN_ACCOUNTS_PARSER, format("""
+    return sendPostRequest("getTokenAccountsByOwner", TOKEN_ACCOUNTS_PARSER, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getTokenAccountsByOwner","params":["%s",{"mint":"%s"},{"commitment":"%s","encoding":"base64"}]}""",
         id.incrementAndGet(), owner.toBase58(), tokenMint.toBase58(), commitment.getValue()));
   }
@@ -685,7 +786,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<List<AccountInfo<TokenAccount>>> getTokenAccountsForProgramByOwner(final Commitment commitment, final PublicKey owner, final PublicKey programId) {
-    return sendPostRequest(TOKEN_ACCOUNTS_PARSER, format("""
+    return sendPostRequest("getTokenAccountsByOwner", TOKEN_ACCOUNTS_PARSER, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getTokenAccountsByOwner","params":["%s",{"programId":"%s"},{"commitment":"%s","encoding":"base64"}]}""",
         id.incrementAndGet(), owner.toBase58(), programId.toBase58(), commitment.getValue()));
   }
@@ -697,7 +798,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<List<AccountTokenAmount>> getTokenLargestAccounts(final Commitment commitment, final PublicKey tokenMint) {
-    return sendPostRequest(ACCOUNT_TOKEN_AMOUNT, format("""
+    return sendPostRequest("getTokenLargestAccounts", ACCOUNT_TOKEN_AMOUNT, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getTokenLargestAccounts","params":["%s",{"commitment":"%s"}]}""",
         id.incrementAndGet(), tokenMint.toBase58(), commitment.getValue()));
   }
@@ -709,7 +810,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<TokenAmount> getTokenSupply(final Commitment commitment, final PublicKey tokenMintAccount) {
-    return sendPostRequest(TOKEN_AMOUNT, format("""
+    return sendPostRequest("getTokenSupply", TOKEN_AMOUNT, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getTokenSupply","params":["%s",{"commitment":"%s"}]}""",
         id.incrementAndGet(), tokenMintAccount.toBase58(), commitment.getValue()));
   }
@@ -734,7 +835,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
     final var maxVersionParam = maxSupportedTransactionVersion < 0
         ? ""
         : String.format("\"maxSupportedTransactionVersion\":%d,", maxSupportedTransactionVersion);
-    return sendPostRequest(TRANSACTION, format("""
+    return sendPostRequest("getTransaction", TRANSACTION, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getTransaction","params":["%s",{"commitment":"%s",%s"encoding":"%s"}]}""",
         id.incrementAndGet(), txSignature, commitment.getValue(), maxVersionParam, encoding));
   }
@@ -746,14 +847,14 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<Long> getTransactionCount(final Commitment commitment) {
-    return sendPostRequest(LONG_VAL, format("""
+    return sendPostRequest("getTransactionCount", LONG_VAL, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getTransactionCount","params":[{"commitment":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue()));
   }
 
   @Override
   public CompletableFuture<Version> getVersion() {
-    return sendPostRequest(VERSION, format("""
+    return sendPostRequest("getVersion", VERSION, format("""
         {"jsonrpc":"2.0","id":%d,"method":"getVersion"}""", id.incrementAndGet()));
   }
 
@@ -764,7 +865,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<VoteAccounts> getVoteAccounts(final Commitment commitment) {
-    return sendPostRequest(VOTE_ACCOUNTS, format("""
+    return sendPostRequest("getVoteAccounts", VOTE_ACCOUNTS, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getVoteAccounts","params":[{"commitment":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue()));
   }
@@ -776,7 +877,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<VoteAccounts> getVoteAccounts(final Commitment commitment, final PublicKey validatorVoteAddress) {
-    return sendPostRequest(VOTE_ACCOUNTS, format("""
+    return sendPostRequest("getVoteAccounts", VOTE_ACCOUNTS, format("""
             {"jsonrpc":"2.0","id":%d,"method":"getVoteAccounts","params":[{"commitment":"%s","votePubkey":"%s"}]}""",
         id.incrementAndGet(), commitment.getValue(), validatorVoteAddress.toBase58()));
   }
@@ -788,14 +889,14 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<ContextBoolVal> isBlockHashValid(final Commitment commitment, final String b58BlockHash) {
-    return sendPostRequest(CONTEXT_BOOL_VAL, format("""
+    return sendPostRequest("isBlockhashValid", CONTEXT_BOOL_VAL, format("""
             {"jsonrpc":"2.0","id":%d,"method":"isBlockhashValid","params":["%s",{"commitment":"%s"}]}""",
         id.incrementAndGet(), b58BlockHash, commitment.getValue()));
   }
 
   @Override
   public CompletableFuture<Long> minimumLedgerSlot() {
-    return sendPostRequest(LONG_VAL, format("""
+    return sendPostRequest("minimumLedgerSlot", LONG_VAL, format("""
         {"jsonrpc":"2.0","id":%d,"method":"minimumLedgerSlot"}""", id.incrementAndGet()));
   }
 
@@ -808,7 +909,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
   public CompletableFuture<String> requestAirdrop(final Commitment commitment,
                                                   final PublicKey key,
                                                   final long lamports) {
-    return sendPostRequest(STRING, format("""
+    return sendPostRequest("requestAirdrop", STRING, format("""
             {"jsonrpc":"2.0","id":%d,"method":"requestAirdrop","params":["%s",%d,{"commitment":"%s"}]}""",
         id.incrementAndGet(), key.toBase58(), lamports, commitment.getValue()));
   }
@@ -852,14 +953,14 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
 
   @Override
   public CompletableFuture<String> sendTransaction(final Commitment preflightCommitment, final String base64SignedTx, final int maxRetries) {
-    return sendPostRequestNoWrap(sendTxResponseParser, format("""
+    return sendPostRequestNoWrap("sendTransaction", sendTxResponseParser, format("""
             {"jsonrpc":"2.0","id":%d,"method":"sendTransaction","params":["%s",{"encoding":"base64","preflightCommitment":"%s","maxRetries":%d}]}""",
         id.incrementAndGet(), base64SignedTx, preflightCommitment.getValue(), maxRetries));
   }
 
   @Override
   public CompletableFuture<String> sendTransactionSkipPreflight(final Commitment preflightCommitment, final String base64SignedTx, final int maxRetries) {
-    return sendPostRequestNoWrap(sendTxResponseParser, format("""
+    return sendPostRequestNoWrap("sendTransaction", sendTxResponseParser, format("""
             {"jsonrpc":"2.0","id":%d,"method":"sendTransaction","params":["%s",{"encoding":"base64","skipPreflight":true,"preflightCommitment":"%s","maxRetries":%d}]}""",
         id.incrementAndGet(), base64SignedTx, preflightCommitment.getValue(), maxRetries));
   }
@@ -936,7 +1037,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
     final var joinedAccounts = returnAccounts.stream()
         .map(PublicKey::toBase58)
         .collect(Collectors.joining("\",\"", ",\"accounts\":{\"addresses\":[\"", "\"],\"encoding\":\"jsonParsed\"}"));
-    return sendPostRequest(applyResponseValue((ji, context) -> TxSimulation.parse(returnAccounts, ji, context)), format("""
+    return sendPostRequest("simulateTransaction", applyResponseValue((ji, context) -> TxSimulation.parse(returnAccounts, ji, context)), format("""
             {"jsonrpc":"2.0","id":%d,"method":"simulateTransaction","params":["%s",{"encoding":"base64","sigVerify":false,"replaceRecentBlockhash":true,"commitment":"%s"%s}]}""",
         id.incrementAndGet(), base64EncodedTx, commitment.getValue(), joinedAccounts));
   }
@@ -975,7 +1076,7 @@ final class SolanaJsonRpcClient extends JsonRpcHttpClient implements SolanaRpcCl
   public CompletableFuture<TxSimulation> simulateTransaction(final Commitment commitment,
                                                              final String base64EncodedTx,
                                                              final boolean replaceRecentBlockhash) {
-    return sendPostRequest(applyResponseValue((ji, context) -> TxSimulation.parse(List.of(), ji, context)), format("""
+    return sendPostRequest("simulateTransaction", applyResponseValue((ji, context) -> TxSimulation.parse(List.of(), ji, context)), format("""
             {"jsonrpc":"2.0","id":%d,"method":"simulateTransaction","params":["%s",{"encoding":"base64","sigVerify":false,"replaceRecentBlockhash":%b,"commitment":"%s"}]}""",
         id.incrementAndGet(), base64EncodedTx, replaceRecentBlockhash, commitment.getValue()));
   }
@@ -5,6 +5,7 @@ import software.sava.core.accounts.Signer;
 import software.sava.core.accounts.token.TokenAccount;
 import software.sava.core.rpc.Filter;
 import software.sava.core.tx.Transaction;
+import software.sava.rpc.json.http.SolanaNetwork;
 import software.sava.rpc.json.http.request.Commitment;
 import software.sava.rpc.json.http.request.ContextBoolVal;
 import software.sava.rpc.json.http.request.RpcEncoding;
@@ -32,13 +33,20 @@ public interface SolanaRpcClient {
 
   int MAX_MULTIPLE_ACCOUNTS = 100;
   int MAX_GET_SIGNATURES = 1_000;
+  int MAX_SIGNATURE_STATUSES = 256;
+
+  static Builder build() {
+    return new SolanaRpcClientBuilder();
+  }
 
   static SolanaRpcClient createClient(final URI endpoint,
                                       final HttpClient httpClient,
                                       final Duration requestTimeout,
                                       final Predicate<HttpResponse<byte[]>> applyResponse,
                                       final Commitment defaultCommitment) {
-    return new SolanaJsonRpcClient(endpoint, httpClient, requestTimeout, applyResponse, defaultCommitment);
+    return new SolanaJsonRpcClient(
+        endpoint, httpClient, requestTimeout, applyResponse, defaultCommitment, JsonHttpClientConfig.DEFAULT
+    );
   }
 
   static SolanaRpcClient createClient(final URI endpoint,
@@ -110,6 +118,14 @@ public interface SolanaRpcClient {
     return getMultipleAccounts(commitment, keys, BYTES_IDENTITY);
   }
 
+  <T> CompletableFuture<List<AccountInfo<T>>> getMultipleAccounts(final List<PublicKey> keys,
+                                                                  final AccountDataFactory<T> factory);
+
+  /// Account data is decoded into a buffer shared by all accounts of the response, see [AccountDataFactory].
+  <T> CompletableFuture<List<AccountInfo<T>>> getMultipleAccounts(final Commitment commitment,
+                                                                  final List<PublicKey> keys,
+                                                                  final AccountDataFactory<T> factory);
+
   CompletableFuture<Lamports> getBalance(final PublicKey account);
 
   CompletableFuture<Lamports> getBalance(final Commitment commitment, final PublicKey account);
@@ -118,6 +134,14 @@ public interface SolanaRpcClient {
 
   CompletableFuture<Block> getBlock(final Commitment commitment, final long slot);
 
+  /// Fetches the block including all of its transactions, base64 encoded and decoded into a
+  /// [software.sava.core.tx.TransactionSkeleton] alongside their [TxMeta].
+  CompletableFuture<Block> getBlockWithTransactions(final long slot);
+
+  CompletableFuture<Block> getBlockWithTransactions(final Commitment commitment, final long slot);
+
+  CompletableFuture<Block> getBlockWithTransactions(final Commitment commitment, final long slot, final boolean rewards);
+
   CompletableFuture<BlockHeight> getBlockHeight();
 
   CompletableFuture<BlockHeight> getBlockHeight(final Commitment commitment);
@@ -209,6 +233,13 @@ public interface SolanaRpcClient {
 
   CompletableFuture<Map<PublicKey, long[]>> getLeaderSchedule(final Commitment commitment, final PublicKey identity);
 
+  /// Fetches the leader schedule of the epoch containing `slot` in its compact form.
+  CompletableFuture<LeaderSchedule> getEpochLeaderSchedule(final EpochSchedule epochSchedule, final long slot);
+
+  CompletableFuture<LeaderSchedule> getEpochLeaderSchedule(final Commitment commitment,
+                                                           final EpochSchedule epochSchedule,
+                                                           final long slot);
+
   CompletableFuture<Long> getMaxRetransmitSlot();
 
   CompletableFuture<Long> getMaxShredInsertSlot();
@@ -267,6 +298,47 @@ public interface SolanaRpcClient {
                                                                  final List<Filter> filters,
                                                                  final BiFunction<PublicKey, byte[], T> factory);
 
+  default CompletableFuture<List<AccountInfo<byte[]>>> getProgramAccounts(final PublicKey programId,
+                                                                          final Commitment commitment,
+                                                                          final List<Filter> filters,
+                                                                          final long changedSinceSlot) {
+    return getProgramAccounts(PROGRAM_ACCOUNTS_TIMEOUT, programId, commitment, filters, changedSinceSlot, BYTES_IDENTITY);
+  }
+
+  /// @param changedSinceSlot only accounts modified after this slot are returned. Requires an RPC node which supports
+  ///                         the `changedSinceSlot` configuration, otherwise all matching accounts are returned.
+  <T> CompletableFuture<List<AccountInfo<T>>> getProgramAccounts(final Duration requestTimeout,
+                                                                 final PublicKey programId,
+                                                                 final Commitment commitment,
+                                                                 final List<Filter> filters,
+                                                                 final long changedSinceSlot,
+                                                                 final BiFunction<PublicKey, byte[], T> factory);
+
+  default <T> CompletableFuture<List<AccountInfo<T>>> getProgramAccounts(final PublicKey programId,
+                                                                         final List<Filter> filters,
+                                                                         final AccountDataFactory<T> factory) {
+    return getProgramAccounts(PROGRAM_ACCOUNTS_TIMEOUT, programId, filters, factory);
+  }
+
+  default <T> CompletableFuture<List<AccountInfo<T>>> getProgramAccounts(final PublicKey programId,
+                                                                         final Commitment commitment,
+                                                                         final List<Filter> filters,
+                                                                         final AccountDataFactory<T> factory) {
+    return getProgramAccounts(PROGRAM_ACCOUNTS_TIMEOUT, programId, commitment, filters, factory);
+  }
+
+  <T> CompletableFuture<List<AccountInfo<T>>> getProgramAccounts(final Duration requestTimeout,
+                                                                 final PublicKey programId,
+                                                                 final List<Filter> filters,
+                                                                 final AccountDataFactory<T> factory);
+
+  /// Account data is decoded into a buffer shared by all accounts of the response, see [AccountDataFactory].
+  <T> CompletableFuture<List<AccountInfo<T>>> getProgramAccounts(final Duration requestTimeout,
+                                                                 final PublicKey programId,
+                                                                 final Commitment commitment,
+                                                                 final List<Filter> filters,
+                                                                 final AccountDataFactory<T> factory);
+
   CompletableFuture<List<PerfSample>> getRecentPerformanceSamples(final int limit);
 
   default CompletableFuture<List<PrioritizationFee>> getRecentPrioritizationFees() {
@@ -293,6 +365,11 @@ public interface SolanaRpcClient {
 
   CompletableFuture<Map<String, TxStatus>> getSignatureStatuses(final List<String> txIds, final boolean searchTransactionHistory);
 
+  /// Same as [#getSignatureStatuses(List, boolean)], but returns the statuses in the same order as `txIds`, with null
+  /// elements for unknown signatures, avoiding a map keyed by signature.
+  CompletableFuture<List<TxStatus>> getSignatureStatusList(final List<String> txIds,
+                                                           final boolean searchTransactionHistory);
+
   CompletableFuture<Long> getSlot();
 
   CompletableFuture<Long> getSlot(final Commitment commitment);
@@ -540,4 +617,61 @@ public interface SolanaRpcClient {
                                                       final String base64EncodedTx,
                                                       final boolean replaceRecentBlockhash);
 
+  interface Builder {
+
+    SolanaRpcClient create();
+
+    default Builder uri(final String endpoint) {
+      return uri(URI.create(endpoint));
+    }
+
+    default Builder uri(final SolanaNetwork network) {
+      return uri(network.getEndpoint());
+    }
+
+    Builder uri(final URI endpoint);
+
+    Builder httpClient(final HttpClient httpClient);
+
+    Builder requestTimeout(final Duration requestTimeout);
+
+    Builder applyResponse(final Predicate<HttpResponse<byte[]>> applyResponse);
+
+    Builder defaultCommitment(final Commitment defaultCommitment);
+
+    /// Hedges idempotent account, block hash and signature status reads.
+    Builder hedger(final RequestHedger hedger);
+
+    /// Client hedge requests are sent with, defaults to a new client configured like [#httpClient(HttpClient)].
+    Builder hedgeHttpClient(final HttpClient hedgeHttpClient);
+
+    /// Paces requests client side and backs off upon rate limited responses.
+    Builder rateLimiter(final RateLimiter rateLimiter);
+
+    /// Records per method latency, error and byte counts, see [RpcMetrics#createRecorder()].
+    Builder metrics(final RpcMetrics metrics);
+
+    /// Requests `gzip` or `deflate` encoded responses, trading CPU for bandwidth on large responses.
+    Builder acceptCompression(final boolean acceptCompression);
+
+    URI endpoint();
+
+    HttpClient httpClient();
+
+    Duration requestTimeout();
+
+    Predicate<HttpResponse<byte[]>> applyResponse();
+
+    Commitment defaultCommitment();
+
+    RequestHedger hedger();
+
+    HttpClient hedgeHttpClient();
+
+    RateLimiter rateLimiter();
+
+    RpcMetrics metrics();
+
+    boolean acceptCompression();
+  }
 }
@@ -0,0 +1,150 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.rpc.json.http.request.Commitment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.function.Predicate;
+
+import static software.sava.rpc.json.http.client.SolanaJsonRpcClient.DEFAULT_REQUEST_TIMEOUT;
+
+public final class SolanaRpcClientBuilder implements SolanaRpcClient.Builder {
+
+  private URI endpoint;
+  private HttpClient httpClient;
+  private Duration requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+  private Predicate<HttpResponse<byte[]>> applyResponse;
+  private Commitment defaultCommitment = Commitment.CONFIRMED;
+  private RequestHedger hedger;
+  private HttpClient hedgeHttpClient;
+  private RateLimiter rateLimiter;
+  private RpcMetrics metrics;
+  private boolean acceptCompression;
+
+  SolanaRpcClientBuilder() {
+  }
+
+  @Override
+  public SolanaRpcClient create() {
+    return new SolanaJsonRpcClient(
+        endpoint,
+        httpClient == null ? HttpClient.newHttpClient() : httpClient,
+        requestTimeout,
+        applyResponse,
+        defaultCommitment,
+        new JsonHttpClientConfig(hedger, hedgeHttpClient, rateLimiter, metrics, acceptCompression)
+    );
+  }
+
+  @Override
+  public SolanaRpcClient.Builder uri(final URI endpoint) {
+    this.endpoint = endpoint;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcClient.Builder httpClient(final HttpClient httpClient) {
+    this.httpClient = httpClient;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcClient.Builder requestTimeout(final Duration requestTimeout) {
+    this.requestTimeout = requestTimeout;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcClient.Builder applyResponse(final Predicate<HttpResponse<byte[]>> applyResponse) {
+    this.applyResponse = applyResponse;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcClient.Builder defaultCommitment(final Commitment defaultCommitment) {
+    this.defaultCommitment = defaultCommitment;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcClient.Builder hedger(final RequestHedger hedger) {
+    this.hedger = hedger;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcClient.Builder hedgeHttpClient(final HttpClient hedgeHttpClient) {
+    this.hedgeHttpClient = hedgeHttpClient;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcClient.Builder rateLimiter(final RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcClient.Builder metrics(final RpcMetrics metrics) {
+    this.metrics = metrics;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcClient.Builder acceptCompression(final boolean acceptCompression) {
+    this.acceptCompression = acceptCompression;
+    return this;
+  }
+
+  @Override
+  public URI endpoint() {
+    return endpoint;
+  }
+
+  @Override
+  public HttpClient httpClient() {
+    return httpClient;
+  }
+
+  @Override
+  public Duration requestTimeout() {
+    return requestTimeout;
+  }
+
+  @Override
+  public Predicate<HttpResponse<byte[]>> applyResponse() {
+    return applyResponse;
+  }
+
+  @Override
+  public Commitment defaultCommitment() {
+    return defaultCommitment;
+  }
+
+  @Override
+  public RequestHedger hedger() {
+    return hedger;
+  }
+
+  @Override
+  public HttpClient hedgeHttpClient() {
+    return hedgeHttpClient;
+  }
+
+  @Override
+  public RateLimiter rateLimiter() {
+    return rateLimiter;
+  }
+
+  @Override
+  public RpcMetrics metrics() {
+    return metrics;
+  }
+
+  @Override
+  public boolean acceptCompression() {
+    return acceptCompression;
+  }
+}
@@ -0,0 +1,72 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.core.tx.Transaction;
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.LatestBlockHash;
+import software.sava.rpc.json.http.response.TxStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+/// Sends signed transactions to several endpoints in parallel and re-broadcasts them until they reach the configured
+/// commitment or their block hash expires.
+///
+/// The returned future completes with the final [TxStatus], which may carry a transaction error, or exceptionally
+/// with a [java.util.concurrent.TimeoutException] once the current block height passes the `lastValidBlockHeight` of
+/// the transaction's block hash without the transaction having been observed.
+public interface TransactionSender extends AutoCloseable {
+
+  static Builder build() {
+    return new TransactionSenderBuilder();
+  }
+
+  /// @param transaction signed transaction.
+  CompletableFuture<TxStatus> send(final Transaction transaction, final long lastValidBlockHeight);
+
+  default CompletableFuture<TxStatus> send(final Transaction transaction, final LatestBlockHash blockHash) {
+    return send(transaction, blockHash.lastValidBlockHeight());
+  }
+
+  CompletableFuture<TxStatus> send(final String txSig, final String base64SignedTx, final long lastValidBlockHeight);
+
+  int numPending();
+
+  TxSenderStats stats();
+
+  @Override
+  void close();
+
+  interface Builder {
+
+    TransactionSender create();
+
+    Builder sendClients(final List<SolanaRpcClient> sendClients);
+
+    /// Client used to poll signature statuses and block height, defaults to the first send client.
+    Builder statusClient(final SolanaRpcClient statusClient);
+
+    /// Source of the current block height, if absent block height is polled from the status client.
+    Builder blockHashProvider(final BlockHashProvider blockHashProvider);
+
+    Builder commitment(final Commitment commitment);
+
+    Builder rebroadcastInterval(final Duration rebroadcastInterval);
+
+    /// If absent a single threaded executor is created and shutdown upon close.
+    Builder executor(final ScheduledExecutorService executor);
+
+    List<SolanaRpcClient> sendClients();
+
+    SolanaRpcClient statusClient();
+
+    BlockHashProvider blockHashProvider();
+
+    Commitment commitment();
+
+    Duration rebroadcastInterval();
+
+    ScheduledExecutorService executor();
+  }
+}
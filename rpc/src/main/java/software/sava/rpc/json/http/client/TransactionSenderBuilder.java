@@ -0,0 +1,104 @@
+package software.sava.rpc.json.http.client;
+
+import software.sava.rpc.json.http.request.Commitment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+public final class TransactionSenderBuilder implements TransactionSender.Builder {
+
+  private List<SolanaRpcClient> sendClients;
+  private SolanaRpcClient statusClient;
+  private BlockHashProvider blockHashProvider;
+  private Commitment commitment = Commitment.CONFIRMED;
+  private Duration rebroadcastInterval = Duration.ofSeconds(2);
+  private ScheduledExecutorService executor;
+
+  TransactionSenderBuilder() {
+  }
+
+  @Override
+  public TransactionSender create() {
+    if (sendClients == null || sendClients.isEmpty()) {
+      throw new IllegalStateException("At least one send client is required.");
+    }
+    final boolean shutdownExecutor = executor == null;
+    return new BroadcastingTransactionSender(
+        sendClients.toArray(SolanaRpcClient[]::new),
+        statusClient == null ? sendClients.getFirst() : statusClient,
+        blockHashProvider,
+        commitment,
+        rebroadcastInterval,
+        shutdownExecutor ? Executors.newSingleThreadScheduledExecutor() : executor,
+        shutdownExecutor
+    );
+  }
+
+  @Override
+  public TransactionSender.Builder sendClients(final List<SolanaRpcClient> sendClients) {
+    this.sendClients = List.copyOf(sendClients);
+    return this;
+  }
+
+  @Override
+  public TransactionSender.Builder statusClient(final SolanaRpcClient statusClient) {
+    this.statusClient = statusClient;
+    return this;
+  }
+
+  @Override
+  public TransactionSender.Builder blockHashProvider(final BlockHashProvider blockHashProvider) {
+    this.blockHashProvider = blockHashProvider;
+    return this;
+  }
+
+  @Override
+  public TransactionSender.Builder commitment(final Commitment commitment) {
+    this.commitment = commitment;
+    return this;
+  }
+
+  @Override
+  public TransactionSender.Builder rebroadcastInterval(final Duration rebroadcastInterval) {
+    this.rebroadcastInterval = rebroadcastInterval;
+    return this;
+  }
+
+  @Override
+  public TransactionSender.Builder executor(final ScheduledExecutorService executor) {
+    this.executor = executor;
+    return this;
+  }
+
+  @Override
+  public List<SolanaRpcClient> sendClients() {
+    return sendClients;
+  }
+
+  @Override
+  public SolanaRpcClient statusClient() {
+    return statusClient;
+  }
+
+  @Override
+  public BlockHashProvider blockHashProvider() {
+    return blockHashProvider;
+  }
+
+  @Override
+  public Commitment commitment() {
+    return commitment;
+  }
+
+  @Override
+  public Duration rebroadcastInterval() {
+    return rebroadcastInterval;
+  }
+
+  @Override
+  public ScheduledExecutorService executor() {
+    return executor;
+  }
+}
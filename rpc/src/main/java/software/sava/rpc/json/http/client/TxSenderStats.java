@@ -0,0 +1,23 @@
+package software.sava.rpc.json.http.client;
+
+/// @param numSent              distinct transactions sent, excluding re-sends of pending transactions.
+/// @param numLanded            transactions which reached the target commitment, including those which failed.
+/// @param numFailed            landed transactions with an error.
+/// @param numExpired           transactions whose block hash expired before they were observed.
+/// @param numBroadcasts        total number of send requests, across all endpoints and re-broadcasts.
+/// @param avgTimeToConfirmMillis mean time from the first broadcast until the target commitment was observed.
+/// @param maxTimeToConfirmMillis longest time from the first broadcast until the target commitment was observed.
+public record TxSenderStats(long numSent,
+                            long numLanded,
+                            long numFailed,
+                            long numExpired,
+                            long numBroadcasts,
+                            double avgTimeToConfirmMillis,
+                            long maxTimeToConfirmMillis) {
+
+  /// Fraction of resolved transactions which landed.
+  public double landingRate() {
+    final long numResolved = numLanded + numExpired;
+    return numResolved == 0 ? 0 : numLanded / (double) numResolved;
+  }
+}
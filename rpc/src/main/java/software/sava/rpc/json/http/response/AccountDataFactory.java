@@ -0,0 +1,13 @@
+package software.sava.rpc.json.http.response;
+
+import software.sava.core.accounts.PublicKey;
+
+/// Alternative to a `BiFunction<PublicKey, byte[], T>` account data factory which receives the decoded account data
+/// as a region of a buffer that is re-used for every account of a response.
+///
+/// The buffer is only valid for the duration of the call, implementations must copy any bytes they retain.
+@FunctionalInterface
+public interface AccountDataFactory<T> {
+
+  T apply(final PublicKey pubKey, final byte[] buffer, final int offset, final int length);
+}
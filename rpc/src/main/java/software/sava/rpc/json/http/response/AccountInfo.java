@@ -2,9 +2,11 @@ package software.sava.rpc.json.http.response;
 
 import software.sava.core.accounts.PublicKey;
 import software.sava.core.accounts.lookup.AddressLookupTable;
+import software.sava.core.encoding.Base64Decoder;
 import software.sava.core.util.DecimalIntegerAmount;
 import software.sava.core.util.LamportDecimal;
 import software.sava.rpc.json.PublicKeyEncoding;
+import systems.comodal.jsoniter.CharBufferFunction;
 import systems.comodal.jsoniter.ContextFieldBufferPredicate;
 import systems.comodal.jsoniter.JsonIterator;
 import systems.comodal.jsoniter.ValueType;
@@ -30,6 +32,8 @@ public record AccountInfo<T>(PublicKey pubKey,
 
   public static BiFunction<PublicKey, byte[], byte[]> BYTES_IDENTITY = (_, data) -> data;
 
+  private static final byte[] EMPTY = new byte[0];
+
   public static void cacheTables(final Collection<AccountInfo<AddressLookupTable>> tableAccounts, final Map<PublicKey, AddressLookupTable> cache) {
     for (final var tableAccount : tableAccounts) {
       cache.put(tableAccount.pubKey, tableAccount.data);
@@ -63,9 +67,9 @@ public record AccountInfo<T>(PublicKey pubKey,
                                                                final Context context,
                                                                final BiFunction<PublicKey, byte[], T> factory) {
     final var accounts = new ArrayList<AccountInfo<T>>(pubKeys.size());
-    for (int i = 0; ji.readArray(); ) {
+    for (int i = 0; ji.readArray(); ++i) {
       if (ji.whatIsNext() == ValueType.OBJECT) {
-        final var builder = new Builder(context, pubKeys.get(i++));
+        final var builder = new Builder(context, pubKeys.get(i));
         ji.testObject(builder, ACCOUNT_PARSER);
         accounts.add(builder.create(factory));
       } else {
@@ -94,6 +98,69 @@ public record AccountInfo<T>(PublicKey pubKey,
     return accounts;
   }
 
+  /// Decodes each account's base64 encoded data into a buffer which is re-used across all accounts of the response,
+  /// rather than allocating an array per account.
+  public static <T> AccountInfo<T> parse(final PublicKey publicKey,
+                                         final JsonIterator ji,
+                                         final Context context,
+                                         final AccountDataFactory<T> factory) {
+    return ji.testObject(new Builder(context, publicKey), REGION_ACCOUNT_PARSER).create(factory);
+  }
+
+  public static <T> List<AccountInfo<T>> parseAccountsFromKeys(final List<PublicKey> pubKeys,
+                                                               final JsonIterator ji,
+                                                               final Context context,
+                                                               final AccountDataFactory<T> factory) {
+    final var accounts = new ArrayList<AccountInfo<T>>(pubKeys.size());
+    byte[] buffer = null;
+    for (int i = 0; ji.readArray(); ++i) {
+      if (ji.whatIsNext() == ValueType.OBJECT) {
+        final var builder = new Builder(context, pubKeys.get(i), buffer);
+        ji.testObject(builder, REGION_ACCOUNT_PARSER);
+        accounts.add(builder.create(factory));
+        buffer = builder.buffer;
+      } else {
+        ji.skip();
+      }
+    }
+    return accounts;
+  }
+
+  public static <T> AccountInfo<T> parseAccount(final JsonIterator ji,
+                                                final Context context,
+                                                final AccountDataFactory<T> factory) {
+    final var builder = new Builder(context);
+    return ji.testObject(builder, REGION_PARSER).create(factory);
+  }
+
+  /// Decodes base64 encoded account data straight from the JSON character window into an exactly sized array,
+  /// skipping the intermediate String and its decoding copies.
+  public static AccountInfo<byte[]> parse(final PublicKey publicKey, final JsonIterator ji, final Context context) {
+    final var builder = new Builder(context, publicKey);
+    builder.exact = true;
+    return ji.testObject(builder, REGION_ACCOUNT_PARSER).create(BYTES_IDENTITY);
+  }
+
+  public static AccountInfo<byte[]> parseAccount(final JsonIterator ji, final Context context) {
+    final var builder = new Builder(context);
+    builder.exact = true;
+    return ji.testObject(builder, REGION_PARSER).create(BYTES_IDENTITY);
+  }
+
+  public static <T> List<AccountInfo<T>> parseAccounts(final JsonIterator ji,
+                                                       final Context context,
+                                                       final AccountDataFactory<T> factory) {
+    final var accounts = new ArrayList<AccountInfo<T>>();
+    byte[] buffer = null;
+    while (ji.readArray()) {
+      final var builder = new Builder(context, null, buffer);
+      ji.testObject(builder, REGION_PARSER);
+      accounts.add(builder.create(factory));
+      buffer = builder.buffer;
+    }
+    return accounts;
+  }
+
   private static final ContextFieldBufferPredicate<Builder> ACCOUNT_PARSER = (builder, buf, offset, len, ji) -> {
     if (fieldEquals("data", buf, offset, len)) {
       final var next = ji.whatIsNext();
@@ -125,7 +192,25 @@ public record AccountInfo<T>(PublicKey pubKey,
     return true;
   };
 
-  private static final class Builder extends RootBuilder {
+  private static final ContextFieldBufferPredicate<Builder> REGION_ACCOUNT_PARSER = (builder, buf, offset, len, ji) -> {
+    if (fieldEquals("data", buf, offset, len)) {
+      builder.decodeData(ji);
+      return true;
+    } else {
+      return ACCOUNT_PARSER.test(builder, buf, offset, len, ji);
+    }
+  };
+
+  private static final ContextFieldBufferPredicate<Builder> REGION_PARSER = (builder, buf, offset, len, ji) -> {
+    if (fieldEquals("account", buf, offset, len)) {
+      ji.testObject(builder, REGION_ACCOUNT_PARSER);
+      return true;
+    } else {
+      return PARSER.test(builder, buf, offset, len, ji);
+    }
+  };
+
+  private static final class Builder extends RootBuilder implements CharBufferFunction<Builder> {
 
     private PublicKey pubKey;
     private boolean executable;
@@ -134,6 +219,9 @@ public record AccountInfo<T>(PublicKey pubKey,
     private BigInteger rentEpoch;
     private int space;
     private byte[] data;
+    private byte[] buffer;
+    private int dataLength;
+    private boolean exact;
 
     private Builder(final Context context) {
       super(context);
@@ -144,8 +232,50 @@ public record AccountInfo<T>(PublicKey pubKey,
       this.pubKey = pubKey;
     }
 
+    private Builder(final Context context, final PublicKey pubKey, final byte[] buffer) {
+      this(context, pubKey);
+      this.buffer = buffer;
+    }
+
+    @Override
+    public Builder apply(final char[] chars, final int offset, final int len) {
+      if (exact) {
+        data = Base64Decoder.decode(chars, offset, len);
+        return this;
+      }
+      final int decodedLength = Base64Decoder.decodedLength(chars, offset, len);
+      if (buffer == null || buffer.length < decodedLength) {
+        buffer = new byte[Math.max(decodedLength, buffer == null ? 0 : buffer.length << 1)];
+      }
+      dataLength = Base64Decoder.decode(chars, offset, len, buffer, 0);
+      return this;
+    }
+
+    private void decodeData(final JsonIterator ji) {
+      final var next = ji.whatIsNext();
+      if (next == ValueType.ARRAY) {
+        ji.openArray().applyChars(this);
+        if (ji.readArray()) {
+          final var encoding = ji.readString();
+          if (!encoding.equalsIgnoreCase("base64")) {
+            throw new IllegalStateException("Expected base64 encoded account data, not " + encoding);
+          }
+          ji.skipRestOfArray();
+        }
+      } else if (next == ValueType.STRING) {
+        ji.applyChars(this);
+      } else {
+        ji.skip();
+      }
+    }
+
     private <T> AccountInfo<T> create(final BiFunction<PublicKey, byte[], T> factory) {
       return new AccountInfo<>(pubKey, context, executable, lamports, owner, rentEpoch, space, factory.apply(pubKey, data));
     }
+
+    private <T> AccountInfo<T> create(final AccountDataFactory<T> factory) {
+      final byte[] data = buffer == null ? EMPTY : buffer;
+      return new AccountInfo<>(pubKey, context, executable, lamports, owner, rentEpoch, space, factory.apply(pubKey, data, 0, dataLength));
+    }
   }
 }
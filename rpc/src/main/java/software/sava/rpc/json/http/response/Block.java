@@ -12,7 +12,8 @@ public record Block(long blockHeight,
                     String blockHash,
                     String previousBlockHash,
                     long parentSlot,
-                    List<TxReward> rewards) {
+                    List<TxReward> rewards,
+                    List<BlockTransaction> transactions) {
 
   public static Block parse(final JsonIterator ji) {
     return ji.testObject(new Builder(), PARSER).create();
@@ -31,6 +32,8 @@ public record Block(long blockHeight,
       builder.parentSlot = ji.readLong();
     } else if (fieldEquals("rewards", buf, offset, len)) {
       builder.rewards = TxReward.parseRewards(ji);
+    } else if (fieldEquals("transactions", buf, offset, len)) {
+      builder.transactions = BlockTransaction.parseTransactions(ji);
     } else {
       ji.skip();
     }
@@ -45,12 +48,13 @@ public record Block(long blockHeight,
     private String previousBlockHash;
     private long parentSlot;
     private List<TxReward> rewards;
+    private List<BlockTransaction> transactions = List.of();
 
     private Builder() {
     }
 
     private Block create() {
-      return new Block(blockHeight, blockTime, blockHash, previousBlockHash, parentSlot, rewards);
+      return new Block(blockHeight, blockTime, blockHash, previousBlockHash, parentSlot, rewards, transactions);
     }
   }
 }
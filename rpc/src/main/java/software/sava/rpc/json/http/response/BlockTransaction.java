@@ -0,0 +1,82 @@
+package software.sava.rpc.json.http.response;
+
+import software.sava.core.tx.TransactionSkeleton;
+import systems.comodal.jsoniter.ContextFieldBufferPredicate;
+import systems.comodal.jsoniter.JsonException;
+import systems.comodal.jsoniter.JsonIterator;
+import systems.comodal.jsoniter.ValueType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static systems.comodal.jsoniter.JsonIterator.fieldEquals;
+
+/// Transaction of a block fetched with `"transactionDetails":"full"` and `"encoding":"base64"`.
+///
+/// @param version [#LEGACY] or the versioned message version.
+public record BlockTransaction(byte[] data,
+                               TransactionSkeleton skeleton,
+                               TxMeta meta,
+                               int version) {
+
+  public static final int LEGACY = -1;
+
+  public static List<BlockTransaction> parseTransactions(final JsonIterator ji) {
+    final var transactions = new ArrayList<BlockTransaction>(2_048);
+    while (ji.readArray()) {
+      transactions.add(parse(ji));
+    }
+    return transactions;
+  }
+
+  public static BlockTransaction parse(final JsonIterator ji) {
+    return ji.testObject(new Builder(), PARSER).create();
+  }
+
+  private static final ContextFieldBufferPredicate<Builder> PARSER = (builder, buf, offset, len, ji) -> {
+    if (fieldEquals("transaction", buf, offset, len)) {
+      if (ji.readArray()) {
+        builder.data = ji.decodeBase64String();
+        final var encoding = ji.continueArray().readString();
+        if (!"base64".equals(encoding)) {
+          throw new JsonException("Expected base64 transaction encoding, not " + encoding);
+        }
+        ji.skipRestOfArray();
+      }
+    } else if (fieldEquals("meta", buf, offset, len)) {
+      if (ji.whatIsNext() == ValueType.NULL) {
+        ji.skip();
+      } else {
+        builder.meta = TxMeta.parse(ji);
+      }
+    } else if (fieldEquals("version", buf, offset, len)) {
+      if (ji.whatIsNext() == ValueType.NUMBER) {
+        builder.version = ji.readInt();
+      } else {
+        ji.skip();
+      }
+    } else {
+      ji.skip();
+    }
+    return true;
+  };
+
+  private static final class Builder {
+
+    private byte[] data;
+    private TxMeta meta;
+    private int version = LEGACY;
+
+    private Builder() {
+    }
+
+    private BlockTransaction create() {
+      return new BlockTransaction(
+          data,
+          data == null ? null : TransactionSkeleton.deserializeSkeleton(data),
+          meta,
+          version
+      );
+    }
+  }
+}
@@ -11,6 +11,40 @@ public record EpochSchedule(long firstNormalEpoch,
                             int slotsPerEpoch,
                             boolean warmup) {
 
+  public static final int MINIMUM_SLOTS_PER_EPOCH = 32;
+  private static final int MINIMUM_SLOTS_PER_EPOCH_TRAILING_ZEROS = Integer.numberOfTrailingZeros(MINIMUM_SLOTS_PER_EPOCH);
+
+  public long epoch(final long slot) {
+    if (slot < firstNormalSlot) {
+      final long nextPowerOfTwo = Long.highestOneBit(slot + MINIMUM_SLOTS_PER_EPOCH) << 1;
+      return Long.numberOfTrailingZeros(nextPowerOfTwo) - MINIMUM_SLOTS_PER_EPOCH_TRAILING_ZEROS - 1;
+    } else {
+      return firstNormalEpoch + ((slot - firstNormalSlot) / slotsPerEpoch);
+    }
+  }
+
+  public long slotIndex(final long slot) {
+    return slot - firstSlotInEpoch(epoch(slot));
+  }
+
+  public long firstSlotInEpoch(final long epoch) {
+    if (epoch <= firstNormalEpoch) {
+      return ((1L << epoch) - 1) * MINIMUM_SLOTS_PER_EPOCH;
+    } else {
+      return ((epoch - firstNormalEpoch) * slotsPerEpoch) + firstNormalSlot;
+    }
+  }
+
+  public long lastSlotInEpoch(final long epoch) {
+    return firstSlotInEpoch(epoch) + slotsInEpoch(epoch) - 1;
+  }
+
+  public long slotsInEpoch(final long epoch) {
+    return epoch < firstNormalEpoch
+        ? 1L << (epoch + MINIMUM_SLOTS_PER_EPOCH_TRAILING_ZEROS)
+        : slotsPerEpoch;
+  }
+
   public static EpochSchedule parse(final JsonIterator ji) {
     return ji.testObject(new Builder(), PARSER).create();
   }
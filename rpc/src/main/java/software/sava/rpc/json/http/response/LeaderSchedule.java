@@ -0,0 +1,182 @@
+package software.sava.rpc.json.http.response;
+
+import software.sava.core.accounts.PublicKey;
+import systems.comodal.jsoniter.FieldBufferPredicate;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/// Leader schedule of a single epoch, indexed by the slot offset from the start of the epoch.
+///
+/// Each slot maps to an index into the table of validators, requiring two bytes per slot rather than a boxed
+/// long per slot.
+public final class LeaderSchedule {
+
+  public static final int NO_LEADER = -1;
+
+  private final long epoch;
+  private final long firstSlot;
+  private final PublicKey[] validators;
+  private final short[] slotLeaders;
+
+  public LeaderSchedule(final long epoch,
+                        final long firstSlot,
+                        final PublicKey[] validators,
+                        final short[] slotLeaders) {
+    this.epoch = epoch;
+    this.firstSlot = firstSlot;
+    this.validators = validators;
+    this.slotLeaders = slotLeaders;
+  }
+
+  /// Parses the `getLeaderSchedule` result object, which maps each validator identity to its slot offsets.
+  public static LeaderSchedule parse(final long epoch, final long firstSlot, final JsonIterator ji) {
+    final var parser = new Parser();
+    ji.testObject(parser);
+    return parser.create(epoch, firstSlot);
+  }
+
+  private static final class Parser implements FieldBufferPredicate {
+
+    private final List<PublicKey> validators;
+    private short[] slotLeaders;
+    private int numSlots;
+
+    private Parser() {
+      this.validators = new ArrayList<>(2_048);
+      this.slotLeaders = new short[0];
+    }
+
+    private LeaderSchedule create(final long epoch, final long firstSlot) {
+      return new LeaderSchedule(
+          epoch,
+          firstSlot,
+          validators.toArray(PublicKey[]::new),
+          slotLeaders.length == numSlots ? slotLeaders : Arrays.copyOf(slotLeaders, numSlots)
+      );
+    }
+
+    @Override
+    public boolean test(final char[] buf, final int offset, final int len, final JsonIterator ji) {
+      final int validatorIndex = validators.size();
+      if (validatorIndex > Short.MAX_VALUE) {
+        throw new IllegalStateException("Leader schedule exceeds " + (Short.MAX_VALUE + 1) + " validators.");
+      }
+      validators.add(PublicKey.fromBase58Encoded(buf, offset, len));
+      while (ji.readArray()) {
+        final int slotOffset = ji.readInt();
+        if (slotOffset >= slotLeaders.length) {
+          final int from = slotLeaders.length;
+          slotLeaders = Arrays.copyOf(slotLeaders, Math.max(slotOffset + 1, Math.max(1_024, from << 1)));
+          Arrays.fill(slotLeaders, from, slotLeaders.length, (short) NO_LEADER);
+        }
+        slotLeaders[slotOffset] = (short) validatorIndex;
+        if (slotOffset >= numSlots) {
+          numSlots = slotOffset + 1;
+        }
+      }
+      return true;
+    }
+  }
+
+  public long epoch() {
+    return epoch;
+  }
+
+  public long firstSlot() {
+    return firstSlot;
+  }
+
+  public long lastSlot() {
+    return firstSlot + slotLeaders.length - 1;
+  }
+
+  public int numSlots() {
+    return slotLeaders.length;
+  }
+
+  public int numValidators() {
+    return validators.length;
+  }
+
+  public PublicKey validator(final int validatorIndex) {
+    return validators[validatorIndex];
+  }
+
+  public List<PublicKey> validators() {
+    return Arrays.asList(validators);
+  }
+
+  public boolean contains(final long slot) {
+    return slot >= firstSlot && slot - firstSlot < slotLeaders.length;
+  }
+
+  /// @return index into [#validator(int)] or [#NO_LEADER] if the slot is not part of this schedule.
+  public int leaderIndex(final long slot) {
+    return contains(slot) ? slotLeaders[(int) (slot - firstSlot)] : NO_LEADER;
+  }
+
+  /// @return leader for the slot or null if the slot is not part of this schedule.
+  public PublicKey leader(final long slot) {
+    final int validatorIndex = leaderIndex(slot);
+    return validatorIndex == NO_LEADER ? null : validators[validatorIndex];
+  }
+
+  /// @return the first slot at or after `slot` led by the validator, or -1 if none remain in this schedule.
+  public long nextLeaderSlot(final long slot, final PublicKey validator) {
+    int validatorIndex = NO_LEADER;
+    for (int i = 0; i < validators.length; ++i) {
+      if (validators[i].equals(validator)) {
+        validatorIndex = i;
+        break;
+      }
+    }
+    if (validatorIndex != NO_LEADER) {
+      for (int i = (int) Math.max(0, slot - firstSlot); i < slotLeaders.length; ++i) {
+        if (slotLeaders[i] == validatorIndex) {
+          return firstSlot + i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /// Collects up to `numLeaders` upcoming leaders starting at `slot`, collapsing consecutive slots of the same leader.
+  ///
+  /// @return the number of leaders written to `leaders`, their first slot is written to the same index of `leaderSlots`
+  /// if not null.
+  public int nextLeaders(final long slot, final PublicKey[] leaders, final long[] leaderSlots, final int numLeaders) {
+    int n = 0;
+    int previous = NO_LEADER;
+    for (int i = (int) Math.max(0, slot - firstSlot); i < slotLeaders.length && n < numLeaders; ++i) {
+      final int validatorIndex = slotLeaders[i];
+      if (validatorIndex != previous && validatorIndex != NO_LEADER) {
+        leaders[n] = validators[validatorIndex];
+        if (leaderSlots != null) {
+          leaderSlots[n] = firstSlot + i;
+        }
+        ++n;
+      }
+      previous = validatorIndex;
+    }
+    return n;
+  }
+
+  public List<PublicKey> nextLeaders(final long slot, final int numLeaders) {
+    final var leaders = new PublicKey[numLeaders];
+    final int n = nextLeaders(slot, leaders, null, numLeaders);
+    return Arrays.asList(leaders).subList(0, n);
+  }
+
+  @Override
+  public String toString() {
+    return "LeaderSchedule{" +
+        "epoch=" + epoch +
+        ", firstSlot=" + firstSlot +
+        ", numSlots=" + slotLeaders.length +
+        ", numValidators=" + validators.length +
+        '}';
+  }
+}
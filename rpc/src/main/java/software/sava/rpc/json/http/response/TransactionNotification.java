@@ -0,0 +1,39 @@
+package software.sava.rpc.json.http.response;
+
+import systems.comodal.jsoniter.ContextFieldBufferPredicate;
+import systems.comodal.jsoniter.JsonIterator;
+
+import static systems.comodal.jsoniter.JsonIterator.fieldEquals;
+
+/// `transactionSubscribe` notification result. The signature is not parsed as it is also the first signature of the
+/// transaction skeleton.
+public record TransactionNotification(long slot, BlockTransaction transaction) {
+
+  public static TransactionNotification parse(final JsonIterator ji) {
+    return ji.testObject(new Builder(), PARSER).create();
+  }
+
+  private static final ContextFieldBufferPredicate<Builder> PARSER = (builder, buf, offset, len, ji) -> {
+    if (fieldEquals("transaction", buf, offset, len)) {
+      builder.transaction = BlockTransaction.parse(ji);
+    } else if (fieldEquals("slot", buf, offset, len)) {
+      builder.slot = ji.readLong();
+    } else {
+      ji.skip();
+    }
+    return true;
+  };
+
+  private static final class Builder {
+
+    private long slot;
+    private BlockTransaction transaction;
+
+    private Builder() {
+    }
+
+    private TransactionNotification create() {
+      return new TransactionNotification(slot, transaction);
+    }
+  }
+}
@@ -27,6 +27,20 @@ public record TxStatus(Context context,
     return statuses;
   }
 
+  /// @return statuses in the same order as the requested signatures, null for unknown signatures.
+  public static List<TxStatus> parseList(final JsonIterator ji, final Context context) {
+    final var statuses = new ArrayList<TxStatus>();
+    while (ji.readArray()) {
+      if (ji.whatIsNext() == ValueType.NULL) {
+        ji.skip();
+        statuses.add(null);
+      } else {
+        statuses.add(ji.testObject(new Builder(context), PARSER).create());
+      }
+    }
+    return statuses;
+  }
+
   private static final ContextFieldBufferPredicate<Builder> STATUS_PARSER = (builder, buf, offset, len, ji) -> {
     if (fieldEquals("Ok", buf, offset, len)) {
       builder.deprecatedOkayStatus = Boolean.TRUE;
@@ -0,0 +1,83 @@
+package software.sava.rpc.json.http.ws;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.rpc.Filter;
+import software.sava.rpc.json.http.client.SolanaRpcClient;
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.AccountInfo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/// Latest known state per account, fed by websocket notifications and [SolanaRpcClient] loads.
+///
+/// Only the highest slot version of each account is retained, regardless of the order in which updates arrive.
+/// Reads are served from memory only and never go to the network.
+///
+/// The cache itself is an account subscription consumer, so it may be passed to [SolanaRpcWebsocket#accountSubscribe]
+/// directly, see [#subscribeProgram] for program subscriptions.
+public interface AccountCache extends Consumer<AccountInfo<byte[]>> {
+
+  /// @param maxAccounts  entries beyond this are evicted least recently used first.
+  /// @param maxDataBytes total account data retained before evicting least recently used entries.
+  ///                     Accounts with change listeners are never evicted.
+  static AccountCache createCache(final int maxAccounts, final long maxDataBytes) {
+    return new ConcurrentAccountCache(maxAccounts, maxDataBytes);
+  }
+
+  static AccountCache createCache(final int maxAccounts) {
+    return createCache(maxAccounts, Long.MAX_VALUE);
+  }
+
+  static AccountCache createCache() {
+    return createCache(Integer.MAX_VALUE);
+  }
+
+  /// @return true if the account is at least as recent as the cached version and was applied.
+  boolean update(final AccountInfo<byte[]> account);
+
+  @Override
+  default void accept(final AccountInfo<byte[]> account) {
+    update(account);
+  }
+
+  /// Fetches the accounts via `getMultipleAccounts`, batched per [SolanaRpcClient#MAX_MULTIPLE_ACCOUNTS], and
+  /// applies them subject to the same slot ordering as websocket updates.
+  CompletableFuture<Void> load(final SolanaRpcClient rpcClient,
+                               final Commitment commitment,
+                               final List<PublicKey> keys);
+
+  CompletableFuture<Void> load(final SolanaRpcClient rpcClient, final List<PublicKey> keys);
+
+  default boolean subscribe(final SolanaRpcWebsocket websocket, final PublicKey key) {
+    return websocket.accountSubscribe(key, this);
+  }
+
+  default boolean subscribeProgram(final SolanaRpcWebsocket websocket,
+                                   final PublicKey program,
+                                   final List<Filter> filters) {
+    return websocket.programSubscribe(program, filters, accounts -> accounts.values().forEach(this));
+  }
+
+  /// @return the cached account or null if it has not been seen or was evicted.
+  AccountInfo<byte[]> get(final PublicKey key);
+
+  /// @return the slot of the cached account or -1 if it has not been seen or was evicted.
+  long slot(final PublicKey key);
+
+  /// @return a point in time copy of all cached accounts.
+  Map<PublicKey, AccountInfo<byte[]>> snapshot();
+
+  /// Listeners are invoked on the updating thread after each applied update to the account.
+  void addListener(final PublicKey key, final Consumer<AccountInfo<byte[]>> listener);
+
+  boolean removeListener(final PublicKey key, final Consumer<AccountInfo<byte[]>> listener);
+
+  AccountInfo<byte[]> remove(final PublicKey key);
+
+  int size();
+
+  long dataBytes();
+}
@@ -0,0 +1,244 @@
+package software.sava.rpc.json.http.ws;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.client.SolanaRpcClient;
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.AccountInfo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static java.lang.System.Logger.Level.WARNING;
+import static software.sava.rpc.json.http.client.SolanaRpcClient.MAX_MULTIPLE_ACCOUNTS;
+
+/// Each entry holds its account in an [AtomicReference] which is only swapped for an equal or higher slot version, so
+/// concurrent websocket and RPC updates never block each other or regress.
+///
+/// Evicted entries are marked with a sentinel so that an update racing with eviction retries against a fresh entry
+/// rather than being applied to a detached one.
+final class ConcurrentAccountCache implements AccountCache {
+
+  private static final System.Logger log = System.getLogger(ConcurrentAccountCache.class.getName());
+
+  private static final AccountInfo<byte[]> EVICTED = new AccountInfo<>(null, null, false, 0, null, null, 0, null);
+
+  private static final class Entry {
+
+    private final AtomicReference<AccountInfo<byte[]>> account;
+    private final CopyOnWriteArrayList<Consumer<AccountInfo<byte[]>>> listeners;
+    private volatile long lastAccess;
+
+    private Entry() {
+      this.account = new AtomicReference<>();
+      this.listeners = new CopyOnWriteArrayList<>();
+    }
+  }
+
+  private final int maxAccounts;
+  private final long maxDataBytes;
+  private final ConcurrentHashMap<PublicKey, Entry> entries;
+  private final AtomicLong dataBytes;
+  private final AtomicBoolean evicting;
+
+  ConcurrentAccountCache(final int maxAccounts, final long maxDataBytes) {
+    this.maxAccounts = maxAccounts;
+    this.maxDataBytes = maxDataBytes;
+    this.entries = new ConcurrentHashMap<>();
+    this.dataBytes = new AtomicLong();
+    this.evicting = new AtomicBoolean();
+  }
+
+  private static int dataLength(final AccountInfo<byte[]> account) {
+    if (account == null || account == EVICTED) {
+      return 0;
+    } else {
+      final var data = account.data();
+      return data == null ? 0 : data.length;
+    }
+  }
+
+  private Entry entry(final PublicKey key) {
+    final var entry = entries.get(key);
+    if (entry != null) {
+      return entry;
+    } else {
+      final var newEntry = new Entry();
+      final var previous = entries.putIfAbsent(key, newEntry);
+      return previous == null ? newEntry : previous;
+    }
+  }
+
+  @Override
+  public boolean update(final AccountInfo<byte[]> account) {
+    final var key = account.pubKey();
+    final long slot = account.context().slot();
+    for (; ; ) {
+      final var entry = entry(key);
+      final var previous = entry.account.get();
+      if (previous == EVICTED) {
+        entries.remove(key, entry);
+        continue;
+      } else if (previous != null && previous.context().slot() > slot) {
+        return false;
+      } else if (entry.account.compareAndSet(previous, account)) {
+        entry.lastAccess = System.nanoTime();
+        dataBytes.addAndGet(dataLength(account) - dataLength(previous));
+        for (final var listener : entry.listeners) {
+          try {
+            listener.accept(account);
+          } catch (final RuntimeException ex) {
+            log.log(WARNING, "Account cache listener failed.", ex);
+          }
+        }
+        evictIfNecessary();
+        return true;
+      }
+    }
+  }
+
+  private void evictIfNecessary() {
+    if ((entries.size() > maxAccounts || dataBytes.get() > maxDataBytes) && evicting.compareAndSet(false, true)) {
+      try {
+        // Evict down to 15/16ths of the bounds so that eviction is amortized over many inserts.
+        final long targetAccounts = maxAccounts - (maxAccounts >> 4);
+        final long targetBytes = maxDataBytes - (maxDataBytes >> 4);
+        final var candidates = new ArrayList<Map.Entry<PublicKey, Entry>>(entries.size());
+        for (final var mapEntry : entries.entrySet()) {
+          if (mapEntry.getValue().listeners.isEmpty()) {
+            candidates.add(mapEntry);
+          }
+        }
+        candidates.sort(Comparator.comparingLong(mapEntry -> mapEntry.getValue().lastAccess));
+        for (final var mapEntry : candidates) {
+          if (entries.size() <= targetAccounts && dataBytes.get() <= targetBytes) {
+            break;
+          }
+          final var entry = mapEntry.getValue();
+          final var account = entry.account.get();
+          // Mark before detaching so that a racing update or listener registration retries against a fresh entry.
+          if (account != EVICTED && entry.listeners.isEmpty() && entry.account.compareAndSet(account, EVICTED)) {
+            entries.remove(mapEntry.getKey(), entry);
+            dataBytes.addAndGet(-dataLength(account));
+          }
+        }
+      } finally {
+        evicting.set(false);
+      }
+    }
+  }
+
+  @Override
+  public CompletableFuture<Void> load(final SolanaRpcClient rpcClient,
+                                      final Commitment commitment,
+                                      final List<PublicKey> keys) {
+    final int numKeys = keys.size();
+    final var futures = new CompletableFuture<?>[(numKeys + MAX_MULTIPLE_ACCOUNTS - 1) / MAX_MULTIPLE_ACCOUNTS];
+    for (int from = 0, i = 0; from < numKeys; from += MAX_MULTIPLE_ACCOUNTS, ++i) {
+      final var batch = keys.subList(from, Math.min(numKeys, from + MAX_MULTIPLE_ACCOUNTS));
+      final var accountsFuture = commitment == null
+          ? rpcClient.getMultipleAccounts(batch)
+          : rpcClient.getMultipleAccounts(commitment, batch);
+      futures[i] = accountsFuture.thenAccept(accounts -> accounts.forEach(this::update));
+    }
+    return CompletableFuture.allOf(futures);
+  }
+
+  @Override
+  public CompletableFuture<Void> load(final SolanaRpcClient rpcClient, final List<PublicKey> keys) {
+    return load(rpcClient, null, keys);
+  }
+
+  private AccountInfo<byte[]> read(final PublicKey key) {
+    final var entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    } else {
+      final var account = entry.account.get();
+      if (account == null || account == EVICTED) {
+        return null;
+      } else {
+        entry.lastAccess = System.nanoTime();
+        return account;
+      }
+    }
+  }
+
+  @Override
+  public AccountInfo<byte[]> get(final PublicKey key) {
+    return read(key);
+  }
+
+  @Override
+  public long slot(final PublicKey key) {
+    final var account = read(key);
+    return account == null ? -1 : account.context().slot();
+  }
+
+  @Override
+  public Map<PublicKey, AccountInfo<byte[]>> snapshot() {
+    final var snapshot = HashMap.<PublicKey, AccountInfo<byte[]>>newHashMap(entries.size());
+    for (final var mapEntry : entries.entrySet()) {
+      final var account = mapEntry.getValue().account.get();
+      if (account != null && account != EVICTED) {
+        snapshot.put(mapEntry.getKey(), account);
+      }
+    }
+    return snapshot;
+  }
+
+  @Override
+  public void addListener(final PublicKey key, final Consumer<AccountInfo<byte[]>> listener) {
+    for (; ; ) {
+      final var entry = entry(key);
+      entry.listeners.add(listener);
+      if (entry.account.get() != EVICTED) {
+        return;
+      }
+      entry.listeners.remove(listener);
+      entries.remove(key, entry);
+    }
+  }
+
+  @Override
+  public boolean removeListener(final PublicKey key, final Consumer<AccountInfo<byte[]>> listener) {
+    final var entry = entries.get(key);
+    return entry != null && entry.listeners.remove(listener);
+  }
+
+  @Override
+  public AccountInfo<byte[]> remove(final PublicKey key) {
+    final var entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    } else {
+      final var account = entry.account.getAndSet(EVICTED);
+      entries.remove(key, entry);
+      if (account == EVICTED) {
+        return null;
+      } else {
+        dataBytes.addAndGet(-dataLength(account));
+        return account;
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    return entries.size();
+  }
+
+  @Override
+  public long dataBytes() {
+    return dataBytes.get();
+  }
+}
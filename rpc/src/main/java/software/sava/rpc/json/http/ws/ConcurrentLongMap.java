@@ -0,0 +1,224 @@
+package software.sava.rpc.json.http.ws;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/// Open addressing map from primitive `long` keys, optimized for frequent lock-free reads, such as looking up the
+/// subscription of each notification, and infrequent writes, which are serialized.
+///
+/// Values are published before their keys, and readers re-check the key after reading a value, so a reader never
+/// observes the value of a different key which has since reused the slot. The same holds for iterating the values.
+///
+/// [Long#MIN_VALUE] and `Long.MIN_VALUE + 1` are reserved and may not be used as keys.
+final class ConcurrentLongMap<V> {
+
+  private static final long EMPTY = Long.MIN_VALUE;
+  private static final long REMOVED = Long.MIN_VALUE + 1;
+
+  private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+  private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+  private record Table(long[] keys, Object[] values) {
+
+    Table(final int capacity) {
+      this(newKeys(capacity), new Object[capacity]);
+    }
+
+    private static long[] newKeys(final int capacity) {
+      final var keys = new long[capacity];
+      Arrays.fill(keys, EMPTY);
+      return keys;
+    }
+  }
+
+  private volatile Table table;
+  private volatile int size;
+  private int used;
+
+  ConcurrentLongMap(final int initialCapacity) {
+    this.table = new Table(Integer.highestOneBit(Math.max(16, initialCapacity) - 1) << 1);
+  }
+
+  ConcurrentLongMap() {
+    this(16);
+  }
+
+  private static int index(final long key, final int mask) {
+    return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+  }
+
+  @SuppressWarnings("unchecked")
+  V get(final long key) {
+    for (; ; ) {
+      final var table = this.table;
+      final var keys = table.keys;
+      final int mask = keys.length - 1;
+      for (int i = index(key, mask); ; i = (i + 1) & mask) {
+        final long k = (long) KEYS.getAcquire(keys, i);
+        if (k == key) {
+          final var value = (V) VALUES.getAcquire(table.values, i);
+          if ((long) KEYS.getAcquire(keys, i) == key) {
+            return value;
+          }
+          break; // Slot was concurrently reused, retry.
+        } else if (k == EMPTY) {
+          return null;
+        }
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  synchronized V put(final long key, final V value) {
+    if (key == EMPTY || key == REMOVED) {
+      throw new IllegalArgumentException("Reserved key " + key);
+    }
+    final var table = this.table;
+    final var keys = table.keys;
+    final int mask = keys.length - 1;
+    int free = -1;
+    for (int i = index(key, mask); ; i = (i + 1) & mask) {
+      final long k = keys[i];
+      if (k == key) {
+        final var previous = (V) table.values[i];
+        VALUES.setRelease(table.values, i, value);
+        return previous;
+      } else if (k == REMOVED) {
+        if (free < 0) {
+          free = i;
+        }
+      } else if (k == EMPTY) {
+        if (free < 0) {
+          free = i;
+          ++used;
+        }
+        break;
+      }
+    }
+    VALUES.setRelease(table.values, free, value);
+    KEYS.setRelease(keys, free, key);
+    ++size;
+    if (used > (keys.length >> 1)) {
+      resize(size > (keys.length >> 2) ? keys.length << 1 : keys.length);
+    }
+    return null;
+  }
+
+  private void resize(final int capacity) {
+    final var previous = this.table;
+    final var table = new Table(capacity);
+    final int mask = capacity - 1;
+    for (int i = 0; i < previous.keys.length; ++i) {
+      final long key = previous.keys[i];
+      if (key != EMPTY && key != REMOVED) {
+        int j = index(key, mask);
+        while (table.keys[j] != EMPTY) {
+          j = (j + 1) & mask;
+        }
+        table.keys[j] = key;
+        table.values[j] = previous.values[i];
+      }
+    }
+    this.used = this.size;
+    this.table = table;
+  }
+
+  @SuppressWarnings("unchecked")
+  synchronized V remove(final long key) {
+    final var table = this.table;
+    final var keys = table.keys;
+    final int mask = keys.length - 1;
+    for (int i = index(key, mask); ; i = (i + 1) & mask) {
+      final long k = keys[i];
+      if (k == key) {
+        final var previous = (V) table.values[i];
+        KEYS.setRelease(keys, i, REMOVED);
+        VALUES.setRelease(table.values, i, null);
+        --size;
+        return previous;
+      } else if (k == EMPTY) {
+        return null;
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  synchronized void clear() {
+    this.table = new Table(this.table.keys.length);
+    this.size = 0;
+    this.used = 0;
+  }
+
+  /// @return a point in time copy of the keys.
+  synchronized long[] keys() {
+    final var keys = new long[size];
+    final var tableKeys = this.table.keys;
+    for (int i = 0, k = 0; i < tableKeys.length; ++i) {
+      final long key = tableKeys[i];
+      if (key != EMPTY && key != REMOVED) {
+        keys[k++] = key;
+      }
+    }
+    return keys;
+  }
+
+  /// @return a weakly consistent view of the values, iterated without locking or copying. Values put or removed
+  /// during iteration may or may not be observed, and a concurrent resize is not observed at all.
+  Iterable<V> values() {
+    return ValueIterator::new;
+  }
+
+  private final class ValueIterator implements Iterator<V> {
+
+    private final Table table;
+    private int index;
+    private V next;
+
+    private ValueIterator() {
+      this.table = ConcurrentLongMap.this.table;
+      advance();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void advance() {
+      final var keys = table.keys;
+      while (index < keys.length) {
+        final int i = index++;
+        final long key = (long) KEYS.getAcquire(keys, i);
+        if (key != EMPTY && key != REMOVED) {
+          final var value = (V) VALUES.getAcquire(table.values, i);
+          if (value != null && (long) KEYS.getAcquire(keys, i) == key) {
+            next = value;
+            return;
+          }
+        }
+      }
+      next = null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public V next() {
+      final var next = this.next;
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      advance();
+      return next;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package software.sava.rpc.json.http.ws;
+
+import software.sava.rpc.json.http.client.LatencyHistogram;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.lang.System.Logger.Level.WARNING;
+
+/// Latest value wins per key. Lag is measured from when a key first became pending, so it reflects how stale the
+/// consumer's view of that key was.
+final class ConflatingDispatcher<T> implements Dispatcher<T> {
+
+  private static final System.Logger log = System.getLogger(ConflatingDispatcher.class.getName());
+
+  static final Object SINGLE_KEY = new Object();
+
+  private record Pending<T>(T item, long receivedNanos) {
+  }
+
+  private final Consumer<T> consumer;
+  private final Function<T, Object> key;
+  private final ConcurrentHashMap<Object, Pending<T>> pending;
+  private final AtomicBoolean draining;
+  private final LongAdder numDelivered;
+  private final LongAdder numDropped;
+  private final LatencyHistogram lag;
+
+  ConflatingDispatcher(final Consumer<T> consumer, final Function<T, Object> key) {
+    this.consumer = consumer;
+    this.key = key;
+    this.pending = new ConcurrentHashMap<>();
+    this.draining = new AtomicBoolean();
+    this.numDelivered = new LongAdder();
+    this.numDropped = new LongAdder();
+    this.lag = new LatencyHistogram();
+  }
+
+  @Override
+  public void accept(final T item) {
+    final long now = System.nanoTime();
+    pending.compute(key.apply(item), (_, previous) -> {
+      if (previous == null) {
+        return new Pending<>(item, now);
+      } else {
+        numDropped.increment();
+        return new Pending<>(item, previous.receivedNanos);
+      }
+    });
+    if (draining.compareAndSet(false, true)) {
+      Thread.startVirtualThread(this::drain);
+    }
+  }
+
+  private void drain() {
+    do {
+      for (final var key : pending.keySet()) {
+        final var next = pending.remove(key);
+        if (next != null) {
+          lag.record(System.nanoTime() - next.receivedNanos);
+          try {
+            consumer.accept(next.item);
+          } catch (final RuntimeException ex) {
+            log.log(WARNING, "Subscription consumer failed.", ex);
+          }
+          numDelivered.increment();
+        }
+      }
+      draining.set(false);
+    } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+  }
+
+  @Override
+  public DispatchStats stats() {
+    return new DispatchStats(numDelivered.sum(), numDropped.sum(), pending.size(), lag.snapshot());
+  }
+}
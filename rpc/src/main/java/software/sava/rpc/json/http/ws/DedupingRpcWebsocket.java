@@ -0,0 +1,421 @@
+package software.sava.rpc.json.http.ws;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.rpc.Filter;
+import software.sava.rpc.json.http.client.LatencyHistogram;
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.AccountInfo;
+import software.sava.rpc.json.http.response.ProcessedSlot;
+import software.sava.rpc.json.http.response.TransactionNotification;
+import software.sava.rpc.json.http.response.TxLogs;
+import software.sava.rpc.json.http.response.TxResult;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import static software.sava.core.encoding.ByteUtil.getInt64LE;
+
+final class DedupingRpcWebsocket implements RedundantRpcWebsocket {
+
+  private static final Object SLOT_ENTITY = new Object();
+
+  private record AccountUpdate(PublicKey pubKey, long slot, long lamports, int dataHash) {
+
+    static AccountUpdate create(final AccountInfo<byte[]> accountInfo) {
+      return new AccountUpdate(
+          accountInfo.pubKey(),
+          accountInfo.context().slot(),
+          accountInfo.lamports(),
+          Arrays.hashCode(accountInfo.data())
+      );
+    }
+  }
+
+  private record SignatureKey(long a, long b, long c, long d) {
+
+    /// Keyed by the first signature, which directly follows its single byte compact length.
+    static Object create(final TransactionNotification notification) {
+      final var transaction = notification.transaction();
+      final byte[] data = transaction == null ? null : transaction.data();
+      if (data == null || data.length < 1 + 32) {
+        return notification;
+      } else {
+        return new SignatureKey(getInt64LE(data, 1), getInt64LE(data, 9), getInt64LE(data, 17), getInt64LE(data, 25));
+      }
+    }
+  }
+
+  private static final class Provider {
+
+    private final int index;
+    private final SolanaRpcWebsocket websocket;
+    private final LongAdder numReceived;
+    private final LongAdder numFirst;
+    private final LongAdder numStale;
+    private final LatencyHistogram lag;
+
+    private Provider(final int index, final SolanaRpcWebsocket websocket) {
+      this.index = index;
+      this.websocket = websocket;
+      this.numReceived = new LongAdder();
+      this.numFirst = new LongAdder();
+      this.numStale = new LongAdder();
+      this.lag = new LatencyHistogram();
+    }
+  }
+
+  /// Per subscription record of when recent updates first arrived.
+  ///
+  /// Updates are delivered under the subscription's lock, so the consumer is never invoked concurrently and never
+  /// observes an older slot after a newer one, even though each provider notifies from its own thread.
+  private final class Deduper<T> {
+
+    private final Consumer<T> consumer;
+    private final Function<T, Object> updateKey;
+    private final Function<T, Object> entity;
+    private final ToLongFunction<T> slot;
+    private final LinkedHashMap<Object, Long> arrivals;
+    private final Map<Object, Long> deliveredSlots;
+
+    private Deduper(final Consumer<T> consumer,
+                    final Function<T, Object> updateKey,
+                    final Function<T, Object> entity,
+                    final ToLongFunction<T> slot) {
+      this.consumer = consumer;
+      this.updateKey = updateKey;
+      this.entity = entity;
+      this.slot = slot;
+      this.arrivals = new LinkedHashMap<>(64, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Object, Long> eldest) {
+          return size() > dedupeCapacity;
+        }
+      };
+      this.deliveredSlots = slot == null ? null : new HashMap<>();
+    }
+
+    private Consumer<T> consumer(final Provider provider) {
+      return item -> accept(provider, item);
+    }
+
+    private void accept(final Provider provider, final T item) {
+      final long now = System.nanoTime();
+      provider.numReceived.increment();
+      final var key = updateKey.apply(item);
+      synchronized (this) {
+        final var firstArrival = arrivals.get(key);
+        if (firstArrival != null) {
+          provider.lag.record(now - firstArrival);
+          return;
+        }
+        if (deliveredSlots != null) {
+          final long slot = this.slot.applyAsLong(item);
+          final var entity = this.entity.apply(item);
+          final var delivered = deliveredSlots.get(entity);
+          if (delivered != null && slot < delivered) {
+            provider.numStale.increment();
+            return;
+          }
+          deliveredSlots.put(entity, slot);
+        }
+        arrivals.put(key, now);
+        provider.numFirst.increment();
+        numUpdates.increment();
+        consumer.accept(item);
+      }
+    }
+  }
+
+  private final Provider[] providers;
+  private final int dedupeCapacity;
+  private final LongAdder numUpdates;
+
+  DedupingRpcWebsocket(final List<SolanaRpcWebsocket> providers, final int dedupeCapacity) {
+    this.providers = new Provider[providers.size()];
+    for (int i = 0; i < this.providers.length; ++i) {
+      this.providers[i] = new Provider(i, providers.get(i));
+    }
+    this.dedupeCapacity = dedupeCapacity;
+    this.numUpdates = new LongAdder();
+  }
+
+  private <T> boolean subscribe(final Deduper<T> deduper,
+                                final BiPredicate<SolanaRpcWebsocket, Consumer<T>> subscribe) {
+    boolean subscribed = false;
+    for (final var provider : providers) {
+      subscribed |= subscribe.test(provider.websocket, deduper.consumer(provider));
+    }
+    return subscribed;
+  }
+
+  private boolean unsubscribe(final Predicate<SolanaRpcWebsocket> unsubscribe) {
+    boolean unsubscribed = false;
+    for (final var provider : providers) {
+      unsubscribed |= unsubscribe.test(provider.websocket);
+    }
+    return unsubscribed;
+  }
+
+  private Deduper<AccountInfo<byte[]>> accountDeduper(final Consumer<AccountInfo<byte[]>> consumer) {
+    return new Deduper<>(consumer, AccountUpdate::create, AccountInfo::pubKey, accountInfo -> accountInfo.context().slot());
+  }
+
+  /// Program notifications carry a single account, so accounts are deduped individually and re-wrapped for delivery.
+  private Deduper<AccountInfo<byte[]>> programDeduper(final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return accountDeduper(accountInfo -> consumer.accept(Map.of(accountInfo.pubKey(), accountInfo)));
+  }
+
+  private static Consumer<Map<PublicKey, AccountInfo<byte[]>>> eachAccount(final Consumer<AccountInfo<byte[]>> consumer) {
+    return accounts -> accounts.values().forEach(consumer);
+  }
+
+  @Override
+  public List<ProviderStats> providerStats() {
+    final long numUpdates = this.numUpdates.sum();
+    final var stats = new ArrayList<ProviderStats>(providers.length);
+    for (final var provider : providers) {
+      stats.add(new ProviderStats(
+          provider.index,
+          numUpdates,
+          provider.numReceived.sum(),
+          provider.numFirst.sum(),
+          provider.numStale.sum(),
+          provider.lag.snapshot()
+      ));
+    }
+    return stats;
+  }
+
+  @Override
+  public void connect() {
+    for (final var provider : providers) {
+      provider.websocket.connect();
+    }
+  }
+
+  @Override
+  public void exceptionSubscribe(final Consumer<RuntimeException> consumer) {
+    for (final var provider : providers) {
+      provider.websocket.exceptionSubscribe(consumer);
+    }
+  }
+
+  @Override
+  public boolean accountSubscribe(final PublicKey key, final Consumer<AccountInfo<byte[]>> consumer) {
+    return subscribe(accountDeduper(consumer), (ws, c) -> ws.accountSubscribe(key, c));
+  }
+
+  @Override
+  public boolean accountSubscribe(final Commitment commitment,
+                                  final PublicKey key,
+                                  final Consumer<AccountInfo<byte[]>> consumer) {
+    return subscribe(accountDeduper(consumer), (ws, c) -> ws.accountSubscribe(commitment, key, c));
+  }
+
+  @Override
+  public boolean accountUnsubscribe(final PublicKey key) {
+    return unsubscribe(ws -> ws.accountUnsubscribe(key));
+  }
+
+  @Override
+  public boolean accountUnsubscribe(final Commitment commitment, final PublicKey key) {
+    return unsubscribe(ws -> ws.accountUnsubscribe(commitment, key));
+  }
+
+  private Deduper<TxLogs> logsDeduper(final Consumer<TxLogs> consumer) {
+    return new Deduper<>(consumer, TxLogs::signature, null, null);
+  }
+
+  @Override
+  public boolean logsSubscribe(final PublicKey key, final Consumer<TxLogs> consumer) {
+    return subscribe(logsDeduper(consumer), (ws, c) -> ws.logsSubscribe(key, c));
+  }
+
+  @Override
+  public boolean logsSubscribe(final Commitment commitment, final PublicKey key, final Consumer<TxLogs> consumer) {
+    return subscribe(logsDeduper(consumer), (ws, c) -> ws.logsSubscribe(commitment, key, c));
+  }
+
+  @Override
+  public boolean logsUnsubscribe(final PublicKey key) {
+    return unsubscribe(ws -> ws.logsUnsubscribe(key));
+  }
+
+  @Override
+  public boolean logsUnsubscribe(final Commitment commitment, final PublicKey key) {
+    return unsubscribe(ws -> ws.logsUnsubscribe(commitment, key));
+  }
+
+  /// Received notifications are distinguished from the final result by their value.
+  private Deduper<TxResult> signatureDeduper(final Consumer<TxResult> consumer) {
+    return new Deduper<>(consumer, result -> String.valueOf(result.value()), null, null);
+  }
+
+  @Override
+  public boolean signatureSubscribe(final String b58TxSig, final Consumer<TxResult> consumer) {
+    return subscribe(signatureDeduper(consumer), (ws, c) -> ws.signatureSubscribe(b58TxSig, c));
+  }
+
+  @Override
+  public boolean signatureSubscribe(final String b58TxSig,
+                                    final boolean enableReceivedNotification,
+                                    final Consumer<TxResult> consumer) {
+    return subscribe(signatureDeduper(consumer), (ws, c) -> ws.signatureSubscribe(b58TxSig, enableReceivedNotification, c));
+  }
+
+  @Override
+  public boolean signatureSubscribe(final Commitment commitment,
+                                    final boolean enableReceivedNotification,
+                                    final String b58TxSig,
+                                    final Consumer<TxResult> consumer) {
+    return subscribe(
+        signatureDeduper(consumer),
+        (ws, c) -> ws.signatureSubscribe(commitment, enableReceivedNotification, b58TxSig, c)
+    );
+  }
+
+  @Override
+  public boolean signatureUnsubscribe(final String b58TxSig) {
+    return unsubscribe(ws -> ws.signatureUnsubscribe(b58TxSig));
+  }
+
+  @Override
+  public boolean signatureUnsubscribe(final Commitment commitment, final String b58TxSig) {
+    return unsubscribe(ws -> ws.signatureUnsubscribe(commitment, b58TxSig));
+  }
+
+  @Override
+  public boolean subscribeToTokenAccount(final PublicKey tokenMint,
+                                         final PublicKey ownerAddress,
+                                         final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return subscribe(programDeduper(consumer), (ws, c) -> ws.subscribeToTokenAccount(tokenMint, ownerAddress, eachAccount(c)));
+  }
+
+  @Override
+  public boolean subscribeToTokenAccount(final Commitment commitment,
+                                         final PublicKey tokenMint,
+                                         final PublicKey ownerAddress,
+                                         final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return subscribe(
+        programDeduper(consumer),
+        (ws, c) -> ws.subscribeToTokenAccount(commitment, tokenMint, ownerAddress, eachAccount(c))
+    );
+  }
+
+  @Override
+  public boolean subscribeToTokenAccounts(final PublicKey ownerAddress,
+                                          final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return subscribe(programDeduper(consumer), (ws, c) -> ws.subscribeToTokenAccounts(ownerAddress, eachAccount(c)));
+  }
+
+  @Override
+  public boolean subscribeToTokenAccounts(final Commitment commitment,
+                                          final PublicKey ownerAddress,
+                                          final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return subscribe(programDeduper(consumer), (ws, c) -> ws.subscribeToTokenAccounts(commitment, ownerAddress, eachAccount(c)));
+  }
+
+  @Override
+  public boolean programSubscribe(final PublicKey program, final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return subscribe(programDeduper(consumer), (ws, c) -> ws.programSubscribe(program, eachAccount(c)));
+  }
+
+  @Override
+  public boolean programSubscribe(final PublicKey program,
+                                  final List<Filter> filters,
+                                  final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return subscribe(programDeduper(consumer), (ws, c) -> ws.programSubscribe(program, filters, eachAccount(c)));
+  }
+
+  @Override
+  public boolean programSubscribe(final Commitment commitment,
+                                  final PublicKey program,
+                                  final List<Filter> filters,
+                                  final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return subscribe(programDeduper(consumer), (ws, c) -> ws.programSubscribe(commitment, program, filters, eachAccount(c)));
+  }
+
+  @Override
+  public boolean programUnsubscribe(final PublicKey program) {
+    return unsubscribe(ws -> ws.programUnsubscribe(program));
+  }
+
+  @Override
+  public boolean programUnsubscribe(final Commitment commitment, final PublicKey program) {
+    return unsubscribe(ws -> ws.programUnsubscribe(commitment, program));
+  }
+
+  private Deduper<TransactionNotification> transactionDeduper(final Consumer<TransactionNotification> consumer) {
+    return new Deduper<>(consumer, SignatureKey::create, null, null);
+  }
+
+  @Override
+  public boolean transactionSubscribe(final Collection<PublicKey> accountInclude,
+                                      final Collection<PublicKey> accountExclude,
+                                      final Consumer<TransactionNotification> consumer) {
+    return subscribe(transactionDeduper(consumer), (ws, c) -> ws.transactionSubscribe(accountInclude, accountExclude, c));
+  }
+
+  @Override
+  public boolean transactionSubscribe(final Commitment commitment,
+                                      final boolean vote,
+                                      final boolean failed,
+                                      final Collection<PublicKey> accountInclude,
+                                      final Collection<PublicKey> accountExclude,
+                                      final Collection<PublicKey> accountRequired,
+                                      final boolean showRewards,
+                                      final Consumer<TransactionNotification> consumer) {
+    return subscribe(
+        transactionDeduper(consumer),
+        (ws, c) -> ws.transactionSubscribe(commitment, vote, failed, accountInclude, accountExclude, accountRequired, showRewards, c)
+    );
+  }
+
+  @Override
+  public boolean transactionUnsubscribe(final Collection<PublicKey> accountInclude,
+                                        final Collection<PublicKey> accountExclude) {
+    return unsubscribe(ws -> ws.transactionUnsubscribe(accountInclude, accountExclude));
+  }
+
+  @Override
+  public boolean transactionUnsubscribe(final Commitment commitment,
+                                        final boolean vote,
+                                        final boolean failed,
+                                        final Collection<PublicKey> accountInclude,
+                                        final Collection<PublicKey> accountExclude,
+                                        final Collection<PublicKey> accountRequired,
+                                        final boolean showRewards) {
+    return unsubscribe(ws -> ws.transactionUnsubscribe(commitment, vote, failed, accountInclude, accountExclude, accountRequired, showRewards));
+  }
+
+  @Override
+  public boolean slotSubscribe(final Consumer<ProcessedSlot> consumer) {
+    final var deduper = new Deduper<>(consumer, ProcessedSlot::slot, _ -> SLOT_ENTITY, ProcessedSlot::slot);
+    return subscribe(deduper, SolanaRpcWebsocket::slotSubscribe);
+  }
+
+  @Override
+  public boolean slotUnsubscribe() {
+    return unsubscribe(SolanaRpcWebsocket::slotUnsubscribe);
+  }
+
+  @Override
+  public void close() {
+    for (final var provider : providers) {
+      provider.websocket.close();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "RedundantRpcWebsocket{" +
+        "numProviders=" + providers.length +
+        ", numUpdates=" + numUpdates.sum() +
+        '}';
+  }
+}
@@ -0,0 +1,24 @@
+package software.sava.rpc.json.http.ws;
+
+import software.sava.rpc.json.http.response.AccountInfo;
+
+import java.util.function.Consumer;
+
+record DispatchConfig(DispatchMode mode, int capacity, OverflowPolicy overflowPolicy) {
+
+  @SuppressWarnings("unchecked")
+  <T> Consumer<T> wrap(final Channel channel, final Consumer<T> consumer) {
+    if (consumer instanceof Dispatcher<T>) {
+      return consumer;
+    }
+    return switch (mode) {
+      case INLINE -> consumer;
+      case QUEUED -> Dispatcher.queued(consumer, capacity, overflowPolicy);
+      case CONFLATING -> switch (channel) {
+        case account, slot -> Dispatcher.conflating(consumer);
+        case program -> (Consumer<T>) Dispatcher.conflatingAccounts((Consumer<AccountInfo<byte[]>>) consumer);
+        case logs, signature, transaction -> Dispatcher.queued(consumer, capacity, overflowPolicy);
+      };
+    };
+  }
+}
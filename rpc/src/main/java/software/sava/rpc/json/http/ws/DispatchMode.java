@@ -0,0 +1,13 @@
+package software.sava.rpc.json.http.ws;
+
+/// How notifications are handed to subscription consumers.
+public enum DispatchMode {
+
+  /// Consumers run on the websocket listener thread, a slow consumer delays every other subscription.
+  INLINE,
+  /// Each subscription has a bounded queue which is drained by a virtual thread.
+  QUEUED,
+  /// Only the latest pending notification per account is delivered, drained by a virtual thread. Subscriptions whose
+  /// notifications are all distinct, such as logs, signatures and transactions, are [#QUEUED] instead.
+  CONFLATING
+}
@@ -0,0 +1,10 @@
+package software.sava.rpc.json.http.ws;
+
+import software.sava.rpc.json.http.client.LatencyHistogram;
+
+/// @param numDropped notifications discarded due to overflow, or replaced by a more recent notification when
+///                   conflating.
+/// @param numPending notifications waiting to be delivered.
+/// @param lag        time from receipt until a notification was handed to the consumer.
+public record DispatchStats(long numDelivered, long numDropped, int numPending, LatencyHistogram.Snapshot lag) {
+}
@@ -0,0 +1,35 @@
+package software.sava.rpc.json.http.ws;
+
+import software.sava.rpc.json.http.response.AccountInfo;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/// Decouples a subscription consumer from the websocket listener thread.
+///
+/// Dispatchers may be passed directly as the consumer of any subscription, or applied to every subscription via
+/// [SolanaRpcWebsocket.Builder#dispatchMode(DispatchMode)].
+public interface Dispatcher<T> extends Consumer<T> {
+
+  /// @param capacity maximum number of notifications queued before applying the overflow policy.
+  static <T> Dispatcher<T> queued(final Consumer<T> consumer, final int capacity, final OverflowPolicy overflowPolicy) {
+    return new QueuedDispatcher<>(consumer, capacity, overflowPolicy);
+  }
+
+  /// Delivers only the latest pending notification per key.
+  static <T> Dispatcher<T> conflating(final Consumer<T> consumer, final Function<T, Object> key) {
+    return new ConflatingDispatcher<>(consumer, key);
+  }
+
+  /// Delivers only the latest pending notification.
+  static <T> Dispatcher<T> conflating(final Consumer<T> consumer) {
+    return conflating(consumer, _ -> ConflatingDispatcher.SINGLE_KEY);
+  }
+
+  /// Delivers only the latest pending notification per account, e.g. for program subscriptions.
+  static Dispatcher<AccountInfo<byte[]>> conflatingAccounts(final Consumer<AccountInfo<byte[]>> consumer) {
+    return conflating(consumer, AccountInfo::pubKey);
+  }
+
+  DispatchStats stats();
+}
@@ -0,0 +1,10 @@
+package software.sava.rpc.json.http.ws;
+
+/// What a [DispatchMode#QUEUED] subscription does when its queue is full.
+public enum OverflowPolicy {
+
+  DROP_OLDEST,
+  DROP_NEWEST,
+  /// Blocks the websocket listener thread until there is room, applying back pressure to the connection.
+  BLOCK
+}
@@ -0,0 +1,78 @@
+package software.sava.rpc.json.http.ws;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.rpc.Filter;
+import software.sava.rpc.json.http.request.Commitment;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+final class ProgramSubscription<T> extends RootSubscription<T> {
+
+  private final PublicKey program;
+  private final List<Filter> filters;
+  // Confined to the websocket listener thread.
+  private Map<PublicKey, Long> deliveredDuringResync;
+  private int numResyncs;
+
+  ProgramSubscription(final Commitment commitment,
+                      final PublicKey program,
+                      final List<Filter> filters,
+                      final long msgId,
+                      final String msg,
+                      final Consumer<T> consumer) {
+    super(commitment, Channel.program, program.toBase58(), msgId, msg, consumer);
+    this.program = program;
+    this.filters = filters;
+  }
+
+  @Override
+  public PublicKey publicKey() {
+    return program;
+  }
+
+  List<Filter> filters() {
+    return filters;
+  }
+
+  /// Starts recording which accounts are delivered by notifications until the resync ends.
+  void beginResync() {
+    if (numResyncs++ == 0) {
+      this.deliveredDuringResync = new HashMap<>();
+    }
+  }
+
+  /// Records the slot of an account notification about to be delivered. Each notification carries a different account,
+  /// so unlike [#advanceSlot] notifications for earlier slots are not skipped, only those covered by resynced state.
+  ///
+  /// @return false if resynced state at or after this slot has already been delivered.
+  boolean advanceAccountSlot(final PublicKey account, final long slot) {
+    if (slot <= resyncedSlot()) {
+      return false;
+    }
+    if (deliveredDuringResync != null) {
+      deliveredDuringResync.merge(account, slot, Math::max);
+    }
+    advanceSlot(slot);
+    return true;
+  }
+
+  /// @return false if a notification at or after the resync slot was delivered for the account while the resync was in
+  /// flight.
+  boolean isResyncNewer(final PublicKey account, final long slot) {
+    final var delivered = deliveredDuringResync == null ? null : deliveredDuringResync.get(account);
+    return delivered == null || delivered < slot;
+  }
+
+  /// @param slot of the resynced state, or -1 if nothing was resynced.
+  void endResync(final long slot) {
+    if (slot >= 0) {
+      markResynced(slot);
+    }
+    if (--numResyncs == 0) {
+      this.deliveredDuringResync = null;
+    }
+  }
+}
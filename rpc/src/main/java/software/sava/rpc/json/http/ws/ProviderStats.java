@@ -0,0 +1,21 @@
+package software.sava.rpc.json.http.ws;
+
+import software.sava.rpc.json.http.client.LatencyHistogram;
+
+/// @param provider    index of the provider websocket passed to [RedundantRpcWebsocket#createRedundant(java.util.List)].
+/// @param numUpdates  distinct updates delivered across all providers.
+/// @param numReceived notifications received from this provider, including duplicates.
+/// @param numFirst    updates this provider delivered first.
+/// @param numStale    notifications dropped because a more recent update had already been delivered.
+/// @param lag         time from the first arrival of an update until this provider delivered its copy.
+public record ProviderStats(int provider,
+                            long numUpdates,
+                            long numReceived,
+                            long numFirst,
+                            long numStale,
+                            LatencyHistogram.Snapshot lag) {
+
+  public double winRate() {
+    return numUpdates == 0 ? 0 : numFirst / (double) numUpdates;
+  }
+}
@@ -0,0 +1,85 @@
+package software.sava.rpc.json.http.ws;
+
+import software.sava.rpc.json.http.client.LatencyHistogram;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.lang.System.Logger.Level.WARNING;
+
+/// Bounded queue drained by a virtual thread which is only started while there are notifications to deliver.
+final class QueuedDispatcher<T> implements Dispatcher<T> {
+
+  private static final System.Logger log = System.getLogger(QueuedDispatcher.class.getName());
+
+  private record Pending<T>(T item, long receivedNanos) {
+  }
+
+  private final Consumer<T> consumer;
+  private final OverflowPolicy overflowPolicy;
+  private final ArrayBlockingQueue<Pending<T>> queue;
+  private final AtomicBoolean draining;
+  private final LongAdder numDelivered;
+  private final LongAdder numDropped;
+  private final LatencyHistogram lag;
+
+  QueuedDispatcher(final Consumer<T> consumer, final int capacity, final OverflowPolicy overflowPolicy) {
+    this.consumer = consumer;
+    this.overflowPolicy = overflowPolicy;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.draining = new AtomicBoolean();
+    this.numDelivered = new LongAdder();
+    this.numDropped = new LongAdder();
+    this.lag = new LatencyHistogram();
+  }
+
+  @Override
+  public void accept(final T item) {
+    final var pending = new Pending<>(item, System.nanoTime());
+    if (!queue.offer(pending)) {
+      switch (overflowPolicy) {
+        case DROP_NEWEST -> numDropped.increment();
+        case DROP_OLDEST -> {
+          do {
+            if (queue.poll() != null) {
+              numDropped.increment();
+            }
+          } while (!queue.offer(pending));
+        }
+        case BLOCK -> {
+          try {
+            queue.put(pending);
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            numDropped.increment();
+          }
+        }
+      }
+    }
+    if (draining.compareAndSet(false, true)) {
+      Thread.startVirtualThread(this::drain);
+    }
+  }
+
+  private void drain() {
+    do {
+      for (Pending<T> pending; (pending = queue.poll()) != null; ) {
+        lag.record(System.nanoTime() - pending.receivedNanos);
+        try {
+          consumer.accept(pending.item);
+        } catch (final RuntimeException ex) {
+          log.log(WARNING, "Subscription consumer failed.", ex);
+        }
+        numDelivered.increment();
+      }
+      draining.set(false);
+    } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+  }
+
+  @Override
+  public DispatchStats stats() {
+    return new DispatchStats(numDelivered.sum(), numDropped.sum(), queue.size(), lag.snapshot());
+  }
+}
@@ -0,0 +1,28 @@
+package software.sava.rpc.json.http.ws;
+
+import java.util.List;
+
+/// Opens every subscription on each of several provider websockets and delivers each update once, from whichever
+/// provider delivered it first.
+///
+/// Account updates are identified by public key, slot, lamports and a hash of their data, slot updates by slot,
+/// logs by transaction signature and transaction notifications by their first signature. Account and slot updates
+/// older than the most recently delivered update are dropped.
+///
+/// Connecting and closing the composite connects and closes each provider.
+public interface RedundantRpcWebsocket extends SolanaRpcWebsocket {
+
+  /// Number of recent updates remembered per subscription to recognize duplicates.
+  int DEFAULT_DEDUPE_CAPACITY = 4_096;
+
+  static RedundantRpcWebsocket createRedundant(final List<SolanaRpcWebsocket> providers, final int dedupeCapacity) {
+    return new DedupingRpcWebsocket(providers, dedupeCapacity);
+  }
+
+  static RedundantRpcWebsocket createRedundant(final List<SolanaRpcWebsocket> providers) {
+    return createRedundant(providers, DEFAULT_DEDUPE_CAPACITY);
+  }
+
+  /// @return per provider statistics, in the order the providers were given.
+  List<ProviderStats> providerStats();
+}
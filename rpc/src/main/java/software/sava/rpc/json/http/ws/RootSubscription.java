@@ -3,10 +3,14 @@ package software.sava.rpc.json.http.ws;
 import software.sava.core.accounts.PublicKey;
 import software.sava.rpc.json.http.request.Commitment;
 
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.function.Consumer;
 
 class RootSubscription<T> implements Subscription<T> {
 
+  @SuppressWarnings("rawtypes")
+  private static final AtomicLongFieldUpdater<RootSubscription> LAST_SLOT = AtomicLongFieldUpdater.newUpdater(RootSubscription.class, "lastSlot");
+
   protected final Commitment commitment;
   protected final Channel channel;
   protected final String key;
@@ -15,6 +19,8 @@ class RootSubscription<T> implements Subscription<T> {
   protected final Consumer<T> consumer;
   protected volatile long lastAttempt;
   protected volatile long subId;
+  private volatile long lastSlot;
+  private volatile long resyncedSlot;
 
   RootSubscription(final Commitment commitment,
                    final Channel channel,
@@ -28,6 +34,8 @@ class RootSubscription<T> implements Subscription<T> {
     this.msgId = msgId;
     this.msg = msg;
     this.subId = Long.MIN_VALUE;
+    this.lastSlot = -1;
+    this.resyncedSlot = -1;
     this.consumer = consumer;
   }
 
@@ -81,6 +89,51 @@ class RootSubscription<T> implements Subscription<T> {
     this.subId = subId;
   }
 
+  @Override
+  public final long lastSlot() {
+    return lastSlot;
+  }
+
+  @Override
+  public final boolean advanceSlot(final long slot) {
+    if (slot <= resyncedSlot) {
+      return false;
+    }
+    for (; ; ) {
+      final long lastSlot = this.lastSlot;
+      if (slot < lastSlot) {
+        return false;
+      } else if (slot == lastSlot || LAST_SLOT.compareAndSet(this, lastSlot, slot)) {
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public final boolean advanceResyncSlot(final long slot) {
+    for (; ; ) {
+      final long lastSlot = this.lastSlot;
+      if (slot <= lastSlot) {
+        return false;
+      } else if (LAST_SLOT.compareAndSet(this, lastSlot, slot)) {
+        this.resyncedSlot = slot;
+        return true;
+      }
+    }
+  }
+
+  final long resyncedSlot() {
+    return resyncedSlot;
+  }
+
+  /// Skips notifications at or before the slot of resynced state, regardless of what was delivered before it.
+  final void markResynced(final long slot) {
+    if (slot > resyncedSlot) {
+      this.resyncedSlot = slot;
+    }
+    LAST_SLOT.accumulateAndGet(this, slot, Math::max);
+  }
+
   @Override
   public final void accept(final T t) {
     this.consumer.accept(t);
@@ -0,0 +1,109 @@
+package software.sava.rpc.json.http.ws;
+
+import software.sava.rpc.json.http.client.LatencyHistogram;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.WARNING;
+
+/// Message text is only copied for sampled messages which fit within the per second budget.
+final class SampledWebsocketTracer implements WebsocketTracer {
+
+  private static final System.Logger log = System.getLogger(SampledWebsocketTracer.class.getName());
+
+  private static final long ONE_SECOND = 1_000_000_000L;
+
+  private record ChannelCounters(LongAdder numMessages,
+                                 LongAdder numChars,
+                                 LatencyHistogram parseDuration,
+                                 LatencyHistogram dispatchDuration) {
+
+    ChannelCounters() {
+      this(new LongAdder(), new LongAdder(), new LatencyHistogram(), new LatencyHistogram());
+    }
+  }
+
+  private final Consumer<WebsocketTrace> sink;
+  private final int sampleOneIn;
+  private final int maxTracesPerSecond;
+  private final ConcurrentHashMap<String, ChannelCounters> channels;
+  private final AtomicLong sampleCounter;
+  private final AtomicLong windowStart;
+  private final AtomicInteger tracesInWindow;
+
+  SampledWebsocketTracer(final Consumer<WebsocketTrace> sink, final int sampleOneIn, final int maxTracesPerSecond) {
+    this.sink = sink;
+    this.sampleOneIn = Math.max(1, sampleOneIn);
+    this.maxTracesPerSecond = sink == null ? 0 : maxTracesPerSecond;
+    this.channels = new ConcurrentHashMap<>();
+    this.sampleCounter = new AtomicLong();
+    this.windowStart = new AtomicLong(System.nanoTime());
+    this.tracesInWindow = new AtomicInteger();
+  }
+
+  static void log(final WebsocketTrace trace) {
+    log.log(DEBUG, "<- {0} {1} [parse={2,number,integer}ns, dispatch={3,number,integer}ns]: {4}",
+        trace.endpoint(), trace.channel(), trace.parseNanos(), trace.dispatchNanos(), trace.message());
+  }
+
+  private boolean tryAcquire() {
+    final long now = System.nanoTime();
+    final long windowStart = this.windowStart.get();
+    if (now - windowStart >= ONE_SECOND && this.windowStart.compareAndSet(windowStart, now)) {
+      this.tracesInWindow.set(0);
+    }
+    return this.tracesInWindow.incrementAndGet() <= maxTracesPerSecond;
+  }
+
+  @Override
+  public void onMessage(final URI endpoint,
+                        final String channel,
+                        final long subId,
+                        final char[] msg,
+                        final int offset,
+                        final int length,
+                        final long parseNanos,
+                        final long dispatchNanos) {
+    final var channelName = channel == null ? RESPONSE_CHANNEL : channel;
+    var counters = this.channels.get(channelName);
+    if (counters == null) {
+      counters = this.channels.computeIfAbsent(channelName, _ -> new ChannelCounters());
+    }
+    counters.numMessages.increment();
+    counters.numChars.add(length);
+    counters.parseDuration.record(parseNanos);
+    counters.dispatchDuration.record(dispatchNanos);
+
+    if (maxTracesPerSecond > 0 && sampleCounter.incrementAndGet() % sampleOneIn == 0 && tryAcquire()) {
+      final var trace = new WebsocketTrace(
+          endpoint, channelName, subId, new String(msg, offset, length), parseNanos, dispatchNanos
+      );
+      try {
+        sink.accept(trace);
+      } catch (final RuntimeException ex) {
+        log.log(WARNING, "Websocket trace sink failed.", ex);
+      }
+    }
+  }
+
+  @Override
+  public Map<String, WebsocketChannelStats> stats() {
+    final var stats = new TreeMap<String, WebsocketChannelStats>();
+    this.channels.forEach((channel, counters) -> stats.put(channel, new WebsocketChannelStats(
+        channel,
+        counters.numMessages.sum(),
+        counters.numChars.sum(),
+        counters.parseDuration.snapshot(),
+        counters.dispatchDuration.snapshot()
+    )));
+    return stats;
+  }
+}
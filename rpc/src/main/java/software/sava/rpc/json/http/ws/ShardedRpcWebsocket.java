@@ -0,0 +1,398 @@
+package software.sava.rpc.json.http.ws;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.accounts.SolanaAccounts;
+import software.sava.core.accounts.token.TokenAccount;
+import software.sava.core.rpc.Filter;
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.AccountInfo;
+import software.sava.rpc.json.http.response.ProcessedSlot;
+import software.sava.rpc.json.http.response.TransactionNotification;
+import software.sava.rpc.json.http.response.TxLogs;
+import software.sava.rpc.json.http.response.TxResult;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.lang.System.Logger.Level.INFO;
+
+/// Spreads subscriptions across several connections, each of which parses its own messages on its own listener
+/// thread.
+///
+/// New subscriptions are assigned to the connection with the fewest subscriptions. Un-subscriptions may leave the
+/// connections unbalanced, so when a connection re-connects, and therefore has to re-send all of its subscriptions
+/// anyway, its excess subscriptions are first moved to the least loaded connections.
+final class ShardedRpcWebsocket implements SolanaRpcWebsocket {
+
+  private static final System.Logger log = System.getLogger(ShardedRpcWebsocket.class.getName());
+
+  private static final class Registration {
+
+    private final Predicate<SolanaRpcWebsocket> subscribe;
+    private final Predicate<SolanaRpcWebsocket> unsubscribe;
+    private int shard;
+
+    private Registration(final Predicate<SolanaRpcWebsocket> subscribe,
+                         final Predicate<SolanaRpcWebsocket> unsubscribe) {
+      this.subscribe = subscribe;
+      this.unsubscribe = unsubscribe;
+    }
+  }
+
+  private final SolanaAccounts solanaAccounts;
+  private final Commitment defaultCommitment;
+  private final SolanaRpcWebsocket[] shards;
+  private final int[] load;
+  private final Map<String, Registration> registrations;
+
+  ShardedRpcWebsocket(final SolanaAccounts solanaAccounts,
+                      final Commitment defaultCommitment,
+                      final int numShards,
+                      final Function<Runnable, SolanaRpcWebsocket> shardFactory) {
+    this.solanaAccounts = solanaAccounts;
+    this.defaultCommitment = defaultCommitment;
+    this.shards = new SolanaRpcWebsocket[numShards];
+    this.load = new int[numShards];
+    this.registrations = new HashMap<>();
+    for (int i = 0; i < numShards; ++i) {
+      final int shard = i;
+      this.shards[i] = shardFactory.apply(() -> rebalance(shard));
+    }
+  }
+
+  private int leastLoaded(final int exclude) {
+    int min = exclude == 0 ? 1 : 0;
+    for (int i = min + 1; i < load.length; ++i) {
+      if (i != exclude && load[i] < load[min]) {
+        min = i;
+      }
+    }
+    return min;
+  }
+
+  private synchronized boolean subscribe(final String key,
+                                         final Predicate<SolanaRpcWebsocket> subscribe,
+                                         final Predicate<SolanaRpcWebsocket> unsubscribe) {
+    if (registrations.containsKey(key)) {
+      return false;
+    }
+    final var registration = new Registration(subscribe, unsubscribe);
+    final int shard = leastLoaded(-1);
+    if (subscribe.test(shards[shard])) {
+      registration.shard = shard;
+      registrations.put(key, registration);
+      ++load[shard];
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  private synchronized boolean unsubscribe(final String key) {
+    final var registration = registrations.remove(key);
+    if (registration == null) {
+      return false;
+    } else {
+      --load[registration.shard];
+      return registration.unsubscribe.test(shards[registration.shard]);
+    }
+  }
+
+  private synchronized void rebalance(final int shard) {
+    final int target = (registrations.size() + shards.length - 1) / shards.length;
+    int excess = load[shard] - target;
+    if (excess <= Math.max(1, target >> 3)) {
+      return;
+    }
+    final var from = shards[shard];
+    log.log(INFO, "Moving {0} subscriptions off of re-connected shard {1}.", excess, shard);
+    for (final var registration : registrations.values()) {
+      if (registration.shard == shard) {
+        final int to = leastLoaded(shard);
+        registration.unsubscribe.test(from);
+        registration.subscribe.test(shards[to]);
+        registration.shard = to;
+        --load[shard];
+        ++load[to];
+        if (--excess == 0) {
+          return;
+        }
+      }
+    }
+  }
+
+  private static String key(final Channel channel, final Commitment commitment, final String key) {
+    return channel.name() + ':' + commitment + ':' + key;
+  }
+
+  /// Number of subscriptions assigned to each connection.
+  synchronized int[] load() {
+    return load.clone();
+  }
+
+  @Override
+  public void connect() {
+    for (final var shard : shards) {
+      shard.connect();
+    }
+  }
+
+  @Override
+  public void exceptionSubscribe(final Consumer<RuntimeException> consumer) {
+    for (final var shard : shards) {
+      shard.exceptionSubscribe(consumer);
+    }
+  }
+
+  @Override
+  public boolean accountSubscribe(final PublicKey key, final Consumer<AccountInfo<byte[]>> consumer) {
+    return accountSubscribe(defaultCommitment, key, consumer);
+  }
+
+  @Override
+  public boolean accountSubscribe(final Commitment commitment,
+                                  final PublicKey key,
+                                  final Consumer<AccountInfo<byte[]>> consumer) {
+    return subscribe(
+        key(Channel.account, commitment, key.toBase58()),
+        ws -> ws.accountSubscribe(commitment, key, consumer),
+        ws -> ws.accountUnsubscribe(commitment, key)
+    );
+  }
+
+  @Override
+  public boolean accountUnsubscribe(final PublicKey key) {
+    return accountUnsubscribe(defaultCommitment, key);
+  }
+
+  @Override
+  public boolean accountUnsubscribe(final Commitment commitment, final PublicKey key) {
+    return unsubscribe(key(Channel.account, commitment, key.toBase58()));
+  }
+
+  @Override
+  public boolean logsSubscribe(final PublicKey key, final Consumer<TxLogs> consumer) {
+    return logsSubscribe(defaultCommitment, key, consumer);
+  }
+
+  @Override
+  public boolean logsSubscribe(final Commitment commitment, final PublicKey key, final Consumer<TxLogs> consumer) {
+    return subscribe(
+        key(Channel.logs, commitment, key.toBase58()),
+        ws -> ws.logsSubscribe(commitment, key, consumer),
+        ws -> ws.logsUnsubscribe(commitment, key)
+    );
+  }
+
+  @Override
+  public boolean logsUnsubscribe(final PublicKey key) {
+    return logsUnsubscribe(defaultCommitment, key);
+  }
+
+  @Override
+  public boolean logsUnsubscribe(final Commitment commitment, final PublicKey key) {
+    return unsubscribe(key(Channel.logs, commitment, key.toBase58()));
+  }
+
+  @Override
+  public boolean signatureSubscribe(final String b58TxSig, final Consumer<TxResult> consumer) {
+    return signatureSubscribe(defaultCommitment, b58TxSig, consumer);
+  }
+
+  @Override
+  public boolean signatureSubscribe(final String b58TxSig,
+                                    final boolean enableReceivedNotification,
+                                    final Consumer<TxResult> consumer) {
+    return signatureSubscribe(defaultCommitment, enableReceivedNotification, b58TxSig, consumer);
+  }
+
+  @Override
+  public boolean signatureSubscribe(final Commitment commitment,
+                                    final boolean enableReceivedNotification,
+                                    final String b58TxSig,
+                                    final Consumer<TxResult> consumer) {
+    return subscribe(
+        key(Channel.signature, commitment, b58TxSig),
+        ws -> ws.signatureSubscribe(commitment, enableReceivedNotification, b58TxSig, consumer),
+        ws -> ws.signatureUnsubscribe(commitment, b58TxSig)
+    );
+  }
+
+  @Override
+  public boolean signatureUnsubscribe(final String b58TxSig) {
+    return signatureUnsubscribe(defaultCommitment, b58TxSig);
+  }
+
+  @Override
+  public boolean signatureUnsubscribe(final Commitment commitment, final String b58TxSig) {
+    return unsubscribe(key(Channel.signature, commitment, b58TxSig));
+  }
+
+  @Override
+  public boolean subscribeToTokenAccount(final PublicKey tokenMint,
+                                         final PublicKey ownerAddress,
+                                         final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return subscribeToTokenAccount(defaultCommitment, tokenMint, ownerAddress, consumer);
+  }
+
+  @Override
+  public boolean subscribeToTokenAccount(final Commitment commitment,
+                                         final PublicKey tokenMint,
+                                         final PublicKey ownerAddress,
+                                         final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return programSubscribe(
+        commitment,
+        solanaAccounts.tokenProgram(),
+        List.of(
+            TokenAccount.TOKEN_ACCOUNT_SIZE_FILTER,
+            TokenAccount.createMintFilter(tokenMint),
+            TokenAccount.createOwnerFilter(ownerAddress)
+        ),
+        consumer
+    );
+  }
+
+  @Override
+  public boolean subscribeToTokenAccounts(final PublicKey ownerAddress,
+                                          final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return subscribeToTokenAccounts(defaultCommitment, ownerAddress, consumer);
+  }
+
+  @Override
+  public boolean subscribeToTokenAccounts(final Commitment commitment,
+                                          final PublicKey ownerAddress,
+                                          final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return programSubscribe(
+        commitment,
+        solanaAccounts.tokenProgram(),
+        List.of(
+            TokenAccount.TOKEN_ACCOUNT_SIZE_FILTER,
+            TokenAccount.createOwnerFilter(ownerAddress)
+        ),
+        consumer
+    );
+  }
+
+  @Override
+  public boolean programSubscribe(final PublicKey program,
+                                  final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return programSubscribe(defaultCommitment, program, List.of(), consumer);
+  }
+
+  @Override
+  public boolean programSubscribe(final PublicKey program,
+                                  final List<Filter> filters,
+                                  final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return programSubscribe(defaultCommitment, program, filters, consumer);
+  }
+
+  @Override
+  public boolean programSubscribe(final Commitment commitment,
+                                  final PublicKey program,
+                                  final List<Filter> filters,
+                                  final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    return subscribe(
+        key(Channel.program, commitment, program.toBase58()),
+        ws -> ws.programSubscribe(commitment, program, filters, consumer),
+        ws -> ws.programUnsubscribe(commitment, program)
+    );
+  }
+
+  @Override
+  public boolean programUnsubscribe(final PublicKey program) {
+    return programUnsubscribe(defaultCommitment, program);
+  }
+
+  @Override
+  public boolean programUnsubscribe(final Commitment commitment, final PublicKey program) {
+    return unsubscribe(key(Channel.program, commitment, program.toBase58()));
+  }
+
+  private static String transactionKey(final Commitment commitment,
+                                       final boolean vote,
+                                       final boolean failed,
+                                       final Collection<PublicKey> accountInclude,
+                                       final Collection<PublicKey> accountExclude,
+                                       final Collection<PublicKey> accountRequired,
+                                       final boolean showRewards) {
+    return key(Channel.transaction, commitment, String.valueOf(vote) + failed + accountInclude + accountExclude + accountRequired + showRewards);
+  }
+
+  @Override
+  public boolean transactionSubscribe(final Collection<PublicKey> accountInclude,
+                                      final Collection<PublicKey> accountExclude,
+                                      final Consumer<TransactionNotification> consumer) {
+    return transactionSubscribe(defaultCommitment, false, false, accountInclude, accountExclude, null, false, consumer);
+  }
+
+  @Override
+  public boolean transactionSubscribe(final Commitment commitment,
+                                      final boolean vote,
+                                      final boolean failed,
+                                      final Collection<PublicKey> accountInclude,
+                                      final Collection<PublicKey> accountExclude,
+                                      final Collection<PublicKey> accountRequired,
+                                      final boolean showRewards,
+                                      final Consumer<TransactionNotification> consumer) {
+    return subscribe(
+        transactionKey(commitment, vote, failed, accountInclude, accountExclude, accountRequired, showRewards),
+        ws -> ws.transactionSubscribe(commitment, vote, failed, accountInclude, accountExclude, accountRequired, showRewards, consumer),
+        ws -> ws.transactionUnsubscribe(commitment, vote, failed, accountInclude, accountExclude, accountRequired, showRewards)
+    );
+  }
+
+  @Override
+  public boolean transactionUnsubscribe(final Collection<PublicKey> accountInclude,
+                                        final Collection<PublicKey> accountExclude) {
+    return transactionUnsubscribe(defaultCommitment, false, false, accountInclude, accountExclude, null, false);
+  }
+
+  @Override
+  public boolean transactionUnsubscribe(final Commitment commitment,
+                                        final boolean vote,
+                                        final boolean failed,
+                                        final Collection<PublicKey> accountInclude,
+                                        final Collection<PublicKey> accountExclude,
+                                        final Collection<PublicKey> accountRequired,
+                                        final boolean showRewards) {
+    return unsubscribe(transactionKey(commitment, vote, failed, accountInclude, accountExclude, accountRequired, showRewards));
+  }
+
+  @Override
+  public boolean slotSubscribe(final Consumer<ProcessedSlot> consumer) {
+    return subscribe(
+        Channel.slot.name(),
+        ws -> ws.slotSubscribe(consumer),
+        SolanaRpcWebsocket::slotUnsubscribe
+    );
+  }
+
+  @Override
+  public boolean slotUnsubscribe() {
+    return unsubscribe(Channel.slot.name());
+  }
+
+  @Override
+  public void close() {
+    for (final var shard : shards) {
+      shard.close();
+    }
+    synchronized (this) {
+      registrations.clear();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ShardedRpcWebsocket{" +
+        "numShards=" + shards.length +
+        ", load=" + Arrays.toString(load()) +
+        '}';
+  }
+}
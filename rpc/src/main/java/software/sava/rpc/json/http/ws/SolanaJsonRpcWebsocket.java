@@ -1,23 +1,24 @@
 package software.sava.rpc.json.http.ws;
 
+import jdk.jfr.EventType;
 import software.sava.core.accounts.PublicKey;
 import software.sava.core.accounts.SolanaAccounts;
 import software.sava.core.accounts.token.TokenAccount;
 import software.sava.core.rpc.Filter;
+import software.sava.rpc.json.http.client.SolanaRpcClient;
 import software.sava.rpc.json.http.request.Commitment;
-import software.sava.rpc.json.http.request.TransactionDetails;
 import software.sava.rpc.json.http.response.*;
 import systems.comodal.jsoniter.CharBufferFunction;
 import systems.comodal.jsoniter.JsonIterator;
 
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.WebSocket;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.util.*;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
@@ -27,68 +28,98 @@ import java.util.function.Function;
 
 import static java.lang.System.Logger.Level.*;
 import static java.nio.charset.StandardCharsets.ISO_8859_1;
-import static java.util.concurrent.TimeUnit.HOURS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.joining;
-import static software.sava.rpc.json.http.response.AccountInfo.BYTES_IDENTITY;
+import static software.sava.rpc.json.http.client.SolanaRpcClient.MAX_MULTIPLE_ACCOUNTS;
 import static systems.comodal.jsoniter.JsonIterator.fieldEquals;
 
 final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebsocket {
 
   private static final System.Logger log = System.getLogger(SolanaJsonRpcWebsocket.class.getName());
+  private static final EventType WEBSOCKET_MESSAGE_EVENT = EventType.getEventType(WebsocketMessageEvent.class);
+
+  private static final int INITIAL_BUFFER_CAPACITY = 4_096;
+  // Number of consecutive messages which fit in a quarter of an enlarged buffer before it is released.
+  private static final int SHRINK_AFTER_MESSAGES = 256;
+  private static final byte[] RESYNC_PING = "resync".getBytes(ISO_8859_1);
 
   private final URI wsUri;
   private final SolanaAccounts solanaAccounts;
   private final Commitment defaultCommitment;
   private final Timings timings;
+  private final DispatchConfig dispatchConfig;
+  private final SolanaRpcClient resyncClient;
+  private final WebsocketTracer tracer;
+  private final SubscriptionPacer subscriptionPacer;
+  private final Runnable onConnect;
   private final WebSocket.Builder webSocketBuilder;
   private final ScheduledExecutorService executorService;
   private final AtomicLong msgId;
-  private final Map<Long, Subscription<?>> pendingSubscriptions;
-  private final Map<Long, String> pendingUnsubscriptions;
+  private final ConcurrentLongMap<Subscription<?>> pendingSubscriptions;
+  private final ConcurrentLongMap<String> pendingUnsubscriptions;
   private final Map<String, Map<Commitment, Subscription<AccountInfo<byte[]>>>> accountSubs;
   private final Map<String, Map<Commitment, Subscription<TxLogs>>> txLogSubs;
   private final Map<String, Map<Commitment, Subscription<TxResult>>> signatureSubs;
-  private final Map<String, Map<Commitment, Subscription<TxResult>>> transactionSubs;
-  private final Map<String, Map<Commitment, Subscription<Map<PublicKey, AccountInfo<byte[]>>>>> programSubs;
+  private final Map<String, Map<Commitment, Subscription<TransactionNotification>>> transactionSubs;
+  private final Map<String, Map<Commitment, Subscription<AccountInfo<byte[]>>>> programSubs;
   private final Set<Consumer<RuntimeException>> exceptionSubs;
   private final AtomicReference<Subscription<ProcessedSlot>> slotSub;
-  private final Map<Long, Subscription<?>> subscriptionsBySubId;
+  private final ConcurrentLongMap<Subscription<?>> subscriptionsBySubId;
+  private final ConcurrentLinkedQueue<Runnable> resyncResults;
+  // Confined to the listener thread.
+  private final EnumMap<Commitment, List<PublicKey>> accountResyncBatches;
+  private boolean resyncOnConfirmation;
 
   private final AtomicLong lastOutGoing;
   // private volatile long lastIncoming; // TODO: if more than N seconds send close.
   private volatile WebSocket webSocket;
+  private volatile boolean connected;
+  private volatile SubscriptionCoverageEvent coverageEvent;
+  private volatile long connectedAt;
 
   private char[] buffer;
   private int offset;
+  private int numSmallMessages;
   private final JsonIterator ji;
 
   SolanaJsonRpcWebsocket(final URI wsUri,
                          final SolanaAccounts solanaAccounts,
                          final Commitment defaultCommitment,
                          final WebSocket.Builder webSocketBuilder,
-                         final Timings timings) {
+                         final Timings timings,
+                         final DispatchConfig dispatchConfig,
+                         final SubscriptionPacer subscriptionPacer,
+                         final SolanaRpcClient resyncClient,
+                         final WebsocketTracer tracer,
+                         final Runnable onConnect) {
     this.wsUri = wsUri;
     this.solanaAccounts = solanaAccounts;
     this.defaultCommitment = defaultCommitment;
     this.timings = timings;
+    this.dispatchConfig = dispatchConfig;
+    this.subscriptionPacer = subscriptionPacer;
+    this.resyncClient = resyncClient;
+    this.tracer = tracer;
+    this.onConnect = onConnect;
     this.webSocketBuilder = webSocketBuilder;
     this.msgId = new AtomicLong(1);
     this.lastOutGoing = new AtomicLong(0);
-    this.pendingSubscriptions = new ConcurrentSkipListMap<>();
-    this.pendingUnsubscriptions = new ConcurrentSkipListMap<>();
-    this.accountSubs = new ConcurrentSkipListMap<>();
-    this.txLogSubs = new ConcurrentSkipListMap<>();
-    this.signatureSubs = new ConcurrentSkipListMap<>();
-    this.transactionSubs = new ConcurrentSkipListMap<>();
-    this.programSubs = new ConcurrentSkipListMap<>();
+    this.pendingSubscriptions = new ConcurrentLongMap<>();
+    this.pendingUnsubscriptions = new ConcurrentLongMap<>();
+    this.accountSubs = new ConcurrentHashMap<>();
+    this.txLogSubs = new ConcurrentHashMap<>();
+    this.signatureSubs = new ConcurrentHashMap<>();
+    this.transactionSubs = new ConcurrentHashMap<>();
+    this.programSubs = new ConcurrentHashMap<>();
     this.slotSub = new AtomicReference<>();
-    this.subscriptionsBySubId = new ConcurrentSkipListMap<>();
+    this.subscriptionsBySubId = new ConcurrentLongMap<>();
+    this.resyncResults = new ConcurrentLinkedQueue<>();
+    this.accountResyncBatches = new EnumMap<>(Commitment.class);
     this.exceptionSubs = HashSet.newHashSet(1);
     this.executorService = Executors.newScheduledThreadPool(1);
     this.executorService.scheduleWithFixedDelay(this::subOrPing,
         timings.subscriptionAndPingCheckDelay() << 1, timings.subscriptionAndPingCheckDelay(), MILLISECONDS);
-    this.buffer = new char[4_096];
+    this.buffer = new char[INITIAL_BUFFER_CAPACITY];
     this.ji = JsonIterator.parse(new byte[0]);
   }
 
@@ -116,12 +147,18 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
     subs.values().stream()
         .map(Map::values)
         .flatMap(Collection::stream)
-        .forEach((Subscription<?> sub) -> this.pendingSubscriptions.put(sub.msgId(), sub));
+        .forEach((Subscription<?> sub) -> {
+          sub.setLastAttempt(0);
+          this.pendingSubscriptions.put(sub.msgId(), sub);
+        });
   }
 
   @Override
   public void onOpen(final WebSocket webSocket) {
     this.offset = 0;
+    if (this.onConnect != null) {
+      this.onConnect.run();
+    }
     this.pendingSubscriptions.clear();
     queuePendingSubsOnOpen(this.accountSubs);
     queuePendingSubsOnOpen(this.txLogSubs);
@@ -130,17 +167,158 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
     queuePendingSubsOnOpen(this.programSubs);
     final var slotSub = this.slotSub.get();
     if (slotSub != null) {
+      slotSub.setLastAttempt(0);
       this.pendingSubscriptions.put(slotSub.msgId(), slotSub);
     }
     this.pendingUnsubscriptions.clear();
     this.subscriptionsBySubId.clear();
+    this.accountResyncBatches.clear();
+    // Subscriptions are re-sent gradually, so each is resynced once confirmed rather than before it is active.
+    this.resyncOnConfirmation = this.connected && this.resyncClient != null && !this.pendingSubscriptions.isEmpty();
+    beginCoverage();
     handlePendingSubscriptions(webSocket);
+    this.connected = true;
     // this.lastIncoming = System.currentTimeMillis();
     webSocket.request(Long.MAX_VALUE);
     this.webSocket = webSocket;
     log.log(INFO, "WebSocket connected to {0}.", wsUri);
   }
 
+  private void beginCoverage() {
+    final int numSubscriptions = this.pendingSubscriptions.size();
+    if (numSubscriptions > 0) {
+      final var event = new SubscriptionCoverageEvent();
+      event.numSubscriptions = numSubscriptions;
+      event.reconnect = this.connected;
+      event.begin();
+      this.connectedAt = System.nanoTime();
+      this.coverageEvent = event;
+    } else {
+      this.coverageEvent = null;
+    }
+  }
+
+  private void endCoverage() {
+    final var event = this.coverageEvent;
+    if (event != null && this.pendingSubscriptions.isEmpty()) {
+      this.coverageEvent = null;
+      final long duration = System.nanoTime() - this.connectedAt;
+      log.log(INFO, "{0} subscriptions to {1} confirmed {2,number,integer}ms after connecting.",
+          event.numSubscriptions, wsUri, duration / 1_000_000);
+      event.end();
+      if (event.shouldCommit()) {
+        event.endpoint = wsUri.toString();
+        event.commit();
+      }
+    }
+  }
+
+  private static <T> void emitIfNewer(final Subscription<T> sub, final long slot, final T item) {
+    if (sub.advanceResyncSlot(slot)) {
+      sub.accept(item);
+    }
+  }
+
+  /// Hands a resync result to the listener thread so that it is applied in order with notifications. A ping prompts the
+  /// listener to drain the results even if the connection is otherwise idle.
+  private void queueResyncResult(final Runnable result) {
+    this.resyncResults.add(result);
+    final var webSocket = this.webSocket;
+    if (webSocket != null) {
+      webSocket.sendPing(ByteBuffer.wrap(RESYNC_PING)).whenComplete((_, throwable) -> {
+        if (throwable != null) { // Likely an outstanding ping, whose pong will drain the results as well.
+          log.log(DEBUG, "Failed to ping {0} after a resync: {1}", this.wsUri, throwable.getMessage());
+        }
+      });
+    }
+  }
+
+  private void applyResyncResults() {
+    for (Runnable result; (result = this.resyncResults.poll()) != null; ) {
+      try {
+        result.run();
+      } catch (final RuntimeException ex) {
+        log.log(WARNING, "Failed to apply resync result.", ex);
+      }
+    }
+  }
+
+  /// Fetches the current state of a re-confirmed account or program subscription to cover notifications missed while
+  /// disconnected. Only state newer than what has already been delivered to the subscription is emitted, from the
+  /// listener thread.
+  ///
+  /// Account subscriptions are batched per commitment, see [#flushAccountResyncs()].
+  private void resync(final Subscription<?> sub) {
+    if (sub.channel() == Channel.account) {
+      final var keys = this.accountResyncBatches.computeIfAbsent(sub.commitment(), _ -> new ArrayList<>());
+      keys.add(sub.publicKey());
+      if (keys.size() >= MAX_MULTIPLE_ACCOUNTS) {
+        this.accountResyncBatches.remove(sub.commitment());
+        resyncAccounts(sub.commitment(), keys);
+      }
+    } else if (sub instanceof ProgramSubscription<?> programSub) {
+      resyncProgram(programSub);
+    }
+  }
+
+  /// Resyncs partially filled account batches, once every subscription has been confirmed.
+  private void flushAccountResyncs() {
+    this.accountResyncBatches.forEach(this::resyncAccounts);
+    this.accountResyncBatches.clear();
+  }
+
+  private void resyncAccounts(final Commitment commitment, final List<PublicKey> keys) {
+    this.resyncClient.getMultipleAccounts(commitment, keys).whenComplete((accounts, throwable) -> {
+      if (throwable != null) {
+        log.log(WARNING, String.format("Failed to resync %d account subscriptions.", keys.size()), throwable);
+      } else {
+        queueResyncResult(() -> {
+          for (final var account : accounts) {
+            final var commitmentSubs = this.accountSubs.get(account.pubKey().toBase58());
+            final var sub = commitmentSubs == null ? null : commitmentSubs.get(commitment);
+            if (sub != null) {
+              emitIfNewer(sub, account.context().slot(), account);
+            }
+          }
+        });
+      }
+    });
+  }
+
+  private void resyncProgram(final ProgramSubscription<?> programSub) {
+    final long changedSinceSlot = programSub.lastSlot();
+    // Without a delivered slot there is no lower bound to request changes from.
+    if (changedSinceSlot < 0) {
+      return;
+    }
+    @SuppressWarnings("unchecked") final var sub = (Subscription<AccountInfo<byte[]>>) programSub;
+    programSub.beginResync();
+    this.resyncClient.getProgramAccounts(
+        programSub.publicKey(), sub.commitment(), programSub.filters(), changedSinceSlot
+    ).whenComplete((accounts, throwable) -> {
+      if (throwable != null) {
+        log.log(WARNING, String.format("Failed to resync program subscription %s.", sub.key()), throwable);
+        queueResyncResult(() -> programSub.endResync(-1));
+      } else {
+        queueResyncResult(() -> {
+          final long slot = accounts.isEmpty() ? -1 : accounts.getFirst().context().slot();
+          // A resync started after a later reconnect may have already delivered newer state.
+          if (slot > changedSinceSlot && slot > programSub.resyncedSlot()) {
+            for (final var account : accounts) {
+              // Skip accounts for which a notification at or after the resync slot was already delivered.
+              if (programSub.isResyncNewer(account.pubKey(), slot)) {
+                sub.accept(account);
+              }
+            }
+            programSub.endResync(slot);
+          } else {
+            programSub.endResync(-1);
+          }
+        });
+      }
+    });
+  }
+
   private static String createSubscriptionMsg(final long msgId,
                                               final Channel channel,
                                               final String params) {
@@ -155,8 +333,11 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
                                         final Map<String, Map<Commitment, Subscription<T>>> subs,
                                         final Consumer<T> consumer) {
     final long msgId = this.msgId.incrementAndGet();
+    if (msgId < 0) { // Closed.
+      return false;
+    }
     final var msg = createSubscriptionMsg(msgId, channel, params);
-    final var sub = Subscription.createSubscription(commitment, channel, key, msgId, msg, consumer);
+    final var sub = Subscription.createSubscription(commitment, channel, key, msgId, msg, dispatchConfig.wrap(channel, consumer));
     final var duplicate = subs.computeIfAbsent(sub.key(), _ -> new EnumMap<>(Commitment.class)).putIfAbsent(commitment, sub);
     if (duplicate == null) {
       this.pendingSubscriptions.put(msgId, sub);
@@ -174,8 +355,11 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
                                         final Map<String, Map<Commitment, Subscription<T>>> subs,
                                         final Consumer<T> consumer) {
     final long msgId = this.msgId.incrementAndGet();
+    if (msgId < 0) { // Closed.
+      return false;
+    }
     final var msg = createSubscriptionMsg(msgId, channel, params);
-    final var sub = Subscription.createAccountSubscription(commitment, channel, publicKey, msgId, msg, consumer);
+    final var sub = Subscription.createAccountSubscription(commitment, channel, publicKey, msgId, msg, dispatchConfig.wrap(channel, consumer));
     final var duplicate = subs.computeIfAbsent(sub.key(), _ -> new EnumMap<>(Commitment.class)).putIfAbsent(commitment, sub);
     if (duplicate == null) {
       this.pendingSubscriptions.put(msgId, sub);
@@ -199,11 +383,8 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
   private boolean removeDanglingSub(final String key,
                                     final Channel channel,
                                     final Commitment commitment) {
-    final var iterator = this.subscriptionsBySubId.entrySet().iterator();
-    while (iterator.hasNext()) {
-      final var activeSub = iterator.next().getValue();
+    for (final var activeSub : this.subscriptionsBySubId.values()) {
       if (activeSub.channel() == channel && activeSub.commitment() == commitment && activeSub.key().equals(key)) {
-        iterator.remove();
         this.queueUnsubscribe(activeSub);
         return true;
       }
@@ -395,12 +576,33 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
       final var params = String.format("""
               "%s",{"commitment":"%s","encoding":"base64"%s}""",
           program, commitment.getValue(), filtersJson);
-      return queueSubscription(commitment, Channel.program, program, params, this.programSubs, consumer);
+      final long msgId = this.msgId.incrementAndGet();
+      if (msgId < 0) { // Closed.
+        return false;
+      }
+      final var msg = createSubscriptionMsg(msgId, Channel.program, params);
+      final var programSub = Subscription.createProgramSubscription(
+          commitment, program, filters, msgId, msg, programConsumer(consumer)
+      );
+      final var duplicate = this.programSubs.computeIfAbsent(programSub.key(), _ -> new EnumMap<>(Commitment.class))
+          .putIfAbsent(commitment, programSub);
+      if (duplicate == null) {
+        this.pendingSubscriptions.put(msgId, programSub);
+        return true;
+      } else {
+        return false;
+      }
     } else {
       return false;
     }
   }
 
+  /// Each program notification carries a single account, which is delivered as a single entry map.
+  private Consumer<AccountInfo<byte[]>> programConsumer(final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    final Consumer<AccountInfo<byte[]>> accountConsumer = accountInfo -> consumer.accept(Map.of(accountInfo.pubKey(), accountInfo));
+    return consumer instanceof Dispatcher<?> ? accountConsumer : dispatchConfig.wrap(Channel.program, accountConsumer);
+  }
+
   @Override
   public boolean programUnsubscribe(final PublicKey program) {
     return programUnsubscribe(this.defaultCommitment, program);
@@ -411,16 +613,13 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
     return queueUnsubscribe(program.toBase58(), Channel.program, commitment, this.programSubs);
   }
 
-  /// Only supported by Helius on a Business or Professional plan
-  private boolean transactionSubscribe(final Commitment commitment,
-                                       final boolean vote,
-                                       final boolean failed,
-                                       final Collection<PublicKey> accountInclude,
-                                       final Collection<PublicKey> accountExclude,
-                                       final Collection<PublicKey> accountRequired,
-                                       final TransactionDetails transactionDetails,
-                                       final boolean showRewards,
-                                       final Consumer<TxResult> consumer) {
+  private static String transactionParams(final Commitment commitment,
+                                          final boolean vote,
+                                          final boolean failed,
+                                          final Collection<PublicKey> accountInclude,
+                                          final Collection<PublicKey> accountExclude,
+                                          final Collection<PublicKey> accountRequired,
+                                          final boolean showRewards) {
     final var includes = accountInclude == null || accountInclude.isEmpty()
         ? ""
         : accountInclude.stream()
@@ -439,17 +638,35 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
         .map(PublicKey::toBase58)
         .collect(joining("\",\"", ",\"accountRequired\":[\"", "\"]"));
 
-    final var params = String.format("""
-            {"vote":%b,"failed":%b%s%s%s},{"commitment":"%s","encoding":"base64","transactionDetails":"%s","showRewards":%b,"maxSupportedTransactionVersion":0}""",
+    return String.format("""
+            {"vote":%b,"failed":%b%s%s%s},{"commitment":"%s","encoding":"base64","transactionDetails":"full","showRewards":%b,"maxSupportedTransactionVersion":0}""",
         vote,
         failed,
         includes,
         excludes,
         required,
         commitment.getValue(),
-        transactionDetails,
         showRewards
     );
+  }
+
+  @Override
+  public boolean transactionSubscribe(final Collection<PublicKey> accountInclude,
+                                      final Collection<PublicKey> accountExclude,
+                                      final Consumer<TransactionNotification> consumer) {
+    return transactionSubscribe(this.defaultCommitment, false, false, accountInclude, accountExclude, null, false, consumer);
+  }
+
+  @Override
+  public boolean transactionSubscribe(final Commitment commitment,
+                                      final boolean vote,
+                                      final boolean failed,
+                                      final Collection<PublicKey> accountInclude,
+                                      final Collection<PublicKey> accountExclude,
+                                      final Collection<PublicKey> accountRequired,
+                                      final boolean showRewards,
+                                      final Consumer<TransactionNotification> consumer) {
+    final var params = transactionParams(commitment, vote, failed, accountInclude, accountExclude, accountRequired, showRewards);
     final var sub = this.transactionSubs.get(params);
     if (sub == null) {
       return queueSubscription(commitment, Channel.transaction, params, params, this.transactionSubs, consumer);
@@ -458,12 +675,33 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
     }
   }
 
+  @Override
+  public boolean transactionUnsubscribe(final Collection<PublicKey> accountInclude,
+                                        final Collection<PublicKey> accountExclude) {
+    return transactionUnsubscribe(this.defaultCommitment, false, false, accountInclude, accountExclude, null, false);
+  }
+
+  @Override
+  public boolean transactionUnsubscribe(final Commitment commitment,
+                                        final boolean vote,
+                                        final boolean failed,
+                                        final Collection<PublicKey> accountInclude,
+                                        final Collection<PublicKey> accountExclude,
+                                        final Collection<PublicKey> accountRequired,
+                                        final boolean showRewards) {
+    final var params = transactionParams(commitment, vote, failed, accountInclude, accountExclude, accountRequired, showRewards);
+    return queueUnsubscribe(params, Channel.transaction, commitment, this.transactionSubs);
+  }
+
   @Override
   public boolean slotSubscribe(final Consumer<ProcessedSlot> consumer) {
     final long msgId = this.msgId.incrementAndGet();
+    if (msgId < 0) { // Closed.
+      return false;
+    }
     final var msg = String.format("""
         {"jsonrpc":"2.0","id":%d,"method":"%s"}""", msgId, Channel.slot.subscribe());
-    final var slotSub = Subscription.createSubscription(null, Channel.slot, Channel.slot.name(), msgId, msg, consumer);
+    final var slotSub = Subscription.createSubscription(null, Channel.slot, Channel.slot.name(), msgId, msg, dispatchConfig.wrap(Channel.slot, consumer));
     if (this.slotSub.compareAndSet(null, slotSub)) {
       this.pendingSubscriptions.put(msgId, slotSub);
       return true;
@@ -523,7 +761,9 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
                            final Channel channel,
                            final JsonIterator ji,
                            final int paramsMark,
-                           final T item) {
+                           final long slot,
+                           final T item,
+                           final WebsocketMessageEvent event) {
     ji.skipRestOfObject();
     if (ji.skipUntil("subscription") == null) {
       ji.reset(paramsMark).skipUntil("subscription");
@@ -532,8 +772,13 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
     @SuppressWarnings("unchecked") final var sub = ((Subscription<T>) this.subscriptionsBySubId.get(subId));
     if (sub == null) {
       sendUnSubscription(webSocket, channel, subId);
+    } else if (sub instanceof ProgramSubscription<T> programSub) {
+      if (programSub.advanceAccountSlot(((AccountInfo<?>) item).pubKey(), slot)) {
+        WebsocketMessageEvent.dispatch(event, channel, subId, sub, item);
+      }
     } else {
-      sub.accept(item);
+      sub.advanceSlot(slot);
+      WebsocketMessageEvent.dispatch(event, channel, subId, sub, item);
     }
   }
 
@@ -541,7 +786,9 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
                            final Channel channel,
                            final JsonIterator ji,
                            final int paramsMark,
-                           final Function<Subscription<T>, T> factory) {
+                           final long slot,
+                           final Function<Subscription<T>, T> factory,
+                           final WebsocketMessageEvent event) {
     final int mark = ji.mark();
     ji.skipRestOfObject();
     if (ji.skipUntil("subscription") == null) {
@@ -551,9 +798,9 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
     @SuppressWarnings("unchecked") final var sub = ((Subscription<T>) this.subscriptionsBySubId.get(subId));
     if (sub == null) {
       sendUnSubscription(webSocket, channel, subId);
-    } else {
+    } else if (sub.advanceSlot(slot)) { // Skip account state older than what a resync already delivered.
       ji.reset(mark);
-      sub.accept(factory.apply(sub));
+      WebsocketMessageEvent.dispatch(event, channel, subId, sub, factory.apply(sub));
     }
   }
 
@@ -562,7 +809,36 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
                               final int tail,
                               final JsonIterator ji,
                               final WebSocket webSocket) {
-    System.out.format("<- %s%n", new String(msg, offset, tail - offset));
+    applyResyncResults();
+    final var tracer = this.tracer;
+    if (tracer != null || WEBSOCKET_MESSAGE_EVENT.isEnabled()) {
+      final var event = new WebsocketMessageEvent();
+      event.timeDispatch = tracer != null;
+      event.begin();
+      final long start = System.nanoTime();
+      onWholeMessage(msg, offset, tail, ji, webSocket, event);
+      final long parseDuration = System.nanoTime() - start - event.dispatchDuration;
+      event.end();
+      if (tracer != null) {
+        tracer.onMessage(wsUri, event.channel, event.subId, msg, offset, tail - offset, parseDuration, event.dispatchDuration);
+      }
+      if (event.shouldCommit()) {
+        event.endpoint = wsUri.toString();
+        event.messageLength = tail - offset;
+        event.parseDuration = parseDuration;
+        event.commit();
+      }
+    } else {
+      onWholeMessage(msg, offset, tail, ji, webSocket, null);
+    }
+  }
+
+  private void onWholeMessage(final char[] msg,
+                              final int offset,
+                              final int tail,
+                              final JsonIterator ji,
+                              final WebSocket webSocket,
+                              final WebsocketMessageEvent event) {
     try {
       if (ji.skipUntil("method") == null) {
         if (ji.reset(offset).skipUntil("error") != null) {
@@ -580,6 +856,16 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
             if (pendingSub != null) {
               pendingSub.setSubId(sub.subId());
               this.subscriptionsBySubId.put(sub.subId(), pendingSub);
+              if (this.resyncOnConfirmation) {
+                resync(pendingSub);
+                if (this.pendingSubscriptions.isEmpty()) {
+                  this.resyncOnConfirmation = false;
+                  flushAccountResyncs();
+                }
+              }
+              endCoverage();
+              // Confirmation frees an in-flight slot.
+              handlePendingSubscriptions(webSocket);
             }
           } else if (sub.jsonRpcException() != null) {
             if (sub.jsonRpcException().code() != -32602) {  // May happen due to stale/duplicate un-subscription requests.
@@ -599,16 +885,23 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
             } else {
               ji.skipUntil("result");
               final var slot = ProcessedSlot.parse(ji);
-              slotSub.accept(slot);
+              WebsocketMessageEvent.dispatch(event, channel, 0, slotSub, slot);
             }
           } else {
-            log.log(DEBUG, () -> new String(msg, offset, tail - offset));
             final int paramsMark = ji.mark();
             ji.skipUntil("result");
             if (channel == Channel.transaction) {
-              ji.skipUntil("transaction");
-
-
+              final var notification = TransactionNotification.parse(ji);
+              if (ji.skipUntil("subscription") == null) {
+                ji.reset(paramsMark).skipUntil("subscription");
+              }
+              final long subId = ji.readLong();
+              @SuppressWarnings("unchecked") final var sub = (Subscription<TransactionNotification>) this.subscriptionsBySubId.get(subId);
+              if (sub == null) {
+                sendUnSubscription(webSocket, channel, subId);
+              } else {
+                WebsocketMessageEvent.dispatch(event, channel, subId, sub, notification);
+              }
             } else {
               final int resultMark = ji.mark();
               ji.skipUntil("context");
@@ -618,10 +911,10 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
               }
               switch (channel) {
                 case account ->
-                    publish(webSocket, channel, ji, paramsMark, sub -> AccountInfo.parse(sub.publicKey(), ji, context, AccountInfo.BYTES_IDENTITY));
-                case logs -> publish(webSocket, channel, ji, paramsMark, TxLogs.parse(ji, context));
+                    publish(webSocket, channel, ji, paramsMark, context.slot(), sub -> AccountInfo.parse(sub.publicKey(), ji, context), event);
+                case logs -> publish(webSocket, channel, ji, paramsMark, context.slot(), TxLogs.parse(ji, context), event);
                 case program ->
-                    publish(webSocket, channel, ji, paramsMark, AccountInfo.parseAccount(ji, context, BYTES_IDENTITY));
+                    publish(webSocket, channel, ji, paramsMark, context.slot(), AccountInfo.parseAccount(ji, context), event);
                 case signature -> {
                   final var result = TxResult.parseResult(ji, context);
                   ji.skipRestOfObject();
@@ -634,7 +927,7 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
                     sendUnSubscription(webSocket, channel, subId);
                   } else {
                     if (result != null) {
-                      sub.accept(result);
+                      WebsocketMessageEvent.dispatch(event, channel, subId, sub, result);
                       if (result.value() == null) {
                         this.subscriptionsBySubId.remove(subId);
                       }
@@ -664,6 +957,21 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
     }
   }
 
+  private void releaseOversizedBuffer(final int messageLength) {
+    if (this.buffer.length > INITIAL_BUFFER_CAPACITY) {
+      if (messageLength > (this.buffer.length >> 2)) {
+        this.numSmallMessages = 0;
+      } else if (++this.numSmallMessages >= SHRINK_AFTER_MESSAGES) {
+        this.numSmallMessages = 0;
+        this.buffer = new char[INITIAL_BUFFER_CAPACITY];
+      }
+    }
+  }
+
+  int bufferCapacity() {
+    return this.buffer.length;
+  }
+
   @Override
   public CompletionStage<?> onText(final WebSocket webSocket, final CharSequence message, final boolean last) {
     final var buf = (CharBuffer) message;
@@ -680,6 +988,7 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
         }
         onWholeMessage(this.buffer, 0, to, this.ji.reset(this.buffer, 0, to), webSocket);
         this.offset = 0;
+        releaseOversizedBuffer(to);
       } else {
         if (buf.hasArray()) {
           final int offset = buf.position() + buf.arrayOffset();
@@ -691,6 +1000,7 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
           buf.get(this.buffer, 0, len);
           onWholeMessage(this.buffer, 0, len, this.ji.reset(this.buffer, 0, len), webSocket);
         }
+        releaseOversizedBuffer(len);
       }
     } else {
       ensureCapacity(this.offset + len);
@@ -721,11 +1031,16 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
   }
 
   private boolean noPendingUnSubscriptions(final WebSocket webSocket) {
+    if (this.pendingUnsubscriptions.isEmpty()) {
+      return true;
+    }
     int numUnSubs = 0;
-    final var iterator = this.pendingUnsubscriptions.entrySet().iterator();
-    for (; iterator.hasNext(); ++numUnSubs) {
-      sendText(webSocket, iterator.next().getValue());
-      iterator.remove();
+    for (final long subId : this.pendingUnsubscriptions.keys()) {
+      final var msg = this.pendingUnsubscriptions.remove(subId);
+      if (msg != null) {
+        sendText(webSocket, msg);
+        ++numUnSubs;
+      }
     }
     return numUnSubs <= 0;
   }
@@ -738,14 +1053,9 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
     } else {
       final long now = System.currentTimeMillis();
       final long lastOutGoing = this.lastOutGoing.getAndSet(now);
-      int numSubs = 0;
-      for (final var sub : this.pendingSubscriptions.values()) {
-        if (now - sub.lastAttempt() > this.timings.reConnect()) {
-          sub.setLastAttempt(now);
-          sendText(webSocket, sub.msg());
-          ++numSubs;
-        }
-      }
+      final int numSubs = this.subscriptionPacer.flush(
+          this.pendingSubscriptions.values(), now, sub -> sendText(webSocket, sub.msg())
+      );
       if (noPendingUnSubscriptions(webSocket) && numSubs == 0) {
         if (this.lastOutGoing.compareAndSet(now, lastOutGoing)) {
           sendPing(webSocket);
@@ -760,6 +1070,7 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
     // this.lastIncoming = now;
     this.lastOutGoing.set(now);
     log.log(INFO, new String(message.array()));
+    applyResyncResults();
     handlePendingSubscriptions(webSocket);
     return null;
   }
@@ -767,6 +1078,7 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
   @Override
   public CompletionStage<?> onPong(final WebSocket webSocket, final ByteBuffer message) {
     // this.lastIncoming = System.currentTimeMillis();
+    applyResyncResults();
     handlePendingSubscriptions(webSocket);
     log.log(DEBUG, () -> new String(message.array()));
     return null;
@@ -811,6 +1123,7 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
 
   @Override
   public void close() {
+    // Negative message ids mark the websocket as closed, new subscriptions are rejected thereafter.
     this.msgId.set(Long.MIN_VALUE);
 
     this.executorService.shutdown();
@@ -830,26 +1143,4 @@ final class SolanaJsonRpcWebsocket implements WebSocket.Listener, SolanaRpcWebso
     this.programSubs.clear();
     this.slotSub.set(null);
   }
-
-
-  public static void main(final String[] args) throws InterruptedException {
-    final var meteoraProgramId = PublicKey.fromBase58Encoded("LBUZKhRxPF3XUpBCjp4YzTKgLccjZhTSDM9YuVaPwxo");
-    try (final var executorService = Executors.newVirtualThreadPerTaskExecutor()) {
-      try (final var httpClient = HttpClient.newBuilder().executor(executorService).build()) {
-        final var websocketBuilder = SolanaRpcWebsocket.build();
-        websocketBuilder.uri(URI.create("wss://atlas-mainnet.helius-rpc.com?api-key="));
-        websocketBuilder.webSocketBuilder(httpClient);
-        websocketBuilder.commitment(Commitment.CONFIRMED);
-        final var webSocket = websocketBuilder.create();
-//        webSocket.transactionSubscribe(
-//            Commitment.CONFIRMED,
-//            List.of(), List.of(),
-//            List.of(meteoraProgramId),
-//            result -> System.out.println(result)
-//        );
-        webSocket.connect();
-        HOURS.sleep(1);
-      }
-    }
-  }
 }
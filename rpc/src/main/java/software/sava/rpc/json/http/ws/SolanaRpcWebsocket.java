@@ -4,18 +4,22 @@ import software.sava.core.accounts.PublicKey;
 import software.sava.core.accounts.SolanaAccounts;
 import software.sava.core.rpc.Filter;
 import software.sava.rpc.json.http.SolanaNetwork;
+import software.sava.rpc.json.http.client.SolanaRpcClient;
 import software.sava.rpc.json.http.request.Commitment;
 import software.sava.rpc.json.http.response.AccountInfo;
 import software.sava.rpc.json.http.response.ProcessedSlot;
+import software.sava.rpc.json.http.response.TransactionNotification;
 import software.sava.rpc.json.http.response.TxLogs;
 import software.sava.rpc.json.http.response.TxResult;
 
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.WebSocket;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 public interface SolanaRpcWebsocket extends AutoCloseable {
 
@@ -23,6 +27,17 @@ public interface SolanaRpcWebsocket extends AutoCloseable {
     return new SolanaRpcWebsocketBuilder();
   }
 
+  /// Spreads subscriptions across `numShards` websockets created by `shardFactory`, see [Builder#numShards(int)].
+  ///
+  /// The factory is given a callback which its websocket must run each time it (re)connects, before re-sending its
+  /// subscriptions, so that excess subscriptions may be moved off of it.
+  static SolanaRpcWebsocket createSharded(final SolanaAccounts solanaAccounts,
+                                          final Commitment defaultCommitment,
+                                          final int numShards,
+                                          final Function<Runnable, SolanaRpcWebsocket> shardFactory) {
+    return new ShardedRpcWebsocket(solanaAccounts, defaultCommitment, numShards, shardFactory);
+  }
+
   void connect();
 
   void exceptionSubscribe(final Consumer<RuntimeException> consumer);
@@ -84,6 +99,7 @@ public interface SolanaRpcWebsocket extends AutoCloseable {
                                    final PublicKey ownerAddress,
                                    final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer);
 
+  /// Each notification is delivered as a single entry map of the updated account.
   boolean programSubscribe(final PublicKey program, final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer);
 
   boolean programSubscribe(final PublicKey program,
@@ -99,6 +115,35 @@ public interface SolanaRpcWebsocket extends AutoCloseable {
 
   boolean programUnsubscribe(final Commitment commitment, final PublicKey program);
 
+  /// Streams full, base64 encoded, transactions which write to or read from any of the included accounts and none of the
+  /// excluded accounts. Vote and failed transactions are excluded.
+  ///
+  /// Only supported by providers which extend the standard RPC websocket API, such as Helius.
+  boolean transactionSubscribe(final Collection<PublicKey> accountInclude,
+                               final Collection<PublicKey> accountExclude,
+                               final Consumer<TransactionNotification> consumer);
+
+  /// @param accountRequired accounts which must all be referenced by a transaction.
+  boolean transactionSubscribe(final Commitment commitment,
+                               final boolean vote,
+                               final boolean failed,
+                               final Collection<PublicKey> accountInclude,
+                               final Collection<PublicKey> accountExclude,
+                               final Collection<PublicKey> accountRequired,
+                               final boolean showRewards,
+                               final Consumer<TransactionNotification> consumer);
+
+  boolean transactionUnsubscribe(final Collection<PublicKey> accountInclude,
+                                 final Collection<PublicKey> accountExclude);
+
+  boolean transactionUnsubscribe(final Commitment commitment,
+                                 final boolean vote,
+                                 final boolean failed,
+                                 final Collection<PublicKey> accountInclude,
+                                 final Collection<PublicKey> accountExclude,
+                                 final Collection<PublicKey> accountRequired,
+                                 final boolean showRewards);
+
   boolean slotSubscribe(final Consumer<ProcessedSlot> consumer);
 
   boolean slotUnsubscribe();
@@ -136,6 +181,43 @@ public interface SolanaRpcWebsocket extends AutoCloseable {
 
     Builder solanaAccounts(final SolanaAccounts solanaAccounts);
 
+    /// Spreads subscriptions across this many connections to the same endpoint, defaults to one. Each connection
+    /// parses its messages on its own listener thread, so the [HttpClient] executor should allow for at least as many
+    /// threads.
+    Builder numShards(final int numShards);
+
+    /// Applied to every subscription whose consumer is not already a [Dispatcher], defaults to
+    /// [DispatchMode#INLINE].
+    Builder dispatchMode(final DispatchMode dispatchMode);
+
+    /// Per subscription queue capacity for [DispatchMode#QUEUED], defaults to 1,024.
+    Builder dispatchQueueCapacity(final int dispatchQueueCapacity);
+
+    /// Defaults to [OverflowPolicy#DROP_OLDEST].
+    Builder overflowPolicy(final OverflowPolicy overflowPolicy);
+
+    /// After a reconnect, fetches the current state of account and program subscriptions with this client, as each is
+    /// re-confirmed, so that updates missed while disconnected are delivered. Only state newer than what each subscription has already
+    /// delivered is emitted. Program subscriptions request `changedSinceSlot`, which not every RPC node supports.
+    ///
+    /// Resync results are delivered from the websocket listener thread, in order with notifications, and through the
+    /// subscription's dispatcher if any.
+    Builder resyncClient(final SolanaRpcClient resyncClient);
+
+    /// Maximum subscription requests sent per second per connection, defaults to 100. Non-positive values disable
+    /// rate limiting.
+    Builder subscribeRate(final int subscribeRate);
+
+    /// Maximum subscription requests awaiting confirmation per connection, defaults to 64. Non-positive values
+    /// disable the limit.
+    Builder maxInFlightSubscriptions(final int maxInFlightSubscriptions);
+
+    /// Account, program and logs subscriptions for these keys are sent before all others when (re)connecting.
+    Builder prioritize(final Collection<PublicKey> keys);
+
+    /// Counts, times and samples inbound messages, disabled by default. A tracer may be shared across websockets.
+    Builder tracer(final WebsocketTracer tracer);
+
     URI wsUri();
 
     WebSocket.Builder webSocketBuilder();
@@ -149,5 +231,21 @@ public interface SolanaRpcWebsocket extends AutoCloseable {
     SolanaAccounts solanaAccounts();
 
     Commitment commitment();
+
+    int numShards();
+
+    DispatchMode dispatchMode();
+
+    int dispatchQueueCapacity();
+
+    OverflowPolicy overflowPolicy();
+
+    SolanaRpcClient resyncClient();
+
+    int subscribeRate();
+
+    int maxInFlightSubscriptions();
+
+    WebsocketTracer tracer();
   }
 }
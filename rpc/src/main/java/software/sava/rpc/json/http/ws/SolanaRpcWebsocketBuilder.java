@@ -1,11 +1,16 @@
 package software.sava.rpc.json.http.ws;
 
+import software.sava.core.accounts.PublicKey;
 import software.sava.core.accounts.SolanaAccounts;
+import software.sava.rpc.json.http.client.SolanaRpcClient;
 import software.sava.rpc.json.http.request.Commitment;
 
 import java.net.URI;
 import java.net.http.WebSocket;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 public final class SolanaRpcWebsocketBuilder implements SolanaRpcWebsocket.Builder {
 
@@ -16,17 +21,41 @@ public final class SolanaRpcWebsocketBuilder implements SolanaRpcWebsocket.Build
   private long subscriptionAndPingCheckDelay = 200;
   private SolanaAccounts solanaAccounts = SolanaAccounts.MAIN_NET;
   private Commitment commitment = Commitment.CONFIRMED;
+  private int numShards = 1;
+  private DispatchMode dispatchMode = DispatchMode.INLINE;
+  private int dispatchQueueCapacity = 1_024;
+  private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+  private SolanaRpcClient resyncClient;
+  private WebsocketTracer tracer;
+  private int subscribeRate = 100;
+  private int maxInFlightSubscriptions = 64;
+  private final Set<String> priorityKeys = new HashSet<>();
 
   SolanaRpcWebsocketBuilder() {
   }
 
   @Override
   public SolanaRpcWebsocket create() {
-    return new SolanaJsonRpcWebsocket(
-        wsUri, solanaAccounts, commitment,
-        webSocketBuilder.connectTimeout(Duration.ofMillis(reConnect)),
-        new Timings(reConnect, writeOrPingDelay, subscriptionAndPingCheckDelay)
-    );
+    final var webSocketBuilder = this.webSocketBuilder.connectTimeout(Duration.ofMillis(reConnect));
+    final var timings = new Timings(reConnect, writeOrPingDelay, subscriptionAndPingCheckDelay);
+    final var dispatchConfig = new DispatchConfig(dispatchMode, dispatchQueueCapacity, overflowPolicy);
+    final var priorityKeys = Set.copyOf(this.priorityKeys);
+    if (numShards > 1) {
+      return new ShardedRpcWebsocket(
+          solanaAccounts, commitment, numShards,
+          onConnect -> new SolanaJsonRpcWebsocket(
+              wsUri, solanaAccounts, commitment, webSocketBuilder, timings, dispatchConfig,
+              new SubscriptionPacer(reConnect, subscribeRate, maxInFlightSubscriptions, priorityKeys),
+              resyncClient, tracer, onConnect
+          )
+      );
+    } else {
+      return new SolanaJsonRpcWebsocket(
+          wsUri, solanaAccounts, commitment, webSocketBuilder, timings, dispatchConfig,
+          new SubscriptionPacer(reConnect, subscribeRate, maxInFlightSubscriptions, priorityKeys),
+          resyncClient, tracer, null
+      );
+    }
   }
 
   @Override
@@ -64,6 +93,46 @@ public final class SolanaRpcWebsocketBuilder implements SolanaRpcWebsocket.Build
     return commitment;
   }
 
+  @Override
+  public int numShards() {
+    return numShards;
+  }
+
+  @Override
+  public DispatchMode dispatchMode() {
+    return dispatchMode;
+  }
+
+  @Override
+  public int dispatchQueueCapacity() {
+    return dispatchQueueCapacity;
+  }
+
+  @Override
+  public OverflowPolicy overflowPolicy() {
+    return overflowPolicy;
+  }
+
+  @Override
+  public SolanaRpcClient resyncClient() {
+    return resyncClient;
+  }
+
+  @Override
+  public WebsocketTracer tracer() {
+    return tracer;
+  }
+
+  @Override
+  public int subscribeRate() {
+    return subscribeRate;
+  }
+
+  @Override
+  public int maxInFlightSubscriptions() {
+    return maxInFlightSubscriptions;
+  }
+
   @Override
   public SolanaRpcWebsocket.Builder uri(final URI uri) {
     this.wsUri = uri;
@@ -105,4 +174,60 @@ public final class SolanaRpcWebsocketBuilder implements SolanaRpcWebsocket.Build
     this.solanaAccounts = solanaAccounts;
     return this;
   }
+
+  @Override
+  public SolanaRpcWebsocket.Builder numShards(final int numShards) {
+    this.numShards = numShards;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcWebsocket.Builder dispatchMode(final DispatchMode dispatchMode) {
+    this.dispatchMode = dispatchMode;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcWebsocket.Builder dispatchQueueCapacity(final int dispatchQueueCapacity) {
+    this.dispatchQueueCapacity = dispatchQueueCapacity;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcWebsocket.Builder overflowPolicy(final OverflowPolicy overflowPolicy) {
+    this.overflowPolicy = overflowPolicy;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcWebsocket.Builder resyncClient(final SolanaRpcClient resyncClient) {
+    this.resyncClient = resyncClient;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcWebsocket.Builder subscribeRate(final int subscribeRate) {
+    this.subscribeRate = subscribeRate;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcWebsocket.Builder maxInFlightSubscriptions(final int maxInFlightSubscriptions) {
+    this.maxInFlightSubscriptions = maxInFlightSubscriptions;
+    return this;
+  }
+
+  @Override
+  public SolanaRpcWebsocket.Builder prioritize(final Collection<PublicKey> keys) {
+    for (final var key : keys) {
+      this.priorityKeys.add(key.toBase58());
+    }
+    return this;
+  }
+
+  @Override
+  public SolanaRpcWebsocket.Builder tracer(final WebsocketTracer tracer) {
+    this.tracer = tracer;
+    return this;
+  }
 }
@@ -1,8 +1,10 @@
 package software.sava.rpc.json.http.ws;
 
 import software.sava.core.accounts.PublicKey;
+import software.sava.core.rpc.Filter;
 import software.sava.rpc.json.http.request.Commitment;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 public interface Subscription<T> extends Consumer<T> {
@@ -16,6 +18,15 @@ public interface Subscription<T> extends Consumer<T> {
     return new AccountSubscription<>(commitment, channel, publicKey, msgId, msg, consumer);
   }
 
+  static <T> Subscription<T> createProgramSubscription(final Commitment commitment,
+                                                       final PublicKey program,
+                                                       final List<Filter> filters,
+                                                       final long msgId,
+                                                       final String msg,
+                                                       final Consumer<T> consumer) {
+    return new ProgramSubscription<>(commitment, program, filters, msgId, msg, consumer);
+  }
+
   static <T> Subscription<T> createSubscription(final Commitment commitment,
                                                 final Channel channel,
                                                 final String key,
@@ -46,4 +57,19 @@ public interface Subscription<T> extends Consumer<T> {
   long subId();
 
   void setSubId(long subId);
+
+  /// @return the highest notification slot delivered to the consumer, or -1.
+  long lastSlot();
+
+  /// Records the slot of a notification about to be delivered.
+  ///
+  /// @return false if a notification for a later slot, or resynced state at or after this slot, has already been
+  /// delivered.
+  boolean advanceSlot(final long slot);
+
+  /// Records the slot of resynced state about to be delivered, notifications at or before this slot are skipped
+  /// thereafter.
+  ///
+  /// @return false if a notification at or after this slot has already been delivered.
+  boolean advanceResyncSlot(final long slot);
 }
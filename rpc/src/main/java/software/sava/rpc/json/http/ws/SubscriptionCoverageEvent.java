@@ -0,0 +1,20 @@
+package software.sava.rpc.json.http.ws;
+
+import jdk.jfr.*;
+
+@Name("software.sava.SubscriptionCoverage")
+@Label("Subscription Coverage")
+@Description("Time from a websocket (re)connect until every subscription has been confirmed.")
+@Category({"Sava", "Websocket"})
+@StackTrace(false)
+final class SubscriptionCoverageEvent extends Event {
+
+  @Label("Endpoint")
+  String endpoint;
+
+  @Label("Subscriptions")
+  int numSubscriptions;
+
+  @Label("Reconnect")
+  boolean reconnect;
+}
@@ -0,0 +1,103 @@
+package software.sava.rpc.json.http.ws;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/// Limits how quickly pending subscriptions are sent and how many may await confirmation at once, so that
+/// re-subscribing thousands of subscriptions after a reconnect does not trip provider rate limits.
+///
+/// Permits are issued using a virtual scheduling clock which allows bursts of up to a tenth of a second's worth of
+/// subscriptions.
+final class SubscriptionPacer {
+
+  private final long reConnect;
+  private final long nanosPerPermit;
+  private final long burstNanos;
+  private final int maxInFlight;
+  private final Set<String> priorityKeys;
+  private final AtomicBoolean flushing;
+  private long nextPermitNanos;
+
+  /// @param subscribeRate subscriptions per second, non-positive for unlimited.
+  SubscriptionPacer(final long reConnect,
+                    final int subscribeRate,
+                    final int maxInFlight,
+                    final Set<String> priorityKeys) {
+    this.reConnect = reConnect;
+    this.nanosPerPermit = subscribeRate > 0 ? 1_000_000_000L / subscribeRate : 0;
+    this.burstNanos = Math.max(this.nanosPerPermit, 100_000_000L);
+    this.maxInFlight = maxInFlight > 0 ? maxInFlight : Integer.MAX_VALUE;
+    this.priorityKeys = priorityKeys;
+    this.flushing = new AtomicBoolean();
+    // nanoTime has an arbitrary origin, start from a full burst relative to it.
+    this.nextPermitNanos = System.nanoTime() - this.burstNanos;
+  }
+
+  private boolean isDue(final Subscription<?> sub, final long now) {
+    return now - sub.lastAttempt() > reConnect;
+  }
+
+  private int permits(final long nanoTime) {
+    if (nanosPerPermit == 0) {
+      return Integer.MAX_VALUE;
+    } else {
+      final long from = Math.max(nextPermitNanos, nanoTime - burstNanos);
+      return (int) Math.min(Integer.MAX_VALUE, (nanoTime - from) / nanosPerPermit);
+    }
+  }
+
+  private int send(final Iterable<Subscription<?>> pending,
+                   final boolean priority,
+                   final long now,
+                   final int limit,
+                   final Consumer<Subscription<?>> sender) {
+    int numSent = 0;
+    for (final var sub : pending) {
+      if (numSent >= limit) {
+        break;
+      } else if (priorityKeys.contains(sub.key()) == priority && isDue(sub, now)) {
+        sub.setLastAttempt(now);
+        sender.accept(sub);
+        ++numSent;
+      }
+    }
+    return numSent;
+  }
+
+  /// Sends due subscriptions, priority keys first, within the rate and in-flight limits. Subscriptions which have not
+  /// been confirmed within the reconnect delay are no longer counted as in-flight and become due again.
+  ///
+  /// @return the number of subscriptions sent.
+  int flush(final Iterable<Subscription<?>> pending, final long now, final Consumer<Subscription<?>> sender) {
+    if (!flushing.compareAndSet(false, true)) {
+      return 0;
+    }
+    try {
+      // Flushes follow every inbound message, check the rate before iterating the pending subscriptions.
+      final long nanoTime = System.nanoTime();
+      final int permits = permits(nanoTime);
+      if (permits <= 0) {
+        return 0;
+      }
+      int inFlight = 0;
+      for (final var sub : pending) {
+        if (!isDue(sub, now)) {
+          ++inFlight;
+        }
+      }
+      final int limit = Math.min(maxInFlight - inFlight, permits);
+      if (limit <= 0) {
+        return 0;
+      }
+      int numSent = priorityKeys.isEmpty() ? 0 : send(pending, true, now, limit, sender);
+      numSent += send(pending, false, now, limit - numSent, sender);
+      if (nanosPerPermit > 0 && numSent > 0) {
+        nextPermitNanos = Math.max(nextPermitNanos, nanoTime - burstNanos) + numSent * nanosPerPermit;
+      }
+      return numSent;
+    } finally {
+      flushing.set(false);
+    }
+  }
+}
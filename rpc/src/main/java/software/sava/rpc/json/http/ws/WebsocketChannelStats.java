@@ -0,0 +1,11 @@
+package software.sava.rpc.json.http.ws;
+
+import software.sava.rpc.json.http.client.LatencyHistogram;
+
+/// Counts and durations of every inbound message for a channel, regardless of sampling.
+public record WebsocketChannelStats(String channel,
+                                    long numMessages,
+                                    long numChars,
+                                    LatencyHistogram.Snapshot parseDuration,
+                                    LatencyHistogram.Snapshot dispatchDuration) {
+}
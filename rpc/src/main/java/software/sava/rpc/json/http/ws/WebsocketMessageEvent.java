@@ -0,0 +1,62 @@
+package software.sava.rpc.json.http.ws;
+
+import jdk.jfr.*;
+
+import java.util.function.Consumer;
+
+@Name("software.sava.WebsocketMessage")
+@Label("Websocket Message")
+@Description("Parsing and dispatching of a whole websocket message to its subscriber.")
+@Category({"Sava", "Websocket"})
+@StackTrace(false)
+final class WebsocketMessageEvent extends Event {
+
+  @Label("Endpoint")
+  String endpoint;
+
+  @Label("Channel")
+  String channel;
+
+  @Label("Subscription Id")
+  long subId;
+
+  @Label("Message Length")
+  @DataAmount
+  int messageLength;
+
+  @Label("Parse Duration")
+  @Timespan
+  long parseDuration;
+
+  @Label("Dispatch Duration")
+  @Timespan
+  long dispatchDuration;
+
+  // Also time dispatches for a WebsocketTracer while the event itself is disabled.
+  transient boolean timeDispatch;
+
+  /// @param event null when neither tracing nor the event is enabled, the item is then passed straight through.
+  static <T> void dispatch(final WebsocketMessageEvent event,
+                           final Channel channel,
+                           final long subId,
+                           final Consumer<T> sub,
+                           final T item) {
+    if (event == null) {
+      sub.accept(item);
+    } else {
+      event.dispatch(channel, subId, sub, item);
+    }
+  }
+
+  private <T> void dispatch(final Channel channel, final long subId, final Consumer<T> sub, final T item) {
+    this.channel = channel.name();
+    this.subId = subId;
+    if (timeDispatch || isEnabled()) {
+      final long start = System.nanoTime();
+      sub.accept(item);
+      this.dispatchDuration = System.nanoTime() - start;
+    } else {
+      sub.accept(item);
+    }
+  }
+}
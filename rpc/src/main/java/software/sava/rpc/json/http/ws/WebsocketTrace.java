@@ -0,0 +1,18 @@
+package software.sava.rpc.json.http.ws;
+
+import java.net.URI;
+
+/// A sampled inbound websocket message.
+///
+/// @param channel       subscription channel of a notification, or null for responses such as subscription
+///                      confirmations.
+/// @param subId         subscription id of a notification, otherwise zero.
+/// @param parseNanos    time spent parsing the message, excluding dispatch.
+/// @param dispatchNanos time spent in the subscription consumer.
+public record WebsocketTrace(URI endpoint,
+                             String channel,
+                             long subId,
+                             String message,
+                             long parseNanos,
+                             long dispatchNanos) {
+}
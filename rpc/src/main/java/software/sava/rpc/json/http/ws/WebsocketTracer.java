@@ -0,0 +1,46 @@
+package software.sava.rpc.json.http.ws;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/// Opt-in tracing of inbound websocket messages, see [SolanaRpcWebsocket.Builder#tracer(WebsocketTracer)].
+///
+/// Every message is counted and timed per channel, while only a sample of messages is copied and handed to the sink.
+/// Websockets without a tracer do no tracing work at all.
+public interface WebsocketTracer {
+
+  /// Channel name used for responses which are not subscription notifications.
+  String RESPONSE_CHANNEL = "response";
+
+  /// @param sampleOneIn        pass one out of every `sampleOneIn` messages to the sink.
+  /// @param maxTracesPerSecond upper bound on messages passed to the sink per second.
+  static WebsocketTracer createTracer(final Consumer<WebsocketTrace> sink,
+                                      final int sampleOneIn,
+                                      final int maxTracesPerSecond) {
+    return new SampledWebsocketTracer(sink, sampleOneIn, maxTracesPerSecond);
+  }
+
+  /// Logs sampled messages at DEBUG level.
+  static WebsocketTracer createLoggingTracer(final int sampleOneIn, final int maxTracesPerSecond) {
+    return createTracer(SampledWebsocketTracer::log, sampleOneIn, maxTracesPerSecond);
+  }
+
+  /// Counts and times messages without sampling any.
+  static WebsocketTracer createStatsTracer() {
+    return createTracer(null, Integer.MAX_VALUE, 0);
+  }
+
+  /// @param channel null for responses which are not subscription notifications.
+  void onMessage(final URI endpoint,
+                 final String channel,
+                 final long subId,
+                 final char[] msg,
+                 final int offset,
+                 final int length,
+                 final long parseNanos,
+                 final long dispatchNanos);
+
+  /// @return per channel stats keyed by channel name.
+  Map<String, WebsocketChannelStats> stats();
+}
@@ -0,0 +1,164 @@
+package software.sava.rpc.json.http.ws;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class ConcurrentLongMapTests {
+
+  @Test
+  void testPutGetRemove() {
+    final var map = new ConcurrentLongMap<String>();
+    assertTrue(map.isEmpty());
+    assertNull(map.get(1));
+
+    assertNull(map.put(1, "a"));
+    assertNull(map.put(-1, "b"));
+    assertNull(map.put(Long.MAX_VALUE, "c"));
+    assertEquals(3, map.size());
+    assertEquals("a", map.get(1));
+    assertEquals("b", map.get(-1));
+    assertEquals("c", map.get(Long.MAX_VALUE));
+
+    assertEquals("a", map.put(1, "A"));
+    assertEquals(3, map.size());
+    assertEquals("A", map.get(1));
+
+    assertEquals("A", map.remove(1));
+    assertNull(map.remove(1));
+    assertNull(map.get(1));
+    assertEquals(2, map.size());
+
+    final var keys = map.keys();
+    assertEquals(2, keys.length);
+    final var keySet = new HashSet<Long>();
+    for (final long key : keys) {
+      keySet.add(key);
+    }
+    assertEquals(Set.of(-1L, Long.MAX_VALUE), keySet);
+
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertNull(map.get(-1));
+  }
+
+  @Test
+  void testReservedKeysRejected() {
+    final var map = new ConcurrentLongMap<String>();
+    assertThrows(IllegalArgumentException.class, () -> map.put(Long.MIN_VALUE, "a"));
+    assertThrows(IllegalArgumentException.class, () -> map.put(Long.MIN_VALUE + 1, "a"));
+    assertTrue(map.isEmpty());
+    assertNull(map.get(Long.MIN_VALUE));
+  }
+
+  @Test
+  void testTombstonedSlotsAreReused() {
+    final var map = new ConcurrentLongMap<Long>(16);
+    // Churning through many distinct keys would fill every slot with tombstones unless they are reused or purged,
+    // after which looking up a missing key would never terminate.
+    assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+      for (long key = 0; key < 100_000; ++key) {
+        map.put(key, key);
+        if (key >= 4) {
+          assertEquals(key - 4, map.remove(key - 4));
+        }
+      }
+      assertEquals(4, map.size());
+      assertNull(map.get(-42));
+      for (long key = 100_000 - 4; key < 100_000; ++key) {
+        assertEquals(key, map.get(key));
+      }
+    });
+
+    // Re-inserting a removed key lands in its own tombstone.
+    map.remove(99_999);
+    map.put(99_999, -1L);
+    assertEquals(-1L, map.get(99_999));
+    assertEquals(4, map.size());
+  }
+
+  @Test
+  void testResizeUnderLoad() throws InterruptedException {
+    final var map = new ConcurrentLongMap<Long>(16);
+    final int numKeys = 200_000;
+    final var published = new AtomicLong(-1);
+    final var done = new AtomicBoolean();
+    final var failure = new AtomicReference<String>();
+
+    final var readers = new Thread[4];
+    for (int r = 0; r < readers.length; ++r) {
+      readers[r] = Thread.ofPlatform().start(() -> {
+        long i = 0;
+        while (!done.get() && failure.get() == null) {
+          final long max = published.get();
+          if (max >= 0) {
+            final long key = i++ % (max + 1);
+            final var value = map.get(key);
+            if (value == null || value != key) {
+              failure.set("Key " + key + " mapped to " + value);
+            }
+          }
+        }
+      });
+    }
+
+    for (long key = 0; key < numKeys; ++key) {
+      map.put(key, key);
+      published.set(key);
+    }
+    done.set(true);
+    for (final var reader : readers) {
+      reader.join();
+    }
+
+    assertNull(failure.get());
+    assertEquals(numKeys, map.size());
+    for (long key = 0; key < numKeys; ++key) {
+      assertEquals(key, map.get(key));
+    }
+  }
+
+  @Test
+  void testIterationConcurrentWithWriters() throws InterruptedException {
+    final var map = new ConcurrentLongMap<Long>(16);
+    final int numStable = 100;
+    for (long key = 0; key < numStable; ++key) {
+      map.put(key, key);
+    }
+
+    final var done = new AtomicBoolean();
+    final var writer = Thread.ofPlatform().start(() -> {
+      for (long i = 0; !done.get(); ++i) {
+        final long key = 1_000 + (i % 4_096);
+        map.put(key, key);
+        if (i % 3 != 0) {
+          map.remove(key);
+        }
+      }
+    });
+
+    try {
+      for (int i = 0; i < 1_000; ++i) {
+        final var seen = new HashSet<Long>();
+        for (final var value : map.values()) {
+          assertNotNull(value);
+          assertTrue(seen.add(value), "Value observed twice in one iteration: " + value);
+          assertTrue(value < numStable || value >= 1_000);
+        }
+        for (long key = 0; key < numStable; ++key) {
+          assertTrue(seen.contains(key), "Missing stable value " + key);
+        }
+      }
+    } finally {
+      done.set(true);
+      writer.join();
+    }
+  }
+}
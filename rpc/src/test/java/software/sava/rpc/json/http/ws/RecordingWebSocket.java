@@ -0,0 +1,82 @@
+package software.sava.rpc.json.http.ws;
+
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/// Records outgoing frames in place of a connected [WebSocket], so a listener can be driven directly by tests.
+final class RecordingWebSocket implements WebSocket {
+
+  final List<String> texts = new CopyOnWriteArrayList<>();
+  final List<String> pings = new CopyOnWriteArrayList<>();
+
+  @Override
+  public CompletableFuture<WebSocket> sendText(final CharSequence data, final boolean last) {
+    texts.add(data.toString());
+    return CompletableFuture.completedFuture(this);
+  }
+
+  @Override
+  public CompletableFuture<WebSocket> sendBinary(final ByteBuffer data, final boolean last) {
+    return CompletableFuture.completedFuture(this);
+  }
+
+  @Override
+  public CompletableFuture<WebSocket> sendPing(final ByteBuffer message) {
+    pings.add(UTF_8.decode(message).toString());
+    return CompletableFuture.completedFuture(this);
+  }
+
+  @Override
+  public CompletableFuture<WebSocket> sendPong(final ByteBuffer message) {
+    return CompletableFuture.completedFuture(this);
+  }
+
+  @Override
+  public CompletableFuture<WebSocket> sendClose(final int statusCode, final String reason) {
+    return CompletableFuture.completedFuture(this);
+  }
+
+  @Override
+  public void request(final long n) {
+  }
+
+  @Override
+  public String getSubprotocol() {
+    return "";
+  }
+
+  @Override
+  public boolean isOutputClosed() {
+    return false;
+  }
+
+  @Override
+  public boolean isInputClosed() {
+    return false;
+  }
+
+  @Override
+  public void abort() {
+  }
+
+  long numPings(final String payload) {
+    return pings.stream().filter(payload::equals).count();
+  }
+
+  void awaitPings(final String payload, final long expected) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (numPings(payload) < expected) {
+      if (System.nanoTime() > deadline) {
+        fail(String.format("Expected %d '%s' pings, observed %d.", expected, payload, numPings(payload)));
+      }
+      Thread.sleep(5);
+    }
+  }
+}
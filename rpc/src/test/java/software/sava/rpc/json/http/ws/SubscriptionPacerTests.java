@@ -0,0 +1,94 @@
+package software.sava.rpc.json.http.ws;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static software.sava.rpc.json.http.request.Commitment.CONFIRMED;
+
+final class SubscriptionPacerTests {
+
+  private static final long RECONNECT_MILLIS = 1_000;
+
+  private static List<Subscription<?>> createSubscriptions(final String keyPrefix, final int numSubs) {
+    final var subs = new ArrayList<Subscription<?>>(numSubs);
+    for (int i = 0; i < numSubs; ++i) {
+      final var key = keyPrefix + i;
+      subs.add(Subscription.createSubscription(CONFIRMED, Channel.slot, key, i, key, _ -> {
+      }));
+    }
+    return subs;
+  }
+
+  @Test
+  void testPermitRate() throws InterruptedException {
+    // 100 per second allows bursts of 10.
+    final var pacer = new SubscriptionPacer(RECONNECT_MILLIS, 100, 0, Set.of());
+    final var pending = createSubscriptions("sub", 50);
+    final long now = System.currentTimeMillis();
+
+    assertEquals(10, pacer.flush(pending, now, _ -> {
+    }));
+    assertTrue(pacer.flush(pending, now, _ -> {
+    }) <= 1);
+
+    // Idle time beyond the burst window does not accumulate further permits.
+    Thread.sleep(250);
+    assertEquals(10, pacer.flush(pending, now, _ -> {
+    }));
+  }
+
+  @Test
+  void testMaxInFlight() {
+    final var pacer = new SubscriptionPacer(RECONNECT_MILLIS, 0, 5, Set.of());
+    final var pending = createSubscriptions("sub", 20);
+    final long now = System.currentTimeMillis();
+
+    final var sent = new ArrayList<Subscription<?>>();
+    assertEquals(5, pacer.flush(pending, now, sent::add));
+    assertEquals(pending.subList(0, 5), sent);
+
+    // Still awaiting confirmation.
+    assertEquals(0, pacer.flush(pending, now + 1, sent::add));
+
+    // Confirmed subscriptions are removed from pending, freeing their in-flight slots.
+    final var remaining = pending.subList(2, pending.size());
+    assertEquals(2, pacer.flush(remaining, now + 2, sent::add));
+    assertEquals(pending.subList(5, 7), sent.subList(5, 7));
+  }
+
+  @Test
+  void testPriorityKeysFirst() {
+    final var normal = createSubscriptions("normal", 4);
+    final var priority = createSubscriptions("priority", 2);
+    final var pending = new ArrayList<Subscription<?>>(normal);
+    pending.addAll(priority);
+
+    final var pacer = new SubscriptionPacer(RECONNECT_MILLIS, 0, 3, Set.of("priority0", "priority1"));
+    final var sent = new ArrayList<Subscription<?>>();
+    assertEquals(3, pacer.flush(pending, System.currentTimeMillis(), sent::add));
+    assertEquals(List.of(priority.get(0), priority.get(1), normal.get(0)), sent);
+  }
+
+  @Test
+  void testUnconfirmedAreResentAfterReconnectDelay() {
+    final var pacer = new SubscriptionPacer(RECONNECT_MILLIS, 0, 0, Set.of());
+    final var pending = createSubscriptions("sub", 3);
+    final long now = System.currentTimeMillis();
+
+    final var sent = new ArrayList<Subscription<?>>();
+    assertEquals(3, pacer.flush(pending, now, sent::add));
+    assertEquals(0, pacer.flush(pending, now + RECONNECT_MILLIS, sent::add));
+    assertEquals(3, sent.size());
+
+    assertEquals(3, pacer.flush(pending, now + RECONNECT_MILLIS + 1, sent::add));
+    assertEquals(pending, sent.subList(3, 6));
+    for (final var sub : pending) {
+      assertEquals(now + RECONNECT_MILLIS + 1, sub.lastAttempt());
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package software.sava.rpc.json.http.ws;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.response.AccountInfo;
+
+import java.net.http.HttpClient;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class WebsocketBufferTests {
+
+  private static final int INITIAL_CAPACITY = 4_096;
+  private static final int SHRINK_AFTER_MESSAGES = 256;
+  private static final Pattern MSG_ID = Pattern.compile("\"id\":(\\d+)");
+
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+  private SolanaJsonRpcWebsocket websocket;
+
+  @AfterEach
+  void close() {
+    if (websocket != null) {
+      websocket.close();
+    }
+    httpClient.close();
+  }
+
+  private static String accountNotification(final long subId, final String base64Data) {
+    return String.format("""
+            {"jsonrpc":"2.0","method":"accountNotification","params":{"result":{"context":{"slot":1},"value":{"data":["%s","base64"],"executable":false,"lamports":1,"owner":"11111111111111111111111111111111","rentEpoch":1,"space":%d}},"subscription":%d}}""",
+        base64Data, base64Data.length(), subId);
+  }
+
+  /// Delivers the message in fragments, as a large message arrives from [java.net.http.WebSocket].
+  private void receiveFragmented(final RecordingWebSocket socket, final String msg, final int numFragments) {
+    final int fragmentLength = (msg.length() + numFragments - 1) / numFragments;
+    for (int from = 0; from < msg.length(); from += fragmentLength) {
+      final int to = Math.min(msg.length(), from + fragmentLength);
+      websocket.onText(socket, CharBuffer.wrap(msg.substring(from, to)), to == msg.length());
+    }
+  }
+
+  @Test
+  void testOversizedBufferIsReleased() {
+    this.websocket = (SolanaJsonRpcWebsocket) SolanaRpcWebsocket.build()
+        .uri("ws://localhost")
+        .webSocketBuilder(httpClient)
+        .subscriptionAndPingCheckDelay(60_000)
+        .create();
+    final var delivered = new ArrayList<AccountInfo<byte[]>>();
+    assertTrue(websocket.accountSubscribe(PublicKey.createPubKey(new byte[PublicKey.PUBLIC_KEY_LENGTH]), delivered::add));
+
+    final var socket = new RecordingWebSocket();
+    websocket.onOpen(socket);
+    final var matcher = MSG_ID.matcher(socket.texts.getFirst());
+    assertTrue(matcher.find());
+    final long subId = 7;
+    websocket.onText(socket, CharBuffer.wrap(String.format("""
+        {"jsonrpc":"2.0","result":%d,"id":%s}""", subId, matcher.group(1))), true);
+    assertEquals(INITIAL_CAPACITY, websocket.bufferCapacity());
+
+    final byte[] large = new byte[64 * 1_024];
+    ThreadLocalRandom.current().nextBytes(large);
+    final var largeData = Base64.getEncoder().encodeToString(large);
+    final var largeMsg = accountNotification(subId, largeData);
+    receiveFragmented(socket, largeMsg, 5);
+    assertEquals(1, delivered.size());
+    assertArrayEquals(Base64.getDecoder().decode(largeData), delivered.getLast().data());
+    final int enlarged = websocket.bufferCapacity();
+    assertTrue(enlarged >= largeMsg.length());
+
+    final var smallMsg = accountNotification(subId, "AQID");
+    for (int i = 1; i < SHRINK_AFTER_MESSAGES; ++i) {
+      receiveFragmented(socket, smallMsg, 2);
+    }
+    assertEquals(enlarged, websocket.bufferCapacity());
+
+    // A large message resets the count of small messages.
+    receiveFragmented(socket, largeMsg, 5);
+    for (int i = 0; i < SHRINK_AFTER_MESSAGES - 1; ++i) {
+      receiveFragmented(socket, smallMsg, 2);
+    }
+    assertEquals(enlarged, websocket.bufferCapacity());
+
+    receiveFragmented(socket, smallMsg, 2);
+    assertEquals(INITIAL_CAPACITY, websocket.bufferCapacity());
+    assertEquals(1 + (2 * SHRINK_AFTER_MESSAGES), delivered.size());
+    assertArrayEquals(new byte[]{1, 2, 3}, delivered.getLast().data());
+
+    // Grows again for the next large message.
+    receiveFragmented(socket, largeMsg, 5);
+    assertArrayEquals(large, delivered.getLast().data());
+    assertEquals(enlarged, websocket.bufferCapacity());
+  }
+}
@@ -0,0 +1,316 @@
+package software.sava.rpc.json.http.ws;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.client.SolanaRpcClient;
+import software.sava.rpc.json.http.response.AccountInfo;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.net.http.HttpClient;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.createClient;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.createServer;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.writeResponse;
+
+final class WebsocketResyncTests {
+
+  private static final PublicKey ACCOUNT_A = createKey(1);
+  private static final PublicKey ACCOUNT_B = createKey(2);
+  private static final PublicKey PROGRAM = createKey(3);
+  private static final Pattern MSG_ID = Pattern.compile("\"id\":(\\d+)");
+
+  private static HttpServer HTTP_SERVER;
+  private static SolanaRpcClient RPC_CLIENT;
+  private static HttpClient WS_CLIENT;
+
+  private static final Map<String, Function<String, String>> RESPONDERS = new ConcurrentHashMap<>();
+  private static final List<String> REQUESTS = new CopyOnWriteArrayList<>();
+
+  private SolanaJsonRpcWebsocket websocket;
+  private long nextSubId = 1_000;
+
+  @BeforeAll
+  static void setupHttpServer() {
+    final var httpServerRecord = createServer();
+    httpServerRecord.httpServer().createContext("/", request -> {
+      final var body = new String(request.getRequestBody().readAllBytes(), UTF_8);
+      REQUESTS.add(body);
+      try (final var ji = JsonIterator.parse(body)) {
+        final var method = ji.skipUntil("method").readString();
+        final var responder = RESPONDERS.get(method);
+        writeResponse(request, responder == null ? "Unexpected method call: " + method : responder.apply(body));
+      }
+    });
+    HTTP_SERVER = httpServerRecord.httpServer();
+    RPC_CLIENT = SolanaRpcClient.createClient(httpServerRecord.endpoint(), createClient());
+    WS_CLIENT = HttpClient.newHttpClient();
+  }
+
+  @AfterAll
+  static void shutdown() {
+    RPC_CLIENT.httpClient().close();
+    WS_CLIENT.close();
+    HTTP_SERVER.stop(0);
+  }
+
+  @AfterEach
+  void closeWebsocket() {
+    RESPONDERS.clear();
+    REQUESTS.clear();
+    if (websocket != null) {
+      websocket.close();
+    }
+  }
+
+  private static PublicKey createKey(final int fill) {
+    final var key = new byte[PublicKey.PUBLIC_KEY_LENGTH];
+    Arrays.fill(key, (byte) fill);
+    return PublicKey.createPubKey(key);
+  }
+
+  private SolanaJsonRpcWebsocket createWebsocket() {
+    this.websocket = (SolanaJsonRpcWebsocket) SolanaRpcWebsocket.build()
+        .uri("ws://localhost")
+        .webSocketBuilder(WS_CLIENT)
+        .subscriptionAndPingCheckDelay(60_000)
+        .resyncClient(RPC_CLIENT)
+        .create();
+    return websocket;
+  }
+
+  private static String accountJson(final long lamports) {
+    return String.format("""
+        {"data":["AQID","base64"],"executable":false,"lamports":%d,"owner":"11111111111111111111111111111111","rentEpoch":1,"space":3}""", lamports);
+  }
+
+  private static String accountNotification(final long subId, final long slot, final long lamports) {
+    return String.format("""
+            {"jsonrpc":"2.0","method":"accountNotification","params":{"result":{"context":{"slot":%d},"value":%s},"subscription":%d}}""",
+        slot, accountJson(lamports), subId);
+  }
+
+  private static String programNotification(final long subId, final PublicKey account, final long slot, final long lamports) {
+    return String.format("""
+            {"jsonrpc":"2.0","method":"programNotification","params":{"result":{"context":{"slot":%d},"value":{"pubkey":"%s","account":%s}},"subscription":%d}}""",
+        slot, account.toBase58(), accountJson(lamports), subId);
+  }
+
+  private static String multipleAccountsResponse(final long slot, final long lamports) {
+    return String.format("""
+        {"jsonrpc":"2.0","result":{"context":{"slot":%d},"value":[%s]},"id":1}""", slot, accountJson(lamports));
+  }
+
+  private static String programAccountsResponse(final long slot, final Map<PublicKey, Long> accounts) {
+    final var joiner = new StringJoiner(",");
+    accounts.forEach((key, lamports) -> joiner.add(String.format("""
+        {"pubkey":"%s","account":%s}""", key.toBase58(), accountJson(lamports))));
+    return String.format("""
+        {"jsonrpc":"2.0","result":{"context":{"slot":%d},"value":[%s]},"id":1}""", slot, joiner);
+  }
+
+  private static String await(final CountDownLatch latch, final String response) {
+    try {
+      latch.await();
+    } catch (final InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+    return response;
+  }
+
+  private static void awaitRequests(final int expected) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (REQUESTS.size() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(expected, REQUESTS.size());
+  }
+
+  private void receive(final RecordingWebSocket socket, final String msg) {
+    websocket.onText(socket, CharBuffer.wrap(msg), true);
+  }
+
+  /// Connects, or re-connects, and confirms every subscription sent since.
+  ///
+  /// @return the new subscription ids in the order the subscriptions were sent.
+  private long[] connect(final RecordingWebSocket socket) {
+    final int sent = socket.texts.size();
+    websocket.onOpen(socket);
+    final var subscriptions = socket.texts.subList(sent, socket.texts.size());
+    final var subIds = new long[subscriptions.size()];
+    for (int i = 0; i < subIds.length; ++i) {
+      final var matcher = MSG_ID.matcher(subscriptions.get(i));
+      assertTrue(matcher.find());
+      subIds[i] = nextSubId++;
+      receive(socket, String.format("""
+          {"jsonrpc":"2.0","result":%d,"id":%s}""", subIds[i], matcher.group(1)));
+    }
+    return subIds;
+  }
+
+  private void applyResyncs(final RecordingWebSocket socket, final long expected) throws InterruptedException {
+    socket.awaitPings("resync", expected);
+    websocket.onPong(socket, ByteBuffer.wrap("resync".getBytes(UTF_8)));
+  }
+
+  private static List<Long> lamports(final List<AccountInfo<byte[]>> accounts) {
+    return accounts.stream().map(AccountInfo::lamports).toList();
+  }
+
+  @Test
+  void testStaleNotificationsDroppedAfterResync() throws InterruptedException {
+    RESPONDERS.put("getMultipleAccounts", _ -> multipleAccountsResponse(150, 2));
+    final var ws = createWebsocket();
+    final var delivered = new ArrayList<AccountInfo<byte[]>>();
+    assertTrue(ws.accountSubscribe(ACCOUNT_A, delivered::add));
+
+    final var socket = new RecordingWebSocket();
+    long subId = connect(socket)[0];
+    receive(socket, accountNotification(subId, 100, 1));
+    assertEquals(List.of(1L), lamports(delivered));
+    // The initial connection has nothing to resync.
+    assertTrue(REQUESTS.isEmpty());
+
+    subId = connect(socket)[0];
+    applyResyncs(socket, 1);
+    assertEquals(List.of(1L, 2L), lamports(delivered));
+    assertEquals(150, delivered.getLast().context().slot());
+
+    // Notifications already covered by the resynced state are dropped.
+    receive(socket, accountNotification(subId, 120, 3));
+    receive(socket, accountNotification(subId, 150, 3));
+    assertEquals(List.of(1L, 2L), lamports(delivered));
+
+    receive(socket, accountNotification(subId, 151, 4));
+    assertEquals(List.of(1L, 2L, 4L), lamports(delivered));
+  }
+
+  @Test
+  void testProgramAccountsDeliveredDuringResync() throws InterruptedException {
+    final var release = new CountDownLatch(1);
+    final var resyncedAccounts = new LinkedHashMap<PublicKey, Long>();
+    resyncedAccounts.put(ACCOUNT_A, 5L);
+    resyncedAccounts.put(ACCOUNT_B, 6L);
+    RESPONDERS.put("getProgramAccounts", _ -> await(release, programAccountsResponse(150, resyncedAccounts)));
+
+    final var ws = createWebsocket();
+    final var delivered = new ArrayList<AccountInfo<byte[]>>();
+    assertTrue(ws.programSubscribe(PROGRAM, accounts -> delivered.addAll(accounts.values())));
+
+    final var socket = new RecordingWebSocket();
+    long subId = connect(socket)[0];
+    receive(socket, programNotification(subId, ACCOUNT_A, 100, 1));
+
+    subId = connect(socket)[0];
+    // Delivered while the resync is in flight, and newer than the resynced state.
+    receive(socket, programNotification(subId, ACCOUNT_A, 160, 7));
+    release.countDown();
+    applyResyncs(socket, 1);
+
+    assertEquals(1, REQUESTS.size());
+    assertTrue(REQUESTS.getFirst().contains("\"changedSinceSlot\":100"), REQUESTS.getFirst());
+    assertEquals(List.of(1L, 7L, 6L), lamports(delivered));
+    assertEquals(ACCOUNT_B, delivered.getLast().pubKey());
+
+    // Program notifications cover different accounts, so only those covered by the resync are dropped.
+    receive(socket, programNotification(subId, ACCOUNT_B, 140, 8));
+    receive(socket, programNotification(subId, ACCOUNT_B, 155, 9));
+    assertEquals(List.of(1L, 7L, 6L, 9L), lamports(delivered));
+  }
+
+  @Test
+  void testResyncFailure() throws InterruptedException {
+    final var error = """
+        {"jsonrpc":"2.0","error":{"code":-32602,"message":"Invalid params"},"id":1}""";
+    RESPONDERS.put("getMultipleAccounts", _ -> error);
+    RESPONDERS.put("getProgramAccounts", _ -> error);
+
+    final var ws = createWebsocket();
+    final var accounts = new ArrayList<AccountInfo<byte[]>>();
+    final var programAccounts = new ArrayList<AccountInfo<byte[]>>();
+    assertTrue(ws.accountSubscribe(ACCOUNT_A, accounts::add));
+    assertTrue(ws.programSubscribe(PROGRAM, map -> programAccounts.addAll(map.values())));
+
+    final var socket = new RecordingWebSocket();
+    var subIds = connect(socket);
+    receive(socket, accountNotification(subIds[0], 100, 1));
+    receive(socket, programNotification(subIds[1], ACCOUNT_B, 100, 1));
+
+    subIds = connect(socket);
+    // Only the failed program resync queues a result, ending the resync.
+    applyResyncs(socket, 1);
+    awaitRequests(2);
+    assertEquals(List.of(1L), lamports(accounts));
+    assertEquals(List.of(1L), lamports(programAccounts));
+
+    receive(socket, accountNotification(subIds[0], 101, 2));
+    receive(socket, programNotification(subIds[1], ACCOUNT_B, 101, 2));
+    receive(socket, programNotification(subIds[1], ACCOUNT_A, 99, 3));
+    assertEquals(List.of(1L, 2L), lamports(accounts));
+    assertEquals(List.of(1L, 2L, 3L), lamports(programAccounts));
+  }
+
+  @Test
+  void testReconnectWhileResyncOutstanding() throws InterruptedException {
+    final var releaseFirst = new CountDownLatch(1);
+    final var releaseSecond = new CountDownLatch(1);
+    final var accountCalls = new AtomicInteger();
+    final var programCalls = new AtomicInteger();
+    RESPONDERS.put("getMultipleAccounts", _ -> accountCalls.getAndIncrement() == 0
+        ? await(releaseFirst, multipleAccountsResponse(150, 2))
+        : await(releaseSecond, multipleAccountsResponse(200, 3)));
+    RESPONDERS.put("getProgramAccounts", _ -> programCalls.getAndIncrement() == 0
+        ? await(releaseFirst, programAccountsResponse(150, Map.of(ACCOUNT_B, 2L)))
+        : await(releaseSecond, programAccountsResponse(200, Map.of(ACCOUNT_B, 3L))));
+
+    final var ws = createWebsocket();
+    final var accounts = new ArrayList<AccountInfo<byte[]>>();
+    final var programAccounts = new ArrayList<AccountInfo<byte[]>>();
+    assertTrue(ws.accountSubscribe(ACCOUNT_A, accounts::add));
+    assertTrue(ws.programSubscribe(PROGRAM, map -> programAccounts.addAll(map.values())));
+
+    final var socket = new RecordingWebSocket();
+    var subIds = connect(socket);
+    receive(socket, accountNotification(subIds[0], 100, 1));
+    receive(socket, programNotification(subIds[1], ACCOUNT_B, 100, 1));
+
+    connect(socket);
+    awaitRequests(2);
+    // Drops again before either resync completes.
+    subIds = connect(socket);
+    awaitRequests(4);
+
+    // The later resync completes first, after which the earlier and older state must not be delivered.
+    releaseSecond.countDown();
+    applyResyncs(socket, 2);
+    assertEquals(List.of(1L, 3L), lamports(accounts));
+    assertEquals(List.of(1L, 3L), lamports(programAccounts));
+
+    releaseFirst.countDown();
+    applyResyncs(socket, 4);
+    assertEquals(List.of(1L, 3L), lamports(accounts));
+    assertEquals(List.of(1L, 3L), lamports(programAccounts));
+
+    receive(socket, accountNotification(subIds[0], 180, 4));
+    receive(socket, programNotification(subIds[1], ACCOUNT_B, 180, 4));
+    receive(socket, accountNotification(subIds[0], 201, 5));
+    receive(socket, programNotification(subIds[1], ACCOUNT_B, 201, 5));
+    assertEquals(List.of(1L, 3L, 5L), lamports(accounts));
+    assertEquals(List.of(1L, 3L, 5L), lamports(programAccounts));
+  }
+}
@@ -0,0 +1,184 @@
+package test.software.sava.rpc.json.http.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.sava.rpc.json.http.client.BlockBackfill;
+import software.sava.rpc.json.http.client.SolanaRpcClient;
+import software.sava.rpc.json.http.response.Block;
+import software.sava.rpc.json.http.response.JsonRpcException;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.createServer;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.writeResponse;
+
+final class BlockBackfillTests {
+
+  private static final long FROM_SLOT = 1_000;
+  private static final long TO_SLOT = 1_199;
+
+  private static long[] producedSlots(final long fromSlot, final long toSlot) {
+    return LongStream.rangeClosed(fromSlot, toSlot).filter(slot -> slot % 3 != 0).toArray();
+  }
+
+  private static HttpServer HTTP_SERVER;
+  private static SolanaRpcClient RPC_CLIENT;
+
+  private static final Set<Long> FAILING = ConcurrentHashMap.newKeySet();
+  private static final Set<Long> ATTEMPTED = ConcurrentHashMap.newKeySet();
+  private static volatile boolean FAIL_ALWAYS;
+
+  /// Responds to every request after a random delay, so blocks complete out of order. Slots in [#FAILING] fail on
+  /// their first attempt, or every attempt if [#FAIL_ALWAYS].
+  @BeforeAll
+  static void setupHttpServer() {
+    final var httpServerRecord = createServer();
+    httpServerRecord.httpServer().createContext("/", request -> {
+      try (final var ji = JsonIterator.parse(request.getRequestBody().readAllBytes())) {
+        Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+        final var method = ji.skipUntil("method").readString();
+        ji.skipUntil("params");
+        ji.readArray();
+        final var responseMsg = switch (method) {
+          case "getBlocksWithLimit" -> {
+            final long startSlot = ji.readLong();
+            ji.readArray();
+            final long limit = ji.readLong();
+            final var slots = LongStream.of(producedSlots(startSlot, TO_SLOT + 1_000))
+                .limit(limit)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+            yield String.format("""
+                {"jsonrpc":"2.0","result":[%s],"id":1}""", slots);
+          }
+          case "getBlock" -> {
+            final long slot = ji.readLong();
+            if (FAILING.contains(slot) && (FAIL_ALWAYS || ATTEMPTED.add(slot))) {
+              yield String.format("""
+                  {"jsonrpc":"2.0","error":{"code":-32004,"message":"Block not available for slot %d"},"id":1}""", slot);
+            }
+            yield String.format("""
+                {"jsonrpc":"2.0","result":{"blockHeight":%d,"parentSlot":%d,"rewards":[],"transactions":[]},"id":1}""",
+                slot, slot - 1);
+          }
+          default -> "Unexpected method call: " + method;
+        };
+        writeResponse(request, responseMsg);
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    HTTP_SERVER = httpServerRecord.httpServer();
+    RPC_CLIENT = SolanaRpcClient.createClient(httpServerRecord.endpoint(), HttpClientTests.createClient());
+  }
+
+  @AfterAll
+  static void shutdown() {
+    RPC_CLIENT.httpClient().close();
+    HTTP_SERVER.stop(0);
+  }
+
+  @AfterEach
+  void reset() {
+    FAILING.clear();
+    ATTEMPTED.clear();
+    FAIL_ALWAYS = false;
+  }
+
+  private record Recorder(List<Long> delivered,
+                          List<Long> checkpoints,
+                          AtomicInteger concurrent,
+                          AtomicInteger maxConcurrent) {
+
+    Recorder() {
+      this(
+          Collections.synchronizedList(new ArrayList<>()),
+          Collections.synchronizedList(new ArrayList<>()),
+          new AtomicInteger(),
+          new AtomicInteger()
+      );
+    }
+
+    void accept(final long slot, final Block block) {
+      maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+      delivered.add(block.blockHeight() == slot ? slot : -slot);
+      concurrent.decrementAndGet();
+    }
+  }
+
+  private static BlockBackfill createBackfill(final int maxRetries, final Recorder recorder) {
+    return BlockBackfill.build()
+        .rpcClient(RPC_CLIENT)
+        .fromSlot(FROM_SLOT)
+        .toSlot(TO_SLOT)
+        .maxConcurrency(8)
+        .listLimit(50)
+        .maxRetries(maxRetries)
+        .consumer(recorder::accept)
+        .checkpointListener(recorder.checkpoints::add, 16)
+        .create();
+  }
+
+  private static List<Long> expectedSlots(final long toSlot) {
+    return LongStream.of(producedSlots(FROM_SLOT, toSlot)).boxed().toList();
+  }
+
+  @Test
+  void testOutOfOrderCompletion() {
+    final var recorder = new Recorder();
+    final var backfill = createBackfill(0, recorder);
+    assertEquals(TO_SLOT, backfill.run().join());
+
+    final var expected = expectedSlots(TO_SLOT);
+    assertEquals(expected, recorder.delivered);
+    assertEquals(expected.size(), backfill.numDelivered());
+    assertEquals(TO_SLOT, backfill.checkpoint());
+    assertEquals(0, backfill.numInFlight());
+    assertEquals(1, recorder.maxConcurrent.get());
+
+    final var checkpoints = recorder.checkpoints;
+    assertEquals(expected.size() / 16 + 1, checkpoints.size());
+    for (int i = 1; i < checkpoints.size(); ++i) {
+      assertTrue(checkpoints.get(i) > checkpoints.get(i - 1));
+    }
+    assertEquals(TO_SLOT, checkpoints.getLast());
+  }
+
+  @Test
+  void testRetry() {
+    FAILING.addAll(List.of(1_001L, 1_100L, 1_199L));
+    final var recorder = new Recorder();
+    final var backfill = createBackfill(1, recorder);
+    assertEquals(TO_SLOT, backfill.run().join());
+    assertEquals(expectedSlots(TO_SLOT), recorder.delivered);
+  }
+
+  @Test
+  void testFailure() {
+    final long failingSlot = 1_100;
+    FAILING.add(failingSlot);
+    FAIL_ALWAYS = true;
+    final var recorder = new Recorder();
+    final var backfill = createBackfill(0, recorder);
+    final var ex = assertThrows(CompletionException.class, () -> backfill.run().join());
+    assertInstanceOf(JsonRpcException.class, ex.getCause());
+
+    final var delivered = List.copyOf(recorder.delivered);
+    assertEquals(expectedSlots(failingSlot - 1).subList(0, delivered.size()), delivered);
+    assertTrue(backfill.checkpoint() < failingSlot);
+  }
+}
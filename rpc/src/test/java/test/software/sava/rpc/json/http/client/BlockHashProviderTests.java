@@ -0,0 +1,129 @@
+package test.software.sava.rpc.json.http.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.sava.rpc.json.http.client.BlockHashProvider;
+import software.sava.rpc.json.http.client.SolanaRpcClient;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static software.sava.rpc.json.http.client.BlockHashProvider.MAX_PROCESSING_AGE;
+import static software.sava.rpc.json.http.request.Commitment.CONFIRMED;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.createServer;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.writeResponse;
+
+final class BlockHashProviderTests {
+
+  private static HttpServer HTTP_SERVER;
+  private static SolanaRpcClient RPC_CLIENT;
+
+  private static volatile long BLOCK_HEIGHT;
+  private static final AtomicReference<CountDownLatch> HOLD_BLOCK_HEIGHT = new AtomicReference<>();
+
+  @BeforeAll
+  static void setupHttpServer() {
+    final var httpServerRecord = createServer();
+
+    httpServerRecord.httpServer().createContext("/", request -> {
+      try (final var ji = JsonIterator.parse(request.getRequestBody().readAllBytes())) {
+        final long blockHeight = BLOCK_HEIGHT;
+        final var method = ji.skipUntil("method").readString();
+        final var responseMsg = switch (method) {
+          case "getBlockHeight" -> {
+            final var hold = HOLD_BLOCK_HEIGHT.getAndSet(null);
+            if (hold != null) {
+              try {
+                hold.await();
+              } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+            }
+            yield String.format("""
+                {"jsonrpc":"2.0","result":%d,"id":1}""", blockHeight);
+          }
+          case "getLatestBlockhash" -> String.format("""
+              {"jsonrpc":"2.0","result":{"context":{"slot":1,"apiVersion":"2.0.0"},"value":{"blockhash":"EkSnNWid2cvwEVnVx9aBqawnmiCNiDgp3gUdkDPTKN1N","lastValidBlockHeight":%d}},"id":1}""",
+              blockHeight + MAX_PROCESSING_AGE);
+          default -> "Unexpected method call: " + method;
+        };
+        writeResponse(request, responseMsg);
+      }
+    });
+
+    HTTP_SERVER = httpServerRecord.httpServer();
+    RPC_CLIENT = SolanaRpcClient.createClient(httpServerRecord.endpoint(), HttpClientTests.createClient());
+  }
+
+  @AfterAll
+  static void shutdown() {
+    RPC_CLIENT.httpClient().close();
+    HTTP_SERVER.stop(0);
+  }
+
+  private static void awaitBlockHeight(final BlockHashProvider provider, final long expected) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (provider.blockHeight() != expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(expected, provider.blockHeight());
+  }
+
+  @Test
+  void testSkippedSlotsDoNotAccumulate() throws InterruptedException {
+    BLOCK_HEIGHT = 1_000;
+    try (final var provider = BlockHashProvider.createProvider(RPC_CLIENT, CONFIRMED, 0)) {
+      provider.latestValid().join();
+      awaitBlockHeight(provider, 1_000);
+
+      provider.onSlot(100);
+      assertEquals(1_000, provider.blockHeight());
+
+      // 300 slots pass while only 100 blocks are produced.
+      provider.onSlot(400);
+      assertEquals(1_300, provider.blockHeight());
+      assertTrue(provider.isExpired(provider.latest()));
+
+      BLOCK_HEIGHT = 1_100;
+      final var refreshed = provider.latestValid().join();
+      awaitBlockHeight(provider, 1_100);
+      assertEquals(MAX_PROCESSING_AGE, provider.blocksRemaining(refreshed));
+      assertFalse(provider.isExpired(provider.latest()));
+
+      provider.onSlot(410);
+      assertEquals(1_110, provider.blockHeight());
+
+      provider.onBlockHeight(1_105);
+      assertEquals(1_105, provider.blockHeight());
+    }
+  }
+
+  @Test
+  void testStaleResponsesAreDropped() throws InterruptedException {
+    BLOCK_HEIGHT = 5_000;
+    final var hold = new CountDownLatch(1);
+    HOLD_BLOCK_HEIGHT.set(hold);
+    try (final var provider = BlockHashProvider.createProvider(RPC_CLIENT, CONFIRMED, 0)) {
+      provider.latestValid().join();
+      awaitBlockHeight(provider, 5_000);
+
+      BLOCK_HEIGHT = 5_200;
+      provider.refresh().join();
+      awaitBlockHeight(provider, 5_200);
+
+      // The first block height response completes after the newer one was applied.
+      hold.countDown();
+      Thread.sleep(100);
+      assertEquals(5_200, provider.blockHeight());
+
+      // A later observation replaces the estimate even if it is lower.
+      provider.onBlockHeight(5_150);
+      assertEquals(5_150, provider.blockHeight());
+    }
+  }
+}
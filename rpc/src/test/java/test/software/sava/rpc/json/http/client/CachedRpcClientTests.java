@@ -0,0 +1,101 @@
+package test.software.sava.rpc.json.http.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.client.CachedRpcClient;
+import software.sava.rpc.json.http.client.SolanaRpcClient;
+import software.sava.rpc.json.http.request.Commitment;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static software.sava.rpc.json.http.response.AccountInfo.BYTES_IDENTITY;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.createServer;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.writeResponse;
+
+final class CachedRpcClientTests {
+
+  private static HttpServer HTTP_SERVER;
+  private static SolanaRpcClient RPC_CLIENT;
+
+  private static final AtomicInteger NUM_CALLS = new AtomicInteger();
+
+  @BeforeAll
+  static void setupHttpServer() {
+    final var httpServerRecord = createServer();
+    httpServerRecord.httpServer().createContext("/", request -> {
+      NUM_CALLS.incrementAndGet();
+      try (final var ji = JsonIterator.parse(request.getRequestBody().readAllBytes())) {
+        final var method = ji.skipUntil("method").readString();
+        ji.skipUntil("params");
+        ji.readArray();
+        final var responseMsg = switch (method) {
+          case "getAccountInfo" -> {
+            final var key = ji.readString();
+            yield String.format("""
+                {"jsonrpc":"2.0","result":{"context":{"slot":100},"value":{"data":["AQIDBA==","base64"],"executable":false,"lamports":1,"owner":"%s","rentEpoch":0,"space":4}},"id":1}""", key);
+          }
+          case "getMinimumBalanceForRentExemption" -> String.format("""
+              {"jsonrpc":"2.0","result":%d,"id":1}""", ji.readLong() * 2);
+          default -> "Unexpected method call: " + method;
+        };
+        writeResponse(request, responseMsg);
+      }
+    });
+    HTTP_SERVER = httpServerRecord.httpServer();
+    RPC_CLIENT = SolanaRpcClient.createClient(httpServerRecord.endpoint(), HttpClientTests.createClient());
+  }
+
+  @AfterAll
+  static void shutdown() {
+    RPC_CLIENT.httpClient().close();
+    HTTP_SERVER.stop(0);
+  }
+
+  @AfterEach
+  void reset() {
+    NUM_CALLS.set(0);
+  }
+
+  @Test
+  void testAccountDataIsCopiedPerCaller() {
+    final var rpcClient = CachedRpcClient.build().rpcClient(RPC_CLIENT).create();
+    final var key = PublicKey.createPubKey(new byte[PublicKey.PUBLIC_KEY_LENGTH]);
+
+    final var first = rpcClient.getAccountInfo(Commitment.CONFIRMED, key, BYTES_IDENTITY).join();
+    first.data()[0] = 9;
+    final var second = rpcClient.getAccountInfo(Commitment.CONFIRMED, key, BYTES_IDENTITY).join();
+    final int length = rpcClient.getAccountInfo(Commitment.CONFIRMED, key, (_, data) -> data.length).join().data();
+
+    assertEquals(1, NUM_CALLS.get());
+    assertEquals(2, rpcClient.numHits());
+    assertArrayEquals(new byte[]{1, 2, 3, 4}, second.data());
+    assertNotSame(first.data(), second.data());
+    assertEquals(4, length);
+  }
+
+  @Test
+  void testLeastRecentlyUsedEviction() throws InterruptedException {
+    final var rpcClient = CachedRpcClient.build().rpcClient(RPC_CLIENT).maxEntries(8).create();
+    for (long i = 0; i < 8; ++i) {
+      assertEquals(i * 2, rpcClient.getMinimumBalanceForRentExemption(i).join());
+      Thread.sleep(1);
+    }
+    rpcClient.getMinimumBalanceForRentExemption(0).join();
+    Thread.sleep(1);
+    assertEquals(8, NUM_CALLS.get());
+
+    rpcClient.getMinimumBalanceForRentExemption(8).join();
+    assertEquals(9, NUM_CALLS.get());
+
+    rpcClient.getMinimumBalanceForRentExemption(0).join();
+    assertEquals(9, NUM_CALLS.get());
+    rpcClient.getMinimumBalanceForRentExemption(1).join();
+    assertEquals(10, NUM_CALLS.get());
+  }
+}
@@ -0,0 +1,91 @@
+package test.software.sava.rpc.json.http.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.sava.rpc.json.http.client.DecompressingBodyHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+final class CompressionTests {
+
+  private static final String BODY = """
+      {"jsonrpc":"2.0","result":{"context":{"slot":1},"value":[%s]},"id":1}""".formatted(
+      """
+          {"lamports":2039280,"owner":"TokenkegQfeZyiNwAJbNbGKPFXCWuBvf9Ss623VQ5DA","data":["AAAA","base64"]},""".repeat(2_048) + "null"
+  );
+
+  private static HttpServer HTTP_SERVER;
+  private static HttpClient HTTP_CLIENT;
+  private static URI ENDPOINT;
+
+  private static byte[] compress(final boolean gzip) {
+    final var bytes = new ByteArrayOutputStream();
+    try (final OutputStream out = gzip ? new GZIPOutputStream(bytes) : new DeflaterOutputStream(bytes)) {
+      out.write(BODY.getBytes(UTF_8));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  @BeforeAll
+  static void setupHttpServer() {
+    final var httpServerRecord = HttpClientTests.createServer();
+    final byte[] gzip = compress(true);
+    final byte[] deflate = compress(false);
+    httpServerRecord.httpServer().createContext("/", exchange -> {
+      final var encoding = exchange.getRequestURI().getPath().substring(1);
+      assertEquals(DecompressingBodyHandler.ACCEPT_ENCODING, exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+      final byte[] body = switch (encoding) {
+        case "gzip", "gzip-chunked" -> gzip;
+        case "deflate" -> deflate;
+        default -> BODY.getBytes(UTF_8);
+      };
+      if (!encoding.equals("identity")) {
+        exchange.getResponseHeaders().set("Content-Encoding", encoding.startsWith("gzip") ? "gzip" : encoding);
+      }
+      exchange.sendResponseHeaders(200, encoding.endsWith("chunked") ? 0 : body.length);
+      try (final var os = exchange.getResponseBody()) {
+        os.write(body);
+      }
+    });
+    HTTP_SERVER = httpServerRecord.httpServer();
+    ENDPOINT = httpServerRecord.endpoint();
+    HTTP_CLIENT = HttpClientTests.createClient();
+  }
+
+  @AfterAll
+  static void shutdown() {
+    HTTP_CLIENT.close();
+    HTTP_SERVER.stop(0);
+  }
+
+  private static String fetch(final String encoding) {
+    final var request = HttpRequest.newBuilder(ENDPOINT.resolve("/" + encoding))
+        .header("Accept-Encoding", DecompressingBodyHandler.ACCEPT_ENCODING)
+        .build();
+    return new String(HTTP_CLIENT.sendAsync(request, DecompressingBodyHandler.INSTANCE).join().body(), UTF_8);
+  }
+
+  @Test
+  void testInflate() {
+    assertTrue(compress(true).length * 5 < BODY.length());
+    assertEquals(BODY, fetch("gzip"));
+    assertEquals(BODY, fetch("gzip-chunked"));
+    assertEquals(BODY, fetch("deflate"));
+    assertEquals(BODY, fetch("identity"));
+  }
+}
@@ -12,7 +12,7 @@ import java.util.concurrent.Executors;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
-final class HttpClientTests {
+public final class HttpClientTests {
 
   static {
     System.setProperty("com.sun.net.httpserver.HttpServerProvider", "sun.net.httpserver.DefaultHttpServerProvider");
@@ -20,11 +20,11 @@ final class HttpClientTests {
 
   private static final ExecutorService HTTP_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
 
-  static HttpClient createClient() {
+  public static HttpClient createClient() {
     return HttpClient.newBuilder().executor(HTTP_EXECUTOR).build();
   }
 
-  static HttpServerRecord createServer() {
+  public static HttpServerRecord createServer() {
     try {
       final var httpServer = HttpServer.create(new InetSocketAddress(0), 0);
       httpServer.setExecutor(HTTP_EXECUTOR);
@@ -39,7 +39,7 @@ final class HttpClientTests {
     writeResponse(200, httpExchange, response);
   }
 
-  static void writeResponse(final int responseCode, final HttpExchange httpExchange, final String response) {
+  public static void writeResponse(final int responseCode, final HttpExchange httpExchange, final String response) {
     final var responseBytes = response.getBytes(UTF_8);
     try {
       httpExchange.sendResponseHeaders(responseCode, responseBytes.length);
@@ -0,0 +1,64 @@
+package test.software.sava.rpc.json.http.client;
+
+import org.junit.jupiter.api.Test;
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.response.EpochSchedule;
+import software.sava.rpc.json.http.response.LeaderSchedule;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class LeaderScheduleTests {
+
+  private static final PublicKey A = PublicKey.fromBase58Encoded("4Nd1mBQtrMJVYVfKf2PJy9NZUZdTAsp7D4xWLs4gDB4T");
+  private static final PublicKey B = PublicKey.fromBase58Encoded("9WzDXwBbmkg8ZTbNMqUxvQRAyrZzDsGYdLVL9zYtAWWM");
+
+  @Test
+  void testEpochSchedule() {
+    final var mainnet = new EpochSchedule(0, 0, 432_000, 432_000, false);
+    assertEquals(0, mainnet.epoch(0));
+    assertEquals(1, mainnet.epoch(432_000));
+    assertEquals(700, mainnet.epoch(302_400_123));
+    assertEquals(302_400_000, mainnet.firstSlotInEpoch(700));
+    assertEquals(302_831_999, mainnet.lastSlotInEpoch(700));
+    assertEquals(123, mainnet.slotIndex(302_400_123));
+
+    final var warmup = new EpochSchedule(14, 524_256, 8_192, 8_192, true);
+    assertEquals(0, warmup.epoch(0));
+    assertEquals(0, warmup.epoch(31));
+    assertEquals(1, warmup.epoch(32));
+    assertEquals(64, warmup.slotsInEpoch(1));
+    assertEquals(96, warmup.firstSlotInEpoch(2));
+    assertEquals(14, warmup.epoch(524_256));
+    assertEquals(15, warmup.epoch(524_256 + 8_192));
+    assertEquals(524_256 + 8_192, warmup.firstSlotInEpoch(15));
+  }
+
+  @Test
+  void testSlotLeaders() {
+    final var schedule = new LeaderSchedule(1, 100, new PublicKey[]{A, B}, new short[]{0, 0, 0, 0, 1, 1, 1, 1, 0, 0});
+    assertEquals(109, schedule.lastSlot());
+    assertNull(schedule.leader(99));
+    assertEquals(A, schedule.leader(100));
+    assertEquals(B, schedule.leader(104));
+    assertNull(schedule.leader(110));
+    assertEquals(104, schedule.nextLeaderSlot(101, B));
+    assertEquals(-1, schedule.nextLeaderSlot(105 + 4, B));
+    assertEquals(List.of(A, B, A), schedule.nextLeaders(102, 8));
+    assertEquals(List.of(B), schedule.nextLeaders(105, 1));
+  }
+
+  @Test
+  void testParse() {
+    final var json = """
+        {"4Nd1mBQtrMJVYVfKf2PJy9NZUZdTAsp7D4xWLs4gDB4T":[0,1,2,3,8,9],"9WzDXwBbmkg8ZTbNMqUxvQRAyrZzDsGYdLVL9zYtAWWM":[4,5,6,7]}""";
+    final var schedule = LeaderSchedule.parse(1, 100, JsonIterator.parse(json));
+    assertEquals(10, schedule.numSlots());
+    assertEquals(2, schedule.numValidators());
+    assertEquals(A, schedule.leader(103));
+    assertEquals(B, schedule.leader(107));
+    assertEquals(A, schedule.leader(109));
+  }
+}
@@ -0,0 +1,276 @@
+package test.software.sava.rpc.json.http.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.sava.rpc.json.http.client.BalancedEndpoint;
+import software.sava.rpc.json.http.client.LoadBalancedRpcClient;
+import software.sava.rpc.json.http.client.SolanaRpcClient;
+import software.sava.rpc.json.http.response.JsonRpcException;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.createServer;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.writeResponse;
+
+final class LoadBalancedRpcClientTests {
+
+  private static final class StubEndpoint {
+
+    private final HttpServer httpServer;
+    private final SolanaRpcClient rpcClient;
+
+    private volatile long delayMillis;
+    private volatile long slot;
+    private volatile boolean healthy;
+    private volatile int errorCode;
+    private volatile String retryAfter;
+
+    private StubEndpoint() {
+      final var httpServerRecord = createServer();
+      this.httpServer = httpServerRecord.httpServer();
+      this.rpcClient = SolanaRpcClient.createClient(httpServerRecord.endpoint(), HttpClientTests.createClient());
+      httpServer.createContext("/", request -> {
+        try (final var ji = JsonIterator.parse(request.getRequestBody().readAllBytes())) {
+          final var method = ji.skipUntil("method").readString();
+          if (method.equals("getHealth")) {
+            writeResponse(request, healthy
+                ? """
+                {"jsonrpc":"2.0","result":"ok","id":1}"""
+                : """
+                {"jsonrpc":"2.0","error":{"code":-32005,"message":"Node is behind by 42 slots","data":{"numSlotsBehind":42}},"id":1}""");
+            return;
+          }
+          Thread.sleep(delayMillis);
+          final int errorCode = this.errorCode;
+          if (errorCode == 0) {
+            writeResponse(request, String.format("""
+                {"jsonrpc":"2.0","result":%d,"id":1}""", slot));
+          } else {
+            final var retryAfter = this.retryAfter;
+            if (retryAfter != null) {
+              request.getResponseHeaders().add("retry-after", retryAfter);
+            }
+            writeResponse(errorCode == 429 ? 429 : 200, request, String.format("""
+                {"jsonrpc":"2.0","error":{"code":%d,"message":"Failed"},"id":1}""", errorCode));
+          }
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      });
+    }
+
+    private void reset() {
+      this.delayMillis = 0;
+      this.slot = 1_000;
+      this.healthy = true;
+      this.errorCode = 0;
+      this.retryAfter = null;
+    }
+
+    private void close() {
+      rpcClient.httpClient().close();
+      httpServer.stop(0);
+    }
+  }
+
+  private static StubEndpoint A;
+  private static StubEndpoint B;
+  private static StubEndpoint C;
+
+  @BeforeAll
+  static void setupHttpServers() {
+    A = new StubEndpoint();
+    B = new StubEndpoint();
+    C = new StubEndpoint();
+    // Keep connection setup out of the latency samples.
+    for (final var endpoint : List.of(A, B, C)) {
+      endpoint.reset();
+      endpoint.rpcClient.getSlot().join();
+    }
+  }
+
+  @AfterAll
+  static void shutdown() {
+    A.close();
+    B.close();
+    C.close();
+  }
+
+  @BeforeEach
+  void resetEndpoints() {
+    A.reset();
+    B.reset();
+    C.reset();
+  }
+
+  private static long[] numRequests(final LoadBalancedRpcClient rpcClient) {
+    return rpcClient.endpoints().stream().mapToLong(BalancedEndpoint::numRequests).toArray();
+  }
+
+  private static void getSlot(final LoadBalancedRpcClient rpcClient, final int numRequests) {
+    for (int i = 0; i < numRequests; ++i) {
+      rpcClient.getSlot().join();
+    }
+  }
+
+  @Test
+  void testLatencyEwma() {
+    final var rpcClient = LoadBalancedRpcClient.build()
+        .endpoint(A.rpcClient)
+        .endpoint(B.rpcClient)
+        .ewmaAlpha(0.5)
+        .create();
+    final var endpoints = rpcClient.endpoints();
+    A.delayMillis = 40;
+
+    // Ties go to the first endpoint, after which the faster endpoint serves every request.
+    getSlot(rpcClient, 6);
+    assertArrayEquals(new long[]{1, 5}, numRequests(rpcClient));
+    assertTrue(endpoints.get(0).latencyEwmaMillis() >= 40);
+    assertTrue(endpoints.get(1).latencyEwmaMillis() < endpoints.get(0).latencyEwmaMillis());
+
+    // A single slow response moves half way towards it, making the first endpoint the faster one.
+    B.delayMillis = 400;
+    getSlot(rpcClient, 1);
+    assertTrue(endpoints.get(1).latencyEwmaMillis() > 200);
+    B.delayMillis = 0;
+    getSlot(rpcClient, 1);
+    assertArrayEquals(new long[]{2, 6}, numRequests(rpcClient));
+  }
+
+  @Test
+  void testErrorRate() {
+    final var rpcClient = LoadBalancedRpcClient.build()
+        .endpoint(A.rpcClient)
+        .endpoint(B.rpcClient)
+        .ewmaAlpha(0.5)
+        .errorPenalty(100)
+        .create();
+    final var endpoints = rpcClient.endpoints();
+    A.errorCode = -32000;
+    B.delayMillis = 10;
+
+    final var ex = assertThrows(CompletionException.class, () -> rpcClient.getSlot().join());
+    assertInstanceOf(JsonRpcException.class, ex.getCause());
+    assertEquals(1, endpoints.getFirst().numErrors());
+    assertEquals(0.5, endpoints.getFirst().errorRateEwma());
+    assertEquals(0, endpoints.getFirst().numInFlight());
+
+    // The erroring endpoint is avoided even though it responds faster.
+    A.errorCode = 0;
+    getSlot(rpcClient, 4);
+    assertArrayEquals(new long[]{1, 4}, numRequests(rpcClient));
+    assertEquals(0, endpoints.get(1).errorRateEwma());
+  }
+
+  @Test
+  void testRetryAfterBackOff() {
+    final var rpcClient = LoadBalancedRpcClient.build()
+        .endpoint(A.rpcClient)
+        .endpoint(B.rpcClient)
+        .defaultBackOffMillis(5_000)
+        .create();
+    final var endpoints = rpcClient.endpoints();
+    A.errorCode = 429;
+    A.retryAfter = "60";
+    B.delayMillis = 20;
+
+    long now = System.currentTimeMillis();
+    final var ex = assertThrows(CompletionException.class, () -> rpcClient.getSlot().join());
+    assertEquals(OptionalLong.of(60), ((JsonRpcException) ex.getCause()).retryAfterSeconds());
+    final var first = endpoints.getFirst();
+    assertTrue(first.backOffUntil() >= now + 60_000);
+    assertEquals(Double.POSITIVE_INFINITY, first.score("getSlot", System.currentTimeMillis()));
+
+    A.errorCode = 0;
+    getSlot(rpcClient, 3);
+    assertArrayEquals(new long[]{1, 3}, numRequests(rpcClient));
+
+    // Without a retry-after header a rate limited endpoint backs off for the default duration.
+    final var second = endpoints.get(1);
+    B.errorCode = 429;
+    now = System.currentTimeMillis();
+    assertThrows(CompletionException.class, () -> rpcClient.getSlot().join());
+    assertTrue(second.backOffUntil() >= now + 5_000);
+    assertTrue(second.backOffUntil() < now + 60_000);
+
+    // With every endpoint backing off, the best scoring one is still used rather than failing outright.
+    B.errorCode = 0;
+    getSlot(rpcClient, 1);
+    assertEquals(6, first.numRequests() + second.numRequests());
+  }
+
+  @Test
+  void testSlotLagAndHealth() {
+    final var rpcClient = LoadBalancedRpcClient.build()
+        .endpoint(A.rpcClient)
+        .endpoint(B.rpcClient)
+        .endpoint(C.rpcClient)
+        .maxSlotLag(32)
+        .create();
+    final var endpoints = rpcClient.endpoints();
+    A.delayMillis = 20;
+    B.slot = 950;
+    C.healthy = false;
+
+    rpcClient.checkEndpoints().join();
+    assertEquals(List.of(1_000L, 950L, 1_000L), endpoints.stream().map(BalancedEndpoint::slot).toList());
+    assertEquals(List.of(0L, 50L, 0L), endpoints.stream().map(BalancedEndpoint::slotLag).toList());
+    assertEquals(List.of(true, true, false), endpoints.stream().map(BalancedEndpoint::healthy).toList());
+
+    // Only the slow endpoint is both healthy and caught up.
+    getSlot(rpcClient, 3);
+    assertArrayEquals(new long[]{3, 0, 0}, numRequests(rpcClient));
+
+    B.slot = 990;
+    C.healthy = true;
+    rpcClient.checkEndpoints().join();
+    assertEquals(10, endpoints.get(1).slotLag());
+    assertTrue(endpoints.get(2).healthy());
+    getSlot(rpcClient, 4);
+    assertEquals(3, endpoints.getFirst().numRequests());
+    assertEquals(4, endpoints.get(1).numRequests() + endpoints.get(2).numRequests());
+  }
+
+  @Test
+  void testMethodWeights() {
+    final var rpcClient = LoadBalancedRpcClient.build()
+        .endpoint(A.rpcClient, 1.0, Map.of("getSlot", 0.0))
+        .endpoint(B.rpcClient, 1.0, Map.of("getBlockHeight", 100.0))
+        .create();
+    final var endpoints = rpcClient.endpoints();
+    assertEquals(0, endpoints.getFirst().weight("getSlot"));
+    assertEquals(1, endpoints.getFirst().weight("getBlockHeight"));
+    assertEquals(100, endpoints.get(1).weight("getBlockHeight"));
+    assertEquals(Double.POSITIVE_INFINITY, endpoints.getFirst().score("getSlot", System.currentTimeMillis()));
+
+    // Zero weight excludes the faster endpoint from a method.
+    B.delayMillis = 20;
+    getSlot(rpcClient, 3);
+    assertArrayEquals(new long[]{0, 3}, numRequests(rpcClient));
+
+    // A heavy weight outweighs higher latency.
+    for (int i = 0; i < 3; ++i) {
+      rpcClient.getBlockHeight().join();
+    }
+    assertArrayEquals(new long[]{0, 6}, numRequests(rpcClient));
+
+    // Other methods are routed by latency.
+    rpcClient.getTransactionCount().join();
+    assertArrayEquals(new long[]{1, 6}, numRequests(rpcClient));
+
+    // A zero weight endpoint is only a last resort.
+    B.healthy = false;
+    rpcClient.checkEndpoints().join();
+    getSlot(rpcClient, 1);
+    assertArrayEquals(new long[]{1, 7}, numRequests(rpcClient));
+  }
+}
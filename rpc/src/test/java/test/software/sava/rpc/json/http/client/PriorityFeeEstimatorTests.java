@@ -0,0 +1,57 @@
+package test.software.sava.rpc.json.http.client;
+
+import org.junit.jupiter.api.Test;
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.client.PriorityFeeEstimator;
+import software.sava.rpc.json.http.response.PrioritizationFee;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static software.sava.rpc.json.http.client.PriorityFeeEstimator.FeeLevel.MAX;
+import static software.sava.rpc.json.http.client.PriorityFeeEstimator.FeeLevel.P90;
+
+final class PriorityFeeEstimatorTests {
+
+  private static List<PrioritizationFee> fees(final long fromSlot, final int numSlots, final long feeOffset) {
+    final var fees = new ArrayList<PrioritizationFee>(numSlots);
+    for (int i = 0; i < numSlots; ++i) {
+      final long slot = fromSlot + i;
+      fees.add(new PrioritizationFee(slot, feeOffset + (slot % 100) * 1_000));
+    }
+    return fees;
+  }
+
+  @Test
+  void testSlidingWindow() {
+    final var account = PublicKey.fromBase58Encoded("JUP6LkbZbjS1jKKwapdHNy74zcZ3tLUZoi5QNyVTaV4");
+    final var other = PublicKey.fromBase58Encoded("whirLbMiicVdio4qvUfM5KAg6Ct8VwpYzGff3uctyCc");
+    try (final var estimator = PriorityFeeEstimator.createEstimator(null, List.of(account))) {
+      assertEquals(0, estimator.estimate(account).numSlots());
+
+      // slots 1,000 to 1,099 with fees 0 to 99,000
+      estimator.onFees(account, fees(1_000, 100, 0));
+      var estimate = estimator.estimate(account);
+      assertEquals(100, estimate.numSlots());
+      assertEquals(99_000, estimate.max());
+      assertEquals(50_000, estimate.p50(), 50_000 * 0.04);
+      assertEquals(75_000, estimate.p75(), 75_000 * 0.04);
+      assertEquals(90_000, estimate.p90(), 90_000 * 0.04);
+
+      // Overlapping refresh slides the window forward, evicting slots older than 150 slots.
+      estimator.onFees(account, fees(1_050, 150, 1_000_000));
+      estimate = estimator.estimate(account);
+      assertEquals(150, estimate.numSlots());
+      assertEquals(1_099_000, estimate.max());
+      assertEquals(1_062_000, estimate.p50(), 1_062_000 * 0.04);
+
+      // Untracked accounts fall back to the global estimate.
+      estimator.onFees(null, fees(1_050, 150, 2_000_000));
+      assertEquals(2_099_000, estimator.estimate(other).max());
+      assertEquals(2_099_000, estimator.computeUnitPrice(List.of(account, other), MAX));
+      assertEquals(1_099_000, estimator.computeUnitPrice(List.of(account), MAX));
+      assertEquals(1_000_000, estimator.computeUnitPrice(List.of(account), P90, 1_000_000));
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package test.software.sava.rpc.json.http.client;
+
+import org.junit.jupiter.api.Test;
+import software.sava.rpc.json.http.client.RateLimiter;
+
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class RateLimiterTests {
+
+  @Test
+  void testWeightedBurst() {
+    final var rateLimiter = RateLimiter.createLimiter(10, 4, Map.of("getProgramAccounts", 4.0));
+
+    assertTrue(rateLimiter.acquire("getAccountInfo").isDone());
+    assertTrue(rateLimiter.acquire(null).isDone());
+    final var delayed = rateLimiter.acquire("getProgramAccounts");
+    assertFalse(delayed.isDone());
+    delayed.join();
+  }
+
+  @Test
+  void testAdaptiveRate() {
+    final var rateLimiter = RateLimiter.createLimiter(10);
+    assertEquals(10, rateLimiter.permitsPerSecond());
+
+    rateLimiter.onRateLimited("getAccountInfo", OptionalLong.empty());
+    assertEquals(5, rateLimiter.permitsPerSecond());
+
+    for (int i = 0; i < 1_000; ++i) {
+      rateLimiter.onSuccess("getAccountInfo");
+    }
+    assertEquals(10, rateLimiter.permitsPerSecond());
+
+    rateLimiter.onRateLimited("getAccountInfo", OptionalLong.of(60));
+    assertFalse(rateLimiter.acquire("getAccountInfo").isDone());
+  }
+}
@@ -0,0 +1,40 @@
+package test.software.sava.rpc.json.http.client;
+
+import org.junit.jupiter.api.Test;
+import software.sava.rpc.json.http.client.RequestHedger;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class RequestHedgerTests {
+
+  @Test
+  void testHedgeWinsAndCancelsPrimary() {
+    final var hedger = RequestHedger.createHedger(0.5, 1, 5, 16);
+    final var primary = new CompletableFuture<String>();
+    final var result = hedger.hedge(() -> primary, () -> CompletableFuture.completedFuture("hedge")).join();
+
+    assertEquals("hedge", result);
+    assertTrue(primary.isCancelled());
+
+    final var stats = hedger.stats();
+    assertEquals(1, stats.numRequests());
+    assertEquals(1, stats.numHedged());
+    assertEquals(1, stats.numHedgeWins());
+  }
+
+  @Test
+  void testFastPrimaryIsNotHedged() {
+    final var hedger = RequestHedger.createHedger(0.5, 1_000, 5_000, 16);
+    final var result = hedger.hedge(
+        () -> CompletableFuture.completedFuture("primary"),
+        () -> fail("Should not hedge.")
+    ).join();
+
+    assertEquals("primary", result);
+    final var stats = hedger.stats();
+    assertEquals(1, stats.numRequests());
+    assertEquals(0, stats.numHedged());
+  }
+}
@@ -0,0 +1,57 @@
+package test.software.sava.rpc.json.http.client;
+
+import org.junit.jupiter.api.Test;
+import software.sava.rpc.json.http.client.LatencyHistogram;
+import software.sava.rpc.json.http.client.RpcMetrics;
+import software.sava.rpc.json.http.client.RpcMetricsRecorder;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class RpcMetricsTests {
+
+  @Test
+  void testHistogramPercentiles() {
+    final var histogram = new LatencyHistogram();
+    assertEquals(0, histogram.snapshot().count());
+
+    for (long i = 1; i <= 1_000; ++i) {
+      histogram.record(i * 1_000);
+    }
+    final var snapshot = histogram.snapshot();
+    assertEquals(1_000, snapshot.count());
+    assertEquals(1_000_000, snapshot.maxNanos());
+    assertEquals(500_500, snapshot.meanNanos(), 0.0001);
+    assertEquals(500_000, snapshot.p50(), 500_000 * 0.04);
+    assertEquals(900_000, snapshot.p90(), 900_000 * 0.04);
+    assertEquals(990_000, snapshot.p99(), 990_000 * 0.04);
+  }
+
+  @Test
+  void testRecorder() {
+    final var endpoint = URI.create("https://localhost");
+    final var recorder = RpcMetrics.createRecorder();
+
+    recorder.onResponse(endpoint, "getSlot", 10, 1_000, 200, 64, null);
+    recorder.onParsed(endpoint, "getSlot", 100, null);
+    recorder.onResponse(endpoint, "getSlot", 10, 2_000, 200, 128, null);
+    recorder.onParsed(endpoint, "getSlot", 100, new IllegalStateException());
+    recorder.onResponse(endpoint, "getSlot", 10, 3_000, 0, 0, new RuntimeException());
+
+    final var stats = recorder.snapshot();
+    assertEquals(1, stats.size());
+    final var slotStats = stats.getFirst();
+    assertEquals("getSlot", slotStats.method());
+    assertEquals(3, slotStats.numRequests());
+    assertEquals(2, slotStats.numErrors());
+    assertEquals(192, slotStats.responseBytes());
+    assertEquals(1, slotStats.errorsByCode().get(RpcMetricsRecorder.PARSE_FAILURE));
+    assertEquals(1, slotStats.errorsByCode().get(RpcMetricsRecorder.EXCHANGE_FAILURE));
+    assertEquals(3, slotStats.responseLatency().count());
+    assertEquals(2, slotStats.parseLatency().count());
+
+    recorder.reset();
+    assertTrue(recorder.snapshot().isEmpty());
+  }
+}
@@ -0,0 +1,216 @@
+package test.software.sava.rpc.json.http.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.sava.rpc.json.http.client.SignatureStatusTracker;
+import software.sava.rpc.json.http.client.SolanaRpcClient;
+import software.sava.rpc.json.http.request.Commitment;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static software.sava.rpc.json.http.request.Commitment.*;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.createServer;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.writeResponse;
+
+final class SignatureStatusTrackerTests {
+
+  private static HttpServer HTTP_SERVER;
+  private static SolanaRpcClient RPC_CLIENT;
+  private static ScheduledExecutorService EXECUTOR;
+
+  private static final Map<String, Commitment> STATUSES = new ConcurrentHashMap<>();
+  private static final List<Integer> BATCH_SIZES = new CopyOnWriteArrayList<>();
+  private static final List<Long> POLL_NANOS = new CopyOnWriteArrayList<>();
+  private static final AtomicLong NUM_BLOCK_HEIGHT_REQUESTS = new AtomicLong();
+  private static volatile long BLOCK_HEIGHT;
+
+  @BeforeAll
+  static void setupHttpServer() {
+    final var httpServerRecord = createServer();
+    httpServerRecord.httpServer().createContext("/", request -> {
+      try (final var ji = JsonIterator.parse(request.getRequestBody().readAllBytes())) {
+        final var method = ji.skipUntil("method").readString();
+        final var responseMsg = switch (method) {
+          case "getSignatureStatuses" -> {
+            POLL_NANOS.add(System.nanoTime());
+            ji.skipUntil("params");
+            ji.readArray();
+            final var statuses = new StringJoiner(",");
+            int batchSize = 0;
+            while (ji.readArray()) {
+              final var status = STATUSES.get(ji.readString());
+              statuses.add(status == null ? "null" : String.format("""
+                  {"slot":1,"confirmations":null,"err":null,"status":{"Ok":null},"confirmationStatus":"%s"}""", status.getValue()));
+              ++batchSize;
+            }
+            BATCH_SIZES.add(batchSize);
+            yield String.format("""
+                {"jsonrpc":"2.0","result":{"context":{"slot":1},"value":[%s]},"id":1}""", statuses);
+          }
+          case "getBlockHeight" -> {
+            NUM_BLOCK_HEIGHT_REQUESTS.incrementAndGet();
+            yield String.format("""
+                {"jsonrpc":"2.0","result":%d,"id":1}""", BLOCK_HEIGHT);
+          }
+          default -> "Unexpected method call: " + method;
+        };
+        writeResponse(request, responseMsg);
+      }
+    });
+    HTTP_SERVER = httpServerRecord.httpServer();
+    RPC_CLIENT = SolanaRpcClient.createClient(httpServerRecord.endpoint(), HttpClientTests.createClient());
+    EXECUTOR = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @AfterAll
+  static void shutdown() {
+    EXECUTOR.shutdown();
+    RPC_CLIENT.httpClient().close();
+    HTTP_SERVER.stop(0);
+  }
+
+  @AfterEach
+  void reset() {
+    STATUSES.clear();
+    BATCH_SIZES.clear();
+    POLL_NANOS.clear();
+    NUM_BLOCK_HEIGHT_REQUESTS.set(0);
+    BLOCK_HEIGHT = 0;
+  }
+
+  private static SignatureStatusTracker createTracker(final long minIntervalMillis, final long maxIntervalMillis) {
+    return SignatureStatusTracker.createTracker(
+        RPC_CLIENT, EXECUTOR, Duration.ofMillis(minIntervalMillis), Duration.ofMillis(maxIntervalMillis)
+    );
+  }
+
+  private static void awaitPolls(final int numPolls) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (POLL_NANOS.size() < numPolls) {
+      if (System.nanoTime() > deadline) {
+        fail("Expected " + numPolls + " polls, observed " + POLL_NANOS.size());
+      }
+      Thread.sleep(2);
+    }
+  }
+
+  @Test
+  void testBatchesOfMaxSignatureStatuses() {
+    try (final var tracker = createTracker(20, 20)) {
+      final var futures = new ArrayList<CompletableFuture<?>>();
+      for (int i = 0; i < 600; ++i) {
+        final var txSig = "sig" + i;
+        STATUSES.put(txSig, CONFIRMED);
+        futures.add(tracker.await(txSig, CONFIRMED));
+      }
+      assertEquals(600, tracker.numPending());
+      CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).orTimeout(5, TimeUnit.SECONDS).join();
+
+      assertEquals(List.of(88, 256, 256), BATCH_SIZES.stream().sorted().toList());
+    }
+  }
+
+  @Test
+  void testCompletesAtRequestedCommitment() throws InterruptedException {
+    try (final var tracker = createTracker(10, 10)) {
+      STATUSES.put("processed", PROCESSED);
+      STATUSES.put("confirmed", PROCESSED);
+      STATUSES.put("finalized", PROCESSED);
+      final var processed = tracker.await("processed", PROCESSED);
+      final var confirmed = tracker.await("confirmed", CONFIRMED);
+      final var finalized = tracker.await("finalized", FINALIZED);
+
+      assertEquals(PROCESSED, processed.orTimeout(5, TimeUnit.SECONDS).join().confirmationStatus());
+      awaitPolls(POLL_NANOS.size() + 2);
+      assertFalse(confirmed.isDone());
+      assertFalse(finalized.isDone());
+
+      STATUSES.put("confirmed", CONFIRMED);
+      STATUSES.put("finalized", CONFIRMED);
+      assertEquals(CONFIRMED, confirmed.orTimeout(5, TimeUnit.SECONDS).join().confirmationStatus());
+      awaitPolls(POLL_NANOS.size() + 2);
+      assertFalse(finalized.isDone());
+      assertEquals(1, tracker.numPending());
+
+      STATUSES.put("finalized", FINALIZED);
+      assertEquals(FINALIZED, finalized.orTimeout(5, TimeUnit.SECONDS).join().confirmationStatus());
+    }
+  }
+
+  @Test
+  void testAdaptiveInterval() throws InterruptedException {
+    try (final var tracker = createTracker(20, 160)) {
+      final var future = tracker.await("sig", CONFIRMED);
+
+      // 20, 30, 45, 67, 101, 151, 160, 160
+      awaitPolls(9);
+      final long firstInterval = POLL_NANOS.get(1) - POLL_NANOS.get(0);
+      final long lastInterval = POLL_NANOS.get(8) - POLL_NANOS.get(7);
+      assertTrue(firstInterval < TimeUnit.MILLISECONDS.toNanos(100), "first interval " + firstInterval);
+      assertTrue(lastInterval >= TimeUnit.MILLISECONDS.toNanos(150), "last interval " + lastInterval);
+
+      // Any change in status resets the interval.
+      STATUSES.put("sig", PROCESSED);
+      final int numPolls = POLL_NANOS.size();
+      awaitPolls(numPolls + 2);
+      final long resetInterval = POLL_NANOS.get(numPolls + 1) - POLL_NANOS.get(numPolls);
+      assertTrue(resetInterval < TimeUnit.MILLISECONDS.toNanos(100), "reset interval " + resetInterval);
+
+      // Polling stops once nothing is awaited.
+      STATUSES.put("sig", CONFIRMED);
+      future.orTimeout(5, TimeUnit.SECONDS).join();
+      Thread.sleep(100);
+      final int finalPolls = POLL_NANOS.size();
+      Thread.sleep(200);
+      assertEquals(finalPolls, POLL_NANOS.size());
+      assertEquals(0, tracker.numPending());
+      assertEquals(0, NUM_BLOCK_HEIGHT_REQUESTS.get());
+    }
+  }
+
+  @Test
+  void testExpiry() throws InterruptedException {
+    try (final var tracker = createTracker(10, 10)) {
+      BLOCK_HEIGHT = 100;
+      final var unseen = tracker.await("unseen", CONFIRMED, 100);
+      final var observed = tracker.await("observed", CONFIRMED, 100);
+      final var noExpiry = tracker.await("noExpiry", CONFIRMED);
+      STATUSES.put("observed", PROCESSED);
+
+      awaitPolls(3);
+      assertTrue(NUM_BLOCK_HEIGHT_REQUESTS.get() > 0);
+      assertFalse(unseen.isDone());
+
+      BLOCK_HEIGHT = 101;
+      final var ex = assertThrows(CompletionException.class, () -> unseen.orTimeout(5, TimeUnit.SECONDS).join());
+      assertInstanceOf(TimeoutException.class, ex.getCause());
+      assertTrue(ex.getCause().getMessage().contains("unseen"));
+
+      // Transactions which have been observed, or have no expiry, are still awaited.
+      awaitPolls(POLL_NANOS.size() + 2);
+      assertFalse(observed.isDone());
+      assertFalse(noExpiry.isDone());
+
+      STATUSES.put("observed", CONFIRMED);
+      assertEquals(CONFIRMED, observed.orTimeout(5, TimeUnit.SECONDS).join().confirmationStatus());
+
+      // Block height is only requested while an expiring transaction has not been observed.
+      awaitPolls(POLL_NANOS.size() + 1);
+      final long numBlockHeightRequests = NUM_BLOCK_HEIGHT_REQUESTS.get();
+      awaitPolls(POLL_NANOS.size() + 3);
+      assertEquals(numBlockHeightRequests, NUM_BLOCK_HEIGHT_REQUESTS.get());
+      assertFalse(noExpiry.isDone());
+    }
+  }
+}
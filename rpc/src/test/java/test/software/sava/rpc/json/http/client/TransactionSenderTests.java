@@ -0,0 +1,228 @@
+package test.software.sava.rpc.json.http.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.sava.rpc.json.http.client.SolanaRpcClient;
+import software.sava.rpc.json.http.client.TransactionSender;
+import software.sava.rpc.json.http.request.Commitment;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static software.sava.rpc.json.http.request.Commitment.CONFIRMED;
+import static software.sava.rpc.json.http.request.Commitment.PROCESSED;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.createServer;
+import static test.software.sava.rpc.json.http.client.HttpClientTests.writeResponse;
+
+final class TransactionSenderTests {
+
+  private record Status(Commitment commitment, boolean failed) {
+  }
+
+  private static final class StubEndpoint {
+
+    private final HttpServer httpServer;
+    private final SolanaRpcClient rpcClient;
+    private final Map<String, AtomicInteger> numSends;
+
+    private StubEndpoint() {
+      final var httpServerRecord = createServer();
+      this.httpServer = httpServerRecord.httpServer();
+      this.rpcClient = SolanaRpcClient.createClient(httpServerRecord.endpoint(), HttpClientTests.createClient());
+      this.numSends = new ConcurrentHashMap<>();
+      httpServer.createContext("/", request -> {
+        try (final var ji = JsonIterator.parse(request.getRequestBody().readAllBytes())) {
+          final var method = ji.skipUntil("method").readString();
+          final var responseMsg = switch (method) {
+            case "sendTransaction" -> {
+              ji.skipUntil("params");
+              ji.readArray();
+              // Transactions are identified by their stand-in encoding.
+              final var txSig = ji.readString();
+              numSends.computeIfAbsent(txSig, _ -> new AtomicInteger()).incrementAndGet();
+              yield String.format("""
+                  {"jsonrpc":"2.0","result":"%s","id":1}""", txSig);
+            }
+            case "getSignatureStatuses" -> {
+              ji.skipUntil("params");
+              ji.readArray();
+              final var statuses = new StringJoiner(",");
+              while (ji.readArray()) {
+                final var status = STATUSES.get(ji.readString());
+                statuses.add(status == null ? "null" : String.format("""
+                        {"slot":1,"confirmations":null,"err":%s,"status":%s,"confirmationStatus":"%s"}""",
+                    status.failed ? "{\"InstructionError\":[0,{\"Custom\":1}]}" : "null",
+                    status.failed ? "{\"Err\":{\"InstructionError\":[0,{\"Custom\":1}]}}" : "{\"Ok\":null}",
+                    status.commitment.getValue()
+                ));
+              }
+              yield String.format("""
+                  {"jsonrpc":"2.0","result":{"context":{"slot":1},"value":[%s]},"id":1}""", statuses);
+            }
+            case "getBlockHeight" -> String.format("""
+                {"jsonrpc":"2.0","result":%d,"id":1}""", BLOCK_HEIGHT);
+            default -> "Unexpected method call: " + method;
+          };
+          writeResponse(request, responseMsg);
+        }
+      });
+    }
+
+    private int numSends(final String txSig) {
+      final var numSends = this.numSends.get(txSig);
+      return numSends == null ? 0 : numSends.get();
+    }
+
+    private void close() {
+      rpcClient.httpClient().close();
+      httpServer.stop(0);
+    }
+  }
+
+  private static final Map<String, Status> STATUSES = new ConcurrentHashMap<>();
+  private static volatile long BLOCK_HEIGHT;
+
+  private static StubEndpoint A;
+  private static StubEndpoint B;
+
+  @BeforeAll
+  static void setupHttpServers() {
+    A = new StubEndpoint();
+    B = new StubEndpoint();
+  }
+
+  @AfterAll
+  static void shutdown() {
+    A.close();
+    B.close();
+  }
+
+  @AfterEach
+  void reset() {
+    STATUSES.clear();
+    A.numSends.clear();
+    B.numSends.clear();
+    BLOCK_HEIGHT = 0;
+  }
+
+  private static TransactionSender createSender() {
+    return TransactionSender.build()
+        .sendClients(List.of(A.rpcClient, B.rpcClient))
+        .rebroadcastInterval(Duration.ofMillis(20))
+        .create();
+  }
+
+  private static void await(final Supplier<Boolean> condition) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.get()) {
+      if (System.nanoTime() > deadline) {
+        fail("Timed out waiting for condition.");
+      }
+      Thread.sleep(2);
+    }
+  }
+
+  @Test
+  void testRebroadcastUntilConfirmed() throws InterruptedException {
+    BLOCK_HEIGHT = 10;
+    try (final var sender = createSender()) {
+      final var future = sender.send("tx", "tx", 100);
+      // Sending a pending transaction again only awaits the original.
+      final var duplicate = sender.send("tx", "tx", 100);
+      assertEquals(1, sender.numPending());
+
+      // Re-sent to every endpoint while the transaction has not been observed.
+      await(() -> A.numSends("tx") >= 3 && B.numSends("tx") >= 3);
+
+      // Observed below the target commitment, so re-broadcasting stops.
+      STATUSES.put("tx", new Status(PROCESSED, false));
+      Thread.sleep(200);
+      final int numSends = A.numSends("tx");
+      Thread.sleep(100);
+      assertEquals(numSends, A.numSends("tx"));
+      assertFalse(future.isDone());
+
+      STATUSES.put("tx", new Status(CONFIRMED, false));
+      final var txStatus = future.orTimeout(5, TimeUnit.SECONDS).join();
+      assertEquals(CONFIRMED, txStatus.confirmationStatus());
+      assertEquals(txStatus, duplicate.join());
+      await(() -> sender.numPending() == 0);
+
+      final var stats = sender.stats();
+      assertEquals(1, stats.numSent());
+      assertEquals(1, stats.numLanded());
+      assertEquals(0, stats.numFailed());
+      assertEquals(0, stats.numExpired());
+      assertEquals(A.numSends("tx") + B.numSends("tx"), stats.numBroadcasts());
+      assertEquals(1.0, stats.landingRate());
+    }
+  }
+
+  @Test
+  void testExpiresOnceBlockHeightPassesLastValid() throws InterruptedException {
+    BLOCK_HEIGHT = 100;
+    try (final var sender = createSender()) {
+      final var unseen = sender.send("unseen", "unseen", 100);
+      final var observed = sender.send("observed", "observed", 100);
+      STATUSES.put("observed", new Status(PROCESSED, false));
+
+      await(() -> A.numSends("unseen") >= 3);
+      assertFalse(unseen.isDone());
+
+      BLOCK_HEIGHT = 101;
+      final var ex = assertThrows(CompletionException.class, () -> unseen.orTimeout(5, TimeUnit.SECONDS).join());
+      assertInstanceOf(TimeoutException.class, ex.getCause());
+
+      // Observed transactions may still land after their block hash expires.
+      Thread.sleep(60);
+      assertFalse(observed.isDone());
+      STATUSES.put("observed", new Status(CONFIRMED, false));
+      observed.orTimeout(5, TimeUnit.SECONDS).join();
+
+      final var stats = sender.stats();
+      assertEquals(2, stats.numSent());
+      assertEquals(1, stats.numLanded());
+      assertEquals(1, stats.numExpired());
+      assertEquals(0.5, stats.landingRate());
+    }
+  }
+
+  @Test
+  void testTimeToConfirmStats() throws InterruptedException {
+    BLOCK_HEIGHT = 10;
+    try (final var sender = createSender()) {
+      assertEquals(0, sender.stats().landingRate());
+      assertEquals(0, sender.stats().avgTimeToConfirmMillis());
+
+      final var fast = sender.send("fast", "fast", 100);
+      final var slow = sender.send("slow", "slow", 100);
+      STATUSES.put("fast", new Status(CONFIRMED, true));
+      fast.orTimeout(5, TimeUnit.SECONDS).join();
+      Thread.sleep(200);
+      STATUSES.put("slow", new Status(CONFIRMED, false));
+      slow.orTimeout(5, TimeUnit.SECONDS).join();
+
+      final var stats = sender.stats();
+      assertEquals(2, stats.numLanded());
+      // Failed transactions still landed.
+      assertEquals(1, stats.numFailed());
+      assertEquals(1.0, stats.landingRate());
+      assertTrue(stats.maxTimeToConfirmMillis() >= 200, stats.toString());
+      assertTrue(stats.avgTimeToConfirmMillis() < stats.maxTimeToConfirmMillis(), stats.toString());
+      assertTrue(stats.avgTimeToConfirmMillis() >= stats.maxTimeToConfirmMillis() / 2.0, stats.toString());
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package test.software.sava.rpc.json.http.response;
+
+import org.junit.jupiter.api.Test;
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.response.AccountInfo;
+import software.sava.rpc.json.http.response.Context;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static software.sava.rpc.json.http.response.AccountInfo.BYTES_IDENTITY;
+
+final class AccountInfoTests {
+
+  private static final Context CONTEXT = new Context(42, null);
+  private static final PublicKey ACCOUNT = createKey(7);
+  private static final PublicKey OWNER = createKey(9);
+
+  private static PublicKey createKey(final int fill) {
+    final var key = new byte[PublicKey.PUBLIC_KEY_LENGTH];
+    Arrays.fill(key, (byte) fill);
+    return PublicKey.createPubKey(key);
+  }
+
+  private static String accountJson(final String data) {
+    return String.format("""
+            {"data":%s,"executable":true,"lamports":1234,"owner":"%s","rentEpoch":18446744073709551615,"space":3}""",
+        data, OWNER.toBase58());
+  }
+
+  private static JsonIterator parse(final String json) {
+    // As websocket messages are parsed, from chars offset into a larger buffer.
+    final var chars = ("  " + json + "  ").toCharArray();
+    return JsonIterator.parse(new byte[0]).reset(chars, 2, chars.length - 2);
+  }
+
+  private static void assertAccount(final byte[] expected, final AccountInfo<byte[]> accountInfo) {
+    assertEquals(CONTEXT, accountInfo.context());
+    assertTrue(accountInfo.executable());
+    assertEquals(1234, accountInfo.lamports());
+    assertEquals(OWNER, accountInfo.owner());
+    assertEquals(new BigInteger("18446744073709551615"), accountInfo.rentEpoch());
+    assertEquals(3, accountInfo.space());
+    assertArrayEquals(expected, accountInfo.data());
+  }
+
+  @Test
+  void testParseMatchesBase64Decoder() {
+    final var random = ThreadLocalRandom.current();
+    for (int len = 0; len < 300; ++len) {
+      final byte[] bytes = new byte[len];
+      random.nextBytes(bytes);
+      final var encoded = Base64.getEncoder().encodeToString(bytes);
+      final byte[] expected = Base64.getDecoder().decode(encoded);
+
+      final var arrayJson = accountJson(String.format("[\"%s\",\"base64\"]", encoded));
+      final var accountInfo = AccountInfo.parse(ACCOUNT, parse(arrayJson), CONTEXT);
+      assertEquals(ACCOUNT, accountInfo.pubKey());
+      assertAccount(expected, accountInfo);
+      assertEquals(len, accountInfo.data().length);
+      assertArrayEquals(AccountInfo.parse(ACCOUNT, parse(arrayJson), CONTEXT, BYTES_IDENTITY).data(), accountInfo.data());
+
+      final var stringJson = accountJson('"' + encoded + '"');
+      assertAccount(expected, AccountInfo.parse(ACCOUNT, parse(stringJson), CONTEXT));
+    }
+  }
+
+  @Test
+  void testParseAccountMatchesBase64Decoder() {
+    final var random = ThreadLocalRandom.current();
+    for (int len = 0; len < 300; len += 7) {
+      final byte[] bytes = new byte[len];
+      random.nextBytes(bytes);
+      final var encoded = Base64.getEncoder().encodeToString(bytes);
+      final var json = String.format("""
+          {"pubkey":"%s","account":%s}""", ACCOUNT.toBase58(), accountJson(String.format("[\"%s\",\"base64\"]", encoded)));
+
+      final var accountInfo = AccountInfo.parseAccount(parse(json), CONTEXT);
+      assertEquals(ACCOUNT, accountInfo.pubKey());
+      assertAccount(Base64.getDecoder().decode(encoded), accountInfo);
+      assertArrayEquals(AccountInfo.parseAccount(parse(json), CONTEXT, BYTES_IDENTITY).data(), accountInfo.data());
+    }
+  }
+
+  @Test
+  void testRejectsOtherEncodings() {
+    final var json = accountJson("[\"3mJr7AoUXx2Wqd\",\"base58\"]");
+    assertThrows(IllegalStateException.class, () -> AccountInfo.parse(ACCOUNT, parse(json), CONTEXT));
+  }
+}
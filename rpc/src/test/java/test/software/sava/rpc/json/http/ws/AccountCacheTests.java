@@ -0,0 +1,82 @@
+package test.software.sava.rpc.json.http.ws;
+
+import org.junit.jupiter.api.Test;
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.response.AccountInfo;
+import software.sava.rpc.json.http.response.Context;
+import software.sava.rpc.json.http.ws.AccountCache;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class AccountCacheTests {
+
+  private static PublicKey key(final int id) {
+    final byte[] bytes = new byte[PublicKey.PUBLIC_KEY_LENGTH];
+    bytes[0] = (byte) id;
+    bytes[1] = (byte) (id >> 8);
+    return PublicKey.createPubKey(bytes);
+  }
+
+  private static AccountInfo<byte[]> account(final PublicKey key, final long slot, final int dataLength) {
+    return new AccountInfo<>(
+        key, new Context(slot, null), false, slot, key, BigInteger.ZERO, dataLength, new byte[dataLength]
+    );
+  }
+
+  @Test
+  void testSlotOrdering() {
+    final var cache = AccountCache.createCache();
+    final var key = key(1);
+    final var seen = new ArrayList<Long>();
+    cache.addListener(key, account -> seen.add(account.context().slot()));
+
+    assertTrue(cache.update(account(key, 10, 8)));
+    assertFalse(cache.update(account(key, 9, 8)));
+    cache.accept(account(key, 12, 16));
+    assertFalse(cache.update(account(key, 11, 8)));
+
+    assertEquals(12, cache.slot(key));
+    assertEquals(16, cache.dataBytes());
+    assertEquals(List.of(10L, 12L), seen);
+    assertEquals(-1, cache.slot(key(2)));
+    assertNull(cache.get(key(2)));
+  }
+
+  @Test
+  void testEviction() {
+    final var cache = AccountCache.createCache(64, 64 * 32);
+    final var pinned = key(0);
+    cache.addListener(pinned, _ -> {
+    });
+    for (int i = 0; i < 256; ++i) {
+      cache.update(account(key(i), i, 32));
+    }
+    assertTrue(cache.size() <= 64);
+    assertTrue(cache.dataBytes() <= 64 * 32);
+    assertNotNull(cache.get(pinned));
+    assertNotNull(cache.get(key(255)));
+    assertNull(cache.get(key(1)));
+    assertEquals(cache.size(), cache.snapshot().size());
+  }
+
+  @Test
+  void testUpdateAfterRemove() {
+    final var cache = AccountCache.createCache();
+    final var key = key(1);
+    assertTrue(cache.update(account(key, 10, 8)));
+    assertNotNull(cache.remove(key));
+    assertNull(cache.remove(key));
+    assertEquals(0, cache.dataBytes());
+
+    final var seen = new ArrayList<Long>();
+    cache.addListener(key, account -> seen.add(account.context().slot()));
+    assertTrue(cache.update(account(key, 5, 8)));
+    assertEquals(5, cache.slot(key));
+    assertEquals(8, cache.dataBytes());
+    assertEquals(List.of(5L), seen);
+  }
+}
@@ -0,0 +1,83 @@
+package test.software.sava.rpc.json.http.ws;
+
+import org.junit.jupiter.api.Test;
+import software.sava.rpc.json.http.ws.Dispatcher;
+import software.sava.rpc.json.http.ws.OverflowPolicy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class DispatcherTests {
+
+  @Test
+  void testQueuedDropOldest() throws InterruptedException {
+    final var blocked = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+    final var delivered = new CopyOnWriteArrayList<Integer>();
+    final var dispatcher = Dispatcher.<Integer>queued(item -> {
+      if (item == 0) {
+        blocked.countDown();
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      delivered.add(item);
+    }, 2, OverflowPolicy.DROP_OLDEST);
+
+    dispatcher.accept(0);
+    assertTrue(blocked.await(5, TimeUnit.SECONDS));
+    for (int i = 1; i <= 4; ++i) {
+      dispatcher.accept(i);
+    }
+    assertEquals(2, dispatcher.stats().numDropped());
+    release.countDown();
+
+    awaitDelivered(dispatcher, 3);
+    assertEquals(List.of(0, 3, 4), delivered);
+  }
+
+  @Test
+  void testConflating() throws InterruptedException {
+    final var blocked = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+    final var delivered = new CopyOnWriteArrayList<String>();
+    final var dispatcher = Dispatcher.<String>conflating(item -> {
+      if (item.equals("a0")) {
+        blocked.countDown();
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      delivered.add(item);
+    }, item -> item.charAt(0));
+
+    dispatcher.accept("a0");
+    assertTrue(blocked.await(5, TimeUnit.SECONDS));
+    dispatcher.accept("a1");
+    dispatcher.accept("b1");
+    dispatcher.accept("a2");
+    dispatcher.accept("b2");
+    assertEquals(2, dispatcher.stats().numDropped());
+    assertEquals(2, dispatcher.stats().numPending());
+    release.countDown();
+
+    awaitDelivered(dispatcher, 3);
+    assertEquals("a0", delivered.getFirst());
+    assertTrue(delivered.containsAll(List.of("a2", "b2")));
+  }
+
+  private static void awaitDelivered(final Dispatcher<?> dispatcher, final long expected) throws InterruptedException {
+    for (int i = 0; i < 500 && dispatcher.stats().numDelivered() < expected; ++i) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+    assertEquals(expected, dispatcher.stats().numDelivered());
+  }
+}
@@ -0,0 +1,157 @@
+package test.software.sava.rpc.json.http.ws;
+
+import org.junit.jupiter.api.Test;
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.response.AccountInfo;
+import software.sava.rpc.json.http.response.Context;
+import software.sava.rpc.json.http.response.ProcessedSlot;
+import software.sava.rpc.json.http.ws.ProviderStats;
+import software.sava.rpc.json.http.ws.RedundantRpcWebsocket;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class RedundantRpcWebsocketTests {
+
+  private static final PublicKey KEY = PublicKey.createPubKey(new byte[PublicKey.PUBLIC_KEY_LENGTH]);
+
+  private static void account(final StubWebsocket provider, final long slot, final long lamports) {
+    provider.accountConsumer(KEY).accept(new AccountInfo<>(
+        KEY, new Context(slot, null), false, lamports, KEY, BigInteger.ZERO, 0, new byte[]{(byte) lamports}
+    ));
+  }
+
+  private static List<StubWebsocket> providers(final int numProviders) {
+    final var providers = new ArrayList<StubWebsocket>(numProviders);
+    for (int i = 0; i < numProviders; ++i) {
+      providers.add(new StubWebsocket());
+    }
+    return providers;
+  }
+
+  private static RedundantRpcWebsocket createRedundant(final List<StubWebsocket> providers) {
+    return RedundantRpcWebsocket.createRedundant(List.copyOf(providers));
+  }
+
+  @Test
+  void testFirstArrivalWins() {
+    final var providers = providers(2);
+    final var websocket = createRedundant(providers);
+    final var delivered = new ArrayList<AccountInfo<byte[]>>();
+    assertTrue(websocket.accountSubscribe(KEY, delivered::add));
+
+    final var first = providers.getFirst();
+    final var second = providers.get(1);
+    account(second, 100, 1);
+    account(first, 100, 1);
+    account(first, 101, 2);
+    account(second, 101, 2);
+    account(first, 102, 3);
+
+    assertEquals(List.of(100L, 101L, 102L), delivered.stream().map(a -> a.context().slot()).toList());
+
+    final var stats = websocket.providerStats();
+    final var firstStats = stats.getFirst();
+    assertEquals(0, firstStats.provider());
+    assertEquals(3, firstStats.numUpdates());
+    assertEquals(3, firstStats.numReceived());
+    assertEquals(2, firstStats.numFirst());
+    assertEquals(0, firstStats.numStale());
+    assertEquals(1, firstStats.lag().count());
+    assertEquals(2 / 3.0, firstStats.winRate(), 1e-9);
+
+    final var secondStats = stats.get(1);
+    assertEquals(1, secondStats.provider());
+    assertEquals(3, secondStats.numUpdates());
+    assertEquals(2, secondStats.numReceived());
+    assertEquals(1, secondStats.numFirst());
+    assertEquals(1, secondStats.lag().count());
+    assertEquals(1 / 3.0, secondStats.winRate(), 1e-9);
+  }
+
+  @Test
+  void testStaleUpdatesDropped() {
+    final var providers = providers(2);
+    final var websocket = createRedundant(providers);
+    final var delivered = new ArrayList<AccountInfo<byte[]>>();
+    websocket.accountSubscribe(KEY, delivered::add);
+
+    final var first = providers.getFirst();
+    final var second = providers.get(1);
+    account(first, 200, 1);
+    // Older slot from a lagging provider.
+    account(second, 199, 7);
+    // Same slot, different state, is a distinct update.
+    account(second, 200, 2);
+
+    assertEquals(List.of(1L, 2L), delivered.stream().map(AccountInfo::lamports).toList());
+    final var stats = websocket.providerStats();
+    assertEquals(0, stats.getFirst().numStale());
+    assertEquals(1, stats.get(1).numStale());
+    assertEquals(1, stats.get(1).numFirst());
+    assertEquals(0, stats.get(1).lag().count());
+    assertEquals(2, stats.get(1).numUpdates());
+
+    final var slots = new ArrayList<Long>();
+    websocket.slotSubscribe(slot -> slots.add(slot.slot()));
+    second.slotConsumer().accept(new ProcessedSlot(300, 299, 268));
+    first.slotConsumer().accept(new ProcessedSlot(299, 298, 267));
+    first.slotConsumer().accept(new ProcessedSlot(300, 299, 268));
+    first.slotConsumer().accept(new ProcessedSlot(301, 300, 269));
+    assertEquals(List.of(300L, 301L), slots);
+    assertEquals(1, websocket.providerStats().getFirst().numStale());
+  }
+
+  @Test
+  void testDeliveryIsSerializedAndOrdered() throws InterruptedException {
+    final int numProviders = 4;
+    final int numSlots = 2_000;
+    final var providers = providers(numProviders);
+    final var websocket = createRedundant(providers);
+    final var delivered = new CopyOnWriteArrayList<Long>();
+    final var concurrent = new AtomicInteger();
+    final var maxConcurrent = new AtomicInteger();
+    websocket.slotSubscribe(slot -> {
+      maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+      Thread.onSpinWait();
+      delivered.add(slot.slot());
+      concurrent.decrementAndGet();
+    });
+
+    final var start = new CountDownLatch(1);
+    final var done = new CountDownLatch(numProviders);
+    for (final var provider : providers) {
+      Thread.ofPlatform().start(() -> {
+        try {
+          start.await();
+          for (long slot = 1; slot <= numSlots; ++slot) {
+            provider.slotConsumer().accept(new ProcessedSlot(slot, slot - 1, 0));
+          }
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          done.countDown();
+        }
+      });
+    }
+    start.countDown();
+    assertTrue(done.await(30, TimeUnit.SECONDS));
+
+    assertEquals(1, maxConcurrent.get());
+    for (int i = 1; i < delivered.size(); ++i) {
+      assertTrue(delivered.get(i) > delivered.get(i - 1));
+    }
+    assertEquals(numSlots, delivered.getLast());
+    final long numReceived = websocket.providerStats().stream().mapToLong(ProviderStats::numReceived).sum();
+    assertEquals((long) numProviders * numSlots, numReceived);
+    final long numDelivered = websocket.providerStats().stream().mapToLong(ProviderStats::numFirst).sum();
+    assertEquals(delivered.size(), numDelivered);
+  }
+}
@@ -0,0 +1,150 @@
+package test.software.sava.rpc.json.http.ws;
+
+import org.junit.jupiter.api.Test;
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.accounts.SolanaAccounts;
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.ws.SolanaRpcWebsocket;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class ShardedRpcWebsocketTests {
+
+  private record StubShard(StubWebsocket websocket, Runnable onConnect) {
+
+    /// Runs the re-connect callback, as a shard does before re-sending its subscriptions.
+    void reconnect() {
+      onConnect.run();
+    }
+
+    Set<PublicKey> accounts() {
+      return websocket.accounts();
+    }
+
+    int load() {
+      return websocket.accounts().size();
+    }
+  }
+
+  private static PublicKey key(final int i) {
+    final var key = new byte[PublicKey.PUBLIC_KEY_LENGTH];
+    key[0] = (byte) i;
+    return PublicKey.createPubKey(key);
+  }
+
+  private static final class Fixture {
+
+    private final List<StubShard> shards = new ArrayList<>();
+    private final SolanaRpcWebsocket websocket;
+
+    private Fixture(final int numShards) {
+      this.websocket = SolanaRpcWebsocket.createSharded(
+          SolanaAccounts.MAIN_NET, Commitment.CONFIRMED, numShards,
+          onConnect -> {
+            final var shard = new StubShard(new StubWebsocket(), onConnect);
+            shards.add(shard);
+            return shard.websocket();
+          }
+      );
+    }
+
+    private int[] load() {
+      return shards.stream().mapToInt(StubShard::load).toArray();
+    }
+  }
+
+  @Test
+  void testSubscribeToLeastLoaded() {
+    final var fixture = new Fixture(3);
+    final var websocket = fixture.websocket;
+    for (int i = 0; i < 10; ++i) {
+      assertTrue(websocket.accountSubscribe(key(i), _ -> {
+      }));
+    }
+    assertArrayEquals(new int[]{4, 3, 3}, fixture.load());
+
+    assertFalse(websocket.accountSubscribe(key(0), _ -> {
+    }));
+    assertFalse(websocket.accountSubscribe(Commitment.CONFIRMED, key(0), _ -> {
+    }));
+    assertArrayEquals(new int[]{4, 3, 3}, fixture.load());
+
+    assertTrue(websocket.accountSubscribe(Commitment.PROCESSED, key(0), _ -> {
+    }));
+    assertArrayEquals(new int[]{4, 4, 3}, fixture.load());
+  }
+
+  @Test
+  void testUnsubscribe() {
+    final var fixture = new Fixture(2);
+    final var websocket = fixture.websocket;
+    for (int i = 0; i < 6; ++i) {
+      websocket.accountSubscribe(key(i), _ -> {
+      });
+    }
+    assertArrayEquals(new int[]{3, 3}, fixture.load());
+
+    assertTrue(websocket.accountUnsubscribe(key(1)));
+    assertFalse(websocket.accountUnsubscribe(key(1)));
+    assertArrayEquals(new int[]{3, 2}, fixture.load());
+
+    websocket.accountSubscribe(key(6), _ -> {
+    });
+    assertArrayEquals(new int[]{3, 3}, fixture.load());
+    assertTrue(fixture.shards.get(1).accounts().contains(key(6)));
+  }
+
+  @Test
+  void testReconnectRebalance() {
+    final var fixture = new Fixture(2);
+    final var websocket = fixture.websocket;
+    for (int i = 0; i < 20; ++i) {
+      websocket.accountSubscribe(key(i), _ -> {
+      });
+    }
+    assertArrayEquals(new int[]{10, 10}, fixture.load());
+    final var first = fixture.shards.getFirst();
+    final var second = fixture.shards.get(1);
+    for (final var key : List.copyOf(second.accounts())) {
+      if (second.load() == 2) {
+        break;
+      }
+      assertTrue(websocket.accountUnsubscribe(key));
+    }
+    assertArrayEquals(new int[]{10, 2}, fixture.load());
+    final var kept = Set.copyOf(second.accounts());
+
+    // The lightly loaded shard keeps its subscriptions.
+    second.reconnect();
+    assertArrayEquals(new int[]{10, 2}, fixture.load());
+
+    first.reconnect();
+    assertArrayEquals(new int[]{6, 6}, fixture.load());
+    final var all = new HashSet<>(first.accounts());
+    all.addAll(second.accounts());
+    assertEquals(12, all.size());
+
+    // Moved subscriptions are still tracked on their new shard.
+    final var moved = second.accounts().stream()
+        .filter(key -> !kept.contains(key))
+        .toList();
+    assertEquals(4, moved.size());
+    for (final var key : moved) {
+      assertTrue(websocket.accountUnsubscribe(key));
+    }
+    assertArrayEquals(new int[]{6, 2}, fixture.load());
+
+    // Within tolerance of the target, nothing moves.
+    websocket.accountSubscribe(key(100), _ -> {
+    });
+    websocket.accountSubscribe(key(101), _ -> {
+    });
+    first.reconnect();
+    assertArrayEquals(new int[]{6, 4}, fixture.load());
+  }
+}
@@ -0,0 +1,230 @@
+package test.software.sava.rpc.json.http.ws;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.rpc.Filter;
+import software.sava.rpc.json.http.request.Commitment;
+import software.sava.rpc.json.http.response.AccountInfo;
+import software.sava.rpc.json.http.response.ProcessedSlot;
+import software.sava.rpc.json.http.response.TransactionNotification;
+import software.sava.rpc.json.http.response.TxLogs;
+import software.sava.rpc.json.http.response.TxResult;
+import software.sava.rpc.json.http.ws.SolanaRpcWebsocket;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/// Records account and slot subscriptions so that notifications can be pushed through their consumers. All other
+/// subscriptions are unsupported.
+final class StubWebsocket implements SolanaRpcWebsocket {
+
+  private final Map<PublicKey, Consumer<AccountInfo<byte[]>>> accountConsumers = new ConcurrentHashMap<>();
+  private volatile Consumer<ProcessedSlot> slotConsumer;
+
+  Set<PublicKey> accounts() {
+    return accountConsumers.keySet();
+  }
+
+  Consumer<AccountInfo<byte[]>> accountConsumer(final PublicKey key) {
+    return accountConsumers.get(key);
+  }
+
+  Consumer<ProcessedSlot> slotConsumer() {
+    return slotConsumer;
+  }
+
+  @Override
+  public void connect() {
+  }
+
+  @Override
+  public void exceptionSubscribe(final Consumer<RuntimeException> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean accountSubscribe(final PublicKey key, final Consumer<AccountInfo<byte[]>> consumer) {
+    return accountConsumers.putIfAbsent(key, consumer) == null;
+  }
+
+  @Override
+  public boolean accountSubscribe(final Commitment commitment,
+                                  final PublicKey key,
+                                  final Consumer<AccountInfo<byte[]>> consumer) {
+    return accountSubscribe(key, consumer);
+  }
+
+  @Override
+  public boolean accountUnsubscribe(final PublicKey key) {
+    return accountConsumers.remove(key) != null;
+  }
+
+  @Override
+  public boolean accountUnsubscribe(final Commitment commitment, final PublicKey key) {
+    return accountUnsubscribe(key);
+  }
+
+  @Override
+  public boolean logsSubscribe(final PublicKey key, final Consumer<TxLogs> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean logsSubscribe(final Commitment commitment, final PublicKey key, final Consumer<TxLogs> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean logsUnsubscribe(final PublicKey key) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean logsUnsubscribe(final Commitment commitment, final PublicKey key) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean signatureSubscribe(final String b58TxSig, final Consumer<TxResult> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean signatureSubscribe(final String b58TxSig,
+                                    final boolean enableReceivedNotification,
+                                    final Consumer<TxResult> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean signatureSubscribe(final Commitment commitment,
+                                    final boolean enableReceivedNotification,
+                                    final String b58TxSig,
+                                    final Consumer<TxResult> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean signatureUnsubscribe(final String b58TxSig) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean signatureUnsubscribe(final Commitment commitment, final String b58TxSig) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean subscribeToTokenAccount(final PublicKey tokenMint,
+                                         final PublicKey ownerAddress,
+                                         final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean subscribeToTokenAccount(final Commitment commitment,
+                                         final PublicKey tokenMint,
+                                         final PublicKey ownerAddress,
+                                         final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean subscribeToTokenAccounts(final PublicKey ownerAddress,
+                                          final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean subscribeToTokenAccounts(final Commitment commitment,
+                                          final PublicKey ownerAddress,
+                                          final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean programSubscribe(final PublicKey program,
+                                  final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean programSubscribe(final PublicKey program,
+                                  final List<Filter> filters,
+                                  final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean programSubscribe(final Commitment commitment,
+                                  final PublicKey program,
+                                  final List<Filter> filters,
+                                  final Consumer<Map<PublicKey, AccountInfo<byte[]>>> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean programUnsubscribe(final PublicKey program) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean programUnsubscribe(final Commitment commitment, final PublicKey program) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean transactionSubscribe(final Collection<PublicKey> accountInclude,
+                                      final Collection<PublicKey> accountExclude,
+                                      final Consumer<TransactionNotification> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean transactionSubscribe(final Commitment commitment,
+                                      final boolean vote,
+                                      final boolean failed,
+                                      final Collection<PublicKey> accountInclude,
+                                      final Collection<PublicKey> accountExclude,
+                                      final Collection<PublicKey> accountRequired,
+                                      final boolean showRewards,
+                                      final Consumer<TransactionNotification> consumer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean transactionUnsubscribe(final Collection<PublicKey> accountInclude,
+                                        final Collection<PublicKey> accountExclude) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean transactionUnsubscribe(final Commitment commitment,
+                                        final boolean vote,
+                                        final boolean failed,
+                                        final Collection<PublicKey> accountInclude,
+                                        final Collection<PublicKey> accountExclude,
+                                        final Collection<PublicKey> accountRequired,
+                                        final boolean showRewards) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean slotSubscribe(final Consumer<ProcessedSlot> consumer) {
+    this.slotConsumer = consumer;
+    return true;
+  }
+
+  @Override
+  public boolean slotUnsubscribe() {
+    this.slotConsumer = null;
+    return true;
+  }
+
+  @Override
+  public void close() {
+  }
+}
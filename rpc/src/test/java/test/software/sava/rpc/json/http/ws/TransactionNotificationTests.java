@@ -0,0 +1,43 @@
+package test.software.sava.rpc.json.http.ws;
+
+import org.junit.jupiter.api.Test;
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.response.TransactionNotification;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TransactionNotificationTests {
+
+  private static final String NOTIFICATION = """
+      {"jsonrpc":"2.0","method":"transactionNotification","params":{"subscription":4743323479349712,"result":{"transaction":{"transaction":["AQABAgMEBQYHCAkKCwwNDg8QERITFBUWFxgZGhscHR4fICEiIyQlJicoKSorLC0uLzAxMjM0NTY3ODk6Ozw9Pj+AAQABAwEBAQEBAQEBAQEBAQEBAQEBAQEBAQEBAQEBAQEBAQEBAgICAgICAgICAgICAgICAgICAgICAgICAgICAgICAgIAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAKqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqAQICAAEMAgAAAEBLTAAAAAAAAA==","base64"],"meta":{"err":null,"status":{"Ok":null},"fee":5000,"preBalances":[1000000000,0,1],"postBalances":[994995000,5000000,1],"innerInstructions":[],"logMessages":["Program 11111111111111111111111111111111 invoke [1]","Program 11111111111111111111111111111111 success"],"preTokenBalances":[],"postTokenBalances":[],"rewards":null,"loadedAddresses":{"writable":[],"readonly":[]},"computeUnitsConsumed":150},"version":0},"signature":"1GMkH3brNXiNNs1tiFZHu4yZSRrzJwxi5wB9bHFtMinfCXNnR1adh8Vo8NTheK4evneedH4qmvjeqcBBNAefgS","slot":224341380}}}""";
+
+  @Test
+  void testParseTransactionNotification() {
+    final var ji = JsonIterator.parse(NOTIFICATION);
+    assertEquals("transactionNotification", ji.skipUntil("method").readString());
+    ji.skipUntil("params").skipUntil("result");
+    final var notification = TransactionNotification.parse(ji);
+
+    assertEquals(224341380, notification.slot());
+    final var tx = notification.transaction();
+    assertEquals(0, tx.version());
+
+    final var skeleton = tx.skeleton();
+    assertTrue(skeleton.isVersioned());
+    assertEquals(1, skeleton.numSignatures());
+    assertEquals(3, skeleton.numIncludedAccounts());
+    assertEquals(PublicKey.fromBase58Encoded("4vJ9JU1bJJE96FWSJKvHsmmFADCg4gpZQff4P3bkLKi"), skeleton.feePayer());
+    assertEquals("CVDFLCAjXhVWiPXH9nTCTpCgVzmDVoiPzNJYuccr1dqB", skeleton.base58BlockHash());
+
+    final var meta = tx.meta();
+    assertNull(meta.error());
+    assertEquals(5000, meta.fee());
+    assertEquals(150, meta.computeUnitsConsumed());
+    assertEquals(List.of(1_000_000_000L, 0L, 1L), meta.preBalances());
+    assertEquals(List.of(994_995_000L, 5_000_000L, 1L), meta.postBalances());
+    assertEquals(2, meta.logMessages().size());
+  }
+}
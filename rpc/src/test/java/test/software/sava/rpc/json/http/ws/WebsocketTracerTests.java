@@ -0,0 +1,39 @@
+package test.software.sava.rpc.json.http.ws;
+
+import org.junit.jupiter.api.Test;
+import software.sava.rpc.json.http.ws.WebsocketTrace;
+import software.sava.rpc.json.http.ws.WebsocketTracer;
+
+import java.net.URI;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class WebsocketTracerTests {
+
+  @Test
+  void testSampledAndRateLimited() {
+    final var traces = new ArrayList<WebsocketTrace>();
+    final var tracer = WebsocketTracer.createTracer(traces::add, 10, 3);
+    final var endpoint = URI.create("wss://localhost");
+    final char[] msg = "__{\"method\":\"accountNotification\"}__".toCharArray();
+    for (int i = 0; i < 100; ++i) {
+      tracer.onMessage(endpoint, "account", 7, msg, 2, msg.length - 4, 1_000, 100);
+    }
+    tracer.onMessage(endpoint, null, 0, msg, 0, msg.length, 500, 0);
+
+    assertEquals(3, traces.size());
+    final var trace = traces.getFirst();
+    assertEquals("account", trace.channel());
+    assertEquals(7, trace.subId());
+    assertEquals("{\"method\":\"accountNotification\"}", trace.message());
+
+    final var stats = tracer.stats();
+    assertEquals(2, stats.size());
+    final var accountStats = stats.get("account");
+    assertEquals(100, accountStats.numMessages());
+    assertEquals(100L * (msg.length - 4), accountStats.numChars());
+    assertEquals(100, accountStats.parseDuration().count());
+    assertEquals(1, stats.get(WebsocketTracer.RESPONSE_CHANNEL).numMessages());
+  }
+}